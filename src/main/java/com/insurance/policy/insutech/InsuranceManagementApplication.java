@@ -2,8 +2,14 @@ package com.insurance.policy.insutech;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
-@SpringBootApplication
+// The reactive profile configures its own R2DBC pool; Boot's would also start under the servlet stack and add a
+// second transaction manager next to JPA's
+@SpringBootApplication(exclude = {R2dbcAutoConfiguration.class, R2dbcTransactionManagerAutoConfiguration.class})
+@ConfigurationPropertiesScan
 public class InsuranceManagementApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,90 @@
+package com.insurance.policy.insutech.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free Bloom filter over 64-bit key hashes. A negative answer is definite; a positive one is wrong with
+ * about the configured probability while no more than the expected number of keys has been added. Keys cannot
+ * be removed, so deleted keys stay positive until the filter is rebuilt.
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+    private final long expectedInsertions;
+    private final LongAdder insertions = new LongAdder();
+
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (bits + 63) / 64));
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = (long) wordCount * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+        this.expectedInsertions = n;
+    }
+
+    public void put(long hash) {
+        long combined = hash;
+        long step = mix(hash) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = (combined & Long.MAX_VALUE) % bitCount;
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = words.get(word);
+            while ((current & mask) == 0 && !words.weakCompareAndSetVolatile(word, current, current | mask)) {
+                current = words.get(word);
+            }
+            combined += step;
+        }
+        insertions.increment();
+    }
+
+    public boolean mightContain(long hash) {
+        long combined = hash;
+        long step = mix(hash) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = (combined & Long.MAX_VALUE) % bitCount;
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+            combined += step;
+        }
+        return true;
+    }
+
+    /** Past this point the false-positive rate climbs above the configured one. */
+    public boolean isSaturated() {
+        return insertions.sum() > expectedInsertions;
+    }
+
+    public long getInsertions() {
+        return insertions.sum();
+    }
+
+    public long getSizeInBytes() {
+        return (long) words.length() * Long.BYTES;
+    }
+
+    public static long hash(long key) {
+        return mix(key ^ 0x9E3779B97F4A7C15L);
+    }
+
+    /** 64-bit FNV-1a over the UTF-16 chars, then mixed; String.hashCode's 32 bits collide too often at scale. */
+    public static long hash(CharSequence key) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
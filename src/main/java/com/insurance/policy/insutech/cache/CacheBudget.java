@@ -0,0 +1,49 @@
+package com.insurance.policy.insutech.cache;
+
+import com.insurance.policy.insutech.config.CacheProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Splits the global cache budget into per-region maximum weights.
+ */
+public final class CacheBudget {
+
+    private CacheBudget() {
+    }
+
+    /**
+     * @return maximum weight in bytes for every weight-bounded region; size-bounded regions are absent
+     */
+    public static Map<String, Long> allocate(CacheProperties properties) {
+        long budget = properties.getMaxWeight().toBytes();
+        long assigned = 0;
+        int unassigned = 0;
+        for (CacheProperties.Region region : properties.getRegions().values()) {
+            if (region.getMaximumWeight() != null) {
+                assigned += region.getMaximumWeight().toBytes();
+            } else if (region.getMaximumSize() == null) {
+                unassigned++;
+            }
+        }
+        if (assigned > budget) {
+            throw new IllegalStateException("Cache regions reserve " + assigned + " bytes, more than the global budget of "
+                    + budget + " bytes");
+        }
+        if (unassigned > 0 && assigned == budget) {
+            throw new IllegalStateException(unassigned + " cache region(s) have no maximum-weight and no budget is left for them");
+        }
+
+        Map<String, Long> weights = new LinkedHashMap<>();
+        long share = unassigned > 0 ? (budget - assigned) / unassigned : 0;
+        properties.getRegions().forEach((name, region) -> {
+            if (region.getMaximumWeight() != null) {
+                weights.put(name, region.getMaximumWeight().toBytes());
+            } else if (region.getMaximumSize() == null) {
+                weights.put(name, share);
+            }
+        });
+        return weights;
+    }
+}
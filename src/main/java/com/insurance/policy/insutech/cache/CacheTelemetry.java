@@ -0,0 +1,140 @@
+package com.insurance.policy.insutech.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Everything observed about one cache region. Caffeine reports hits, misses and evictions through the
+ * {@link StatsCounter} side; {@link TelemetryCache} reports the keys accessed and the time spent computing values.
+ * Memory is fixed per region whatever the key space.
+ */
+public class CacheTelemetry implements StatsCounter {
+
+    private static final int SKETCH_WIDTH = 4096;
+    private static final int TOP_K = 20;
+
+    private final String name;
+    private final ConcurrentStatsCounter totals = new ConcurrentStatsCounter();
+    private final WindowedHitCounter windowed = new WindowedHitCounter();
+    private final LatencyHistogram loadLatency = new LatencyHistogram();
+    private final Map<RemovalCause, LongAdder> removals = new EnumMap<>(RemovalCause.class);
+    private final CountMinSketch accessSketch = new CountMinSketch(SKETCH_WIDTH);
+    private final CountMinSketch loadCostSketch = new CountMinSketch(SKETCH_WIDTH);
+    private final TopKeys hotKeys = new TopKeys(TOP_K);
+    private final TopKeys expensiveKeys = new TopKeys(TOP_K);
+    private volatile Cache<?, ?> cache;
+
+    public CacheTelemetry(String name) {
+        this.name = name;
+        for (RemovalCause cause : RemovalCause.values()) {
+            removals.put(cause, new LongAdder());
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * The instrumented cache, for sizes and limits.
+     */
+    public Cache<?, ?> getCache() {
+        return cache;
+    }
+
+    void bind(Cache<?, ?> cache) {
+        this.cache = cache;
+    }
+
+    public void recordAccess(Object key) {
+        hotKeys.offer(key, accessSketch.add(key, 1));
+    }
+
+    /**
+     * Time spent producing a value after a miss; keys are ranked by total microseconds spent loading them.
+     */
+    public void recordLoad(Object key, long nanos) {
+        loadLatency.record(nanos);
+        expensiveKeys.offer(key, loadCostSketch.add(key, Math.max(1, TimeUnit.NANOSECONDS.toMicros(nanos))));
+    }
+
+    /**
+     * Removal listener for the region: counts every cause, including explicit invalidation by write paths.
+     */
+    public void recordRemoval(RemovalCause cause) {
+        removals.get(cause).increment();
+    }
+
+    @Override
+    public void recordHits(int count) {
+        totals.recordHits(count);
+        windowed.recordHits(count);
+    }
+
+    @Override
+    public void recordMisses(int count) {
+        totals.recordMisses(count);
+        windowed.recordMisses(count);
+    }
+
+    @Override
+    public void recordLoadSuccess(long loadTime) {
+        totals.recordLoadSuccess(loadTime);
+    }
+
+    @Override
+    public void recordLoadFailure(long loadTime) {
+        totals.recordLoadFailure(loadTime);
+    }
+
+    @Override
+    public void recordEviction(int weight, RemovalCause cause) {
+        totals.recordEviction(weight, cause);
+    }
+
+    @Override
+    public CacheStats snapshot() {
+        return totals.snapshot();
+    }
+
+    public double hitRatio(long window, TimeUnit unit) {
+        return windowed.hitRatio(window, unit);
+    }
+
+    public LatencyHistogram getLoadLatency() {
+        return loadLatency;
+    }
+
+    public Map<RemovalCause, Long> getRemovals() {
+        Map<RemovalCause, Long> counts = new EnumMap<>(RemovalCause.class);
+        removals.forEach((cause, adder) -> counts.put(cause, adder.sum()));
+        return counts;
+    }
+
+    public TopKeys getHotKeys() {
+        return hotKeys;
+    }
+
+    public TopKeys getExpensiveKeys() {
+        return expensiveKeys;
+    }
+
+    /**
+     * Clears the key rankings and latency distribution; Caffeine's cumulative counters cannot be reset.
+     */
+    public void reset() {
+        loadLatency.clear();
+        accessSketch.clear();
+        loadCostSketch.clear();
+        hotKeys.clear();
+        expensiveKeys.clear();
+    }
+}
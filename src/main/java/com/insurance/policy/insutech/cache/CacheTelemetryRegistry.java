@@ -0,0 +1,47 @@
+package com.insurance.policy.insutech.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * One {@link CacheTelemetry} per cache, Spring-managed or not. Every cache is built through {@link #build}, so a
+ * manual Caffeine cache gets the same statistics as the Spring regions.
+ */
+@Component
+public class CacheTelemetryRegistry {
+
+    private final Map<String, CacheTelemetry> telemetries = new ConcurrentSkipListMap<>();
+
+    public <K, V> Cache<K, V> build(String name, Caffeine<Object, Object> builder) {
+        CacheTelemetry telemetry = telemetries.computeIfAbsent(name, CacheTelemetry::new);
+        Cache<K, V> cache = builder
+                .recordStats(() -> telemetry)
+                .removalListener((key, value, cause) -> telemetry.recordRemoval(cause))
+                .build();
+        telemetry.bind(cache);
+        return cache;
+    }
+
+    /**
+     * Telemetry for a second view onto an existing cache. Caffeine's statistics belong to the cache itself, so
+     * the view records its own hits and misses.
+     */
+    public CacheTelemetry register(String name, Cache<?, ?> cache) {
+        CacheTelemetry telemetry = telemetries.computeIfAbsent(name, CacheTelemetry::new);
+        telemetry.bind(cache);
+        return telemetry;
+    }
+
+    public CacheTelemetry get(String name) {
+        return telemetries.get(name);
+    }
+
+    public Collection<CacheTelemetry> getAll() {
+        return telemetries.values();
+    }
+}
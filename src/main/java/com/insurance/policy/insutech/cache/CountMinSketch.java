@@ -0,0 +1,77 @@
+package com.insurance.policy.insutech.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-min sketch: approximate per-key totals in fixed memory, never under-estimating. Counts are halved once
+ * the sketch has absorbed {@code 10 * width} increments, so estimates favour recent activity over history.
+ */
+public class CountMinSketch {
+
+    private static final long[] SEEDS = {0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L};
+
+    private final AtomicLongArray counters;
+    private final int width;
+    private final int mask;
+    private final long resetThreshold;
+    private long additions;
+
+    /**
+     * @param width counters per row; rounded up to a power of two
+     */
+    public CountMinSketch(int width) {
+        this.width = Integer.highestOneBit(Math.max(16, width - 1)) << 1;
+        this.mask = this.width - 1;
+        this.counters = new AtomicLongArray(SEEDS.length * this.width);
+        this.resetThreshold = 10L * this.width;
+    }
+
+    /**
+     * Adds {@code amount} to the key and returns its new estimate.
+     */
+    public long add(Object key, long amount) {
+        long hash = key.hashCode();
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < SEEDS.length; row++) {
+            estimate = Math.min(estimate, counters.addAndGet(index(row, hash), amount));
+        }
+        boolean age;
+        synchronized (this) {
+            age = ++additions >= resetThreshold;
+            if (age) {
+                additions = 0;
+            }
+        }
+        if (age) {
+            halve();
+        }
+        return estimate;
+    }
+
+    public long estimate(Object key) {
+        long hash = key.hashCode();
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < SEEDS.length; row++) {
+            estimate = Math.min(estimate, counters.get(index(row, hash)));
+        }
+        return estimate;
+    }
+
+    private void halve() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.getAndUpdate(i, value -> value >>> 1);
+        }
+    }
+
+    public void clear() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, 0);
+        }
+    }
+
+    private int index(int row, long hash) {
+        long mixed = (hash + SEEDS[row]) * SEEDS[row];
+        mixed ^= mixed >>> 32;
+        return row * width + ((int) mixed & mask);
+    }
+}
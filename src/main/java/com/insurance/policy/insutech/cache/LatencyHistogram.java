@@ -0,0 +1,69 @@
+package com.insurance.policy.insutech.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Log-linear latency histogram: four buckets per power of two of nanoseconds, so any percentile is reported
+ * within about 19% of the true value in 256 counters, whatever the range.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKETS = 4;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(64 * SUB_BUCKETS);
+
+    public void record(long nanos) {
+        buckets.incrementAndGet(index(Math.max(1, nanos)));
+    }
+
+    public long count() {
+        long count = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            count += buckets.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * Upper bound of the bucket holding the given percentile, in nanoseconds; 0 when nothing was recorded.
+     */
+    public long percentile(double percentile) {
+        long count = count();
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(count * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                return upperBound(i);
+            }
+        }
+        return upperBound(buckets.length() - 1);
+    }
+
+    public void clear() {
+        for (int i = 0; i < buckets.length(); i++) {
+            buckets.set(i, 0);
+        }
+    }
+
+    private static int index(long nanos) {
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        if (exponent < 2) {
+            return (int) nanos;
+        }
+        int fraction = (int) (nanos >>> (exponent - 2)) & (SUB_BUCKETS - 1);
+        return exponent * SUB_BUCKETS + fraction;
+    }
+
+    private static long upperBound(int index) {
+        int exponent = index / SUB_BUCKETS;
+        int fraction = index % SUB_BUCKETS;
+        if (exponent < 2) {
+            return index + 1;
+        }
+        return (1L << exponent) + ((long) (fraction + 1) << (exponent - 2));
+    }
+}
@@ -0,0 +1,177 @@
+package com.insurance.policy.insutech.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One copy of each cached policy, reachable by ID or by policy number.
+ * <p>
+ * Policies are stored by ID in a single Caffeine cache; a secondary index maps each number to its ID. The index
+ * is only changed inside Caffeine's per-entry compute, so a put, replace or eviction moves both keys together and
+ * a write touches exactly one entry. Spring sees the two keys as the {@link #REGION} and {@link #NUMBER_REGION}
+ * caches, so {@code @Cacheable} works on either.
+ */
+public class PolicyCache {
+
+    public static final String REGION = "policies";
+    public static final String NUMBER_REGION = "policyNumbers";
+
+    private final Cache<Object, Object> policies;
+    private final Map<String, Long> idsByNumber = new ConcurrentHashMap<>();
+    private final CacheTelemetry numberTelemetry;
+
+    public PolicyCache(Caffeine<Object, Object> builder, CacheTelemetryRegistry cacheTelemetryRegistry) {
+        // Eviction listeners run inside the atomic removal, unlike removal listeners
+        this.policies = cacheTelemetryRegistry.build(REGION, builder.evictionListener((id, policy, cause) -> {
+            if (policy instanceof AutoPolicyDTO evicted) {
+                idsByNumber.remove(evicted.getPolicyNumber(), id);
+            }
+        }));
+        this.numberTelemetry = cacheTelemetryRegistry.register(NUMBER_REGION, policies);
+    }
+
+    public AutoPolicyDTO getById(Long id) {
+        return (AutoPolicyDTO) policies.getIfPresent(id);
+    }
+
+    /**
+     * The index may briefly point at an entry that has since been replaced under another number, so the number
+     * of the entry found is checked before it is returned.
+     */
+    public AutoPolicyDTO getByNumber(String policyNumber) {
+        Long id = idsByNumber.get(policyNumber);
+        AutoPolicyDTO policy = id != null ? getById(id) : null;
+        boolean hit = policy != null && policyNumber.equals(policy.getPolicyNumber());
+        if (hit) {
+            numberTelemetry.recordHits(1);
+        } else {
+            numberTelemetry.recordMisses(1);
+        }
+        return hit ? policy : null;
+    }
+
+    /**
+     * Stores the policy under its ID and number, dropping the index entry of its previous number if it changed.
+     */
+    public void put(AutoPolicyDTO policy) {
+        Long id = Objects.requireNonNull(policy.getId(), "Only persisted policies can be cached");
+        policies.asMap().compute(id, (key, previous) -> {
+            if (previous instanceof AutoPolicyDTO replaced && !replaced.getPolicyNumber().equals(policy.getPolicyNumber())) {
+                idsByNumber.remove(replaced.getPolicyNumber(), id);
+            }
+            idsByNumber.put(policy.getPolicyNumber(), id);
+            return policy;
+        });
+    }
+
+    public void evict(Long id) {
+        policies.asMap().computeIfPresent(id, (key, previous) -> {
+            idsByNumber.remove(((AutoPolicyDTO) previous).getPolicyNumber(), id);
+            return null;
+        });
+    }
+
+    public void clear() {
+        policies.invalidateAll();
+        idsByNumber.clear();
+    }
+
+    public long indexSize() {
+        return idsByNumber.size();
+    }
+
+    /**
+     * The {@link #REGION} view, keyed by ID.
+     */
+    public org.springframework.cache.Cache byId() {
+        return new View(REGION) {
+            @Override
+            protected Object lookup(Object key) {
+                return getById((Long) key);
+            }
+
+            @Override
+            public void evict(Object key) {
+                PolicyCache.this.evict((Long) key);
+            }
+        };
+    }
+
+    /**
+     * The {@link #NUMBER_REGION} view, keyed by policy number. Evicting a number evicts the policy.
+     */
+    public org.springframework.cache.Cache byNumber() {
+        return new View(NUMBER_REGION) {
+            @Override
+            protected Object lookup(Object key) {
+                return getByNumber((String) key);
+            }
+
+            @Override
+            public void evict(Object key) {
+                Long id = idsByNumber.get((String) key);
+                if (id != null) {
+                    PolicyCache.this.evict(id);
+                }
+            }
+        };
+    }
+
+    private abstract class View extends AbstractValueAdaptingCache {
+
+        private final String name;
+
+        private View(String name) {
+            super(false);
+            this.name = name;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return policies;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            Object cached = lookup(key);
+            if (cached != null) {
+                return (T) cached;
+            }
+            try {
+                T loaded = valueLoader.call();
+                put(key, loaded);
+                return loaded;
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+        }
+
+        /**
+         * Whichever key the caller used, the policy is stored under both.
+         */
+        @Override
+        public void put(Object key, Object value) {
+            if (value instanceof AutoPolicyDTO policy) {
+                PolicyCache.this.put(policy);
+            }
+        }
+
+        @Override
+        public void clear() {
+            PolicyCache.this.clear();
+        }
+    }
+}
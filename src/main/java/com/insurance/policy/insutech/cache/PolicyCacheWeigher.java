@@ -0,0 +1,119 @@
+package com.insurance.policy.insutech.cache;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.dto.FacetCountDTO;
+import com.insurance.policy.insutech.dto.FacetedPoliciesDTO;
+import com.insurance.policy.insutech.dto.PolicyFacetsDTO;
+import com.insurance.policy.insutech.dto.PremiumBandCountDTO;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Estimates the heap retained by a cache entry, assuming a 64-bit JVM with compressed oops and compact strings.
+ * Enums are shared singletons and cost nothing per entry. The numbers only need to be right in proportion:
+ * a list of two million policies must weigh about two million times one policy.
+ */
+public final class PolicyCacheWeigher implements Weigher<Object, Object> {
+
+    public static final PolicyCacheWeigher INSTANCE = new PolicyCacheWeigher();
+
+    // Caffeine node with its key/value references, write/access timestamps and queue links
+    private static final long ENTRY_OVERHEAD = 64;
+    private static final long OBJECT_HEADER = 12;
+    private static final long REFERENCE = 4;
+    private static final long BOXED_NUMBER = 16;
+    private static final long LOCAL_DATE = 24;
+    // AutoPolicyDTO: header plus twelve reference fields
+    private static final long POLICY_SHALLOW = align(OBJECT_HEADER + 12 * REFERENCE);
+
+    private PolicyCacheWeigher() {
+    }
+
+    @Override
+    public int weigh(Object key, Object value) {
+        return (int) Math.min(Integer.MAX_VALUE, ENTRY_OVERHEAD + estimate(key) + estimate(value));
+    }
+
+    public static long estimate(Object value) {
+        if (value == null || value instanceof Enum<?>) {
+            return 0;
+        }
+        if (value instanceof AutoPolicyDTO policy) {
+            return policy(policy);
+        }
+        if (value instanceof String string) {
+            return string(string);
+        }
+        if (value instanceof PolicyFacetsDTO facets) {
+            return facets(facets);
+        }
+        if (value instanceof FacetedPoliciesDTO faceted) {
+            // The list is usually shared with the plain result's entry; counting it twice errs on the heavy side
+            return align(OBJECT_HEADER + 2 * REFERENCE) + estimate(faceted.getPolicies()) + facets(faceted.getFacets());
+        }
+        if (value instanceof Number && !(value instanceof BigDecimal)) {
+            return BOXED_NUMBER;
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal(decimal);
+        }
+        if (value instanceof Collection<?> collection) {
+            // ArrayList: header, size and modCount, plus the backing array of references
+            long weight = align(OBJECT_HEADER + 12) + align(16 + REFERENCE * collection.size());
+            for (Object element : collection) {
+                weight += estimate(element);
+            }
+            return weight;
+        }
+        // Keys such as SimpleKey and Spring's NullValue marker: small, fixed-size objects
+        return 32;
+    }
+
+    private static long policy(AutoPolicyDTO policy) {
+        return POLICY_SHALLOW
+                + BOXED_NUMBER
+                + string(policy.getPolicyNumber())
+                + string(policy.getVehicleMake())
+                + string(policy.getVehicleModel())
+                + string(policy.getVehicleYear())
+                + string(policy.getFirstName())
+                + string(policy.getLastName())
+                + (policy.getStartDate() != null ? LOCAL_DATE : 0)
+                + (policy.getEndDate() != null ? LOCAL_DATE : 0)
+                + decimal(policy.getPremiumAmount());
+    }
+
+    private static long facets(PolicyFacetsDTO facets) {
+        long weight = align(OBJECT_HEADER + 8 + 4 * REFERENCE);
+        for (List<FacetCountDTO> counts : List.of(facets.getStatuses(), facets.getPolicyTypes(), facets.getVehicleMakes())) {
+            weight += align(OBJECT_HEADER + 12) + align(16 + REFERENCE * counts.size());
+            for (FacetCountDTO count : counts) {
+                weight += align(OBJECT_HEADER + REFERENCE + 8) + string(count.getValue());
+            }
+        }
+        List<PremiumBandCountDTO> bands = facets.getPremiumBands();
+        // Band bounds are shared with the configuration
+        return weight + align(OBJECT_HEADER + 12) + align(16 + REFERENCE * bands.size())
+                + bands.size() * align(OBJECT_HEADER + 2 * REFERENCE + 8);
+    }
+
+    private static long string(String value) {
+        // String object plus its byte[]; Latin-1 text stores one byte per character
+        return value == null ? 0 : 24 + align(16 + value.length());
+    }
+
+    private static long decimal(BigDecimal value) {
+        if (value == null) {
+            return 0;
+        }
+        // Unscaled values beyond a long are held in a separate BigInteger
+        return 40 + (value.precision() > 18 ? align(40 + value.unscaledValue().bitLength() / 8) : 0);
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
@@ -0,0 +1,153 @@
+package com.insurance.policy.insutech.cache;
+
+import com.insurance.policy.insutech.profiling.CacheLoadEvent;
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Spring {@link Cache} decorator feeding {@link CacheTelemetry}. {@code @Cacheable} does not load through
+ * Caffeine: it looks up, runs the method on a miss and then puts. The time from a miss to the put of the same key
+ * on the same thread is therefore the cost of computing that value.
+ */
+public class TelemetryCache implements Cache {
+
+    private static final ThreadLocal<PendingLoad> PENDING = new ThreadLocal<>();
+
+    private final Cache delegate;
+    private final CacheTelemetry telemetry;
+
+    public TelemetryCache(Cache delegate, CacheTelemetry telemetry) {
+        this.delegate = delegate;
+        this.telemetry = telemetry;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper value = delegate.get(key);
+        accessed(key, value != null);
+        return value;
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        T value = delegate.get(key, type);
+        accessed(key, value != null);
+        return value;
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        telemetry.recordAccess(key);
+        return delegate.get(key, () -> {
+            long started = System.nanoTime();
+            CacheLoadEvent event = CacheLoadEvent.start();
+            try {
+                return valueLoader.call();
+            } finally {
+                telemetry.recordLoad(key, System.nanoTime() - started);
+                event.finish(getName(), key);
+            }
+        });
+    }
+
+    /**
+     * Caffeine lookups never block, so the asynchronous variants are answered from the same synchronous regions with
+     * completed futures. Reactive callers, including {@code @Cacheable} on methods returning a Mono, share every
+     * region with the blocking stack this way.
+     */
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        telemetry.recordAccess(key);
+        ValueWrapper value = delegate.get(key);
+        return value != null ? CompletableFuture.completedFuture(value.get()) : null;
+    }
+
+    /**
+     * Concurrent misses may each run the loader, as with the blocking lookup-then-put.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        telemetry.recordAccess(key);
+        ValueWrapper value = delegate.get(key);
+        if (value != null) {
+            return CompletableFuture.completedFuture((T) value.get());
+        }
+        long started = System.nanoTime();
+        CacheLoadEvent event = CacheLoadEvent.start();
+        return valueLoader.get().thenApply(loaded -> {
+            telemetry.recordLoad(key, System.nanoTime() - started);
+            event.finish(getName(), key);
+            if (loaded != null) {
+                delegate.put(key, loaded);
+            }
+            return loaded;
+        });
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        loaded(key);
+        delegate.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        loaded(key);
+        return delegate.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+
+    private void accessed(Object key, boolean hit) {
+        telemetry.recordAccess(key);
+        if (hit) {
+            PENDING.remove();
+        } else {
+            PENDING.set(new PendingLoad(this, key, System.nanoTime(), CacheLoadEvent.start()));
+        }
+    }
+
+    private void loaded(Object key) {
+        PendingLoad pending = PENDING.get();
+        if (pending != null && pending.cache == this && pending.key.equals(key)) {
+            PENDING.remove();
+            telemetry.recordLoad(key, System.nanoTime() - pending.startedNanos);
+            pending.event.finish(getName(), key);
+        }
+    }
+
+    private record PendingLoad(TelemetryCache cache, Object key, long startedNanos, CacheLoadEvent event) {
+    }
+}
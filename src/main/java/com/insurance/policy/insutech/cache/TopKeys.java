@@ -0,0 +1,67 @@
+package com.insurance.policy.insutech.cache;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The K keys with the highest sketch estimates seen so far. Offers below the current floor are rejected without
+ * locking, so in steady state only keys that actually climb into the top K pay for synchronization.
+ */
+public class TopKeys {
+
+    private static final int MAX_KEY_LENGTH = 120;
+
+    private final int capacity;
+    private final Map<String, Long> leaders = new HashMap<>();
+    private volatile long floor;
+
+    public TopKeys(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public void offer(Object key, long estimate) {
+        if (estimate <= floor) {
+            return;
+        }
+        String label = label(key);
+        synchronized (this) {
+            leaders.put(label, estimate);
+            if (leaders.size() > capacity) {
+                String coldest = null;
+                long coldestEstimate = Long.MAX_VALUE;
+                for (Map.Entry<String, Long> entry : leaders.entrySet()) {
+                    if (entry.getValue() < coldestEstimate) {
+                        coldest = entry.getKey();
+                        coldestEstimate = entry.getValue();
+                    }
+                }
+                leaders.remove(coldest);
+                floor = coldestEstimate;
+            }
+        }
+    }
+
+    /**
+     * Leaders ordered by descending estimate.
+     */
+    public synchronized List<Map.Entry<String, Long>> snapshot() {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(leaders.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue()))
+                .toList());
+        entries.sort(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()));
+        return entries;
+    }
+
+    public synchronized void clear() {
+        leaders.clear();
+        floor = 0;
+    }
+
+    private static String label(Object key) {
+        String label = String.valueOf(key);
+        return label.length() > MAX_KEY_LENGTH ? label.substring(0, MAX_KEY_LENGTH) + "..." : label;
+    }
+}
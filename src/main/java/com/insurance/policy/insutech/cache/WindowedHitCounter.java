@@ -0,0 +1,55 @@
+package com.insurance.policy.insutech.cache;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Hits and misses in ten-second buckets over the last fifteen minutes, for hit ratios over sliding windows.
+ * A bucket is reset lazily by the first access after its slot comes round again.
+ */
+public class WindowedHitCounter {
+
+    private static final long BUCKET_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final int BUCKETS = 90;
+
+    // Per bucket: epoch, hits, misses
+    private final AtomicLongArray slots = new AtomicLongArray(BUCKETS * 3);
+
+    public void recordHits(int count) {
+        slots.addAndGet(slot(System.nanoTime()) + 1, count);
+    }
+
+    public void recordMisses(int count) {
+        slots.addAndGet(slot(System.nanoTime()) + 2, count);
+    }
+
+    /**
+     * Hit ratio over the most recent window, or NaN when there were no requests in it.
+     */
+    public double hitRatio(long window, TimeUnit unit) {
+        long now = System.nanoTime() / BUCKET_NANOS;
+        long oldest = now - Math.min(BUCKETS, Math.max(1, unit.toNanos(window) / BUCKET_NANOS)) + 1;
+        long hits = 0;
+        long misses = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            long epoch = slots.get(bucket * 3);
+            if (epoch >= oldest && epoch <= now) {
+                hits += slots.get(bucket * 3 + 1);
+                misses += slots.get(bucket * 3 + 2);
+            }
+        }
+        return hits + misses == 0 ? Double.NaN : (double) hits / (hits + misses);
+    }
+
+    private int slot(long nanos) {
+        long epoch = nanos / BUCKET_NANOS;
+        int base = Math.floorMod(epoch, BUCKETS) * 3;
+        long current = slots.get(base);
+        if (current != epoch && slots.compareAndSet(base, current, epoch)) {
+            // A few increments racing with the reset may be lost; the ratio tolerates that
+            slots.set(base + 1, 0);
+            slots.set(base + 2, 0);
+        }
+        return base;
+    }
+}
@@ -0,0 +1,113 @@
+package com.insurance.policy.insutech.concurrency;
+
+import com.insurance.policy.insutech.config.ConcurrencyProperties;
+import lombok.Getter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Strategy: latency-gradient concurrency limit (in the spirit of TCP Vegas / Netflix Gradient2)
+ * - A fast moving average of request latency is compared with a slow one that serves as the no-load baseline
+ * - While recent latency stays within tolerance of the baseline the limit grows by about sqrt(limit) per sample;
+ *   once queueing inflates latency, the gradient (baseline / recent) shrinks the limit proportionally
+ * - Requests over the limit are rejected immediately instead of queueing, so overload is shed rather than
+ *   turned into latency for everyone
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double SHORT_WINDOW_ALPHA = 2.0 / (10 + 1);
+    private static final double LONG_WINDOW_ALPHA = 2.0 / (600 + 1);
+
+    @Getter
+    private final Bulkhead bulkhead;
+    private final ConcurrencyProperties.Limit settings;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private volatile double limit;
+
+    // Guarded by this
+    private double shortRttNanos;
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimiter(Bulkhead bulkhead, ConcurrencyProperties.Limit settings) {
+        this.bulkhead = bulkhead;
+        this.settings = settings;
+        this.limit = settings.getInitialLimit();
+    }
+
+    /**
+     * Takes a permit if the bulkhead is below its current limit. Every successful call must be paired with
+     * {@link #release(long, boolean)}.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @param rttNanos how long the permit was held
+     * @param sample   whether the latency reflects normal work; failed requests often return early or
+     *                 time out and would skew the estimate either way
+     */
+    public void release(long rttNanos, boolean sample) {
+        int inFlightAtRelease = inFlight.getAndDecrement();
+        if (sample) {
+            onSample(rttNanos, inFlightAtRelease);
+        }
+    }
+
+    private synchronized void onSample(long rttNanos, int inFlightAtRelease) {
+        if (longRttNanos == 0) {
+            shortRttNanos = rttNanos;
+            longRttNanos = rttNanos;
+            return;
+        }
+        shortRttNanos += (rttNanos - shortRttNanos) * SHORT_WINDOW_ALPHA;
+        longRttNanos += (rttNanos - longRttNanos) * LONG_WINDOW_ALPHA;
+
+        // Latency dropped for good (e.g. a slow dependency recovered): let the baseline follow quickly
+        if (longRttNanos / shortRttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+
+        // Far below the limit the traffic, not the limit, is the bottleneck; samples say nothing about capacity
+        if (inFlightAtRelease < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, settings.getRttTolerance() * longRttNanos / shortRttNanos));
+        double estimate = limit * gradient + Math.sqrt(limit);
+        double smoothed = limit * (1 - settings.getSmoothing()) + estimate * settings.getSmoothing();
+        limit = Math.max(settings.getMinLimit(), Math.min(settings.getMaxLimit(), smoothed));
+    }
+
+    /**
+     * A client that retries after roughly one baseline latency finds the in-flight requests drained.
+     */
+    public long getRetryAfterSeconds() {
+        return Math.max(1, (long) Math.ceil(longRttNanos / TimeUnit.SECONDS.toNanos(1)));
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+}
@@ -0,0 +1,14 @@
+package com.insurance.policy.insutech.concurrency;
+
+/**
+ * Independent concurrency compartments. Each has its own adaptive limit, so saturating one cannot
+ * starve the others of threads or database connections.
+ */
+public enum Bulkhead {
+    /** Single-policy reads and writes addressed by ID or policy number. */
+    POINT,
+    /** Filter and list queries whose cost grows with the result size. */
+    QUERY,
+    /** Multi-policy writes such as {@code /batch}. */
+    BULK_WRITE
+}
@@ -0,0 +1,15 @@
+package com.insurance.policy.insutech.concurrency;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Places a controller method (or every method of a controller) behind the adaptive limiter of a bulkhead.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConcurrencyBulkhead {
+    Bulkhead value();
+}
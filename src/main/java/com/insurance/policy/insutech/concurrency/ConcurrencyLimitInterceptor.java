@@ -0,0 +1,57 @@
+package com.insurance.policy.insutech.concurrency;
+
+import com.insurance.policy.insutech.exception.ConcurrencyLimitExceededException;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Holds a bulkhead permit for the whole life of a request, including the async part of streaming responses:
+ * the permit taken on the first dispatch is only released after the final async dispatch completes.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConcurrencyLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".PERMIT";
+
+    private final ConcurrencyLimiterRegistry concurrencyLimiterRegistry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!concurrencyLimiterRegistry.isEnabled()
+                || request.getDispatcherType() == DispatcherType.ASYNC
+                || !(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        ConcurrencyBulkhead bulkhead = handlerMethod.getMethodAnnotation(ConcurrencyBulkhead.class);
+        if (bulkhead == null) {
+            bulkhead = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), ConcurrencyBulkhead.class);
+        }
+        if (bulkhead == null) {
+            return true;
+        }
+        AdaptiveConcurrencyLimiter limiter = concurrencyLimiterRegistry.get(bulkhead.value());
+        if (!limiter.tryAcquire()) {
+            throw new ConcurrencyLimitExceededException(bulkhead.value(), limiter.getRetryAfterSeconds());
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, new Permit(limiter, System.nanoTime()));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof Permit permit) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            permit.limiter().release(System.nanoTime() - permit.startNanos(), ex == null && response.getStatus() < 500);
+        }
+    }
+
+    private record Permit(AdaptiveConcurrencyLimiter limiter, long startNanos) {
+    }
+}
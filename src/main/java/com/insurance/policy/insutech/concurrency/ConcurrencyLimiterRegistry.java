@@ -0,0 +1,33 @@
+package com.insurance.policy.insutech.concurrency;
+
+import com.insurance.policy.insutech.config.ConcurrencyProperties;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Component
+public class ConcurrencyLimiterRegistry {
+
+    @Getter
+    private final boolean enabled;
+    private final Map<Bulkhead, AdaptiveConcurrencyLimiter> limiters = new EnumMap<>(Bulkhead.class);
+
+    public ConcurrencyLimiterRegistry(ConcurrencyProperties concurrencyProperties) {
+        this.enabled = concurrencyProperties.isEnabled();
+        for (Bulkhead bulkhead : Bulkhead.values()) {
+            limiters.put(bulkhead, new AdaptiveConcurrencyLimiter(bulkhead, concurrencyProperties.forBulkhead(bulkhead)));
+        }
+    }
+
+    public AdaptiveConcurrencyLimiter get(Bulkhead bulkhead) {
+        return limiters.get(bulkhead);
+    }
+
+    public Collection<AdaptiveConcurrencyLimiter> getAll() {
+        return Collections.unmodifiableCollection(limiters.values());
+    }
+}
@@ -0,0 +1,20 @@
+package com.insurance.policy.insutech.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "insutech.archival")
+public class ArchivalProperties {
+
+    /** Whether the scheduled archival job runs; manual runs through the API are always allowed. */
+    private boolean enabled = true;
+
+    /** Expired and cancelled policies whose end date is older than this many days are moved to the archive. */
+    private int retentionDays = 365;
+
+    /** Policies moved per transaction. */
+    private int batchSize = 500;
+}
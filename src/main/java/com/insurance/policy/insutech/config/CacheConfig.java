@@ -1,36 +1,71 @@
 package com.insurance.policy.insutech.config;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.insurance.policy.insutech.cache.CacheBudget;
+import com.insurance.policy.insutech.cache.CacheTelemetryRegistry;
+import com.insurance.policy.insutech.cache.PolicyCache;
+import com.insurance.policy.insutech.cache.PolicyCacheWeigher;
+import com.insurance.policy.insutech.cache.TelemetryCache;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.util.concurrent.TimeUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
+    /**
+     * Strategy: one Caffeine cache per region, sized by estimated bytes rather than entry count
+     * - Each region's limits and TTLs come from insutech.cache.regions
+     * - Weight-bounded regions share the global budget, so a region of huge lists cannot push the heap past it
+     * - Only configured regions exist; a typo in a cache name fails fast instead of creating an unbounded cache
+     * - Every region is instrumented for windowed hit ratios, load latency and hot keys
+     * - The policies region holds each policy once, reachable by ID and by number (see {@link PolicyCache})
+     */
     @Bean
-    public CacheManager cacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager(
-                "policies",          // Cache for individual policies
-                "policyNumbers",     // Cache for policy number lookups
-                "allPolicies",       // ADD THIS - Cache for getAllPolicies()
-                "filteredPolicies"   // Cache for filtered policy queries
-        );
+    public CacheManager cacheManager(CacheProperties cacheProperties, CacheTelemetryRegistry cacheTelemetryRegistry) {
+        Map<String, Long> weights = CacheBudget.allocate(cacheProperties);
+        List<Cache> caches = new ArrayList<>();
+        cacheProperties.getRegions().forEach((name, region) -> {
+            Caffeine<Object, Object> builder = caffeineCacheBuilder(region, weights.get(name));
+            if (PolicyCache.REGION.equals(name)) {
+                PolicyCache policyCache = new PolicyCache(builder, cacheTelemetryRegistry);
+                caches.add(instrument(policyCache.byId(), cacheTelemetryRegistry));
+                caches.add(instrument(policyCache.byNumber(), cacheTelemetryRegistry));
+            } else {
+                caches.add(instrument(new CaffeineCache(name, cacheTelemetryRegistry.build(name, builder)),
+                        cacheTelemetryRegistry));
+            }
+        });
 
-        cacheManager.setCaffeine(caffeineCacheBuilder());
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(caches);
         return cacheManager;
     }
 
-    Caffeine<Object, Object> caffeineCacheBuilder() {
-        return Caffeine.newBuilder()
-                .initialCapacity(100)
-                .maximumSize(1000)
-                .expireAfterWrite(30, TimeUnit.MINUTES)
-                .recordStats();
+    private static Cache instrument(Cache cache, CacheTelemetryRegistry cacheTelemetryRegistry) {
+        return new TelemetryCache(cache, cacheTelemetryRegistry.get(cache.getName()));
     }
-}
\ No newline at end of file
+
+    Caffeine<Object, Object> caffeineCacheBuilder(CacheProperties.Region region, Long maximumWeight) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .expireAfterWrite(region.getExpireAfterWrite());
+        if (maximumWeight != null) {
+            builder.maximumWeight(maximumWeight).weigher(PolicyCacheWeigher.INSTANCE);
+        } else {
+            builder.maximumSize(region.getMaximumSize());
+        }
+        if (region.getExpireAfterAccess() != null) {
+            builder.expireAfterAccess(region.getExpireAfterAccess());
+        }
+        return builder;
+    }
+}
@@ -0,0 +1,41 @@
+package com.insurance.policy.insutech.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "insutech.cache")
+public class CacheProperties {
+
+    /**
+     * Heap budget for all weight-bounded regions together. Regions with an explicit maximum-weight take their
+     * share first; the remainder is split evenly among regions that set neither a weight nor a size.
+     */
+    private DataSize maxWeight = DataSize.ofMegabytes(256);
+
+    /** Keyed by Spring cache name. */
+    private Map<String, Region> regions = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Region {
+
+        /** Estimated retained bytes this region may hold; counted against the global budget. */
+        private DataSize maximumWeight;
+
+        /** Entry-count bound instead of a weight; such a region sits outside the global budget. */
+        private Long maximumSize;
+
+        private Duration expireAfterWrite = Duration.ofMinutes(30);
+
+        /** Optional idle expiry on top of expireAfterWrite. */
+        private Duration expireAfterAccess;
+    }
+}
@@ -0,0 +1,19 @@
+package com.insurance.policy.insutech.config;
+
+import com.insurance.policy.insutech.concurrency.ConcurrencyLimitInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class ConcurrencyConfig implements WebMvcConfigurer {
+
+    private final ConcurrencyLimitInterceptor concurrencyLimitInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(concurrencyLimitInterceptor).addPathPatterns("/api/**");
+    }
+}
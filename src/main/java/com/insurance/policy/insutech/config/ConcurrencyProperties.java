@@ -0,0 +1,58 @@
+package com.insurance.policy.insutech.config;
+
+import com.insurance.policy.insutech.concurrency.Bulkhead;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Limits per bulkhead. The maximums of the query and bulk-write bulkheads should stay below the connection
+ * pool size, so that point operations always find a free connection.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "insutech.concurrency")
+public class ConcurrencyProperties {
+
+    private boolean enabled = true;
+
+    private Limit point = new Limit(20, 5, 200);
+
+    private Limit query = new Limit(4, 1, 6);
+
+    private Limit bulkWrite = new Limit(2, 1, 2);
+
+    public Limit forBulkhead(Bulkhead bulkhead) {
+        return switch (bulkhead) {
+            case POINT -> point;
+            case QUERY -> query;
+            case BULK_WRITE -> bulkWrite;
+        };
+    }
+
+    @Getter
+    @Setter
+    public static class Limit {
+
+        private int initialLimit;
+
+        private int minLimit;
+
+        private int maxLimit;
+
+        /** How much the recent latency may exceed the long-term baseline before the limit starts shrinking. */
+        private double rttTolerance = 1.5;
+
+        /** Weight of each new limit estimate; lower values react more slowly but oscillate less. */
+        private double smoothing = 0.2;
+
+        public Limit() {
+        }
+
+        public Limit(int initialLimit, int minLimit, int maxLimit) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+        }
+    }
+}
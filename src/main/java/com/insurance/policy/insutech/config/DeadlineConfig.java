@@ -0,0 +1,25 @@
+package com.insurance.policy.insutech.config;
+
+import com.insurance.policy.insutech.deadline.DeadlineDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class DeadlineConfig {
+
+    @Bean
+    public static BeanPostProcessor deadlineDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof DeadlineDataSource)) {
+                    return new DeadlineDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,24 @@
+package com.insurance.policy.insutech.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "insutech.deadlines")
+public class DeadlineProperties {
+
+    /** Budget of a filter query, from the request arriving to the response being ready. */
+    private long filterMs = 5_000;
+
+    private long listMs = 10_000;
+
+    private long batchMs = 30_000;
+
+    /**
+     * Workers running deadline-bound requests. The bulkheads already bound concurrency per endpoint class; work
+     * queued beyond this simply waits and times out against its own deadline.
+     */
+    private int workerThreads = 16;
+}
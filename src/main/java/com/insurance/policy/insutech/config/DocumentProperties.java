@@ -0,0 +1,28 @@
+package com.insurance.policy.insutech.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "insutech.documents")
+public class DocumentProperties {
+
+    /** Size of the shared rendering pool. */
+    private int workerThreads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Documents rendered ahead of the ZIP writer per batch. Together with the worker count this bounds the
+     * memory a batch can hold, however many policies it covers.
+     */
+    private int maxInFlight = 32;
+
+    /** Policies read per keyset page while a batch is written; only the page being rendered is held. */
+    private int pageSize = 500;
+
+    /** Optional TrueType font to embed instead of the standard Helvetica (needed for non-Latin names). */
+    private String fontPath;
+
+    private String companyName = "InsuTech Insurance";
+}
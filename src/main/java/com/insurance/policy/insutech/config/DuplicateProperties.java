@@ -0,0 +1,56 @@
+package com.insurance.policy.insutech.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "insutech.duplicates")
+public class DuplicateProperties {
+
+    /** When off, nothing is indexed, no detection runs and new policies are not checked. */
+    private boolean enabled = true;
+
+    /** The default runs after the renewal job, so a night's successors are clustered with their predecessors. */
+    private String cron = "0 0 5 * * *";
+
+    /** Weighted Jaro-Winkler similarity from which two policies are the same customer. */
+    private double customerThreshold = 0.9;
+
+    private double vehicleThreshold = 0.9;
+
+    /**
+     * Within a block sorted by name, each policy is compared with this many that follow it. Blocks up to one
+     * larger are compared pair by pair; the window only bounds the work in unusually common blocks.
+     */
+    private int comparisonWindow = 50;
+
+    /** Policies per chunk of a detection run: one load, one scoring task and one writer transaction. */
+    private int chunkSize = 2000;
+
+    private int workerThreads = Runtime.getRuntime().availableProcessors();
+
+    private int maxChunksInFlight = 4;
+
+    /** Policies loaded per query; keeps IN lists short. */
+    private int loadBatchSize = 500;
+
+    /** Budget for checking a new policy; a check that runs over is abandoned and creation goes ahead unflagged. */
+    private long checkTimeoutMs = 50;
+
+    private int checkThreads = 4;
+
+    /**
+     * Checks waiting for a thread; once full, a new policy is created unchecked instead of queueing a check that
+     * would only wait out its budget.
+     */
+    private int checkQueueCapacity = 100;
+
+    /** Most recent policies of a block compared with a new one. */
+    private int maxCandidates = 200;
+
+    private int maxMatches = 10;
+
+    private int maxClustersPerPage = 200;
+}
@@ -0,0 +1,35 @@
+package com.insurance.policy.insutech.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "insutech.existence-filter")
+public class ExistenceFilterProperties {
+
+    /** When off, every lookup goes to the database as before. */
+    private boolean enabled = true;
+
+    /** Lower bound for filter sizing; a rebuild sizes for twice the current row count when that is larger. */
+    private long expectedPolicies = 1_000_000;
+
+    private double falsePositiveRate = 0.01;
+
+    /**
+     * Full rebuilds drop deleted keys and pick up rows written behind the service's back, such as renewals run on
+     * another node. The default runs after the renewal job.
+     */
+    private String rebuildCron = "0 0 4 * * *";
+
+    /** Unknown IDs and numbers are remembered this long, which also bounds how stale a cached miss can be. */
+    private Duration negativeCacheTtl = Duration.ofSeconds(30);
+
+    private long negativeCacheSize = 100_000;
+
+    /** Keys written most recently, replayed into a filter being rebuilt to cover writes racing the scan. */
+    private int recentWrites = 65_536;
+}
@@ -0,0 +1,43 @@
+package com.insurance.policy.insutech.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "insutech.expiry")
+public class ExpiryProperties {
+
+    /** When off, nothing is indexed, no alerts are sent and expiring queries go to the database. */
+    private boolean enabled = true;
+
+    /** Days before the end date on which an alert goes out; 0 alerts on the last day of cover. */
+    private List<Integer> alertDays = List.of(30, 7, 1, 0);
+
+    /**
+     * Runs just after each midnight. Full rebuilds also pick up policies written behind the service's back, such
+     * as renewals and writes on other nodes; the default runs after the renewal job.
+     */
+    private String tickCron = "0 0 0 * * *";
+
+    private String rebuildCron = "0 15 4 * * *";
+
+    /** Zone whose midnight starts a new day; the server's zone when blank. */
+    private String zone = "";
+
+    private int maxWithinDays = 366;
+
+    private int defaultLimit = 100;
+
+    private int maxLimit = 1000;
+
+    /** Policies loaded per query when an expiring list or an alert batch is resolved to full policies. */
+    private int loadBatchSize = 500;
+
+    private long emitterTimeoutMs = 30 * 60 * 1000L;
+
+    private long heartbeatIntervalMs = 15000;
+}
@@ -0,0 +1,26 @@
+package com.insurance.policy.insutech.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "insutech.filter")
+public class FilterProperties {
+
+    public enum Engine { JDBC, CRITERIA }
+
+    /** JDBC runs precompiled per-shape statements; CRITERIA is the original JPA path, kept as a fallback. */
+    private Engine engine = Engine.JDBC;
+
+    /** Most frequent vehicle makes listed in a faceted result. */
+    private int facetVehicleMakes = 10;
+
+    /** Ascending boundaries between premium bands in a faceted result; n boundaries make n + 1 bands. */
+    private List<BigDecimal> premiumBands = List.of(new BigDecimal("500"), new BigDecimal("1000"),
+            new BigDecimal("2000"), new BigDecimal("5000"));
+}
@@ -0,0 +1,40 @@
+package com.insurance.policy.insutech.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "insutech.outbox")
+public class OutboxProperties {
+
+    /**
+     * Whether the change stream relays outbox events to subscribers. Each shard numbers its outbox on its own, so
+     * one stream cannot order or resume across shards; this must be false when sharding is enabled.
+     */
+    private boolean relayEnabled = true;
+
+    /** How often the relay polls the outbox table for new events. */
+    private long relayIntervalMs = 500;
+
+    /**
+     * How long readers wait for a missing outbox ID, one whose transaction has not committed yet, before giving
+     * it up as rolled back. Events above the gap are held back meanwhile, so the stream stays in ID order.
+     */
+    private long gapTimeoutMs = 5000;
+
+    /** Maximum events read per query and sent per SSE write. */
+    private int batchSize = 200;
+
+    /** Events buffered per subscriber; a subscriber that falls further behind is disconnected and must resume. */
+    private int subscriberBufferSize = 1000;
+
+    private int senderThreads = 4;
+
+    private long emitterTimeoutMs = 30 * 60 * 1000L;
+
+    private long heartbeatIntervalMs = 15000;
+
+    private int retentionHours = 72;
+}
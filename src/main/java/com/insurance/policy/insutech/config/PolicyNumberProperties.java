@@ -0,0 +1,31 @@
+package com.insurance.policy.insutech.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "insutech.policy-number")
+public class PolicyNumberProperties {
+
+    /** Row in policy_number_counters; nodes sharing it never hand out the same sequence value. */
+    private String counterName = "auto_policy";
+
+    /** Sequence values reserved per database round trip. Unused values of a block are lost on shutdown. */
+    private int blockSize = 1000;
+
+    private String prefix = "AP";
+
+    /** Adds the issue year, e.g. AP-2026-00012345-6; the sequence itself never restarts, so numbers stay unique. */
+    private boolean includeYear = true;
+
+    /** Zero-padded width of the sequence part; larger values simply use more digits. */
+    private int digits = 8;
+
+    /**
+     * Appends a Luhn check digit over the year and sequence after a dash, catching single-digit typos and
+     * transpositions.
+     */
+    private boolean checkDigit = true;
+}
@@ -0,0 +1,25 @@
+package com.insurance.policy.insutech.config;
+
+import com.insurance.policy.insutech.profiling.AdminTokenInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class ProfilingConfig implements WebMvcConfigurer {
+
+    private final AdminTokenInterceptor adminTokenInterceptor;
+
+    /**
+     * Ahead of the concurrency limiter, so a rejected caller never takes a permit.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(adminTokenInterceptor)
+                .addPathPatterns("/api/v1/admin/**")
+                .order(Ordered.HIGHEST_PRECEDENCE);
+    }
+}
@@ -0,0 +1,31 @@
+package com.insurance.policy.insutech.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * On-demand Java Flight Recorder sessions behind the admin endpoints.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "insutech.profiling")
+public class ProfilingProperties {
+
+    /**
+     * Shared secret expected in the {@code X-Admin-Token} header of every {@code /api/v1/admin} request. Without one,
+     * the admin endpoints refuse every call.
+     */
+    private String adminToken;
+
+    /** Where finished recordings are written. */
+    private String directory = "data/jfr";
+
+    /** Longest recording a caller may ask for; every recording stops on its own. */
+    private Duration maxDuration = Duration.ofMinutes(5);
+
+    /** Finished recordings kept on disk; older ones are deleted as new ones start. */
+    private int retainedRecordings = 5;
+}
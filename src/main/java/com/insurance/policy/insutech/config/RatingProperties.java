@@ -0,0 +1,26 @@
+package com.insurance.policy.insutech.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "insutech.rating")
+public class RatingProperties {
+
+    /** Where the versioned rating table JSON files are loaded from. */
+    private String tablesLocation = "classpath:rating/*.json";
+
+    /** Worker threads pricing a re-rate page. */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /** Policies read per keyset page during a re-rate; each page is priced and written in one transaction. */
+    private int pageSize = 10000;
+
+    /** Updates per JDBC batch when writing re-rated premiums. */
+    private int batchSize = 1000;
+
+    /** Below this many policies a fork/join task prices its slice directly instead of splitting further. */
+    private int forkThreshold = 1024;
+}
@@ -0,0 +1,110 @@
+package com.insurance.policy.insutech.config;
+
+import com.insurance.policy.insutech.sharding.ShardRouter;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.config.BlockingExecutionConfigurer;
+import org.springframework.web.reactive.config.CorsRegistry;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Strategy: serve the policy API from Netty and R2DBC under the "reactive" profile
+ * - Reads stream from their own connection pool without a thread per request; thousands of slow requests cost
+ *   connections and buffers, not stacks
+ * - Writes keep going through the transactional JDBC services, so numbering, outbox, events and cache eviction stay
+ *   in one place; they run on a bounded pool beside the event loops
+ * - Controllers that are not reactive run on the same pool, so an admin endpoint never blocks an event loop
+ * - Boot's own R2DBC auto-configuration is excluded, so the servlet stack never opens a second pool and JPA keeps
+ *   its DataSource
+ * - That pool reaches one database, so the profile refuses to start on sharded storage rather than serve one shard
+ */
+@Configuration
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveConfig implements WebFluxConfigurer {
+
+    private final ReactiveProperties reactiveProperties;
+    private final ShardRouter shardRouter;
+
+    private ConnectionPool connectionPool;
+
+    @PostConstruct
+    public void rejectShardedStorage() {
+        if (shardRouter.isSharded()) {
+            throw new IllegalStateException("The reactive profile does not run on sharded storage;"
+                    + " drop the reactive profile or set insutech.sharding.enabled=false");
+        }
+    }
+
+    /**
+     * The pool is deliberately not a bean: Boot backs off its JDBC DataSource as soon as a ConnectionFactory bean
+     * exists, and the writes still need it.
+     */
+    @Bean
+    public DatabaseClient databaseClient() {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(reactiveProperties.getUrl()).mutate();
+        if (StringUtils.hasText(reactiveProperties.getUsername())) {
+            options.option(ConnectionFactoryOptions.USER, reactiveProperties.getUsername());
+        }
+        if (StringUtils.hasText(reactiveProperties.getPassword())) {
+            options.option(ConnectionFactoryOptions.PASSWORD, reactiveProperties.getPassword());
+        }
+        connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options.build()))
+                .name("policy-reactive")
+                .initialSize(reactiveProperties.getInitialSize())
+                .maxSize(reactiveProperties.getMaxSize())
+                .maxAcquireTime(reactiveProperties.getMaxAcquireTime())
+                .maxIdleTime(reactiveProperties.getMaxIdleTime())
+                .build());
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @PreDestroy
+    public void closeConnectionPool() {
+        if (connectionPool != null) {
+            connectionPool.dispose();
+        }
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor reactiveBlockingExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(reactiveProperties.getBlockingThreads());
+        executor.setMaxPoolSize(reactiveProperties.getBlockingThreads());
+        executor.setThreadNamePrefix("reactive-blocking-");
+        executor.setDaemon(true);
+        return executor;
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler reactiveBlockingScheduler(ThreadPoolTaskExecutor reactiveBlockingExecutor) {
+        return Schedulers.fromExecutor(reactiveBlockingExecutor);
+    }
+
+    @Override
+    public void configureBlockingExecution(BlockingExecutionConfigurer configurer) {
+        configurer.setExecutor(reactiveBlockingExecutor());
+    }
+
+    @Override
+    public void addCorsMappings(CorsRegistry registry) {
+        registry.addMapping("/**")
+                .allowedOrigins("http://localhost:5174")
+                .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
+                .allowedHeaders("*")
+                .allowCredentials(true);
+    }
+}
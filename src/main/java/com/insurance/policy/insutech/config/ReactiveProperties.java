@@ -0,0 +1,44 @@
+package com.insurance.policy.insutech.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the non-blocking policy API, only read under the "reactive" profile.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "insutech.reactive")
+public class ReactiveProperties {
+
+    /** R2DBC URL of the same database the JDBC datasource points at. */
+    private String url = "r2dbc:postgresql://localhost:5432/postgres";
+
+    private String username;
+
+    private String password;
+
+    private int initialSize = 4;
+
+    /**
+     * Connections shared by every in-flight read. Requests beyond it wait for a connection without holding a
+     * thread, up to {@link #maxAcquireTime}.
+     */
+    private int maxSize = 32;
+
+    private Duration maxAcquireTime = Duration.ofSeconds(5);
+
+    private Duration maxIdleTime = Duration.ofMinutes(10);
+
+    /** Rows fetched per round trip while streaming, so a slow client holds back the query instead of the heap. */
+    private int fetchSize = 500;
+
+    /** Streamed results up to this many rows are also cached; larger ones are streamed without being kept. */
+    private int cacheMaxRows = 10_000;
+
+    /** Threads for writes and for the admin endpoints, which still run on the blocking services. */
+    private int blockingThreads = 32;
+}
@@ -0,0 +1,33 @@
+package com.insurance.policy.insutech.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "insutech.renewal")
+public class RenewalProperties {
+
+    /**
+     * Whether the scheduled renewal job runs; manual runs through the API are always allowed, except on sharded
+     * storage, where renewal is unsupported and this must be false.
+     */
+    private boolean enabled = true;
+
+    /**
+     * The daily run renews policies ending between leadDays and leadDays + windowDays from today. Consecutive
+     * windows overlap, so a missed day is caught up; policies already renewed are skipped cheaply.
+     */
+    private int leadDays = 45;
+
+    private int windowDays = 7;
+
+    /** Policies per chunk: one keyset page, one transformer task and one writer transaction. */
+    private int chunkSize = 1000;
+
+    private int transformerThreads = Runtime.getRuntime().availableProcessors();
+
+    /** Chunks read ahead of the writer; bounds memory however large the window is. */
+    private int maxChunksInFlight = 4;
+}
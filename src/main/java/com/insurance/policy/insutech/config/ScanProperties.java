@@ -0,0 +1,14 @@
+package com.insurance.policy.insutech.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "insutech.scan")
+public class ScanProperties {
+
+    /** Rows per round trip of the shared scan that rebuilds the in-memory policy indexes. */
+    private int fetchSize = 10_000;
+}
@@ -0,0 +1,41 @@
+package com.insurance.policy.insutech.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "insutech.search")
+public class SearchProperties {
+
+    /** Directory holding the on-disk Lucene index, one subdirectory per rebuild generation. */
+    private String indexPath = "data/search-index";
+
+    /** How often the searcher is reopened so that recent writes become visible (near-real-time refresh). */
+    private long refreshIntervalMs = 1000;
+
+    /** How often pending index changes are committed to disk. */
+    private long commitIntervalMs = 30000;
+
+    /** Rebuild the index from the database at startup when it is empty. */
+    private boolean reindexOnStartup = true;
+
+    private int defaultLimit = 20;
+
+    private int maxLimit = 200;
+
+    /** Per-field score multipliers. */
+    private Map<String, Float> boosts = new LinkedHashMap<>(Map.of(
+            "policyNumber", 4.0f,
+            "lastName", 3.0f,
+            "firstName", 2.0f,
+            "vehicleMake", 1.5f,
+            "vehicleModel", 1.5f,
+            "vehicleYear", 1.0f,
+            "status", 1.0f,
+            "policyType", 1.0f));
+}
@@ -0,0 +1,113 @@
+package com.insurance.policy.insutech.config;
+
+import com.insurance.policy.insutech.deadline.DeadlineTaskDecorator;
+import com.insurance.policy.insutech.sharding.ShardRing;
+import com.insurance.policy.insutech.sharding.ShardRouter;
+import com.insurance.policy.insutech.sharding.ShardRoutingDataSource;
+import com.insurance.policy.insutech.sharding.ShardSchemaInitializer;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.jpa.boot.spi.JpaSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Strategy: one routing DataSource in front of every shard, only when sharding is enabled
+ * - JPA, Spring Data and JDBC keep injecting a single DataSource; the shard bound to the thread picks the pool
+ * - Shard 0 is built from {@code spring.datasource}, so the unsharded configuration is also shard 0's
+ * - Unsharded, the router is a single-shard no-op and Boot's own DataSource stays in place
+ */
+@Configuration
+public class ShardingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "insutech.sharding.enabled", havingValue = "false", matchIfMissing = true)
+    public ShardRouter shardRouter() {
+        return ShardRouter.unsharded();
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "insutech.sharding.enabled", havingValue = "true")
+    static class Sharded {
+
+        private final ShardingProperties shardingProperties;
+        private final List<HikariDataSource> pools = new ArrayList<>();
+
+        Sharded(ShardingProperties shardingProperties) {
+            this.shardingProperties = shardingProperties;
+        }
+
+        @Bean
+        @Primary
+        public DataSource dataSource(DataSourceProperties dataSourceProperties) {
+            List<DataSource> shards = new ArrayList<>();
+            HikariDataSource defaultShard = dataSourceProperties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .build();
+            defaultShard.setPoolName("shard-0");
+            pools.add(defaultShard);
+            shards.add(defaultShard);
+            for (ShardingProperties.Shard shard : shardingProperties.getShards()) {
+                HikariDataSource pool = DataSourceBuilder.create()
+                        .type(HikariDataSource.class)
+                        .url(shard.getUrl())
+                        .username(shard.getUsername())
+                        .password(shard.getPassword())
+                        .build();
+                pool.setPoolName("shard-" + shards.size());
+                pool.setMaximumPoolSize(shard.getMaximumPoolSize());
+                pools.add(pool);
+                shards.add(pool);
+            }
+            return new ShardRoutingDataSource(shards);
+        }
+
+        @PreDestroy
+        public void closePools() {
+            pools.forEach(HikariDataSource::close);
+        }
+
+        /**
+         * Legs of a scatter run here with a leg of the request's deadline; the router gives each leg its own SQL scope.
+         */
+        @Bean
+        public ThreadPoolTaskExecutor shardScatterExecutor() {
+            ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+            executor.setCorePoolSize(shardingProperties.getScatterThreads());
+            executor.setMaxPoolSize(shardingProperties.getScatterThreads());
+            executor.setThreadNamePrefix("shard-scatter-");
+            executor.setDaemon(true);
+            executor.setTaskDecorator(new DeadlineTaskDecorator());
+            return executor;
+        }
+
+        @Bean
+        public ShardRouter shardRouter(ThreadPoolTaskExecutor shardScatterExecutor) {
+            int shards = shardingProperties.getShards().size() + 1;
+            return new ShardRouter(new ShardRing(shards, shardingProperties.getVirtualNodes()), shards,
+                    shardScatterExecutor);
+        }
+
+        @Bean
+        public ShardSchemaInitializer shardSchemaInitializer(ShardRouter shardRouter, DataSource dataSource) {
+            return new ShardSchemaInitializer(shardRouter, dataSource);
+        }
+
+        @Bean
+        public HibernatePropertiesCustomizer shardSchemaCustomizer(ShardSchemaInitializer shardSchemaInitializer) {
+            return properties -> properties.put(JpaSettings.INTEGRATOR_PROVIDER,
+                    (IntegratorProvider) () -> List.of(shardSchemaInitializer));
+        }
+    }
+}
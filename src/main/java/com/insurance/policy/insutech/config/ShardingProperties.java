@@ -0,0 +1,47 @@
+package com.insurance.policy.insutech.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hash-sharded policy storage. Shard 0 is always the regular {@code spring.datasource}; it also keeps the tables
+ * that are not sharded, such as the policy number counters. Policies are placed by their number, so turning this on
+ * over a populated database needs each existing policy moved to its shard first.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "insutech.sharding")
+public class ShardingProperties {
+
+    /** When off, everything runs against the one datasource as before. */
+    private boolean enabled = false;
+
+    /** Shards 1 to N, in order. The order is part of the placement: never reorder or remove an entry. */
+    private List<Shard> shards = new ArrayList<>();
+
+    /**
+     * Points per shard on the hash ring. More points even out the spread of policy numbers at the cost of a larger
+     * ring to search; 128 keeps every shard within a few percent of its share.
+     */
+    private int virtualNodes = 128;
+
+    /** Threads running the per-shard legs of list and filter queries. */
+    private int scatterThreads = 16;
+
+    @Getter
+    @Setter
+    public static class Shard {
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        private int maximumPoolSize = 10;
+    }
+}
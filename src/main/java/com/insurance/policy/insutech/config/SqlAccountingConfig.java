@@ -0,0 +1,35 @@
+package com.insurance.policy.insutech.config;
+
+import com.insurance.policy.insutech.sql.AccountingDataSource;
+import com.insurance.policy.insutech.sql.ServiceMethodStatementInspector;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnProperty(name = "insutech.sql-accounting.enabled", matchIfMissing = true)
+public class SqlAccountingConfig {
+
+    @Bean
+    public static BeanPostProcessor accountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof AccountingDataSource)) {
+                    return new AccountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer statementInspectorCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new ServiceMethodStatementInspector());
+    }
+}
@@ -0,0 +1,20 @@
+package com.insurance.policy.insutech.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "insutech.sql-accounting")
+public class SqlAccountingProperties {
+
+    /** Wraps the DataSource to count statements, rows and database time. Read once at startup. */
+    private boolean enabled = true;
+
+    /** Debug mode: adds X-SQL-* headers with the per-request totals to every JSON response. */
+    private boolean responseHeaders = false;
+
+    /** A normalized statement executed this many times within one request or service call is flagged as N+1. */
+    private int repeatThreshold = 3;
+}
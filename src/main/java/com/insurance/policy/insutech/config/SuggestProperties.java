@@ -0,0 +1,24 @@
+package com.insurance.policy.insutech.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "insutech.suggest")
+public class SuggestProperties {
+
+    /** When off, nothing is indexed and suggestions are empty. */
+    private boolean enabled = true;
+
+    private int defaultLimit = 10;
+
+    private int maxLimit = 50;
+
+    /**
+     * Full rebuilds correct the counts for rows written behind the service's back, such as renewals and writes
+     * on other nodes; the default runs after the renewal job.
+     */
+    private String rebuildCron = "0 30 4 * * *";
+}
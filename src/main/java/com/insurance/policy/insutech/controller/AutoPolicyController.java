@@ -1,64 +1,98 @@
 package com.insurance.policy.insutech.controller;
 
+import com.insurance.policy.insutech.concurrency.Bulkhead;
+import com.insurance.policy.insutech.concurrency.ConcurrencyBulkhead;
+import com.insurance.policy.insutech.config.DeadlineProperties;
+import com.insurance.policy.insutech.deadline.DeadlineExecutor;
 import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.dto.DuplicateMatchDTO;
+import com.insurance.policy.insutech.dto.FacetedPoliciesDTO;
 import com.insurance.policy.insutech.model.AutoPolicyType;
 import com.insurance.policy.insutech.model.PolicyStatus;
 import com.insurance.policy.insutech.service.AutoPolicyService;
+import com.insurance.policy.insutech.service.PolicyDuplicateService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import java.net.URI;
 import java.time.LocalDate;
 import java.util.List;
-@CrossOrigin(origins = "http://localhost:5173")
+import java.util.stream.Collectors;
+@CrossOrigin(origins = "http://localhost:5173", exposedHeaders = AutoPolicyController.POSSIBLE_DUPLICATES_HEADER)
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/v1/policies")
 @RequiredArgsConstructor
 public class AutoPolicyController {
 
+    /** IDs of existing policies that look like the same customer or vehicle, most similar first. */
+    public static final String POSSIBLE_DUPLICATES_HEADER = "X-Possible-Duplicates";
+
     private final AutoPolicyService autoPolicyService;
+    private final PolicyDuplicateService policyDuplicateService;
+    private final DeadlineExecutor deadlineExecutor;
+    private final DeadlineProperties deadlineProperties;
 
     @PostMapping
+    @ConcurrencyBulkhead(Bulkhead.POINT)
     public ResponseEntity<AutoPolicyDTO> createPolicy(@RequestBody AutoPolicyDTO autoPolicyDTO) {
         AutoPolicyDTO createdPolicy = autoPolicyService.createPolicy(autoPolicyDTO);
         URI location = URI.create("/api/v1/policies/" + createdPolicy.getId());
-        return ResponseEntity.created(location).body(createdPolicy);
+        List<DuplicateMatchDTO> duplicates = policyDuplicateService.findPossibleDuplicates(createdPolicy);
+        if (duplicates.isEmpty()) {
+            return ResponseEntity.created(location).body(createdPolicy);
+        }
+        String policyIds = duplicates.stream()
+                .map(duplicate -> String.valueOf(duplicate.getPolicyId()))
+                .distinct()
+                .collect(Collectors.joining(","));
+        return ResponseEntity.created(location).header(POSSIBLE_DUPLICATES_HEADER, policyIds).body(createdPolicy);
     }
     @GetMapping("/policyNumber/{policyNumber}")
+    @ConcurrencyBulkhead(Bulkhead.POINT)
     public ResponseEntity<AutoPolicyDTO> getPolicyByPolicyNumber(@PathVariable String policyNumber) {
         return ResponseEntity.ok(autoPolicyService.getPolicyByPolicyNumber(policyNumber));
     }
 
     @PostMapping("/batch")
-    public ResponseEntity<List<AutoPolicyDTO>> createPolicies(@RequestBody List<AutoPolicyDTO> autoPolicyDTOs) {
+    @ConcurrencyBulkhead(Bulkhead.BULK_WRITE)
+    public DeferredResult<ResponseEntity<List<AutoPolicyDTO>>> createPolicies(@RequestBody List<AutoPolicyDTO> autoPolicyDTOs) {
         System.out.println("Received batch request with " + autoPolicyDTOs.size() + " policies");
-        return ResponseEntity.ok(autoPolicyService.createPolicies(autoPolicyDTOs));
+        return deadlineExecutor.submit("Batch create", deadlineProperties.getBatchMs(),
+                () -> autoPolicyService.createPolicies(autoPolicyDTOs));
     }
 
     @GetMapping("/{id}")
+    @ConcurrencyBulkhead(Bulkhead.POINT)
     public ResponseEntity<AutoPolicyDTO> getPolicyById(@PathVariable Long id) {
         return ResponseEntity.ok(autoPolicyService.getPolicyById(id));
     }
 
     @GetMapping
-    public ResponseEntity<List<AutoPolicyDTO>> getAllPolicies() {
-        return ResponseEntity.ok(autoPolicyService.getAllPolicies());
+    @ConcurrencyBulkhead(Bulkhead.QUERY)
+    public DeferredResult<ResponseEntity<List<AutoPolicyDTO>>> getAllPolicies() {
+        return deadlineExecutor.submit("Policy list", deadlineProperties.getListMs(), autoPolicyService::getAllPolicies);
     }
 
     @PutMapping("/{id}")
+    @ConcurrencyBulkhead(Bulkhead.POINT)
     public ResponseEntity<AutoPolicyDTO> updatePolicy(@PathVariable Long id, @RequestBody AutoPolicyDTO autoPolicyDTO) {
         return ResponseEntity.ok(autoPolicyService.updatePolicy(id, autoPolicyDTO));
     }
 
     @DeleteMapping("/{id}")
+    @ConcurrencyBulkhead(Bulkhead.POINT)
     public ResponseEntity<Void> deletePolicy(@PathVariable Long id) {
         autoPolicyService.deletePolicy(id);
         return ResponseEntity.noContent().build();
     }
     @GetMapping("/filter")
-    public ResponseEntity<List<AutoPolicyDTO>> getFilteredPolicies(
+    @ConcurrencyBulkhead(Bulkhead.QUERY)
+    public DeferredResult<ResponseEntity<List<AutoPolicyDTO>>> getFilteredPolicies(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
             @RequestParam(required = false) String status,
@@ -69,25 +103,51 @@ public class AutoPolicyController {
             @RequestParam(required = false) String firstName,
             @RequestParam(required = false) String lastName) {
 
-        PolicyStatus policyStatus = null;
-        if (status != null) {
-            try {
-                policyStatus = PolicyStatus.fromCode(status);
-            } catch (IllegalArgumentException e) {
-                return ResponseEntity.badRequest().build();
-            }
+        PolicyStatus filterStatus;
+        AutoPolicyType filterType;
+        try {
+            filterStatus = status != null ? PolicyStatus.fromCode(status) : null;
+            filterType = type != null ? AutoPolicyType.fromCode(type) : null;
+        } catch (IllegalArgumentException e) {
+            return badRequest();
         }
+        return deadlineExecutor.submit("Policy filter", deadlineProperties.getFilterMs(),
+                () -> autoPolicyService.getAllPolicies(startDate, endDate, filterStatus, filterType, vehicleMake, firstName, lastName, minPremium, maxPremium));
+    }
+
+    /**
+     * Same filter as {@code /filter}, plus counts by status, type, vehicle make and premium band over the
+     * matching policies, so a filter UI needs one request per change instead of one per facet value.
+     */
+    @GetMapping("/filter/faceted")
+    @ConcurrencyBulkhead(Bulkhead.QUERY)
+    public DeferredResult<ResponseEntity<FacetedPoliciesDTO>> getFacetedPolicies(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String vehicleMake,
+            @RequestParam(required = false) Double minPremium,
+            @RequestParam(required = false) Double maxPremium,
+            @RequestParam(required = false) String firstName,
+            @RequestParam(required = false) String lastName) {
 
-        AutoPolicyType policyType = null;
-        if (type != null) {
-            try {
-                policyType = AutoPolicyType.fromCode(type);
-            } catch (IllegalArgumentException e) {
-                return ResponseEntity.badRequest().build();
-            }
+        PolicyStatus filterStatus;
+        AutoPolicyType filterType;
+        try {
+            filterStatus = status != null ? PolicyStatus.fromCode(status) : null;
+            filterType = type != null ? AutoPolicyType.fromCode(type) : null;
+        } catch (IllegalArgumentException e) {
+            return badRequest();
         }
+        return deadlineExecutor.submit("Faceted policy filter", deadlineProperties.getFilterMs(),
+                () -> autoPolicyService.getFacetedPolicies(startDate, endDate, filterStatus, filterType, vehicleMake, firstName, lastName, minPremium, maxPremium));
+    }
 
-        return ResponseEntity.ok(autoPolicyService.getAllPolicies(startDate, endDate, policyStatus, policyType, vehicleMake, firstName, lastName,minPremium,maxPremium));
+    private static <T> DeferredResult<ResponseEntity<T>> badRequest() {
+        DeferredResult<ResponseEntity<T>> result = new DeferredResult<>();
+        result.setResult(ResponseEntity.badRequest().build());
+        return result;
     }
 
 
@@ -1,45 +1,40 @@
 package com.insurance.policy.insutech.controller;
 
-import com.github.benmanes.caffeine.cache.stats.CacheStats;
-import org.springframework.cache.CacheManager;
-import org.springframework.cache.caffeine.CaffeineCache;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
-
-import java.util.HashMap;
+import com.insurance.policy.insutech.dto.CacheFootprintDTO;
+import com.insurance.policy.insutech.dto.CacheTelemetryDTO;
+import com.insurance.policy.insutech.service.CacheStatisticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
 import java.util.Map;
 
 @RestController
 @RequestMapping("/api/v1/cache")
+@RequiredArgsConstructor
 public class CacheController {
 
-    private final CacheManager cacheManager;
+    private final CacheStatisticsService cacheStatisticsService;
 
-    public CacheController(CacheManager cacheManager) {
-        this.cacheManager = cacheManager;
+    @GetMapping("/footprint")
+    public ResponseEntity<CacheFootprintDTO> getFootprint() {
+        return ResponseEntity.ok(cacheStatisticsService.getFootprint());
     }
 
     @GetMapping("/stats")
-    public Map<String, Map<String, Object>> getCacheStats() {
-        Map<String, Map<String, Object>> stats = new HashMap<>();
-
-        cacheManager.getCacheNames().forEach(cacheName -> {
-            CaffeineCache caffeineCache = (CaffeineCache) cacheManager.getCache(cacheName);
-            if (caffeineCache != null) {
-                CacheStats cacheStats = caffeineCache.getNativeCache().stats();
-                Map<String, Object> cacheStatsMap = new HashMap<>();
-                cacheStatsMap.put("hitCount", cacheStats.hitCount());
-                cacheStatsMap.put("missCount", cacheStats.missCount());
-                cacheStatsMap.put("loadSuccessCount", cacheStats.loadSuccessCount());
-                cacheStatsMap.put("loadFailureCount", cacheStats.loadFailureCount());
-                cacheStatsMap.put("totalLoadTime", cacheStats.totalLoadTime());
-                cacheStatsMap.put("evictionCount", cacheStats.evictionCount());
-
-                stats.put(cacheName, cacheStatsMap);
-            }
-        });
-
-        return stats;
+    public ResponseEntity<Map<String, Map<String, Object>>> getCacheStats() {
+        return ResponseEntity.ok(cacheStatisticsService.getStats());
     }
-}
\ No newline at end of file
+
+    @GetMapping("/telemetry")
+    public ResponseEntity<List<CacheTelemetryDTO>> getTelemetry() {
+        return ResponseEntity.ok(cacheStatisticsService.getTelemetry());
+    }
+
+    @DeleteMapping("/telemetry")
+    public ResponseEntity<Void> resetTelemetry() {
+        cacheStatisticsService.resetTelemetry();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,40 @@
+package com.insurance.policy.insutech.controller;
+
+import com.insurance.policy.insutech.dto.FilterShapeStatsDTO;
+import com.insurance.policy.insutech.dto.IndexRecommendationDTO;
+import com.insurance.policy.insutech.service.IndexAdvisorService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/index-advisor")
+@RequiredArgsConstructor
+public class IndexAdvisorController {
+
+    private final IndexAdvisorService indexAdvisorService;
+
+    @GetMapping("/shapes")
+    public ResponseEntity<List<FilterShapeStatsDTO>> getShapeStats() {
+        return ResponseEntity.ok(indexAdvisorService.getShapeStats());
+    }
+
+    @GetMapping("/recommendations")
+    public ResponseEntity<List<IndexRecommendationDTO>> getRecommendations(@RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(indexAdvisorService.getRecommendations(limit));
+    }
+
+    @GetMapping(value = "/ddl", produces = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<String> getDdl(@RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(indexAdvisorService.generateDdl(limit));
+    }
+
+    @DeleteMapping("/shapes")
+    public ResponseEntity<Void> reset() {
+        indexAdvisorService.reset();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,23 @@
+package com.insurance.policy.insutech.controller;
+
+import com.insurance.policy.insutech.service.PolicyArchivalService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/archival")
+@RequiredArgsConstructor
+public class PolicyArchivalController {
+
+    private final PolicyArchivalService policyArchivalService;
+
+    @PostMapping("/run")
+    public ResponseEntity<Map<String, Integer>> runArchival() {
+        return ResponseEntity.ok(Map.of("archived", policyArchivalService.archiveExpiredPolicies()));
+    }
+}
@@ -0,0 +1,34 @@
+package com.insurance.policy.insutech.controller;
+
+import com.insurance.policy.insutech.service.PolicyChangeStreamService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@CrossOrigin(origins = "http://localhost:5173")
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/v1/policies/changes")
+@RequiredArgsConstructor
+public class PolicyChangeController {
+
+    private final PolicyChangeStreamService policyChangeStreamService;
+
+    /**
+     * Server-sent events for every policy write. Reconnecting clients send the standard {@code Last-Event-ID}
+     * header (or {@code ?after=}) to resume where they left off. Unavailable while the relay is disabled.
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamChanges(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+                                                    @RequestParam(value = "after", required = false) Long after) {
+        try {
+            return ResponseEntity.ok(policyChangeStreamService.subscribe(lastEventId != null ? lastEventId : after));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.insurance.policy.insutech.controller;
+
+import com.insurance.policy.insutech.concurrency.Bulkhead;
+import com.insurance.policy.insutech.concurrency.ConcurrencyBulkhead;
+import com.insurance.policy.insutech.config.DocumentProperties;
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.model.AutoPolicyType;
+import com.insurance.policy.insutech.model.PolicyStatus;
+import com.insurance.policy.insutech.service.AutoPolicyService;
+import com.insurance.policy.insutech.service.PolicyDocumentService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+@CrossOrigin(origins = "http://localhost:5173")
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/v1/policies")
+@RequiredArgsConstructor
+public class PolicyDocumentController {
+
+    private static final MediaType APPLICATION_ZIP = MediaType.parseMediaType("application/zip");
+
+    private final AutoPolicyService autoPolicyService;
+    private final PolicyDocumentService policyDocumentService;
+    private final DocumentProperties documentProperties;
+
+    @GetMapping("/{id}/document")
+    public ResponseEntity<byte[]> getDeclaration(@PathVariable Long id) {
+        AutoPolicyDTO policy = autoPolicyService.getPolicyById(id);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_PDF)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.inline()
+                        .filename(policy.getPolicyNumber() + ".pdf").build().toString())
+                .body(policyDocumentService.renderDeclaration(policy));
+    }
+
+    /**
+     * Renders declarations for every policy matching the filter into a ZIP that is streamed while it is built. The
+     * policies are read in keyset pages as the ZIP is written, so neither the request nor the filter cache holds the
+     * whole result; the QUERY permit is held until the last entry is written.
+     */
+    @GetMapping("/documents")
+    @ConcurrencyBulkhead(Bulkhead.QUERY)
+    public ResponseEntity<StreamingResponseBody> getDeclarations(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String vehicleMake,
+            @RequestParam(required = false) Double minPremium,
+            @RequestParam(required = false) Double maxPremium,
+            @RequestParam(required = false) String firstName,
+            @RequestParam(required = false) String lastName) {
+
+        PolicyStatus policyStatus = null;
+        if (status != null) {
+            try {
+                policyStatus = PolicyStatus.fromCode(status);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+
+        AutoPolicyType policyType = null;
+        if (type != null) {
+            try {
+                policyType = AutoPolicyType.fromCode(type);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+
+        PolicyStatus statusFilter = policyStatus;
+        AutoPolicyType typeFilter = policyType;
+        StreamingResponseBody body = output -> {
+            try (Stream<AutoPolicyDTO> policies = autoPolicyService.streamPolicies(startDate, endDate, statusFilter,
+                    typeFilter, vehicleMake, firstName, lastName, minPremium, maxPremium, documentProperties.getPageSize())) {
+                policyDocumentService.renderDeclarations(policies::iterator, output);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_ZIP)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("policy-declarations.zip").build().toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,57 @@
+package com.insurance.policy.insutech.controller;
+
+import com.insurance.policy.insutech.dto.DuplicateClusterDTO;
+import com.insurance.policy.insutech.dto.DuplicateRunDTO;
+import com.insurance.policy.insutech.duplicate.DuplicateKind;
+import com.insurance.policy.insutech.service.PolicyDuplicateService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/duplicates")
+@RequiredArgsConstructor
+public class PolicyDuplicateController {
+
+    private final PolicyDuplicateService policyDuplicateService;
+
+    /**
+     * Clusters every policy with its likely duplicates, customer and vehicle, replacing the previous run's
+     * clusters once it completes.
+     */
+    @PostMapping("/run")
+    public ResponseEntity<DuplicateRunDTO> runDetection() {
+        try {
+            return ResponseEntity.ok(policyDuplicateService.detectDuplicates());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    @GetMapping("/runs")
+    public ResponseEntity<List<DuplicateRunDTO>> getRecentRuns() {
+        return ResponseEntity.ok(policyDuplicateService.getRecentRuns());
+    }
+
+    /**
+     * Clusters of {@code customer} or {@code vehicle} duplicates from the latest completed run, by cluster ID.
+     */
+    @GetMapping("/clusters")
+    public ResponseEntity<List<DuplicateClusterDTO>> getClusters(@RequestParam String kind,
+                                                                 @RequestParam(defaultValue = "0") int page,
+                                                                 @RequestParam(defaultValue = "50") int size) {
+        try {
+            return ResponseEntity.ok(policyDuplicateService.getClusters(DuplicateKind.fromParameter(kind), page, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/policies/{policyId}")
+    public ResponseEntity<List<DuplicateClusterDTO>> getClustersOfPolicy(@PathVariable Long policyId) {
+        return ResponseEntity.ok(policyDuplicateService.getClustersOfPolicy(policyId));
+    }
+}
@@ -0,0 +1,44 @@
+package com.insurance.policy.insutech.controller;
+
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.service.PolicyExpiryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+@CrossOrigin(origins = "http://localhost:5173")
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/v1/policies/expiring")
+@RequiredArgsConstructor
+public class PolicyExpiryController {
+
+    private final PolicyExpiryService policyExpiryService;
+
+    /**
+     * Active policies whose cover ends between today and {@code withinDays} from now, earliest first.
+     */
+    @GetMapping
+    public ResponseEntity<List<AutoPolicyDTO>> getExpiringPolicies(@RequestParam int withinDays,
+                                                                   @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(policyExpiryService.getExpiringPolicies(withinDays, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Server-sent {@code EXPIRING} events, pushed as each day starts for the policies that are the configured
+     * number of days from their end date.
+     */
+    @GetMapping(value = "/alerts", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAlerts() {
+        return policyExpiryService.subscribeAlerts();
+    }
+}
@@ -0,0 +1,42 @@
+package com.insurance.policy.insutech.controller;
+
+import com.insurance.policy.insutech.dto.RenewalRunDTO;
+import com.insurance.policy.insutech.service.PolicyRenewalService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/renewals")
+@RequiredArgsConstructor
+public class PolicyRenewalController {
+
+    private final PolicyRenewalService policyRenewalService;
+
+    /**
+     * Renews ACTIVE policies ending inside the window. Calling it again for the same window resumes an
+     * interrupted run from its last checkpoint.
+     */
+    @PostMapping("/run")
+    public ResponseEntity<RenewalRunDTO> runRenewals(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate windowStart,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate windowEnd) {
+        try {
+            return ResponseEntity.ok(policyRenewalService.renewPolicies(windowStart, windowEnd));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    @GetMapping("/runs")
+    public ResponseEntity<List<RenewalRunDTO>> getRecentRuns() {
+        return ResponseEntity.ok(policyRenewalService.getRecentRuns());
+    }
+}
@@ -0,0 +1,30 @@
+package com.insurance.policy.insutech.controller;
+
+import com.insurance.policy.insutech.dto.PolicySearchResultDTO;
+import com.insurance.policy.insutech.service.PolicySearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@CrossOrigin(origins = "http://localhost:5173")
+@RestController
+@RequestMapping("/api/v1/policies/search")
+@RequiredArgsConstructor
+public class PolicySearchController {
+
+    private final PolicySearchService policySearchService;
+
+    @GetMapping
+    public ResponseEntity<List<PolicySearchResultDTO>> search(@RequestParam("q") String query,
+                                                              @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(policySearchService.search(query, limit));
+    }
+
+    @PostMapping("/reindex")
+    public ResponseEntity<Map<String, Long>> reindex() {
+        return ResponseEntity.ok(Map.of("indexed", policySearchService.reindex()));
+    }
+}
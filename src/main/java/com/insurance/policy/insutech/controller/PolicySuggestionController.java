@@ -0,0 +1,36 @@
+package com.insurance.policy.insutech.controller;
+
+import com.insurance.policy.insutech.dto.SuggestionDTO;
+import com.insurance.policy.insutech.service.PolicySuggestionService;
+import com.insurance.policy.insutech.suggest.SuggestField;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@CrossOrigin(origins = "http://localhost:5173")
+@RestController
+@RequestMapping("/api/v1/policies/suggest")
+@RequiredArgsConstructor
+public class PolicySuggestionController {
+
+    private final PolicySuggestionService policySuggestionService;
+
+    /**
+     * Type-ahead completions for {@code firstName}, {@code lastName}, {@code vehicleMake} or {@code policyNumber},
+     * most common first. Answered from memory; no query runs per keystroke.
+     */
+    @GetMapping
+    public ResponseEntity<List<SuggestionDTO>> suggest(@RequestParam String field,
+                                                       @RequestParam(defaultValue = "") String prefix,
+                                                       @RequestParam(required = false) Integer limit) {
+        SuggestField suggestField;
+        try {
+            suggestField = SuggestField.fromParameter(field);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(policySuggestionService.suggest(suggestField, prefix, limit));
+    }
+}
@@ -0,0 +1,26 @@
+package com.insurance.policy.insutech.controller;
+
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.dto.PremiumQuoteDTO;
+import com.insurance.policy.insutech.service.PremiumRatingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@CrossOrigin(origins = "http://localhost:5173")
+@RestController
+@RequestMapping("/api/v1/rating")
+@RequiredArgsConstructor
+public class PremiumRatingController {
+
+    private final PremiumRatingService premiumRatingService;
+
+    @PostMapping("/quote")
+    public ResponseEntity<PremiumQuoteDTO> quote(@RequestBody AutoPolicyDTO autoPolicyDTO) {
+        try {
+            return ResponseEntity.ok(premiumRatingService.quote(autoPolicyDTO));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.insurance.policy.insutech.controller;
+
+import com.insurance.policy.insutech.dto.ProfilingRecordingDTO;
+import com.insurance.policy.insutech.dto.ProfilingSummaryDTO;
+import com.insurance.policy.insutech.service.ProfilingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * On-demand flight recordings of this node. Every call needs the {@code X-Admin-Token} header. The endpoints are
+ * servlet-only, because the token check is a servlet interceptor.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/v1/admin/profiling/recordings")
+@RequiredArgsConstructor
+public class ProfilingController {
+
+    private final ProfilingService profilingService;
+
+    @PostMapping
+    public ResponseEntity<ProfilingRecordingDTO> startRecording(
+            @RequestParam(defaultValue = "default") String profile,
+            @RequestParam(defaultValue = "60") long durationSeconds) {
+        ProfilingRecordingDTO recording;
+        try {
+            recording = profilingService.startRecording(profile, Duration.ofSeconds(durationSeconds));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.created(URI.create("/api/v1/admin/profiling/recordings/" + recording.getId()))
+                .body(recording);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ProfilingRecordingDTO> getRecording(@PathVariable long id) {
+        return ResponseEntity.of(profilingService.getRecording(id));
+    }
+
+    @PostMapping("/{id}/stop")
+    public ResponseEntity<ProfilingRecordingDTO> stopRecording(@PathVariable long id) {
+        return ResponseEntity.of(profilingService.stopRecording(id));
+    }
+
+    /**
+     * The raw recording, for JDK Mission Control or {@code jfr print}.
+     */
+    @GetMapping("/{id}/file")
+    public ResponseEntity<Resource> getRecordingFile(@PathVariable long id) {
+        return profilingService.getRecordingFile(id)
+                .map(file -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                                .filename(file.getFileName().toString()).build().toString())
+                        .<Resource>body(new FileSystemResource(file)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{id}/summary")
+    public ResponseEntity<ProfilingSummaryDTO> getSummary(@PathVariable long id,
+                                                          @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.of(profilingService.summarize(id, limit));
+    }
+}
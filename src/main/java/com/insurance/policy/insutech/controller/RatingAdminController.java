@@ -0,0 +1,45 @@
+package com.insurance.policy.insutech.controller;
+
+import com.insurance.policy.insutech.dto.ReRateRunDTO;
+import com.insurance.policy.insutech.service.PremiumRatingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+/**
+ * Re-rating of the active book. Every call needs the {@code X-Admin-Token} header. The endpoints are servlet-only,
+ * because the token check is a servlet interceptor.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/v1/admin/rating/reratings")
+@RequiredArgsConstructor
+public class RatingAdminController {
+
+    private final PremiumRatingService premiumRatingService;
+
+    /**
+     * Starts re-pricing every active policy, by default with the table in effect today; poll the returned run.
+     */
+    @PostMapping
+    public ResponseEntity<ReRateRunDTO> startReRate(@RequestParam(required = false) String version) {
+        ReRateRunDTO run;
+        try {
+            run = premiumRatingService.startReRate(version);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        return ResponseEntity.created(URI.create("/api/v1/admin/rating/reratings/" + run.getId())).body(run);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ReRateRunDTO> getReRate(@PathVariable long id) {
+        return ResponseEntity.of(premiumRatingService.getReRate(id));
+    }
+}
@@ -0,0 +1,104 @@
+package com.insurance.policy.insutech.controller;
+
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.model.AutoPolicyType;
+import com.insurance.policy.insutech.model.PolicyStatus;
+import com.insurance.policy.insutech.service.ReactiveAutoPolicyService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * The {@link AutoPolicyController} API on WebFlux, under the "reactive" profile. Paths, parameters and error bodies
+ * are the same, so a gateway can switch between the stacks. Lists and filters stream: as a JSON array by default,
+ * or one policy per line with {@code Accept: application/x-ndjson}.
+ */
+@CrossOrigin(origins = "http://localhost:5173")
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/v1/policies")
+@RequiredArgsConstructor
+public class ReactiveAutoPolicyController {
+
+    private final ReactiveAutoPolicyService reactiveAutoPolicyService;
+
+    @PostMapping
+    public Mono<ResponseEntity<AutoPolicyDTO>> createPolicy(@RequestBody AutoPolicyDTO autoPolicyDTO) {
+        return reactiveAutoPolicyService.createPolicy(autoPolicyDTO)
+                .map(createdPolicy -> ResponseEntity.created(URI.create("/api/v1/policies/" + createdPolicy.getId()))
+                        .body(createdPolicy));
+    }
+
+    @GetMapping("/policyNumber/{policyNumber}")
+    public Mono<ResponseEntity<AutoPolicyDTO>> getPolicyByPolicyNumber(@PathVariable String policyNumber) {
+        return reactiveAutoPolicyService.getPolicyByPolicyNumber(policyNumber).map(ResponseEntity::ok);
+    }
+
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<List<AutoPolicyDTO>>> createPolicies(@RequestBody List<AutoPolicyDTO> autoPolicyDTOs) {
+        return reactiveAutoPolicyService.createPolicies(autoPolicyDTOs).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<AutoPolicyDTO>> getPolicyById(@PathVariable Long id) {
+        return reactiveAutoPolicyService.getPolicyById(id).map(ResponseEntity::ok);
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<AutoPolicyDTO> getAllPolicies() {
+        return reactiveAutoPolicyService.getAllPolicies();
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<AutoPolicyDTO>> updatePolicy(@PathVariable Long id, @RequestBody AutoPolicyDTO autoPolicyDTO) {
+        return reactiveAutoPolicyService.updatePolicy(id, autoPolicyDTO).map(ResponseEntity::ok);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deletePolicy(@PathVariable Long id) {
+        return reactiveAutoPolicyService.deletePolicy(id).then(Mono.just(ResponseEntity.noContent().build()));
+    }
+
+    @GetMapping(value = "/filter", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<Flux<AutoPolicyDTO>> getFilteredPolicies(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String vehicleMake,
+            @RequestParam(required = false) Double minPremium,
+            @RequestParam(required = false) Double maxPremium,
+            @RequestParam(required = false) String firstName,
+            @RequestParam(required = false) String lastName) {
+
+        PolicyStatus policyStatus = null;
+        if (status != null) {
+            try {
+                policyStatus = PolicyStatus.fromCode(status);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+
+        AutoPolicyType policyType = null;
+        if (type != null) {
+            try {
+                policyType = AutoPolicyType.fromCode(type);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+
+        return ResponseEntity.ok(reactiveAutoPolicyService.getAllPolicies(startDate, endDate, policyStatus, policyType,
+                vehicleMake, firstName, lastName, minPremium, maxPremium));
+    }
+}
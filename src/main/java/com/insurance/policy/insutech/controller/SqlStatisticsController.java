@@ -0,0 +1,33 @@
+package com.insurance.policy.insutech.controller;
+
+import com.insurance.policy.insutech.dto.SqlStatisticsDTO;
+import com.insurance.policy.insutech.service.SqlStatisticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/sql-stats")
+@RequiredArgsConstructor
+public class SqlStatisticsController {
+
+    private final SqlStatisticsService sqlStatisticsService;
+
+    @GetMapping("/services")
+    public ResponseEntity<List<SqlStatisticsDTO>> getServiceStatistics() {
+        return ResponseEntity.ok(sqlStatisticsService.getServiceStatistics());
+    }
+
+    @GetMapping("/requests")
+    public ResponseEntity<List<SqlStatisticsDTO>> getRequestStatistics() {
+        return ResponseEntity.ok(sqlStatisticsService.getRequestStatistics());
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> reset() {
+        sqlStatisticsService.reset();
+        return ResponseEntity.noContent().build();
+    }
+}
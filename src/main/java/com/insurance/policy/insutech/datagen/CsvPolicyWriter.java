@@ -0,0 +1,90 @@
+package com.insurance.policy.insutech.datagen;
+
+import com.insurance.policy.insutech.model.AutoPolicy;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Writes CSV with a header naming the auto_policies columns, ready for PostgreSQL
+ * {@code \copy auto_policies (<header>) FROM 'file' CSV HEADER} or H2 {@code CSVREAD}.
+ * <p>
+ * Chunks are formatted on the generator threads but written in dataset order, so the file is byte-for-byte
+ * the same whatever the thread count.
+ */
+public class CsvPolicyWriter implements PolicyWriter {
+
+    static final String HEADER = "policy_number,status,policy_type,vehicle_make,vehicle_model,vehicle_year,"
+            + "first_name,last_name,start_date,end_date,premium_amount";
+
+    private final Writer out;
+    private long nextIndex;
+
+    public CsvPolicyWriter(Writer out) throws IOException {
+        this.out = out;
+        out.write(HEADER);
+        out.write('\n');
+    }
+
+    public static CsvPolicyWriter open(Path path) throws IOException {
+        return new CsvPolicyWriter(new BufferedWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8), 1 << 20));
+    }
+
+    @Override
+    public void write(long firstIndex, List<AutoPolicy> policies) throws IOException {
+        StringBuilder text = new StringBuilder(policies.size() * 128);
+        for (AutoPolicy policy : policies) {
+            appendLine(text, policy);
+        }
+        synchronized (this) {
+            // Callers hold later chunks while the earliest outstanding one is still being generated
+            while (firstIndex != nextIndex) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted waiting for chunk " + nextIndex);
+                }
+            }
+            out.write(text.toString());
+            nextIndex += policies.size();
+            notifyAll();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        out.close();
+    }
+
+    static void appendLine(StringBuilder text, AutoPolicy policy) {
+        appendField(text, policy.getPolicyNumber()).append(',');
+        appendField(text, policy.getStatus().name()).append(',');
+        appendField(text, policy.getPolicyType().getCode()).append(',');
+        appendField(text, policy.getVehicleMake()).append(',');
+        appendField(text, policy.getVehicleModel()).append(',');
+        appendField(text, policy.getVehicleYear()).append(',');
+        appendField(text, policy.getFirstName()).append(',');
+        appendField(text, policy.getLastName()).append(',');
+        appendField(text, policy.getStartDate()).append(',');
+        appendField(text, policy.getEndDate()).append(',');
+        appendField(text, policy.getPremiumAmount()).append('\n');
+    }
+
+    private static StringBuilder appendField(StringBuilder text, Object value) {
+        if (value == null) {
+            return text;
+        }
+        String field = value.toString();
+        if (field.indexOf(',') < 0 && field.indexOf('"') < 0 && field.indexOf('\n') < 0) {
+            return text.append(field);
+        }
+        return text.append('"').append(field.replace("\"", "\"\"")).append('"');
+    }
+}
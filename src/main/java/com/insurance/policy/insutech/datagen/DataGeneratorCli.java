@@ -0,0 +1,101 @@
+package com.insurance.policy.insutech.datagen;
+
+import com.insurance.policy.insutech.model.AutoPolicyType;
+import com.insurance.policy.insutech.model.PolicyStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Command-line entry point for {@link SyntheticPolicyGenerator}. From the packaged application:
+ * <pre>
+ * java -cp target/edian-0.0.1-SNAPSHOT.jar \
+ *      -Dloader.main=com.insurance.policy.insutech.datagen.DataGeneratorCli \
+ *      org.springframework.boot.loader.launch.PropertiesLauncher \
+ *      --profile=medium --seed=42 --url=jdbc:postgresql://localhost:5432/postgres --username=postgres --password=...
+ * </pre>
+ * Options: {@code --profile=small|medium|production}, {@code --rows=N} (overrides the profile), {@code --seed=N},
+ * {@code --threads=N}, {@code --chunk-size=N}, {@code --batch-size=N}, {@code --reference-date=yyyy-MM-dd},
+ * {@code --status-weights=ACTIVE:70,EXPIRED:22,CANCELLED:8}, {@code --type-weights=LIABILITY:45,...}, and either
+ * {@code --csv=path} or {@code --url}/{@code --username}/{@code --password}. The target table must already exist;
+ * start the application once against the database to create it.
+ */
+@Slf4j
+public final class DataGeneratorCli {
+
+    private DataGeneratorCli() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        DatasetProfile profile = DatasetProfile.valueOf(options.getOrDefault("profile", "small").toUpperCase(Locale.ROOT));
+        long rows = Long.parseLong(options.getOrDefault("rows", String.valueOf(profile.getRows())));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        int threads = Integer.parseInt(options.getOrDefault("threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+        int chunkSize = Integer.parseInt(options.getOrDefault("chunk-size",
+                String.valueOf(SyntheticPolicyGenerator.DEFAULT_CHUNK_SIZE)));
+        int batchSize = Integer.parseInt(options.getOrDefault("batch-size", "1000"));
+
+        PolicyDistribution distribution = new PolicyDistribution();
+        if (options.containsKey("reference-date")) {
+            distribution.setReferenceDate(LocalDate.parse(options.get("reference-date")));
+        }
+        if (options.containsKey("status-weights")) {
+            distribution.setStatusWeights(weights(options.get("status-weights"), PolicyStatus.class, PolicyStatus::valueOf));
+        }
+        if (options.containsKey("type-weights")) {
+            distribution.setTypeWeights(weights(options.get("type-weights"), AutoPolicyType.class, AutoPolicyType::fromCode));
+        }
+
+        SyntheticPolicyGenerator generator = new SyntheticPolicyGenerator(seed, distribution);
+        log.info("Generating {} policies ({} profile, seed {}) on {} threads", rows, profile, seed, threads);
+        try (PolicyWriter writer = writer(options, batchSize)) {
+            generator.generate(rows, threads, chunkSize, writer);
+        }
+    }
+
+    private static PolicyWriter writer(Map<String, String> options, int batchSize) throws Exception {
+        if (options.containsKey("csv")) {
+            return CsvPolicyWriter.open(Path.of(options.get("csv")));
+        }
+        String url = options.get("url");
+        if (url == null) {
+            throw new IllegalArgumentException("Either --csv=path or --url=jdbc:... is required");
+        }
+        if (url.startsWith("jdbc:postgresql:") && !url.contains("reWriteBatchedInserts")) {
+            url += (url.contains("?") ? "&" : "?") + "reWriteBatchedInserts=true";
+        }
+        // A fresh connection per chunk is cheap next to inserting the chunk, and never more than one per thread
+        return new JdbcPolicyWriter(new DriverManagerDataSource(url, options.getOrDefault("username", ""),
+                options.getOrDefault("password", "")), batchSize);
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --option=value but got " + arg);
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    private static <E extends Enum<E>> Map<E, Double> weights(String spec, Class<E> type, Function<String, E> parser) {
+        Map<E, Double> weights = new EnumMap<>(type);
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.split(":");
+            weights.put(parser.apply(parts[0].trim().toUpperCase(Locale.ROOT)), Double.parseDouble(parts[1].trim()));
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,20 @@
+package com.insurance.policy.insutech.datagen;
+
+import lombok.Getter;
+
+/**
+ * Named dataset sizes, so benchmark and load-test results quoted against "medium, seed 42" are comparable
+ * between machines and runs.
+ */
+@Getter
+public enum DatasetProfile {
+    SMALL(10_000),
+    MEDIUM(1_000_000),
+    PRODUCTION(25_000_000);
+
+    private final long rows;
+
+    DatasetProfile(long rows) {
+        this.rows = rows;
+    }
+}
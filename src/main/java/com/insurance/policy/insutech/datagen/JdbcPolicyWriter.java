@@ -0,0 +1,51 @@
+package com.insurance.policy.insutech.datagen;
+
+import com.insurance.policy.insutech.model.AutoPolicy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Inserts each chunk as JDBC batches in one transaction, on whichever connection the calling thread gets, so
+ * chunks load in parallel. IDs come from the identity column; the policy number carries the dataset index.
+ * <p>
+ * On PostgreSQL, add {@code reWriteBatchedInserts=true} to the URL so each batch goes out as multi-row inserts.
+ */
+public class JdbcPolicyWriter implements PolicyWriter {
+
+    private static final String INSERT = """
+            INSERT INTO auto_policies (policy_number, status, policy_type, vehicle_make, vehicle_model, vehicle_year,
+                                       first_name, last_name, start_date, end_date, premium_amount)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public JdbcPolicyWriter(DataSource dataSource, int batchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void write(long firstIndex, List<AutoPolicy> policies) {
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(INSERT, policies, batchSize, (statement, policy) -> {
+                    statement.setString(1, policy.getPolicyNumber());
+                    statement.setString(2, policy.getStatus().name());
+                    statement.setString(3, policy.getPolicyType().getCode());
+                    statement.setString(4, policy.getVehicleMake());
+                    statement.setString(5, policy.getVehicleModel());
+                    statement.setString(6, policy.getVehicleYear());
+                    statement.setString(7, policy.getFirstName());
+                    statement.setString(8, policy.getLastName());
+                    statement.setObject(9, policy.getStartDate());
+                    statement.setObject(10, policy.getEndDate());
+                    statement.setBigDecimal(11, policy.getPremiumAmount());
+                }));
+    }
+}
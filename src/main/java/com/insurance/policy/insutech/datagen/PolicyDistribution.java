@@ -0,0 +1,106 @@
+package com.insurance.policy.insutech.datagen;
+
+import com.insurance.policy.insutech.model.AutoPolicyType;
+import com.insurance.policy.insutech.model.PolicyStatus;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The shape of a generated portfolio. Defaults approximate a mid-sized personal auto book; every field can be
+ * overridden, and two runs with the same distribution and seed produce the same rows.
+ */
+@Getter
+@Setter
+public class PolicyDistribution {
+
+    private String policyNumberPrefix = "SYN";
+
+    private Map<PolicyStatus, Double> statusWeights = new EnumMap<>(Map.of(
+            PolicyStatus.ACTIVE, 0.70,
+            PolicyStatus.EXPIRED, 0.22,
+            PolicyStatus.CANCELLED, 0.08));
+
+    private Map<AutoPolicyType, Double> typeWeights = new EnumMap<>(Map.of(
+            AutoPolicyType.LIABILITY, 0.45,
+            AutoPolicyType.COLLISION, 0.35,
+            AutoPolicyType.COMPREHENSIVE, 0.20));
+
+    /** Makes in order of popularity, each with its models in order of popularity. */
+    private Map<String, List<String>> makes = defaultMakes();
+
+    /** Zipf exponent over makes, and over the models of a make. */
+    private double makeSkew = 1.0;
+
+    private List<String> firstNames = List.of(
+            "James", "Mary", "Michael", "Patricia", "Robert", "Jennifer", "John", "Linda", "David", "Elizabeth",
+            "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Karen", "Christopher", "Sarah",
+            "Charles", "Lisa", "Daniel", "Nancy", "Matthew", "Sandra", "Anthony", "Ashley", "Mark", "Emily",
+            "Donald", "Donna", "Steven", "Michelle", "Andrew", "Carol", "Paul", "Amanda", "Joshua", "Melissa",
+            "Kenneth", "Deborah", "Kevin", "Stephanie", "Brian", "Rebecca", "George", "Sharon", "Timothy", "Laura");
+
+    private List<String> lastNames = List.of(
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+            "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin",
+            "Lee", "Perez", "Thompson", "White", "Harris", "Sanchez", "Clark", "Ramirez", "Lewis", "Robinson",
+            "Walker", "Young", "Allen", "King", "Wright", "Scott", "Torres", "Nguyen", "Hill", "Flores",
+            "Green", "Adams", "Nelson", "Baker", "Hall", "Rivera", "Campbell", "Mitchell", "Carter", "Roberts",
+            "Gomez", "Phillips", "Evans", "Turner", "Diaz", "Parker", "Cruz", "Edwards", "Collins", "Reyes");
+
+    private double nameSkew = 0.8;
+
+    /**
+     * Dates are generated relative to this day rather than today, so a dataset does not change with the calendar.
+     * Active policies are in force on it, expired ones ended before it.
+     */
+    private LocalDate referenceDate = LocalDate.of(2026, 1, 1);
+
+    /** How far back expired and cancelled policies reach. */
+    private int historyYears = 5;
+
+    private Map<Integer, Double> termMonthWeights = new LinkedHashMap<>(Map.of(12, 0.75, 6, 0.25));
+
+    /** Premiums are log-normal around this median, scaled by coverage type. */
+    private double premiumMedian = 1100;
+
+    private double premiumSigma = 0.45;
+
+    private Map<AutoPolicyType, Double> premiumTypeFactors = new EnumMap<>(Map.of(
+            AutoPolicyType.LIABILITY, 0.8,
+            AutoPolicyType.COLLISION, 1.0,
+            AutoPolicyType.COMPREHENSIVE, 1.3));
+
+    private double minPremium = 150;
+
+    private double maxPremium = 9_999;
+
+    /** Vehicle age at policy start is geometric: this share of policies covers a vehicle of the start year. */
+    private double newVehicleShare = 0.15;
+
+    private int maxVehicleAge = 25;
+
+    private static Map<String, List<String>> defaultMakes() {
+        Map<String, List<String>> makes = new LinkedHashMap<>();
+        makes.put("Toyota", List.of("Camry", "Corolla", "RAV4", "Highlander", "Tacoma", "Prius"));
+        makes.put("Ford", List.of("F-150", "Escape", "Explorer", "Mustang", "Focus", "Edge"));
+        makes.put("Honda", List.of("Civic", "Accord", "CR-V", "Pilot", "Odyssey"));
+        makes.put("Chevrolet", List.of("Silverado", "Equinox", "Malibu", "Tahoe", "Traverse"));
+        makes.put("Nissan", List.of("Altima", "Rogue", "Sentra", "Pathfinder"));
+        makes.put("Hyundai", List.of("Elantra", "Tucson", "Sonata", "Santa Fe"));
+        makes.put("Jeep", List.of("Grand Cherokee", "Wrangler", "Cherokee", "Compass"));
+        makes.put("Subaru", List.of("Outback", "Forester", "Crosstrek", "Impreza"));
+        makes.put("Kia", List.of("Sportage", "Sorento", "Forte", "Telluride"));
+        makes.put("Volkswagen", List.of("Jetta", "Tiguan", "Atlas", "Golf"));
+        makes.put("BMW", List.of("3 Series", "X3", "X5", "5 Series"));
+        makes.put("Mercedes-Benz", List.of("C-Class", "GLC", "E-Class", "GLE"));
+        makes.put("Tesla", List.of("Model 3", "Model Y", "Model S"));
+        makes.put("Mazda", List.of("CX-5", "Mazda3", "CX-30"));
+        makes.put("Audi", List.of("A4", "Q5", "Q7"));
+        return makes;
+    }
+}
@@ -0,0 +1,21 @@
+package com.insurance.policy.insutech.datagen;
+
+import com.insurance.policy.insutech.model.AutoPolicy;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destination for generated policies. Called concurrently from the generator threads, one chunk per call.
+ */
+public interface PolicyWriter extends AutoCloseable {
+
+    /**
+     * @param firstIndex dataset index of the first policy in the chunk; chunks may arrive in any order
+     */
+    void write(long firstIndex, List<AutoPolicy> policies) throws IOException;
+
+    @Override
+    default void close() throws IOException {
+    }
+}
@@ -0,0 +1,59 @@
+package com.insurance.policy.insutech.datagen;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Immutable weighted sampler: one uniform draw and a binary search over cumulative weights.
+ */
+final class WeightedChoice<T> {
+
+    private final List<T> values;
+    private final double[] cumulative;
+
+    private WeightedChoice(List<T> values, double[] weights) {
+        if (values.isEmpty()) {
+            throw new IllegalArgumentException("Nothing to choose from");
+        }
+        this.values = List.copyOf(values);
+        this.cumulative = new double[weights.length];
+        double total = 0;
+        for (int i = 0; i < weights.length; i++) {
+            if (weights[i] < 0) {
+                throw new IllegalArgumentException("Negative weight for " + values.get(i));
+            }
+            total += weights[i];
+            cumulative[i] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("Weights must not all be zero");
+        }
+    }
+
+    static <T> WeightedChoice<T> of(Map<T, Double> weights) {
+        List<T> values = new ArrayList<>(weights.keySet());
+        return new WeightedChoice<>(values, values.stream().mapToDouble(weights::get).toArray());
+    }
+
+    /**
+     * Zipf-distributed choice: the value at rank r is drawn in proportion to 1 / r^exponent, which is how makes
+     * and surnames are spread in real portfolios.
+     */
+    static <T> WeightedChoice<T> zipf(List<T> values, double exponent) {
+        double[] weights = new double[values.size()];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = 1 / Math.pow(i + 1, exponent);
+        }
+        return new WeightedChoice<>(values, weights);
+    }
+
+    T pick(RandomGenerator random) {
+        double target = random.nextDouble() * cumulative[cumulative.length - 1];
+        int index = Arrays.binarySearch(cumulative, target);
+        index = index < 0 ? -index - 1 : index + 1;
+        return values.get(Math.min(index, values.size() - 1));
+    }
+}
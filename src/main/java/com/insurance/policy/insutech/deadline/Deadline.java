@@ -0,0 +1,123 @@
+package com.insurance.policy.insutech.deadline;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Time budget of one request's unit of work, bound to the worker thread executing it. Every JDBC statement created
+ * on that thread inherits the remaining budget as its query timeout, and the statement currently in flight can be
+ * cancelled from another thread when the budget runs out or the client goes away. Work fanned out to other threads
+ * runs under {@link #leg()}s of the deadline, each with its own statement in flight, and cancelling the deadline
+ * cancels every leg.
+ */
+public final class Deadline {
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final String operation;
+    private final Duration timeout;
+    private final long expiresAtNanos;
+    private final Deadline parent;
+    private final Set<Deadline> legs = ConcurrentHashMap.newKeySet();
+    private volatile boolean cancelled;
+    private volatile Statement statement;
+
+    public Deadline(String operation, Duration timeout) {
+        this(operation, timeout, System.nanoTime() + timeout.toNanos(), null);
+    }
+
+    private Deadline(String operation, Duration timeout, long expiresAtNanos, Deadline parent) {
+        this.operation = operation;
+        this.timeout = timeout;
+        this.expiresAtNanos = expiresAtNanos;
+        this.parent = parent;
+    }
+
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    static void bind(Deadline deadline) {
+        CURRENT.set(deadline);
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public long remainingMillis() {
+        return Math.max(0, Duration.ofNanos(expiresAtNanos - System.nanoTime()).toMillis());
+    }
+
+    /**
+     * JDBC timeouts have one-second granularity; rounding up leaves precise enforcement to {@link #cancel()}.
+     */
+    public int remainingSeconds() {
+        return (int) Math.max(1, (remainingMillis() + 999) / 1000);
+    }
+
+    public boolean isExpired() {
+        return cancelled || (parent != null && parent.isExpired()) || System.nanoTime() - expiresAtNanos >= 0;
+    }
+
+    /**
+     * A handle on the same budget for work on another thread, cancelled along with this deadline. Must be
+     * {@link #release()}d when that work is done.
+     */
+    Deadline leg() {
+        Deadline leg = new Deadline(operation, timeout, expiresAtNanos, this);
+        legs.add(leg);
+        if (cancelled) {
+            leg.cancel();
+        }
+        return leg;
+    }
+
+    void release() {
+        if (parent != null) {
+            parent.legs.remove(this);
+        }
+    }
+
+    /**
+     * Applies the remaining budget to a statement about to run and makes it the one {@link #cancel()} targets.
+     * Refuses to start new work once the budget is spent.
+     */
+    void register(Statement statement) throws SQLException {
+        if (isExpired()) {
+            statement.close();
+            throw new SQLTimeoutException(operation + " exceeded its " + timeout.toMillis() + " ms deadline");
+        }
+        statement.setQueryTimeout(remainingSeconds());
+        this.statement = statement;
+    }
+
+    /**
+     * Marks the work abandoned and asks the database to stop the statements in flight, on this thread and on every
+     * leg, if any.
+     */
+    public void cancel() {
+        cancelled = true;
+        Statement inFlight = statement;
+        if (inFlight != null) {
+            try {
+                inFlight.cancel();
+            } catch (SQLException e) {
+                // Already finished or closed: nothing left to stop
+            }
+        }
+        legs.forEach(Deadline::cancel);
+    }
+}
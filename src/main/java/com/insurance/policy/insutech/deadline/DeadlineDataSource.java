@@ -0,0 +1,51 @@
+package com.insurance.policy.insutech.deadline;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Hands every statement created on a thread with a bound {@link Deadline} to that deadline, so JPA and plain
+ * JDBC queries alike get the remaining budget as their query timeout and become cancellable. Threads without a
+ * deadline pay only the proxy dispatch.
+ */
+public class DeadlineDataSource extends DelegatingDataSource {
+
+    public DeadlineDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(super.getConnection(username, password));
+    }
+
+    private static Connection wrapConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(DeadlineDataSource.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result;
+                    try {
+                        result = method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    if (result instanceof Statement statement) {
+                        Deadline deadline = Deadline.current();
+                        if (deadline != null) {
+                            deadline.register(statement);
+                        }
+                    }
+                    return result;
+                });
+    }
+}
@@ -0,0 +1,104 @@
+package com.insurance.policy.insutech.deadline;
+
+import com.insurance.policy.insutech.config.DeadlineProperties;
+import com.insurance.policy.insutech.exception.DeadlineExceededException;
+import com.insurance.policy.insutech.sql.SqlAccountingTaskDecorator;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DeadlineExecutor {
+
+    private static final long CONTAINER_TIMEOUT_GRACE_MS = 2_000;
+
+    private final DeadlineProperties deadlineProperties;
+
+    private ThreadPoolTaskExecutor workers;
+    private ScheduledThreadPoolExecutor timer;
+
+    @PostConstruct
+    public void start() {
+        workers = new ThreadPoolTaskExecutor();
+        workers.setCorePoolSize(deadlineProperties.getWorkerThreads());
+        workers.setMaxPoolSize(deadlineProperties.getWorkerThreads());
+        workers.setThreadNamePrefix("deadline-worker-");
+        workers.setDaemon(true);
+        workers.setTaskDecorator(new SqlAccountingTaskDecorator());
+        workers.initialize();
+
+        timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "deadline-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Most requests finish well inside their budget; don't keep their timers around until they would fire
+        timer.setRemoveOnCancelPolicy(true);
+    }
+
+    @PreDestroy
+    public void stop() {
+        timer.shutdownNow();
+        workers.shutdown();
+    }
+
+    /**
+     * Strategy: release the servlet thread and race the work against its deadline
+     * - The work runs on a worker with the {@link Deadline} bound, so every statement it issues carries the
+     *   remaining budget as its JDBC query timeout
+     * - When the budget runs out the in-flight statement is cancelled and the client gets a 504 straight away,
+     *   without waiting for the database to notice. An own timer fires on time; the container only checks async
+     *   timeouts about once a second, so its timeout is just a backstop
+     * - A client disconnect cancels the same way, freeing the worker and the connection
+     * - Work still queued when its deadline passes is never started
+     */
+    public <T> DeferredResult<ResponseEntity<T>> submit(String operation, long timeoutMs, Supplier<T> work) {
+        Duration timeout = Duration.ofMillis(timeoutMs);
+        Deadline deadline = new Deadline(operation, timeout);
+        DeferredResult<ResponseEntity<T>> result = new DeferredResult<>(timeoutMs + CONTAINER_TIMEOUT_GRACE_MS);
+
+        Future<?> task = workers.submit(() -> {
+            if (deadline.isExpired()) {
+                return;
+            }
+            Deadline.bind(deadline);
+            try {
+                result.setResult(ResponseEntity.ok(work.get()));
+            } catch (RuntimeException e) {
+                // A statement failing because it was cancelled or timed out is the deadline, not a server error
+                result.setErrorResult(deadline.isExpired() ? new DeadlineExceededException(operation, timeout) : e);
+            } finally {
+                Deadline.unbind();
+            }
+        });
+
+        Runnable expire = () -> {
+            deadline.cancel();
+            task.cancel(true);
+            result.setErrorResult(new DeadlineExceededException(operation, timeout));
+        };
+        ScheduledFuture<?> expiry = timer.schedule(expire, timeoutMs, TimeUnit.MILLISECONDS);
+        result.onCompletion(() -> expiry.cancel(false));
+        result.onTimeout(expire);
+        result.onError(error -> {
+            log.debug("{} abandoned by the client, cancelling: {}", operation, error.toString());
+            deadline.cancel();
+            task.cancel(true);
+        });
+        return result;
+    }
+}
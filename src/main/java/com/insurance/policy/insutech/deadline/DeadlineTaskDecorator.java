@@ -0,0 +1,29 @@
+package com.insurance.policy.insutech.deadline;
+
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Carries the submitting thread's {@link Deadline} over to the worker, so work fanned out on behalf of a request
+ * still stops when the request's budget runs out. Each task runs under a leg of its own, so cancelling the request
+ * stops the statement in flight on every worker, not only the last one to start one.
+ */
+public class DeadlineTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        Deadline deadline = Deadline.current();
+        if (deadline == null) {
+            return runnable;
+        }
+        return () -> {
+            Deadline leg = deadline.leg();
+            Deadline.bind(leg);
+            try {
+                runnable.run();
+            } finally {
+                Deadline.unbind();
+                leg.release();
+            }
+        };
+    }
+}
@@ -0,0 +1,64 @@
+package com.insurance.policy.insutech.deadline;
+
+import com.insurance.policy.insutech.exception.DeadlineExceededException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * The reactive counterpart of {@link DeadlineExecutor}: the same budgets and the same 504, enforced with operators
+ * instead of a worker and a timer.
+ */
+public final class ReactiveDeadlines {
+
+    private ReactiveDeadlines() {
+    }
+
+    /**
+     * Bounds a whole stream, not each element. When the budget runs out the subscription upstream is cancelled,
+     * which stops the query and releases its connection. Before the first row this is a 504; once rows have been
+     * written the response is already committed and the client sees a truncated body.
+     */
+    public static <T> Flux<T> limit(Flux<T> source, String operation, long timeoutMs) {
+        Duration timeout = Duration.ofMillis(timeoutMs);
+        return Flux.defer(() -> {
+            // takeUntilOther cancels the source only when the other publisher emits, not when it fails
+            AtomicBoolean expired = new AtomicBoolean();
+            return source.takeUntilOther(Mono.delay(timeout).doOnNext(tick -> expired.set(true)))
+                    .concatWith(Mono.defer(() -> expired.get()
+                            ? Mono.error(new DeadlineExceededException(operation, timeout))
+                            : Mono.empty()));
+        });
+    }
+
+    /**
+     * Runs blocking JDBC work on the given scheduler with a {@link Deadline} bound, so its statements carry the
+     * remaining budget as their query timeout. Expiry and client disconnects cancel the statement in flight.
+     */
+    public static <T> Mono<T> blocking(String operation, long timeoutMs, Scheduler scheduler, Supplier<T> work) {
+        Duration timeout = Duration.ofMillis(timeoutMs);
+        return Mono.defer(() -> {
+            Deadline deadline = new Deadline(operation, timeout);
+            return Mono.fromCallable(() -> {
+                        if (deadline.isExpired()) {
+                            throw new DeadlineExceededException(operation, timeout);
+                        }
+                        Deadline.bind(deadline);
+                        try {
+                            return work.get();
+                        } catch (RuntimeException e) {
+                            throw deadline.isExpired() ? new DeadlineExceededException(operation, timeout) : e;
+                        } finally {
+                            Deadline.unbind();
+                        }
+                    })
+                    .subscribeOn(scheduler)
+                    .doOnCancel(deadline::cancel)
+                    .timeout(timeout, Mono.error(() -> new DeadlineExceededException(operation, timeout)));
+        });
+    }
+}
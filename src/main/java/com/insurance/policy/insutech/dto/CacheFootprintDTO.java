@@ -0,0 +1,14 @@
+package com.insurance.policy.insutech.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class CacheFootprintDTO {
+    private long budgetBytes;
+    private long estimatedBytes;
+    private List<CacheRegionDTO> regions;
+}
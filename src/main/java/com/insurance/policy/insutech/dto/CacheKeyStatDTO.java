@@ -0,0 +1,16 @@
+package com.insurance.policy.insutech.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheKeyStatDTO {
+    private String key;
+    /** Access count, or microseconds spent loading, as estimated by the region's sketch. */
+    private long estimate;
+}
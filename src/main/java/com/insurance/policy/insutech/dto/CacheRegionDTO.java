@@ -0,0 +1,18 @@
+package com.insurance.policy.insutech.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class CacheRegionDTO {
+    private String name;
+    private long entries;
+    private long estimatedBytes;
+    /** Null for size-bounded regions. */
+    private Long maximumBytes;
+    /** Null for weight-bounded regions. */
+    private Long maximumSize;
+    private double hitRate;
+    private long evictionCount;
+}
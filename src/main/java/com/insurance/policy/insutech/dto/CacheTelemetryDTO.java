@@ -0,0 +1,28 @@
+package com.insurance.policy.insutech.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+public class CacheTelemetryDTO {
+    private String name;
+    private long entries;
+    private long requests;
+    private double hitRatio;
+    /** Null when the window saw no requests. */
+    private Double hitRatio1m;
+    private Double hitRatio5m;
+    private Double hitRatio15m;
+    private long loadCount;
+    /** Null until the first load. */
+    private Double loadP50Ms;
+    private Double loadP95Ms;
+    private Double loadP99Ms;
+    private Map<String, Long> removalsByCause;
+    private List<CacheKeyStatDTO> hotKeys;
+    private List<CacheKeyStatDTO> expensiveKeys;
+}
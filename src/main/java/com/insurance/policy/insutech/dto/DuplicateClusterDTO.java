@@ -0,0 +1,19 @@
+package com.insurance.policy.insutech.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateClusterDTO {
+    private String kind;
+    /** Lowest policy ID in the cluster. */
+    private Long clusterId;
+    private List<DuplicateMatchDTO> members;
+}
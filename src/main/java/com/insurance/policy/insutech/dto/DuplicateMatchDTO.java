@@ -0,0 +1,18 @@
+package com.insurance.policy.insutech.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateMatchDTO {
+    /** {@code customer} or {@code vehicle}. */
+    private String kind;
+    private Long policyId;
+    private String policyNumber;
+    private double similarity;
+}
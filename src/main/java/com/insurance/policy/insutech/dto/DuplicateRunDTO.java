@@ -0,0 +1,19 @@
+package com.insurance.policy.insutech.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+public class DuplicateRunDTO {
+    private Long id;
+    private String status;
+    private long blockCount;
+    private long comparisonCount;
+    private long clusterCount;
+    private long memberCount;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+}
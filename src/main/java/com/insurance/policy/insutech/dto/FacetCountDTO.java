@@ -0,0 +1,16 @@
+package com.insurance.policy.insutech.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetCountDTO {
+    /** The value as the filter endpoint accepts it, e.g. a status code. */
+    private String value;
+    private long count;
+}
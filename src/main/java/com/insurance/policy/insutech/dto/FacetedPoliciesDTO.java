@@ -0,0 +1,17 @@
+package com.insurance.policy.insutech.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetedPoliciesDTO {
+    private List<AutoPolicyDTO> policies;
+    private PolicyFacetsDTO facets;
+}
@@ -0,0 +1,21 @@
+package com.insurance.policy.insutech.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+public class FilterShapeStatsDTO {
+    private int shape;
+    private List<String> parameters;
+    private long executions;
+    private double totalTimeMs;
+    private double averageTimeMs;
+    private double maxTimeMs;
+    private double averageRows;
+    private Double selectivity;
+    private Map<String, Long> statusValues;
+}
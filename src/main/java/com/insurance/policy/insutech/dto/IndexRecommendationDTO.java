@@ -0,0 +1,19 @@
+package com.insurance.policy.insutech.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class IndexRecommendationDTO {
+    private String indexName;
+    private String method;
+    private List<String> columns;
+    private String predicate;
+    private String ddl;
+    private int servedShapes;
+    private long servedExecutions;
+    private double estimatedSavingsMs;
+}
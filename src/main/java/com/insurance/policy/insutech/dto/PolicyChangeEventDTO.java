@@ -0,0 +1,21 @@
+package com.insurance.policy.insutech.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+public class PolicyChangeEventDTO {
+    private Long id;
+    private String type;
+    private Long policyId;
+    private String policyNumber;
+    private Instant occurredAt;
+
+    // Already serialized when the event was written; passed through without re-parsing
+    @JsonRawValue
+    private String policy;
+}
@@ -0,0 +1,14 @@
+package com.insurance.policy.insutech.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+public class PolicyExpiryAlertDTO {
+    private LocalDate alertDate;
+    private int daysRemaining;
+    private AutoPolicyDTO policy;
+}
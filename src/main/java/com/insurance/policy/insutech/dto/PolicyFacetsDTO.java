@@ -0,0 +1,20 @@
+package com.insurance.policy.insutech.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Counts over the policies matching one filter. Every status and type is listed, with zero counts included;
+ * vehicle makes are the most frequent ones only.
+ */
+@Getter
+@Setter
+public class PolicyFacetsDTO {
+    private long total;
+    private List<FacetCountDTO> statuses;
+    private List<FacetCountDTO> policyTypes;
+    private List<FacetCountDTO> vehicleMakes;
+    private List<PremiumBandCountDTO> premiumBands;
+}
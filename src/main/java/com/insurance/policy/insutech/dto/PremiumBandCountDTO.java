@@ -0,0 +1,20 @@
+package com.insurance.policy.insutech.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PremiumBandCountDTO {
+    /** Inclusive lower bound; null for the lowest band. */
+    private BigDecimal min;
+    /** Exclusive upper bound; null for the highest band. */
+    private BigDecimal max;
+    private long count;
+}
@@ -0,0 +1,19 @@
+package com.insurance.policy.insutech.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+public class PremiumQuoteDTO {
+    private BigDecimal premiumAmount;
+    private String tableVersion;
+    private int termDays;
+    private double baseRate;
+    private double makeFactor;
+    private double modelFactor;
+    private double vehicleAgeFactor;
+    private double termLoad;
+}
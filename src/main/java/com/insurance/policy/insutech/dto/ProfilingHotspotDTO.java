@@ -0,0 +1,17 @@
+package com.insurance.policy.insutech.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfilingHotspotDTO {
+    private String site;
+    private long count;
+    /** Bytes for allocation sites, microseconds for lock contention and application events, zero for samples. */
+    private long total;
+}
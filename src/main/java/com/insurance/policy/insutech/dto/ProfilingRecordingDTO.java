@@ -0,0 +1,18 @@
+package com.insurance.policy.insutech.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+public class ProfilingRecordingDTO {
+    private long id;
+    private String profile;
+    /** RUNNING until the duration is up or the recording is stopped, then STOPPED; the file exists from then on. */
+    private String state;
+    private Instant startedAt;
+    private long durationSeconds;
+    private Long sizeBytes;
+}
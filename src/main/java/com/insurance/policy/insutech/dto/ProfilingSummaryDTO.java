@@ -0,0 +1,22 @@
+package com.insurance.policy.insutech.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class ProfilingSummaryDTO {
+    private long recordingId;
+    private String profile;
+    private long executionSamples;
+    /** Methods on top of the sampled stacks, where the CPU time went. */
+    private List<ProfilingHotspotDTO> hotMethods;
+    /** Allocating methods by sampled bytes. */
+    private List<ProfilingHotspotDTO> allocationSites;
+    /** Methods that waited to enter a monitor, by time blocked. */
+    private List<ProfilingHotspotDTO> lockContention;
+    /** Policy service calls, cache loads and filter queries, by operation, region and filter shape. */
+    private List<ProfilingHotspotDTO> applicationEvents;
+}
@@ -0,0 +1,20 @@
+package com.insurance.policy.insutech.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+public class ReRateRunDTO {
+    private long id;
+    private String tableVersion;
+    /** RUNNING while pages are being priced, then COMPLETED or FAILED; counts cover the pages written so far. */
+    private String state;
+    private long rated;
+    private long updated;
+    private long skipped;
+    private Instant startedAt;
+    private Instant completedAt;
+}
@@ -0,0 +1,21 @@
+package com.insurance.policy.insutech.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+public class RenewalRunDTO {
+    private Long id;
+    private LocalDate windowStart;
+    private LocalDate windowEnd;
+    private String status;
+    private long lastPolicyId;
+    private long renewedCount;
+    private long skippedCount;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,21 @@
+package com.insurance.policy.insutech.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Map;
+
+@Getter
+@Setter
+public class SqlStatisticsDTO {
+    private String name;
+    private long invocations;
+    private long statements;
+    private long rows;
+    private double dbTimeMs;
+    private double averageStatements;
+    private long maxStatements;
+    private double averageDbTimeMs;
+    private long repeatedStatementInvocations;
+    private Map<String, Long> repeatedStatements;
+}
@@ -0,0 +1,76 @@
+package com.insurance.policy.insutech.duplicate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Policy IDs by blocking key. A block is a sorted array that is replaced, never changed, on every write, so readers
+ * need no lock and may keep an array they were handed. Blocks are small by design of the keys, which keeps the
+ * copying cheap; what the index holds per policy is one long.
+ */
+public class BlockIndex {
+
+    public record Block(String key, long[] members) {
+    }
+
+    private static final long[] EMPTY = new long[0];
+
+    private final ConcurrentMap<String, long[]> blocks = new ConcurrentHashMap<>();
+
+    public void add(String key, long policyId) {
+        blocks.compute(key, (ignored, members) -> {
+            if (members == null) {
+                return new long[]{policyId};
+            }
+            int position = Arrays.binarySearch(members, policyId);
+            if (position >= 0) {
+                return members;
+            }
+            int at = -position - 1;
+            long[] grown = new long[members.length + 1];
+            System.arraycopy(members, 0, grown, 0, at);
+            grown[at] = policyId;
+            System.arraycopy(members, at, grown, at + 1, members.length - at);
+            return grown;
+        });
+    }
+
+    public void remove(String key, long policyId) {
+        blocks.computeIfPresent(key, (ignored, members) -> {
+            int position = Arrays.binarySearch(members, policyId);
+            if (position < 0) {
+                return members;
+            }
+            if (members.length == 1) {
+                return null;
+            }
+            long[] shrunk = new long[members.length - 1];
+            System.arraycopy(members, 0, shrunk, 0, position);
+            System.arraycopy(members, position + 1, shrunk, position, shrunk.length - position);
+            return shrunk;
+        });
+    }
+
+    /** The block's policy IDs in ascending order; the array must not be modified. */
+    public long[] members(String key) {
+        return blocks.getOrDefault(key, EMPTY);
+    }
+
+    /** Every block with at least {@code minSize} members, as of roughly now. */
+    public List<Block> blocks(int minSize) {
+        List<Block> result = new ArrayList<>();
+        blocks.forEach((key, members) -> {
+            if (members.length >= minSize) {
+                result.add(new Block(key, members));
+            }
+        });
+        return result;
+    }
+
+    public int size() {
+        return blocks.size();
+    }
+}
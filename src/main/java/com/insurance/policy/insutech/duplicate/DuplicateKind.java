@@ -0,0 +1,115 @@
+package com.insurance.policy.insutech.duplicate;
+
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+
+import static com.insurance.policy.insutech.duplicate.NameMatching.normalize;
+import static com.insurance.policy.insutech.duplicate.NameMatching.soundex;
+
+/**
+ * What two policies can have in common that makes them duplicates, each with its blocking key and its score.
+ * Only policies with the same blocking key are ever compared.
+ */
+public enum DuplicateKind {
+
+    /** The same person: last and first name. */
+    CUSTOMER("customer", 0.6, 0.4) {
+        @Override
+        public String blockKey(AutoPolicyDTO policy) {
+            String lastName = soundex(normalize(policy.getLastName()));
+            return lastName.isEmpty() ? null : lastName + soundex(normalize(policy.getFirstName()));
+        }
+
+        @Override
+        String[] fields(AutoPolicyDTO policy) {
+            return new String[]{normalize(policy.getLastName()), normalize(policy.getFirstName())};
+        }
+    },
+
+    /**
+     * The same vehicle: make, model and year, insured by the same household. Without a VIN, make, model and year
+     * only name a model line, so the owner's last name is part of the key.
+     */
+    VEHICLE("vehicle", 0.35, 0.4, 0.25) {
+        @Override
+        public String blockKey(AutoPolicyDTO policy) {
+            String make = soundex(normalize(policy.getVehicleMake()));
+            String year = year(policy.getVehicleYear());
+            String lastName = soundex(normalize(policy.getLastName()));
+            return make.isEmpty() || year.isEmpty() || lastName.isEmpty() ? null : make + year + lastName;
+        }
+
+        @Override
+        String[] fields(AutoPolicyDTO policy) {
+            return new String[]{normalize(policy.getVehicleMake()), normalize(policy.getVehicleModel()),
+                    normalize(policy.getLastName())};
+        }
+    };
+
+    /**
+     * A policy ready for comparison under one kind: its blocking key and its normalized fields.
+     */
+    public record Profile(Long policyId, String policyNumber, String blockKey, String[] fields) {
+
+        /** Orders a block so that the most alike profiles end up next to each other. */
+        public String sortKey() {
+            return String.join(" ", fields);
+        }
+    }
+
+    private final String parameter;
+    private final double[] weights;
+
+    DuplicateKind(String parameter, double... weights) {
+        this.parameter = parameter;
+        this.weights = weights;
+    }
+
+    public String getParameter() {
+        return parameter;
+    }
+
+    /**
+     * The block a policy falls in, or null when it lacks the fields to be compared at all.
+     */
+    public abstract String blockKey(AutoPolicyDTO policy);
+
+    abstract String[] fields(AutoPolicyDTO policy);
+
+    /**
+     * Null when the policy has no block under this kind.
+     */
+    public Profile profile(AutoPolicyDTO policy) {
+        String blockKey = blockKey(policy);
+        return blockKey == null ? null : new Profile(policy.getId(), policy.getPolicyNumber(), blockKey, fields(policy));
+    }
+
+    /**
+     * Weighted Jaro-Winkler similarity of the fields, between 0 and 1.
+     */
+    public double similarity(Profile a, Profile b) {
+        double score = 0;
+        for (int i = 0; i < weights.length; i++) {
+            score += weights[i] * NameMatching.jaroWinkler(a.fields()[i], b.fields()[i]);
+        }
+        return score;
+    }
+
+    public static DuplicateKind fromParameter(String parameter) {
+        for (DuplicateKind kind : values()) {
+            if (kind.parameter.equalsIgnoreCase(parameter)) {
+                return kind;
+            }
+        }
+        throw new IllegalArgumentException("No duplicate detection for: " + parameter);
+    }
+
+    // Digits only, with two-digit years read as 19xx or 20xx the way a model year would be
+    private static String year(String value) {
+        String digits = normalize(value).replaceAll("\\D", "");
+        if (digits.length() == 2) {
+            int year = Integer.parseInt(digits);
+            return String.valueOf(year > 50 ? 1900 + year : 2000 + year);
+        }
+        return digits;
+    }
+}
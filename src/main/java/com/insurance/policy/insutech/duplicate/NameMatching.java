@@ -0,0 +1,113 @@
+package com.insurance.policy.insutech.duplicate;
+
+import java.text.Normalizer;
+
+/**
+ * String primitives for spotting spelling variants: a normal form to compare in, a phonetic code to block on and a
+ * similarity to score with.
+ */
+public final class NameMatching {
+
+    // Soundex digit per letter A..Z; 0 for vowels and Y, which separate runs, and '-' for H and W, which do not
+    private static final String SOUNDEX_CODES = "0123012-02245501262301-202";
+
+    private NameMatching() {
+    }
+
+    /**
+     * Lower case, accents stripped and everything but letters and digits dropped, so "O'Neil", "ONeil" and
+     * "o neil" compare equal.
+     */
+    public static String normalize(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        StringBuilder normalized = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(Character.toLowerCase(c));
+            }
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * American Soundex of a normalized value: its first letter and the codes of up to three following consonant
+     * groups, e.g. R163 for both "Robert" and "Rupert". Empty when the value has no letter a-z.
+     */
+    public static String soundex(String normalized) {
+        char[] code = {0, '0', '0', '0'};
+        int length = 0;
+        char previous = 0;
+        for (int i = 0; i < normalized.length() && length < code.length; i++) {
+            char c = normalized.charAt(i);
+            if (c < 'a' || c > 'z') {
+                continue;
+            }
+            char digit = SOUNDEX_CODES.charAt(c - 'a');
+            if (length == 0) {
+                code[length++] = Character.toUpperCase(c);
+                previous = digit;
+            } else if (digit == '0') {
+                previous = digit;
+            } else if (digit != '-' && digit != previous) {
+                code[length++] = digit;
+                previous = digit;
+            }
+        }
+        return length == 0 ? "" : new String(code);
+    }
+
+    /**
+     * Jaro-Winkler similarity between 0 and 1, which rewards a shared start of up to four characters the way
+     * typed names tend to differ: "martha" and "marhta" score 0.96.
+     */
+    public static double jaroWinkler(String a, String b) {
+        if (a.equals(b)) {
+            return 1.0;
+        }
+        if (a.isEmpty() || b.isEmpty()) {
+            return 0.0;
+        }
+        int window = Math.max(0, Math.max(a.length(), b.length()) / 2 - 1);
+        boolean[] matchedA = new boolean[a.length()];
+        boolean[] matchedB = new boolean[b.length()];
+        int matches = 0;
+        for (int i = 0; i < a.length(); i++) {
+            int from = Math.max(0, i - window);
+            int to = Math.min(b.length() - 1, i + window);
+            for (int j = from; j <= to; j++) {
+                if (!matchedB[j] && a.charAt(i) == b.charAt(j)) {
+                    matchedA[i] = true;
+                    matchedB[j] = true;
+                    matches++;
+                    break;
+                }
+            }
+        }
+        if (matches == 0) {
+            return 0.0;
+        }
+        int transpositions = 0;
+        for (int i = 0, j = 0; i < a.length(); i++) {
+            if (matchedA[i]) {
+                while (!matchedB[j]) {
+                    j++;
+                }
+                if (a.charAt(i) != b.charAt(j)) {
+                    transpositions++;
+                }
+                j++;
+            }
+        }
+        double m = matches;
+        double jaro = (m / a.length() + m / b.length() + (m - transpositions / 2.0) / m) / 3.0;
+        int prefix = 0;
+        while (prefix < Math.min(4, Math.min(a.length(), b.length())) && a.charAt(prefix) == b.charAt(prefix)) {
+            prefix++;
+        }
+        return jaro + prefix * 0.1 * (1.0 - jaro);
+    }
+}
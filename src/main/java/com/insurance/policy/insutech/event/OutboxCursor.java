@@ -0,0 +1,78 @@
+package com.insurance.policy.insutech.event;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * A reader's position in the policy outbox. Outbox IDs are taken when a row is inserted but become visible when its
+ * transaction commits, so a lower ID can show up after a higher one, e.g. from a large batch that commits last.
+ * The cursor therefore only moves over contiguous IDs: a missing ID holds it back until the row appears or the gap
+ * timeout passes, after which the ID is taken to belong to a rolled-back transaction and skipped.
+ * <p>
+ * Not thread-safe; each reader owns its cursor.
+ */
+@Slf4j
+public class OutboxCursor {
+
+    private final long gapTimeoutMs;
+    private final LongSupplier clock;
+    private long position;
+    // First ID of each run of missing IDs, with the time the run was first seen
+    private final TreeMap<Long, Long> gapsSince = new TreeMap<>();
+
+    public OutboxCursor(long position, long gapTimeoutMs) {
+        this(position, gapTimeoutMs, System::currentTimeMillis);
+    }
+
+    OutboxCursor(long position, long gapTimeoutMs, LongSupplier clock) {
+        this.position = position;
+        this.gapTimeoutMs = gapTimeoutMs;
+        this.clock = clock;
+    }
+
+    /** Every ID up to here has been delivered or given up. */
+    public long getPosition() {
+        return position;
+    }
+
+    /**
+     * Takes a page of rows with IDs above the position, in ID order, and returns its leading rows that can be
+     * delivered now; the position moves to the last of them. Runs of missing IDs further into the page start
+     * their timeout as soon as they are seen.
+     */
+    public <T> List<T> advance(List<T> page, ToLongFunction<T> id) {
+        long now = clock.getAsLong();
+        List<T> deliverable = new ArrayList<>();
+        long expected = position + 1;
+        boolean blocked = false;
+        for (T row : page) {
+            long rowId = id.applyAsLong(row);
+            if (rowId > expected) {
+                long since = gapsSince.computeIfAbsent(expected, missing -> now);
+                if (blocked || now - since < gapTimeoutMs) {
+                    blocked = true;
+                } else {
+                    log.warn("Gave up waiting {} ms for outbox IDs {}-{}; their transactions rolled back or never committed",
+                            now - since, expected, rowId - 1);
+                }
+            }
+            if (!blocked) {
+                deliverable.add(row);
+                position = rowId;
+            }
+            expected = rowId + 1;
+        }
+        gapsSince.headMap(position, true).clear();
+        return deliverable;
+    }
+
+    /** Runs of missing IDs currently being waited for. */
+    public int getOpenGaps() {
+        return gapsSince.size();
+    }
+}
@@ -0,0 +1,30 @@
+package com.insurance.policy.insutech.event;
+
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+
+/**
+ * Published by {@code AutoPolicyServiceImpl} for every policy it creates, updates or deletes, and by the batch jobs
+ * that write policies behind it, such as archival.
+ * {@code before} is null for creations and {@code after} is null for deletions and archivals. An archived policy
+ * leaves the live table and every index over it, but stays readable, read-only, by ID and number.
+ */
+public record PolicyChangedEvent(ChangeType type, Long policyId, AutoPolicyDTO before, AutoPolicyDTO after) {
+
+    public enum ChangeType { CREATED, UPDATED, DELETED, ARCHIVED }
+
+    public static PolicyChangedEvent created(AutoPolicyDTO after) {
+        return new PolicyChangedEvent(ChangeType.CREATED, after.getId(), null, after);
+    }
+
+    public static PolicyChangedEvent updated(AutoPolicyDTO before, AutoPolicyDTO after) {
+        return new PolicyChangedEvent(ChangeType.UPDATED, after.getId(), before, after);
+    }
+
+    public static PolicyChangedEvent deleted(AutoPolicyDTO before) {
+        return new PolicyChangedEvent(ChangeType.DELETED, before.getId(), before, null);
+    }
+
+    public static PolicyChangedEvent archived(AutoPolicyDTO before) {
+        return new PolicyChangedEvent(ChangeType.ARCHIVED, before.getId(), before, null);
+    }
+}
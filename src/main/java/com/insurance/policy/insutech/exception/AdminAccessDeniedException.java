@@ -0,0 +1,7 @@
+package com.insurance.policy.insutech.exception;
+
+public class AdminAccessDeniedException extends RuntimeException {
+    public AdminAccessDeniedException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,7 @@
+package com.insurance.policy.insutech.exception;
+
+public class ArchivedPolicyException extends RuntimeException {
+    public ArchivedPolicyException(Long id) {
+        super("Policy " + id + " is archived and can no longer be changed", null, false, false);
+    }
+}
@@ -2,6 +2,7 @@ package com.insurance.policy.insutech.exception;
 
 public class AutoPolicyNotFoundException extends RuntimeException {
     public AutoPolicyNotFoundException(String message) {
-        super(message);
+        // An expected outcome answered as a 404, often for keys probed in bulk; a stack trace would only cost time
+        super(message, null, false, false);
     }
 }
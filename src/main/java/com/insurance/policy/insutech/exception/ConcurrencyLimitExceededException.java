@@ -0,0 +1,18 @@
+package com.insurance.policy.insutech.exception;
+
+import com.insurance.policy.insutech.concurrency.Bulkhead;
+import lombok.Getter;
+
+@Getter
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+    private final Bulkhead bulkhead;
+    private final long retryAfterSeconds;
+
+    public ConcurrencyLimitExceededException(Bulkhead bulkhead, long retryAfterSeconds) {
+        // Thrown on every shed request while overloaded; the stack trace carries no information
+        super("Too many concurrent " + bulkhead.name().toLowerCase() + " requests, retry later", null, false, false);
+        this.bulkhead = bulkhead;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
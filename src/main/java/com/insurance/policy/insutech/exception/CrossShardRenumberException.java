@@ -0,0 +1,8 @@
+package com.insurance.policy.insutech.exception;
+
+public class CrossShardRenumberException extends RuntimeException {
+    public CrossShardRenumberException(Long id, String policyNumber) {
+        super("Policy number " + policyNumber + " belongs on another shard than policy " + id
+                + "; renumbering across shards is not supported", null, false, false);
+    }
+}
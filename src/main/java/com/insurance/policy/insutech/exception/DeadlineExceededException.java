@@ -0,0 +1,19 @@
+package com.insurance.policy.insutech.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+public class DeadlineExceededException extends RuntimeException {
+
+    private final String operation;
+    private final Duration timeout;
+
+    public DeadlineExceededException(String operation, Duration timeout) {
+        // Reported from the timeout callback, not from the worker, so a stack trace would only show the timer
+        super(operation + " did not complete within " + timeout.toMillis() + " ms", null, false, false);
+        this.operation = operation;
+        this.timeout = timeout;
+    }
+}
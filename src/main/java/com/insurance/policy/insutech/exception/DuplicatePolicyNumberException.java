@@ -0,0 +1,17 @@
+package com.insurance.policy.insutech.exception;
+
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.List;
+
+@Getter
+public class DuplicatePolicyNumberException extends RuntimeException {
+
+    private final List<String> policyNumbers;
+
+    public DuplicatePolicyNumberException(Collection<String> policyNumbers) {
+        super("Policy numbers already in use: " + policyNumbers, null, false, false);
+        this.policyNumbers = List.copyOf(policyNumbers);
+    }
+}
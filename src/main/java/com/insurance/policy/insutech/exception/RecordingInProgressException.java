@@ -0,0 +1,7 @@
+package com.insurance.policy.insutech.exception;
+
+public class RecordingInProgressException extends RuntimeException {
+    public RecordingInProgressException(String message) {
+        super(message);
+    }
+}
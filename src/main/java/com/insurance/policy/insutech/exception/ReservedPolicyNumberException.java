@@ -0,0 +1,18 @@
+package com.insurance.policy.insutech.exception;
+
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.List;
+
+@Getter
+public class ReservedPolicyNumberException extends RuntimeException {
+
+    private final List<String> policyNumbers;
+
+    public ReservedPolicyNumberException(Collection<String> policyNumbers) {
+        super("Policy numbers in the issued format are assigned by the server; leave them blank: " + policyNumbers,
+                null, false, false);
+        this.policyNumbers = List.copyOf(policyNumbers);
+    }
+}
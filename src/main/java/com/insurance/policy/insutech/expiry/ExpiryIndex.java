@@ -0,0 +1,117 @@
+package com.insurance.policy.insutech.expiry;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Policy IDs bucketed by the epoch day their cover ends. A window of days reads only its own buckets, so the
+ * cost of a query is the number of days plus the number of policies returned, however many policies are indexed.
+ * Costs roughly 100 bytes per indexed policy. Safe for concurrent use; queries share a read lock.
+ */
+public class ExpiryIndex {
+
+    private final Map<Long, Integer> dayById = new HashMap<>();
+    private final NavigableMap<Integer, Set<Long>> buckets = new TreeMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Indexes a policy under its end date, moving it if it was indexed under another one.
+     */
+    public void put(long policyId, LocalDate endDate) {
+        int day = (int) endDate.toEpochDay();
+        lock.writeLock().lock();
+        try {
+            Integer previous = dayById.put(policyId, day);
+            if (previous != null && previous != day) {
+                removeFromBucket(previous, policyId);
+            }
+            buckets.computeIfAbsent(day, key -> new HashSet<>()).add(policyId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long policyId) {
+        lock.writeLock().lock();
+        try {
+            Integer day = dayById.remove(policyId);
+            if (day != null) {
+                removeFromBucket(day, policyId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * IDs ending between {@code from} and {@code to}, both inclusive, earliest end date first and by ID within a
+     * day; at most {@code limit} of them.
+     */
+    public List<Long> between(LocalDate from, LocalDate to, int limit) {
+        List<Long> ids = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Set<Long> bucket : buckets.subMap((int) from.toEpochDay(), true, (int) to.toEpochDay(), true).values()) {
+                if (ids.size() >= limit) {
+                    break;
+                }
+                List<Long> day = new ArrayList<>(bucket);
+                day.sort(null);
+                ids.addAll(day.subList(0, Math.min(day.size(), limit - ids.size())));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return ids;
+    }
+
+    public List<Long> on(LocalDate day) {
+        return between(day, day, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Drops every policy that ended before {@code day}.
+     *
+     * @return the number of policies dropped
+     */
+    public int removeBefore(LocalDate day) {
+        int removed = 0;
+        lock.writeLock().lock();
+        try {
+            NavigableMap<Integer, Set<Long>> ended = buckets.headMap((int) day.toEpochDay(), false);
+            for (Set<Long> bucket : ended.values()) {
+                bucket.forEach(dayById::remove);
+                removed += bucket.size();
+            }
+            ended.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return removed;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return dayById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeFromBucket(int day, long policyId) {
+        Set<Long> bucket = buckets.get(day);
+        if (bucket != null && bucket.remove(policyId) && bucket.isEmpty()) {
+            buckets.remove(day);
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.insurance.policy.insutech.mapper;
 
 import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.model.ArchivedAutoPolicy;
 import com.insurance.policy.insutech.model.AutoPolicy;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
 @Mapper(componentModel = "spring")
@@ -12,4 +14,9 @@ public interface AutoPolicyMapper {
     AutoPolicyDTO toDTO(AutoPolicy policy);
 
     AutoPolicy toEntity(AutoPolicyDTO dto);
+
+    AutoPolicyDTO toDTO(ArchivedAutoPolicy policy);
+
+    @Mapping(target = "archivedAt", ignore = true)
+    ArchivedAutoPolicy toArchive(AutoPolicy policy);
 }
@@ -0,0 +1,58 @@
+package com.insurance.policy.insutech.model;
+
+import com.insurance.policy.insutech.converter.AutoPolicyTypeConverter;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Cold copy of an expired or cancelled {@link AutoPolicy}. The ID is carried over from the live table
+ * rather than generated, so lookups by ID keep resolving after a policy has been archived.
+ */
+@Entity
+@Table(name = "auto_policies_archive")
+@Getter
+@Setter
+@NoArgsConstructor
+public class ArchivedAutoPolicy {
+
+    @Id
+    private Long id;
+
+    @Column(unique = true, nullable = false)
+    private String policyNumber;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private PolicyStatus status;
+
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    @Column(precision = 10, scale = 2)
+    private BigDecimal premiumAmount;
+
+    @Convert(converter = AutoPolicyTypeConverter.class)
+    @Column(name = "policy_type", length = 20, nullable = false)
+    private AutoPolicyType policyType;
+
+    private String vehicleMake;
+    private String vehicleModel;
+    private String vehicleYear;
+    private String firstName;
+    private String lastName;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,49 @@
+package com.insurance.policy.insutech.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * One pass of duplicate detection. Its clusters become the ones queries see when it completes, and the previous
+ * run's clusters are deleted then.
+ */
+@Entity
+@Table(name = "duplicate_runs")
+@Getter
+@Setter
+@NoArgsConstructor
+public class DuplicateRun {
+
+    public enum Status { RUNNING, COMPLETED, FAILED }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Status status;
+
+    /** Blocks with more than one policy, over all kinds; only those are scored. */
+    private long blockCount;
+
+    private long comparisonCount;
+    private long clusterCount;
+
+    /** Policies in some cluster, counted once per kind. */
+    private long memberCount;
+
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,52 @@
+package com.insurance.policy.insutech.model;
+
+import com.insurance.policy.insutech.duplicate.DuplicateKind;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A policy's membership in a duplicate cluster found by a detection run. The cluster is named after its lowest
+ * policy ID, so a cluster that survives from one run to the next keeps its ID.
+ */
+@Entity
+@Table(name = "policy_duplicates", indexes = {
+        @Index(name = "idx_policy_duplicates_cluster", columnList = "runId, kind, clusterId"),
+        @Index(name = "idx_policy_duplicates_policy", columnList = "runId, policyId")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class PolicyDuplicate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long runId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private DuplicateKind kind;
+
+    @Column(nullable = false)
+    private Long clusterId;
+
+    @Column(nullable = false)
+    private Long policyId;
+
+    private String policyNumber;
+
+    /** Best similarity to another member of the cluster. */
+    private double similarity;
+}
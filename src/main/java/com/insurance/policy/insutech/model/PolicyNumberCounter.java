@@ -0,0 +1,29 @@
+package com.insurance.policy.insutech.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Cluster-wide high-water mark for generated policy numbers. Nodes advance it by a whole block at a time and
+ * hand out the numbers below it from memory.
+ */
+@Entity
+@Table(name = "policy_number_counters")
+@Getter
+@Setter
+@NoArgsConstructor
+public class PolicyNumberCounter {
+
+    @Id
+    @Column(length = 40)
+    private String name;
+
+    /** First sequence value not yet reserved by any node. */
+    @Column(nullable = false)
+    private long nextValue;
+}
@@ -0,0 +1,45 @@
+package com.insurance.policy.insutech.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * One row per policy change, written in the same transaction as the change itself.
+ * The generated ID doubles as the resumable cursor ({@code Last-Event-ID}) of the change stream.
+ */
+@Entity
+@Table(name = "policy_outbox", indexes = @Index(name = "idx_policy_outbox_created_at", columnList = "createdAt"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class PolicyOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 10)
+    private String eventType;
+
+    @Column(nullable = false)
+    private Long policyId;
+
+    private String policyNumber;
+
+    /** JSON of the policy after the change, or before it for deletions. */
+    @Column(length = 4000)
+    private String payload;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+}
@@ -0,0 +1,57 @@
+package com.insurance.policy.insutech.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Checkpoint of a renewal run. {@code lastPolicyId} advances in the same transaction that writes a chunk's
+ * successors, so a restarted run resumes exactly after the last committed chunk.
+ */
+@Entity
+@Table(name = "renewal_runs")
+@Getter
+@Setter
+@NoArgsConstructor
+public class RenewalRun {
+
+    public enum Status { RUNNING, COMPLETED, FAILED }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate windowStart;
+
+    @Column(nullable = false)
+    private LocalDate windowEnd;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Status status;
+
+    /** Highest policy ID when the run started; successors written by the run itself are never picked up. */
+    private long maxPolicyId;
+
+    /** Keyset cursor: every candidate up to this ID has been renewed or skipped. */
+    private long lastPolicyId;
+
+    private long renewedCount;
+    private long skippedCount;
+
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,40 @@
+package com.insurance.policy.insutech.profiling;
+
+import com.insurance.policy.insutech.config.ProfilingProperties;
+import com.insurance.policy.insutech.exception.AdminAccessDeniedException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Guards the admin endpoints with a shared token. The comparison takes the same time whatever the mismatch, so the
+ * token cannot be guessed byte by byte from response times.
+ */
+@Component
+@RequiredArgsConstructor
+public class AdminTokenInterceptor implements HandlerInterceptor {
+
+    public static final String HEADER = "X-Admin-Token";
+
+    private final ProfilingProperties profilingProperties;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String expected = profilingProperties.getAdminToken();
+        if (!StringUtils.hasText(expected)) {
+            throw new AdminAccessDeniedException("Admin endpoints are disabled: no admin token is configured");
+        }
+        String supplied = request.getHeader(HEADER);
+        if (supplied == null || !MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8),
+                supplied.getBytes(StandardCharsets.UTF_8))) {
+            throw new AdminAccessDeniedException("Missing or invalid " + HEADER + " header");
+        }
+        return true;
+    }
+}
@@ -0,0 +1,40 @@
+package com.insurance.policy.insutech.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A cache miss, from the lookup to the value being stored: the time the caller paid for the miss.
+ */
+@Name(CacheLoadEvent.NAME)
+@Label("Cache Load")
+@Category({"Insutech", "Cache"})
+@Description("A cache miss and the load that filled it")
+@StackTrace(false)
+public class CacheLoadEvent extends jdk.jfr.Event {
+
+    public static final String NAME = "insutech.CacheLoad";
+
+    @Label("Region")
+    String region;
+
+    @Label("Key")
+    String key;
+
+    public static CacheLoadEvent start() {
+        CacheLoadEvent event = new CacheLoadEvent();
+        event.begin();
+        return event;
+    }
+
+    public void finish(String region, Object key) {
+        if (shouldCommit()) {
+            this.region = region;
+            this.key = String.valueOf(key);
+            commit();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.insurance.policy.insutech.profiling;
+
+import com.insurance.policy.insutech.model.PolicyStatus;
+import com.insurance.policy.insutech.specification.FilterShape;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A filter query that went to the database, with the shape the index advisor groups it by.
+ */
+@Name(FilterQueryEvent.NAME)
+@Label("Filter Query")
+@Category({"Insutech", "Policy"})
+@Description("A policy filter query that missed the cache")
+public class FilterQueryEvent extends jdk.jfr.Event {
+
+    public static final String NAME = "insutech.FilterQuery";
+
+    @Label("Shape")
+    int shape;
+
+    @Label("Parameters")
+    String parameters;
+
+    @Label("Status")
+    String status;
+
+    @Label("Rows")
+    long rows;
+
+    public static FilterQueryEvent start() {
+        FilterQueryEvent event = new FilterQueryEvent();
+        event.begin();
+        return event;
+    }
+
+    public void finish(int shape, PolicyStatus status, long rows) {
+        if (shouldCommit()) {
+            this.shape = shape;
+            this.parameters = FilterShape.parameters(shape).toString();
+            this.status = status != null ? status.name() : null;
+            this.rows = rows;
+            commit();
+        }
+    }
+}
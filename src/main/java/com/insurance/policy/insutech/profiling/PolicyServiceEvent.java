@@ -0,0 +1,29 @@
+package com.insurance.policy.insutech.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One {@code AutoPolicyService} call, from entry to return, including its transaction commit.
+ */
+@Name(PolicyServiceEvent.NAME)
+@Label("Policy Service Call")
+@Category({"Insutech", "Policy"})
+@Description("A call into AutoPolicyService")
+@StackTrace(false)
+public class PolicyServiceEvent extends jdk.jfr.Event {
+
+    public static final String NAME = "insutech.PolicyServiceCall";
+
+    @Label("Method")
+    String method;
+
+    @Label("Failed")
+    boolean failed;
+
+    @Label("Exception")
+    String exception;
+}
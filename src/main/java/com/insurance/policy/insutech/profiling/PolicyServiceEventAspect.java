@@ -0,0 +1,40 @@
+package com.insurance.policy.insutech.profiling;
+
+import com.insurance.policy.insutech.service.AutoPolicyService;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Emits a {@link PolicyServiceEvent} around every {@link AutoPolicyService} call. When no recording enables the
+ * event, this is a flag check per call.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class PolicyServiceEventAspect {
+
+    @Around("execution(* com.insurance.policy.insutech.service.AutoPolicyService.*(..))")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        PolicyServiceEvent event = new PolicyServiceEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        event.begin();
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            event.failed = true;
+            event.exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            if (event.shouldCommit()) {
+                event.method = joinPoint.getSignature().getName();
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.insurance.policy.insutech.rating;
+
+import com.insurance.policy.insutech.model.AutoPolicyType;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Strategy: compile a rating table version once into flat primitive lookups
+ * - Coverage factors live in arrays indexed by {@link AutoPolicyType#ordinal()}
+ * - Makes are interned to an int once per lookup; make and model factors are then array reads, with no
+ *   boxing and no composite-key allocation on the hot path
+ * - Instances are immutable and shared freely between quote requests and re-rate workers
+ */
+public final class RatingTable {
+
+    private static final double DAYS_PER_YEAR = 365.0;
+    private static final int NO_MAKE = -1;
+
+    @Getter
+    private final String version;
+    @Getter
+    private final LocalDate effectiveDate;
+
+    private final double minimumPremium;
+    private final double[] baseRates;
+    private final double defaultMakeFactor;
+    private final Map<String, Integer> makeIndex;
+    private final double[] makeFactors;
+    private final Map<String, Integer>[] modelIndex;
+    private final double[][] modelFactors;
+    private final double[][] ageFactors;
+    private final int[] termLoadMaxDays;
+    private final double[] termLoadFactors;
+
+    @SuppressWarnings("unchecked")
+    private RatingTable(RatingTableDefinition definition) {
+        this.version = definition.getVersion();
+        this.effectiveDate = definition.getEffectiveDate();
+        this.minimumPremium = definition.getMinimumPremium() != null ? definition.getMinimumPremium().doubleValue() : 0;
+        this.defaultMakeFactor = definition.getDefaultMakeFactor();
+
+        AutoPolicyType[] types = AutoPolicyType.values();
+        this.baseRates = new double[types.length];
+        this.ageFactors = new double[types.length][];
+        for (AutoPolicyType type : types) {
+            Double baseRate = definition.getBaseRates() != null ? definition.getBaseRates().get(type) : null;
+            List<Double> ages = definition.getVehicleAgeFactors() != null ? definition.getVehicleAgeFactors().get(type) : null;
+            if (baseRate == null || ages == null || ages.isEmpty()) {
+                throw new IllegalArgumentException("Rating table " + version + " does not rate coverage " + type);
+            }
+            baseRates[type.ordinal()] = baseRate;
+            ageFactors[type.ordinal()] = ages.stream().mapToDouble(Double::doubleValue).toArray();
+        }
+
+        Map<String, Integer> makes = new HashMap<>();
+        definition.getMakeFactors().keySet().forEach(make -> makes.putIfAbsent(key(make), makes.size()));
+        definition.getModelFactors().keySet().forEach(make -> makes.putIfAbsent(key(make), makes.size()));
+        this.makeIndex = Map.copyOf(makes);
+        this.makeFactors = new double[makes.size()];
+        this.modelIndex = new Map[makes.size()];
+        this.modelFactors = new double[makes.size()][];
+        Arrays.fill(makeFactors, defaultMakeFactor);
+        definition.getMakeFactors().forEach((make, factor) -> makeFactors[makes.get(key(make))] = factor);
+        for (int i = 0; i < makes.size(); i++) {
+            modelIndex[i] = Map.of();
+            modelFactors[i] = new double[0];
+        }
+        definition.getModelFactors().forEach((make, models) -> {
+            int index = makes.get(key(make));
+            Map<String, Integer> modelPositions = new HashMap<>();
+            double[] factors = new double[models.size()];
+            models.forEach((model, factor) -> {
+                factors[modelPositions.size()] = factor;
+                modelPositions.put(key(model), modelPositions.size());
+            });
+            modelIndex[index] = Map.copyOf(modelPositions);
+            modelFactors[index] = factors;
+        });
+
+        List<RatingTableDefinition.TermLoad> loads = definition.getTermLoads().stream()
+                .sorted(Comparator.comparingInt(RatingTableDefinition.TermLoad::getMaxDays))
+                .toList();
+        this.termLoadMaxDays = loads.stream().mapToInt(RatingTableDefinition.TermLoad::getMaxDays).toArray();
+        this.termLoadFactors = loads.stream().mapToDouble(RatingTableDefinition.TermLoad::getFactor).toArray();
+    }
+
+    public static RatingTable compile(RatingTableDefinition definition) {
+        if (definition.getVersion() == null || definition.getEffectiveDate() == null) {
+            throw new IllegalArgumentException("Rating table needs a version and an effective date");
+        }
+        return new RatingTable(definition);
+    }
+
+    /**
+     * Premium for the given term, rounded to cents. Callers must check {@link #isRatable} first.
+     */
+    public BigDecimal premium(AutoPolicyType type, String make, String model, String vehicleYear,
+                              LocalDate startDate, LocalDate endDate) {
+        return BigDecimal.valueOf(premiumCents(type, make, model, vehicleYear, startDate, endDate), 2);
+    }
+
+    /**
+     * Allocation-free variant for bulk re-rating: the premium in cents.
+     */
+    public long premiumCents(AutoPolicyType type, String make, String model, String vehicleYear,
+                             LocalDate startDate, LocalDate endDate) {
+        return Math.round(rawPremium(type, make, model, vehicleYear, startDate, endDate) * 100);
+    }
+
+    public Factors factors(AutoPolicyType type, String make, String model, String vehicleYear,
+                           LocalDate startDate, LocalDate endDate) {
+        int makePosition = makeIndex(make);
+        int termDays = termDays(startDate, endDate);
+        return new Factors(version, baseRates[type.ordinal()], makeFactor(makePosition), modelFactor(makePosition, model),
+                ageFactor(type, vehicleYear, startDate), termLoad(termDays), termDays,
+                premium(type, make, model, vehicleYear, startDate, endDate));
+    }
+
+    public static boolean isRatable(AutoPolicyType type, LocalDate startDate, LocalDate endDate) {
+        return type != null && startDate != null && endDate != null && endDate.isAfter(startDate);
+    }
+
+    private double rawPremium(AutoPolicyType type, String make, String model, String vehicleYear,
+                              LocalDate startDate, LocalDate endDate) {
+        int makePosition = makeIndex(make);
+        int termDays = termDays(startDate, endDate);
+        double premium = baseRates[type.ordinal()]
+                * makeFactor(makePosition)
+                * modelFactor(makePosition, model)
+                * ageFactor(type, vehicleYear, startDate)
+                * termLoad(termDays)
+                * (termDays / DAYS_PER_YEAR);
+        return Math.max(minimumPremium, premium);
+    }
+
+    private int makeIndex(String make) {
+        if (make == null) {
+            return NO_MAKE;
+        }
+        Integer index = makeIndex.get(key(make));
+        return index != null ? index : NO_MAKE;
+    }
+
+    private double makeFactor(int make) {
+        return make == NO_MAKE ? defaultMakeFactor : makeFactors[make];
+    }
+
+    private double modelFactor(int make, String model) {
+        if (make == NO_MAKE || model == null) {
+            return 1.0;
+        }
+        Integer index = modelIndex[make].get(key(model));
+        return index != null ? modelFactors[make][index] : 1.0;
+    }
+
+    private double ageFactor(AutoPolicyType type, String vehicleYear, LocalDate startDate) {
+        double[] factors = ageFactors[type.ordinal()];
+        int year = parseYear(vehicleYear);
+        if (year <= 0) {
+            return 1.0;
+        }
+        int age = Math.max(0, startDate.getYear() - year);
+        return factors[Math.min(age, factors.length - 1)];
+    }
+
+    private double termLoad(int termDays) {
+        for (int i = 0; i < termLoadMaxDays.length; i++) {
+            if (termDays <= termLoadMaxDays[i]) {
+                return termLoadFactors[i];
+            }
+        }
+        return 1.0;
+    }
+
+    private static int termDays(LocalDate startDate, LocalDate endDate) {
+        return (int) ChronoUnit.DAYS.between(startDate, endDate);
+    }
+
+    private static int parseYear(String vehicleYear) {
+        if (vehicleYear == null || vehicleYear.length() != 4) {
+            return 0;
+        }
+        int year = 0;
+        for (int i = 0; i < 4; i++) {
+            char c = vehicleYear.charAt(i);
+            if (c < '0' || c > '9') {
+                return 0;
+            }
+            year = year * 10 + (c - '0');
+        }
+        return year;
+    }
+
+    private static String key(String value) {
+        return value.trim().toUpperCase(Locale.ROOT);
+    }
+
+    public record Factors(String tableVersion, double baseRate, double makeFactor, double modelFactor,
+                          double vehicleAgeFactor, double termLoad, int termDays, BigDecimal premium) {
+    }
+}
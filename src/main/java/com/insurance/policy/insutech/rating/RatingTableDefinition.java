@@ -0,0 +1,44 @@
+package com.insurance.policy.insutech.rating;
+
+import com.insurance.policy.insutech.model.AutoPolicyType;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JSON form of a rating table version, as maintained by the pricing team under {@code classpath:rating/}.
+ */
+@Getter
+@Setter
+public class RatingTableDefinition {
+
+    private String version;
+    private LocalDate effectiveDate;
+    private BigDecimal minimumPremium;
+
+    /** Annual premium per coverage before any factor. */
+    private Map<AutoPolicyType, Double> baseRates;
+
+    private double defaultMakeFactor = 1.0;
+    private Map<String, Double> makeFactors = Map.of();
+
+    /** Model factors per make; models not listed rate at 1.0. */
+    private Map<String, Map<String, Double>> modelFactors = Map.of();
+
+    /** Factor by vehicle age in years per coverage; ages beyond the list use its last entry. */
+    private Map<AutoPolicyType, List<Double>> vehicleAgeFactors;
+
+    /** Short-term surcharges, applied by the first entry whose maxDays covers the term. */
+    private List<TermLoad> termLoads = List.of();
+
+    @Getter
+    @Setter
+    public static class TermLoad {
+        private int maxDays;
+        private double factor;
+    }
+}
@@ -0,0 +1,66 @@
+package com.insurance.policy.insutech.rating;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insurance.policy.insutech.config.RatingProperties;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Holds every compiled rating table version, ordered by effective date. A reload compiles the new set
+ * completely before swapping it in, so readers always see a consistent set.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RatingTableRegistry {
+
+    private final RatingProperties ratingProperties;
+    private final ObjectMapper objectMapper;
+
+    private volatile NavigableMap<LocalDate, RatingTable> tables = new TreeMap<>();
+
+    @PostConstruct
+    public void reload() throws IOException {
+        NavigableMap<LocalDate, RatingTable> loaded = new TreeMap<>();
+        for (Resource resource : new PathMatchingResourcePatternResolver().getResources(ratingProperties.getTablesLocation())) {
+            try (InputStream input = resource.getInputStream()) {
+                RatingTable table = RatingTable.compile(objectMapper.readValue(input, RatingTableDefinition.class));
+                RatingTable previous = loaded.put(table.getEffectiveDate(), table);
+                if (previous != null) {
+                    throw new IllegalStateException("Rating tables " + previous.getVersion() + " and " + table.getVersion()
+                            + " share the effective date " + table.getEffectiveDate());
+                }
+            }
+        }
+        if (loaded.isEmpty()) {
+            throw new IllegalStateException("No rating tables found at " + ratingProperties.getTablesLocation());
+        }
+        tables = loaded;
+        log.info("Loaded rating tables {}", loaded.values().stream().map(RatingTable::getVersion).toList());
+    }
+
+    /**
+     * The table in effect on the given date; dates before the first version rate with the first version.
+     */
+    public RatingTable effectiveOn(LocalDate date) {
+        NavigableMap<LocalDate, RatingTable> current = tables;
+        Map.Entry<LocalDate, RatingTable> entry = current.floorEntry(date);
+        return entry != null ? entry.getValue() : current.firstEntry().getValue();
+    }
+
+    public Optional<RatingTable> byVersion(String version) {
+        return tables.values().stream().filter(table -> table.getVersion().equals(version)).findFirst();
+    }
+}
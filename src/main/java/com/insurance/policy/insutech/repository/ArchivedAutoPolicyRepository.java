@@ -0,0 +1,19 @@
+package com.insurance.policy.insutech.repository;
+
+import com.insurance.policy.insutech.model.ArchivedAutoPolicy;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ArchivedAutoPolicyRepository extends JpaRepository<ArchivedAutoPolicy, Long> {
+    Optional<ArchivedAutoPolicy> findByPolicyNumber(String policyNumber);
+
+    @Query("select p.policyNumber from ArchivedAutoPolicy p where p.policyNumber in :policyNumbers")
+    List<String> findExistingPolicyNumbers(@Param("policyNumbers") Collection<String> policyNumbers);
+}
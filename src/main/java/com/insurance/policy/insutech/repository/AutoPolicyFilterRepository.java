@@ -0,0 +1,38 @@
+package com.insurance.policy.insutech.repository;
+
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.model.AutoPolicyType;
+import com.insurance.policy.insutech.model.PolicyStatus;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Custom fragment of {@link AutoPolicyRepository} for the nine-parameter filter query. Blank strings and nulls
+ * are treated as absent; string parameters match case-insensitively anywhere in the column.
+ */
+public interface AutoPolicyFilterRepository {
+
+    /**
+     * Plain JDBC with a precompiled statement per filter shape, mapped straight to DTOs.
+     */
+    List<AutoPolicyDTO> findFiltered(LocalDate startDate, LocalDate endDate, PolicyStatus status,
+                                     AutoPolicyType type, String vehicleMake, String firstName,
+                                     String lastName, Double minPremium, Double maxPremium);
+
+    /**
+     * One keyset page of {@link #findFiltered}: at most {@code limit} matches with an ID above {@code afterId}, in ID
+     * order, so walking a large result costs the same per page and holds one page at a time.
+     */
+    List<AutoPolicyDTO> findFilteredPage(LocalDate startDate, LocalDate endDate, PolicyStatus status,
+                                         AutoPolicyType type, String vehicleMake, String firstName,
+                                         String lastName, Double minPremium, Double maxPremium,
+                                         long afterId, int limit);
+
+    /**
+     * The original JPA Criteria implementation, kept as a fallback and as the reference semantics.
+     */
+    List<AutoPolicyDTO> findFilteredWithCriteria(LocalDate startDate, LocalDate endDate, PolicyStatus status,
+                                                 AutoPolicyType type, String vehicleMake, String firstName,
+                                                 String lastName, Double minPremium, Double maxPremium);
+}
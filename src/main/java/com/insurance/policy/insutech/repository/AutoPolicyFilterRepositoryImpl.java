@@ -0,0 +1,214 @@
+package com.insurance.policy.insutech.repository;
+
+import com.insurance.policy.insutech.deadline.Deadline;
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.mapper.AutoPolicyMapper;
+import com.insurance.policy.insutech.model.AutoPolicy;
+import com.insurance.policy.insutech.model.AutoPolicyType;
+import com.insurance.policy.insutech.model.PolicyStatus;
+import com.insurance.policy.insutech.specification.FilterParameter;
+import com.insurance.policy.insutech.specification.FilterShape;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+public class AutoPolicyFilterRepositoryImpl implements AutoPolicyFilterRepository {
+
+    private static final String QUERY_TIMEOUT_HINT = "jakarta.persistence.query.timeout";
+
+    private static final String SELECT = "select id, policy_number, status, policy_type, vehicle_make, vehicle_model, "
+            + "vehicle_year, first_name, last_name, start_date, end_date, premium_amount from auto_policies";
+
+    // One statement per filter shape, built once; identical SQL text per shape lets drivers reuse server-side prepares
+    private static final String[] PLANS = new String[FilterShape.SHAPE_COUNT];
+
+    // The same plans continued by ID, for callers that walk a large result one keyset page at a time
+    private static final String[] PAGE_PLANS = new String[FilterShape.SHAPE_COUNT];
+
+    static {
+        for (int shape = 0; shape < PLANS.length; shape++) {
+            PLANS[shape] = compile(shape);
+            PAGE_PLANS[shape] = PLANS[shape] + (shape == 0 ? " where " : " and ") + "id > ? order by id limit ?";
+        }
+    }
+
+    private static final RowMapper<AutoPolicyDTO> DTO_MAPPER = (rs, rowNum) -> {
+        AutoPolicyDTO dto = new AutoPolicyDTO();
+        dto.setId(rs.getLong(1));
+        dto.setPolicyNumber(rs.getString(2));
+        String status = rs.getString(3);
+        dto.setStatus(status != null ? PolicyStatus.valueOf(status) : null);
+        String type = rs.getString(4);
+        dto.setPolicyType(type != null ? AutoPolicyType.fromCode(type) : null);
+        dto.setVehicleMake(rs.getString(5));
+        dto.setVehicleModel(rs.getString(6));
+        dto.setVehicleYear(rs.getString(7));
+        dto.setFirstName(rs.getString(8));
+        dto.setLastName(rs.getString(9));
+        Date startDate = rs.getDate(10);
+        dto.setStartDate(startDate != null ? startDate.toLocalDate() : null);
+        Date endDate = rs.getDate(11);
+        dto.setEndDate(endDate != null ? endDate.toLocalDate() : null);
+        dto.setPremiumAmount(rs.getBigDecimal(12));
+        return dto;
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AutoPolicyMapper autoPolicyMapper = AutoPolicyMapper.INSTANCE;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Predicates are emitted in {@link FilterParameter} order, and {@link #findFiltered} binds in the same order.
+     * Each one mirrors its Criteria counterpart in {@link #findFilteredWithCriteria}.
+     */
+    private static String compile(int shape) {
+        List<String> predicates = new ArrayList<>();
+        for (FilterParameter parameter : FilterShape.parameters(shape)) {
+            predicates.add(switch (parameter) {
+                case START_DATE -> "start_date >= ?";
+                case END_DATE -> "end_date <= ? and (start_date <= ? or start_date is null)";
+                case STATUS -> "status = ?";
+                case TYPE -> "policy_type = ?";
+                case VEHICLE_MAKE -> "lower(vehicle_make) like ?";
+                case FIRST_NAME -> "lower(first_name) like ?";
+                case LAST_NAME -> "lower(last_name) like ?";
+                case MIN_PREMIUM -> "premium_amount >= ?";
+                case MAX_PREMIUM -> "premium_amount <= ?";
+            });
+        }
+        return predicates.isEmpty() ? SELECT : SELECT + " where " + String.join(" and ", predicates);
+    }
+
+    @Override
+    public List<AutoPolicyDTO> findFiltered(LocalDate startDate, LocalDate endDate, PolicyStatus status,
+                                            AutoPolicyType type, String vehicleMake, String firstName,
+                                            String lastName, Double minPremium, Double maxPremium) {
+        int shape = FilterShape.of(startDate, endDate, status, type, vehicleMake, firstName, lastName, minPremium, maxPremium);
+        List<Object> binds = binds(shape, startDate, endDate, status, type, vehicleMake, firstName, lastName, minPremium, maxPremium);
+        // Under a request deadline, DeadlineDataSource sets the statement's query timeout and makes it cancellable
+        return jdbcTemplate.query(PLANS[shape], DTO_MAPPER, binds.toArray());
+    }
+
+    @Override
+    public List<AutoPolicyDTO> findFilteredPage(LocalDate startDate, LocalDate endDate, PolicyStatus status,
+                                                AutoPolicyType type, String vehicleMake, String firstName,
+                                                String lastName, Double minPremium, Double maxPremium,
+                                                long afterId, int limit) {
+        int shape = FilterShape.of(startDate, endDate, status, type, vehicleMake, firstName, lastName, minPremium, maxPremium);
+        List<Object> binds = binds(shape, startDate, endDate, status, type, vehicleMake, firstName, lastName, minPremium, maxPremium);
+        binds.add(afterId);
+        binds.add(limit);
+        return jdbcTemplate.query(PAGE_PLANS[shape], DTO_MAPPER, binds.toArray());
+    }
+
+    private static List<Object> binds(int shape, LocalDate startDate, LocalDate endDate, PolicyStatus status,
+                                      AutoPolicyType type, String vehicleMake, String firstName,
+                                      String lastName, Double minPremium, Double maxPremium) {
+        List<Object> binds = new ArrayList<>(12);
+        if (startDate != null) {
+            binds.add(startDate);
+        }
+        if (endDate != null) {
+            binds.add(endDate);
+            binds.add(endDate);
+        }
+        if (status != null) {
+            // Stored by enum name (@Enumerated(STRING) on SuperPolicy)
+            binds.add(status.name());
+        }
+        if (type != null) {
+            binds.add(type.getCode());
+        }
+        if (FilterShape.has(shape, FilterParameter.VEHICLE_MAKE)) {
+            binds.add(contains(vehicleMake));
+        }
+        if (FilterShape.has(shape, FilterParameter.FIRST_NAME)) {
+            binds.add(contains(firstName));
+        }
+        if (FilterShape.has(shape, FilterParameter.LAST_NAME)) {
+            binds.add(contains(lastName));
+        }
+        // Bound as exact decimals, so the numeric column is compared without a cast and stays indexable
+        if (minPremium != null) {
+            binds.add(BigDecimal.valueOf(minPremium));
+        }
+        if (maxPremium != null) {
+            binds.add(BigDecimal.valueOf(maxPremium));
+        }
+        return binds;
+    }
+
+    @Override
+    public List<AutoPolicyDTO> findFilteredWithCriteria(LocalDate startDate, LocalDate endDate, PolicyStatus status,
+                                                        AutoPolicyType type, String vehicleMake, String firstName,
+                                                        String lastName, Double minPremium, Double maxPremium) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AutoPolicy> query = cb.createQuery(AutoPolicy.class);
+        Root<AutoPolicy> root = query.from(AutoPolicy.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+
+        if (startDate != null) {
+            predicates.add(cb.greaterThanOrEqualTo(root.get("startDate"), startDate));
+        }
+        if (endDate != null) {
+            predicates.add(cb.lessThanOrEqualTo(root.get("endDate"), endDate));
+            // A policy cannot start after it ends, so this bound is redundant for the result but lets
+            // PostgreSQL prune start_date range partitions for end-date-only filters
+            predicates.add(cb.or(cb.lessThanOrEqualTo(root.get("startDate"), endDate), cb.isNull(root.get("startDate"))));
+        }
+        if (status != null) {
+            predicates.add(cb.equal(root.get("status"), status));
+        }
+        if (type != null) {
+            predicates.add(cb.equal(root.get("policyType"), type));
+        }
+        if (vehicleMake != null && !vehicleMake.isEmpty()) {
+            predicates.add(cb.like(cb.lower(root.get("vehicleMake")), contains(vehicleMake)));
+        }
+        if (firstName != null && !firstName.isEmpty()) {
+            predicates.add(cb.like(cb.lower(root.get("firstName")), contains(firstName)));
+        }
+        if (lastName != null && !lastName.isEmpty()) {
+            predicates.add(cb.like(cb.lower(root.get("lastName")), contains(lastName)));
+        }
+        if (minPremium != null) {
+            predicates.add(cb.greaterThanOrEqualTo(root.get("premiumAmount"), minPremium));
+        }
+        if (maxPremium != null) {
+            predicates.add(cb.lessThanOrEqualTo(root.get("premiumAmount"), maxPremium));
+        }
+
+        query.select(root).where(predicates.toArray(new Predicate[0]));
+        TypedQuery<AutoPolicy> typedQuery = entityManager.createQuery(query);
+        Deadline deadline = Deadline.current();
+        if (deadline != null) {
+            typedQuery.setHint(QUERY_TIMEOUT_HINT, deadline.remainingMillis());
+        }
+        return typedQuery.getResultList()
+                .stream()
+                .map(autoPolicyMapper::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    private static String contains(String value) {
+        return "%" + value.toLowerCase() + "%";
+    }
+}
@@ -1,13 +1,35 @@
 package com.insurance.policy.insutech.repository;
 
 import com.insurance.policy.insutech.model.AutoPolicy;
+import com.insurance.policy.insutech.model.PolicyStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface AutoPolicyRepository extends JpaRepository<AutoPolicy, Long>, JpaSpecificationExecutor<AutoPolicy> {
+public interface AutoPolicyRepository extends JpaRepository<AutoPolicy, Long>, JpaSpecificationExecutor<AutoPolicy>,
+        AutoPolicyFilterRepository {
     Optional<AutoPolicy> findByPolicyNumber(String policyNumber);
-}
\ No newline at end of file
+
+    List<AutoPolicy> findByPolicyNumberIn(Collection<String> policyNumbers);
+
+    @Query("select p.id from AutoPolicy p where p.status in :statuses and p.endDate < :cutoff order by p.id")
+    List<Long> findArchivableIds(@Param("statuses") Collection<PolicyStatus> statuses,
+                                 @Param("cutoff") LocalDate cutoff,
+                                 Pageable pageable);
+
+    @Query("select p.policyNumber from AutoPolicy p where p.policyNumber in :policyNumbers")
+    List<String> findExistingPolicyNumbers(@Param("policyNumbers") Collection<String> policyNumbers);
+
+    List<AutoPolicy> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    List<AutoPolicy> findByStatusAndEndDateBetween(PolicyStatus status, LocalDate from, LocalDate to, Pageable pageable);
+}
@@ -0,0 +1,14 @@
+package com.insurance.policy.insutech.repository;
+
+import com.insurance.policy.insutech.model.DuplicateRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DuplicateRunRepository extends JpaRepository<DuplicateRun, Long> {
+    Optional<DuplicateRun> findFirstByStatusOrderByIdDesc(DuplicateRun.Status status);
+    List<DuplicateRun> findTop20ByOrderByIdDesc();
+}
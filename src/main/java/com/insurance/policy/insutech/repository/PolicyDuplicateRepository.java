@@ -0,0 +1,31 @@
+package com.insurance.policy.insutech.repository;
+
+import com.insurance.policy.insutech.duplicate.DuplicateKind;
+import com.insurance.policy.insutech.model.PolicyDuplicate;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PolicyDuplicateRepository extends JpaRepository<PolicyDuplicate, Long> {
+
+    @Query("select distinct d.clusterId from PolicyDuplicate d where d.runId = :runId and d.kind = :kind order by d.clusterId")
+    List<Long> findClusterIds(@Param("runId") Long runId, @Param("kind") DuplicateKind kind, Pageable pageable);
+
+    List<PolicyDuplicate> findByRunIdAndKindAndClusterIdInOrderByClusterIdAscPolicyIdAsc(Long runId, DuplicateKind kind,
+                                                                                         Collection<Long> clusterIds);
+
+    List<PolicyDuplicate> findByRunIdAndPolicyId(Long runId, Long policyId);
+
+    @Modifying
+    @Transactional
+    @Query("delete from PolicyDuplicate d where d.runId < :runId")
+    int deleteRunsBefore(@Param("runId") Long runId);
+}
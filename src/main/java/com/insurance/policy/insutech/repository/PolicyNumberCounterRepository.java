@@ -0,0 +1,28 @@
+package com.insurance.policy.insutech.repository;
+
+import com.insurance.policy.insutech.model.PolicyNumberCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PolicyNumberCounterRepository extends JpaRepository<PolicyNumberCounter, String> {
+
+    /**
+     * The update row-locks the counter until the surrounding transaction commits, so concurrent reservations
+     * from any number of nodes are serialized and never overlap.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update PolicyNumberCounter c set c.nextValue = c.nextValue + :size where c.name = :name")
+    int advance(@Param("name") String name, @Param("size") long size);
+
+    @Query("select c.nextValue from PolicyNumberCounter c where c.name = :name")
+    long findNextValue(@Param("name") String name);
+
+    // Plain insert rather than save(): a merge could silently reset a counter another node just created
+    @Modifying
+    @Query(value = "insert into policy_number_counters (name, next_value) values (:name, :nextValue)", nativeQuery = true)
+    int create(@Param("name") String name, @Param("nextValue") long nextValue);
+}
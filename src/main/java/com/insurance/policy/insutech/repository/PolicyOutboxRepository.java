@@ -0,0 +1,29 @@
+package com.insurance.policy.insutech.repository;
+
+import com.insurance.policy.insutech.model.PolicyOutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface PolicyOutboxRepository extends JpaRepository<PolicyOutboxEvent, Long> {
+
+    List<PolicyOutboxEvent> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    List<PolicyOutboxEvent> findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(Long after, Long upTo, Pageable pageable);
+
+    @Query("select coalesce(max(e.id), 0) from PolicyOutboxEvent e")
+    long findMaxId();
+
+    @Modifying
+    @Transactional
+    @Query("delete from PolicyOutboxEvent e where e.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") Instant cutoff);
+}
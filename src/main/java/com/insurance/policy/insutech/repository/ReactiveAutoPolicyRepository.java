@@ -0,0 +1,159 @@
+package com.insurance.policy.insutech.repository;
+
+import com.insurance.policy.insutech.config.ReactiveProperties;
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.model.AutoPolicyType;
+import com.insurance.policy.insutech.model.PolicyStatus;
+import com.insurance.policy.insutech.specification.FilterParameter;
+import com.insurance.policy.insutech.specification.FilterShape;
+import io.r2dbc.spi.Row;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read side of the policy API over R2DBC. Rows map straight to {@link AutoPolicyDTO}, as in the JDBC filter
+ * engine; writes stay with the JPA repositories.
+ */
+@Repository
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveAutoPolicyRepository {
+
+    private static final String COLUMNS = "select id, policy_number, status, policy_type, vehicle_make, vehicle_model, "
+            + "vehicle_year, first_name, last_name, start_date, end_date, premium_amount from ";
+    private static final String LIVE = "auto_policies";
+    private static final String ARCHIVE = "auto_policies_archive";
+
+    // Same predicates as AutoPolicyFilterRepositoryImpl, with named parameters in place of positional ones
+    private static final String[] PLANS = new String[FilterShape.SHAPE_COUNT];
+
+    static {
+        for (int shape = 0; shape < PLANS.length; shape++) {
+            PLANS[shape] = compile(shape);
+        }
+    }
+
+    private final DatabaseClient databaseClient;
+    private final ReactiveProperties reactiveProperties;
+
+    private static String compile(int shape) {
+        List<String> predicates = new ArrayList<>();
+        for (FilterParameter parameter : FilterShape.parameters(shape)) {
+            predicates.add(switch (parameter) {
+                case START_DATE -> "start_date >= :startDate";
+                case END_DATE -> "end_date <= :endDate and (start_date <= :endDate or start_date is null)";
+                // r2dbc-h2 binds every string as a CLOB, which H2 will not compare with the enum column it creates
+                // for status; the cast is a no-op for PostgreSQL's varchar column
+                case STATUS -> "status = cast(:status as varchar(10))";
+                case TYPE -> "policy_type = :type";
+                case VEHICLE_MAKE -> "lower(vehicle_make) like :vehicleMake";
+                case FIRST_NAME -> "lower(first_name) like :firstName";
+                case LAST_NAME -> "lower(last_name) like :lastName";
+                case MIN_PREMIUM -> "premium_amount >= :minPremium";
+                case MAX_PREMIUM -> "premium_amount <= :maxPremium";
+            });
+        }
+        String select = COLUMNS + LIVE;
+        return predicates.isEmpty() ? select : select + " where " + String.join(" and ", predicates);
+    }
+
+    /**
+     * Falls back to the cold archive, like the JPA lookup.
+     */
+    public Mono<AutoPolicyDTO> findById(Long id) {
+        return findOne(LIVE, "id", id).switchIfEmpty(Mono.defer(() -> findOne(ARCHIVE, "id", id)));
+    }
+
+    public Mono<AutoPolicyDTO> findByPolicyNumber(String policyNumber) {
+        return findOne(LIVE, "policy_number", policyNumber)
+                .switchIfEmpty(Mono.defer(() -> findOne(ARCHIVE, "policy_number", policyNumber)));
+    }
+
+    public Flux<AutoPolicyDTO> findAll() {
+        return stream(databaseClient.sql(COLUMNS + LIVE));
+    }
+
+    public Flux<AutoPolicyDTO> findFiltered(LocalDate startDate, LocalDate endDate, PolicyStatus status,
+                                            AutoPolicyType type, String vehicleMake, String firstName,
+                                            String lastName, Double minPremium, Double maxPremium) {
+        int shape = FilterShape.of(startDate, endDate, status, type, vehicleMake, firstName, lastName, minPremium, maxPremium);
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(PLANS[shape]);
+        if (startDate != null) {
+            spec = spec.bind("startDate", startDate);
+        }
+        if (endDate != null) {
+            spec = spec.bind("endDate", endDate);
+        }
+        if (status != null) {
+            spec = spec.bind("status", status.name());
+        }
+        if (type != null) {
+            spec = spec.bind("type", type.getCode());
+        }
+        if (FilterShape.has(shape, FilterParameter.VEHICLE_MAKE)) {
+            spec = spec.bind("vehicleMake", contains(vehicleMake));
+        }
+        if (FilterShape.has(shape, FilterParameter.FIRST_NAME)) {
+            spec = spec.bind("firstName", contains(firstName));
+        }
+        if (FilterShape.has(shape, FilterParameter.LAST_NAME)) {
+            spec = spec.bind("lastName", contains(lastName));
+        }
+        if (minPremium != null) {
+            spec = spec.bind("minPremium", BigDecimal.valueOf(minPremium));
+        }
+        if (maxPremium != null) {
+            spec = spec.bind("maxPremium", BigDecimal.valueOf(maxPremium));
+        }
+        return stream(spec);
+    }
+
+    private Mono<AutoPolicyDTO> findOne(String table, String column, Object value) {
+        return databaseClient.sql(COLUMNS + table + " where " + column + " = :value")
+                .bind("value", value)
+                .map((row, metadata) -> toDTO(row))
+                .one();
+    }
+
+    /**
+     * The fetch size makes the driver pull rows in batches as downstream demand arrives, so a slow client holds
+     * back the query rather than buffering the result.
+     */
+    private Flux<AutoPolicyDTO> stream(DatabaseClient.GenericExecuteSpec spec) {
+        return spec.filter(statement -> statement.fetchSize(reactiveProperties.getFetchSize()))
+                .map((row, metadata) -> toDTO(row))
+                .all();
+    }
+
+    private static AutoPolicyDTO toDTO(Row row) {
+        AutoPolicyDTO dto = new AutoPolicyDTO();
+        dto.setId(row.get(0, Long.class));
+        dto.setPolicyNumber(row.get(1, String.class));
+        String status = row.get(2, String.class);
+        dto.setStatus(status != null ? PolicyStatus.valueOf(status) : null);
+        String type = row.get(3, String.class);
+        dto.setPolicyType(type != null ? AutoPolicyType.fromCode(type) : null);
+        dto.setVehicleMake(row.get(4, String.class));
+        dto.setVehicleModel(row.get(5, String.class));
+        dto.setVehicleYear(row.get(6, String.class));
+        dto.setFirstName(row.get(7, String.class));
+        dto.setLastName(row.get(8, String.class));
+        dto.setStartDate(row.get(9, LocalDate.class));
+        dto.setEndDate(row.get(10, LocalDate.class));
+        dto.setPremiumAmount(row.get(11, BigDecimal.class));
+        return dto;
+    }
+
+    private static String contains(String value) {
+        return "%" + value.toLowerCase() + "%";
+    }
+}
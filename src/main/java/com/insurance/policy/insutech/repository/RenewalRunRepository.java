@@ -0,0 +1,16 @@
+package com.insurance.policy.insutech.repository;
+
+import com.insurance.policy.insutech.model.RenewalRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RenewalRunRepository extends JpaRepository<RenewalRun, Long> {
+    Optional<RenewalRun> findFirstByWindowStartAndWindowEndAndStatusNotOrderByIdDesc(LocalDate windowStart, LocalDate windowEnd,
+                                                                                     RenewalRun.Status status);
+    List<RenewalRun> findTop20ByOrderByIdDesc();
+}
@@ -0,0 +1,178 @@
+package com.insurance.policy.insutech.scan;
+
+import com.insurance.policy.insutech.config.ScanProperties;
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.model.AutoPolicyType;
+import com.insurance.policy.insutech.model.PolicyStatus;
+import com.insurance.policy.insutech.sharding.ShardRouter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Strategy: one scan of auto_policies feeds every index that is due
+ * - Startup and the indexes' rebuild schedules queue indexes; whatever is queued when the scan thread picks it up
+ *   is rebuilt from a single pass, so a boot reads the table once rather than once per index
+ * - Passes run one at a time; a rebuild asked for on the caller's thread waits for the pass in progress
+ * - Rows are read in ID order, shard after shard, each shard in one read-only transaction
+ * - Every index builds beside its live copy and swaps it in at the end; a failed scan leaves them all as they were
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PolicyScanner {
+
+    private static final String SELECT_POLICIES = "select id, policy_number, status, policy_type, vehicle_make, "
+            + "vehicle_model, vehicle_year, first_name, last_name, start_date, end_date, premium_amount "
+            + "from auto_policies order by id";
+
+    private final ScanProperties scanProperties;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final ShardRouter shardRouter;
+    // Looked up when a pass starts; the indexes themselves depend on the scanner
+    private final ObjectProvider<ScannedIndex> indexes;
+
+    private final Set<ScannedIndex> queued = ConcurrentHashMap.newKeySet();
+    private ExecutorService scanner;
+
+    @PostConstruct
+    public void start() {
+        scanner = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "policy-index-scan");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        scanner.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        requestRebuild(indexes.orderedStream().filter(ScannedIndex::isRebuiltOnStartup).toList());
+    }
+
+    /**
+     * Queues the indexes for the next background pass; one already queued is not queued twice.
+     */
+    public void requestRebuild(Collection<? extends ScannedIndex> due) {
+        boolean added = false;
+        for (ScannedIndex index : due) {
+            if (index.isEnabled()) {
+                added |= queued.add(index);
+            }
+        }
+        if (added) {
+            scanner.execute(() -> {
+                List<ScannedIndex> next = new ArrayList<>(queued);
+                queued.removeAll(next);
+                if (next.isEmpty()) {
+                    return;
+                }
+                try {
+                    rebuild(next);
+                } catch (RuntimeException e) {
+                    log.warn("Policy index rebuild failed; keeping the previous indexes", e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Rebuilds the indexes from one pass on the calling thread and returns the rows scanned. A failure is rethrown
+     * once every index has either swapped its build in or kept its live copy.
+     */
+    public synchronized long rebuild(Collection<? extends ScannedIndex> due) {
+        List<ScannedIndex.Build> builds = new ArrayList<>();
+        try {
+            for (ScannedIndex index : due) {
+                if (index.isEnabled()) {
+                    builds.add(index.startBuild());
+                }
+            }
+        } catch (RuntimeException e) {
+            builds.forEach(ScannedIndex.Build::abandon);
+            throw e;
+        }
+        if (builds.isEmpty()) {
+            return 0;
+        }
+
+        long started = System.nanoTime();
+        AtomicLong rows = new AtomicLong();
+        try {
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            transactionTemplate.setReadOnly(true);
+            AutoPolicyDTO row = new AutoPolicyDTO();
+            shardRouter.forEachShard(shard -> transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(SELECT_POLICIES);
+                statement.setFetchSize(scanProperties.getFetchSize());
+                return statement;
+            }, (RowCallbackHandler) resultSet -> {
+                row.setId(resultSet.getLong(1));
+                row.setPolicyNumber(resultSet.getString(2));
+                String statusName = resultSet.getString(3);
+                row.setStatus(statusName != null ? PolicyStatus.valueOf(statusName) : null);
+                String typeCode = resultSet.getString(4);
+                row.setPolicyType(typeCode != null ? AutoPolicyType.fromCode(typeCode) : null);
+                row.setVehicleMake(resultSet.getString(5));
+                row.setVehicleModel(resultSet.getString(6));
+                row.setVehicleYear(resultSet.getString(7));
+                row.setFirstName(resultSet.getString(8));
+                row.setLastName(resultSet.getString(9));
+                row.setStartDate(resultSet.getObject(10, LocalDate.class));
+                row.setEndDate(resultSet.getObject(11, LocalDate.class));
+                row.setPremiumAmount(resultSet.getBigDecimal(12));
+                for (ScannedIndex.Build build : builds) {
+                    build.scanned(row);
+                }
+                rows.incrementAndGet();
+            })));
+        } catch (RuntimeException e) {
+            builds.forEach(ScannedIndex.Build::abandon);
+            throw e;
+        }
+
+        RuntimeException failure = null;
+        for (ScannedIndex.Build build : builds) {
+            try {
+                build.finish();
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        log.info("Scanned {} policies for {} indexes in {} ms", rows.get(), builds.size(),
+                (System.nanoTime() - started) / 1_000_000);
+        if (failure != null) {
+            throw failure;
+        }
+        return rows.get();
+    }
+}
@@ -0,0 +1,39 @@
+package com.insurance.policy.insutech.scan;
+
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+
+/**
+ * An index over auto_policies that is kept beside the table and rebuilt by {@link PolicyScanner}, which reads the
+ * table once per pass for every index that is due.
+ */
+public interface ScannedIndex {
+
+    /** When off, the index is left out of every pass. */
+    boolean isEnabled();
+
+    /** Whether the pass run once the application is ready rebuilds this index. */
+    default boolean isRebuiltOnStartup() {
+        return isEnabled();
+    }
+
+    /**
+     * Sets up an empty build beside the live index, just before the scan starts; from then on, writes must reach
+     * the build as well.
+     */
+    Build startBuild();
+
+    /**
+     * One rebuild in progress. Exactly one of {@link #finish()} and {@link #abandon()} ends it.
+     */
+    interface Build {
+
+        /** Called for every row, in ID order, shard after shard; the row is reused, so copy what must be kept. */
+        void scanned(AutoPolicyDTO row);
+
+        /** Called once every row has been scanned; swaps the build in, and tidies up after itself if that fails. */
+        void finish();
+
+        /** Called instead of {@link #finish()} when the pass fails; the live index stays. */
+        void abandon();
+    }
+}
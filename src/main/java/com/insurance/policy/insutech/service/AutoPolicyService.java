@@ -1,11 +1,13 @@
 package com.insurance.policy.insutech.service;
 
 import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.dto.FacetedPoliciesDTO;
 import com.insurance.policy.insutech.model.AutoPolicyType;
 import com.insurance.policy.insutech.model.PolicyStatus;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface AutoPolicyService {
   AutoPolicyDTO getPolicyByPolicyNumber(String policyNumber);
@@ -24,4 +26,30 @@ public interface AutoPolicyService {
                                        String lastName,
                                        Double minPremium,
                                        Double maxPremium);
-}
+
+    /** The filtered list plus counts by status, type, top vehicle makes and premium band over its rows. */
+    FacetedPoliciesDTO getFacetedPolicies(LocalDate startDate,
+                                          LocalDate endDate,
+                                          PolicyStatus status,
+                                          AutoPolicyType type,
+                                          String vehicleMake,
+                                          String firstName,
+                                          String lastName,
+                                          Double minPremium,
+                                          Double maxPremium);
+
+    /**
+     * The filtered policies read lazily in keyset pages of {@code pageSize}, bypassing the filter cache; for exports
+     * too large to hold in memory. Only the page being consumed is held.
+     */
+    Stream<AutoPolicyDTO> streamPolicies(LocalDate startDate,
+                                         LocalDate endDate,
+                                         PolicyStatus status,
+                                         AutoPolicyType type,
+                                         String vehicleMake,
+                                         String firstName,
+                                         String lastName,
+                                         Double minPremium,
+                                         Double maxPremium,
+                                         int pageSize);
+}
\ No newline at end of file
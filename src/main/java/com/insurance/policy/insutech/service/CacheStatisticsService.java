@@ -0,0 +1,17 @@
+package com.insurance.policy.insutech.service;
+
+import com.insurance.policy.insutech.dto.CacheFootprintDTO;
+import com.insurance.policy.insutech.dto.CacheTelemetryDTO;
+
+import java.util.List;
+import java.util.Map;
+
+public interface CacheStatisticsService {
+    Map<String, Map<String, Object>> getStats();
+
+    CacheFootprintDTO getFootprint();
+
+    List<CacheTelemetryDTO> getTelemetry();
+
+    void resetTelemetry();
+}
@@ -0,0 +1,15 @@
+package com.insurance.policy.insutech.service;
+
+import com.insurance.policy.insutech.dto.FilterShapeStatsDTO;
+import com.insurance.policy.insutech.dto.IndexRecommendationDTO;
+import com.insurance.policy.insutech.model.PolicyStatus;
+
+import java.util.List;
+
+public interface IndexAdvisorService {
+    void recordFilterQuery(int shape, PolicyStatus status, int rowCount, long elapsedNanos);
+    List<FilterShapeStatsDTO> getShapeStats();
+    List<IndexRecommendationDTO> getRecommendations(int limit);
+    String generateDdl(int limit);
+    void reset();
+}
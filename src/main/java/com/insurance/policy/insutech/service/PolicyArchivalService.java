@@ -0,0 +1,5 @@
+package com.insurance.policy.insutech.service;
+
+public interface PolicyArchivalService {
+    int archiveExpiredPolicies();
+}
@@ -0,0 +1,8 @@
+package com.insurance.policy.insutech.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface PolicyChangeStreamService {
+    SseEmitter subscribe(Long lastEventId);
+    int getSubscriberCount();
+}
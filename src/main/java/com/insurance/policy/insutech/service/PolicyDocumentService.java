@@ -0,0 +1,11 @@
+package com.insurance.policy.insutech.service;
+
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface PolicyDocumentService {
+    byte[] renderDeclaration(AutoPolicyDTO policy);
+    int renderDeclarations(Iterable<AutoPolicyDTO> policies, OutputStream zipOutput) throws IOException;
+}
@@ -0,0 +1,19 @@
+package com.insurance.policy.insutech.service;
+
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.dto.DuplicateClusterDTO;
+import com.insurance.policy.insutech.dto.DuplicateMatchDTO;
+import com.insurance.policy.insutech.dto.DuplicateRunDTO;
+import com.insurance.policy.insutech.duplicate.DuplicateKind;
+
+import java.util.List;
+
+public interface PolicyDuplicateService {
+    DuplicateRunDTO detectDuplicates();
+    List<DuplicateRunDTO> getRecentRuns();
+    List<DuplicateClusterDTO> getClusters(DuplicateKind kind, int page, int size);
+    List<DuplicateClusterDTO> getClustersOfPolicy(Long policyId);
+    List<DuplicateMatchDTO> findPossibleDuplicates(AutoPolicyDTO policy);
+    void rebuild();
+    boolean isReady();
+}
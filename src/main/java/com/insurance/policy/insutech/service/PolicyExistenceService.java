@@ -0,0 +1,28 @@
+package com.insurance.policy.insutech.service;
+
+import java.util.Collection;
+import java.util.Set;
+
+public interface PolicyExistenceService {
+
+    /** False only when the policy certainly does not exist, live or archived. */
+    boolean mightExist(Long id);
+
+    boolean mightExist(String policyNumber);
+
+    void recordMissing(Long id);
+
+    void recordMissing(String policyNumber);
+
+    /** The numbers that may already be taken; the others are certainly new. */
+    Set<String> possiblyExisting(Collection<String> policyNumbers);
+
+    /** For rows inserted without going through the service's events. */
+    void addPolicyNumbers(Collection<String> policyNumbers);
+
+    void rebuild();
+
+    void requestRebuild();
+
+    boolean isReady();
+}
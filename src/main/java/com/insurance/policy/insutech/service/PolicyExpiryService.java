@@ -0,0 +1,29 @@
+package com.insurance.policy.insutech.service;
+
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.dto.PolicyExpiryAlertDTO;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface PolicyExpiryService {
+
+    /** Active policies whose cover ends within the next {@code withinDays} days, today included. */
+    List<AutoPolicyDTO> getExpiringPolicies(int withinDays, Integer limit);
+
+    SseEmitter subscribeAlerts();
+
+    /**
+     * Processes every day boundary passed up to {@code today}: sends its alerts and drops ended policies.
+     *
+     * @return the alerts sent
+     */
+    List<PolicyExpiryAlertDTO> advanceTo(LocalDate today);
+
+    void rebuild();
+
+    boolean isReady();
+
+    int getSubscriberCount();
+}
@@ -0,0 +1,9 @@
+package com.insurance.policy.insutech.service;
+
+import java.util.List;
+
+public interface PolicyNumberService {
+    String nextPolicyNumber();
+    List<String> nextPolicyNumbers(int count);
+    boolean isIssuedFormat(String policyNumber);
+}
@@ -0,0 +1,11 @@
+package com.insurance.policy.insutech.service;
+
+import com.insurance.policy.insutech.dto.RenewalRunDTO;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface PolicyRenewalService {
+    RenewalRunDTO renewPolicies(LocalDate windowStart, LocalDate windowEnd);
+    List<RenewalRunDTO> getRecentRuns();
+}
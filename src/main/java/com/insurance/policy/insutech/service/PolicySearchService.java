@@ -0,0 +1,13 @@
+package com.insurance.policy.insutech.service;
+
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.dto.PolicySearchResultDTO;
+
+import java.util.List;
+
+public interface PolicySearchService {
+    List<PolicySearchResultDTO> search(String query, Integer limit);
+    void index(AutoPolicyDTO policy);
+    void remove(Long policyId);
+    long reindex();
+}
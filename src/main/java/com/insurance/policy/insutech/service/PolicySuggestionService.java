@@ -0,0 +1,12 @@
+package com.insurance.policy.insutech.service;
+
+import com.insurance.policy.insutech.dto.SuggestionDTO;
+import com.insurance.policy.insutech.suggest.SuggestField;
+
+import java.util.List;
+
+public interface PolicySuggestionService {
+    List<SuggestionDTO> suggest(SuggestField field, String prefix, Integer limit);
+    void rebuild();
+    boolean isReady();
+}
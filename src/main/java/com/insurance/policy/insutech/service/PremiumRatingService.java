@@ -0,0 +1,13 @@
+package com.insurance.policy.insutech.service;
+
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.dto.PremiumQuoteDTO;
+import com.insurance.policy.insutech.dto.ReRateRunDTO;
+
+import java.util.Optional;
+
+public interface PremiumRatingService {
+    PremiumQuoteDTO quote(AutoPolicyDTO policy);
+    ReRateRunDTO startReRate(String tableVersion);
+    Optional<ReRateRunDTO> getReRate(long id);
+}
@@ -0,0 +1,16 @@
+package com.insurance.policy.insutech.service;
+
+import com.insurance.policy.insutech.dto.ProfilingRecordingDTO;
+import com.insurance.policy.insutech.dto.ProfilingSummaryDTO;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+public interface ProfilingService {
+    ProfilingRecordingDTO startRecording(String profile, Duration duration);
+    Optional<ProfilingRecordingDTO> getRecording(long id);
+    Optional<ProfilingRecordingDTO> stopRecording(long id);
+    Optional<Path> getRecordingFile(long id);
+    Optional<ProfilingSummaryDTO> summarize(long id, int limit);
+}
@@ -0,0 +1,34 @@
+package com.insurance.policy.insutech.service;
+
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.model.AutoPolicyType;
+import com.insurance.policy.insutech.model.PolicyStatus;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Non-blocking mirror of {@link AutoPolicyService}, available under the "reactive" profile.
+ */
+public interface ReactiveAutoPolicyService {
+
+    Mono<AutoPolicyDTO> getPolicyByPolicyNumber(String policyNumber);
+
+    Mono<AutoPolicyDTO> createPolicy(AutoPolicyDTO autoPolicyDTO);
+
+    Mono<AutoPolicyDTO> getPolicyById(Long id);
+
+    Flux<AutoPolicyDTO> getAllPolicies();
+
+    Mono<AutoPolicyDTO> updatePolicy(Long id, AutoPolicyDTO autoPolicyDTO);
+
+    Mono<Void> deletePolicy(Long id);
+
+    Mono<List<AutoPolicyDTO>> createPolicies(List<AutoPolicyDTO> autoPolicyDTOs);
+
+    Flux<AutoPolicyDTO> getAllPolicies(LocalDate startDate, LocalDate endDate, PolicyStatus status,
+                                       AutoPolicyType type, String vehicleMake, String firstName,
+                                       String lastName, Double minPremium, Double maxPremium);
+}
@@ -0,0 +1,14 @@
+package com.insurance.policy.insutech.service;
+
+import com.insurance.policy.insutech.dto.SqlStatisticsDTO;
+import com.insurance.policy.insutech.sql.SqlScope;
+
+import java.util.List;
+
+public interface SqlStatisticsService {
+    void recordServiceCall(SqlScope scope);
+    void recordRequest(String endpoint, SqlScope scope);
+    List<SqlStatisticsDTO> getServiceStatistics();
+    List<SqlStatisticsDTO> getRequestStatistics();
+    void reset();
+}
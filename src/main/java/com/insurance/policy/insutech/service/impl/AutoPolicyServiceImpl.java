@@ -1,80 +1,113 @@
 package com.insurance.policy.insutech.service.impl;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
+import com.insurance.policy.insutech.config.FilterProperties;
 import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.dto.FacetedPoliciesDTO;
+import com.insurance.policy.insutech.event.PolicyChangedEvent;
+import com.insurance.policy.insutech.exception.ArchivedPolicyException;
 import com.insurance.policy.insutech.exception.AutoPolicyNotFoundException;
+import com.insurance.policy.insutech.exception.DuplicatePolicyNumberException;
+import com.insurance.policy.insutech.exception.ReservedPolicyNumberException;
 import com.insurance.policy.insutech.mapper.AutoPolicyMapper;
 import com.insurance.policy.insutech.model.AutoPolicy;
 import com.insurance.policy.insutech.model.AutoPolicyType;
 import com.insurance.policy.insutech.model.PolicyStatus;
+import com.insurance.policy.insutech.profiling.FilterQueryEvent;
+import com.insurance.policy.insutech.repository.ArchivedAutoPolicyRepository;
 import com.insurance.policy.insutech.repository.AutoPolicyRepository;
 import com.insurance.policy.insutech.service.AutoPolicyService;
-import jakarta.persistence.EntityManager;
-import jakarta.persistence.PersistenceContext;
-import jakarta.persistence.criteria.CriteriaBuilder;
-import jakarta.persistence.criteria.CriteriaQuery;
-import jakarta.persistence.criteria.Predicate;
-import jakarta.persistence.criteria.Root;
+import com.insurance.policy.insutech.service.IndexAdvisorService;
+import com.insurance.policy.insutech.service.PolicyExistenceService;
+import com.insurance.policy.insutech.service.PolicyNumberService;
+import com.insurance.policy.insutech.sharding.ShardRouter;
+import com.insurance.policy.insutech.specification.FilterShape;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.LongFunction;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class AutoPolicyServiceImpl implements AutoPolicyService {
 
+    private static final int DUPLICATE_CHECK_CHUNK = 1000;
+
     private final AutoPolicyRepository autoPolicyRepository;
+    private final ArchivedAutoPolicyRepository archivedAutoPolicyRepository;
+    private final IndexAdvisorService indexAdvisorService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final FilterProperties filterProperties;
+    private final PolicyNumberService policyNumberService;
+    private final PolicyExistenceService policyExistenceService;
+    private final CacheManager cacheManager;
+    private final ShardRouter shardRouter;
     private final AutoPolicyMapper autoPolicyMapper = AutoPolicyMapper.INSTANCE;
 
-    @PersistenceContext
-    private EntityManager entityManager;
-
-    // Manual cache for complex filtered queries - using manual cache for better control
-    private final Cache<String, List<AutoPolicyDTO>> filteredPoliciesCache = Caffeine.newBuilder()
-            .expireAfterWrite(10, TimeUnit.MINUTES)
-            .maximumSize(100)
-            .build();
-
     /**
      * Strategy: Cache individual policy by ID in "policies" cache region
      * - Good for frequently accessed individual policies
      * - Cache miss loads from database and populates cache
+     * - Falls back to the cold archive for policies moved there by the archival job
+     * - IDs the existence filter rules out are answered without touching either table
      */
     @Override
     @Cacheable(value = "policies", key = "#id")
     public AutoPolicyDTO getPolicyById(Long id) {
+        if (!policyExistenceService.mightExist(id)) {
+            throw new AutoPolicyNotFoundException("Auto Policy not found with ID: " + id);
+        }
         return autoPolicyRepository.findById(id)
                 .map(autoPolicyMapper::toDTO)
-                .orElseThrow(() -> new AutoPolicyNotFoundException("Auto Policy not found with ID: " + id));
+                .or(() -> archivedAutoPolicyRepository.findById(id).map(autoPolicyMapper::toDTO))
+                .orElseThrow(() -> {
+                    policyExistenceService.recordMissing(id);
+                    return new AutoPolicyNotFoundException("Auto Policy not found with ID: " + id);
+                });
     }
 
     /**
-     * Strategy: Cache policy by policy number in separate "policyNumbers" cache region
+     * Strategy: Cache policy by policy number through the "policyNumbers" view of the "policies" region
      * - Useful for external API calls using policy numbers
-     * - Different cache region to avoid key conflicts with ID-based caching
+     * - Same entries as the ID lookup, reached through a number index, so writes never have to flush it
+     * - Falls back to the cold archive for policies moved there by the archival job
+     * - Numbers the existence filter rules out, typically partners probing, are answered without a query
      */
     @Override
     @Cacheable(value = "policyNumbers", key = "#policyNumber")
     public AutoPolicyDTO getPolicyByPolicyNumber(String policyNumber) {
-        AutoPolicy policy = autoPolicyRepository.findByPolicyNumber(policyNumber)
-                .orElseThrow(() -> new AutoPolicyNotFoundException("AutoPolicy with policy number " + policyNumber + " not found"));
-        return autoPolicyMapper.toDTO(policy);
+        if (!policyExistenceService.mightExist(policyNumber)) {
+            throw new AutoPolicyNotFoundException("AutoPolicy with policy number " + policyNumber + " not found");
+        }
+        return autoPolicyRepository.findByPolicyNumber(policyNumber)
+                .map(autoPolicyMapper::toDTO)
+                .or(() -> archivedAutoPolicyRepository.findByPolicyNumber(policyNumber).map(autoPolicyMapper::toDTO))
+                .orElseThrow(() -> {
+                    policyExistenceService.recordMissing(policyNumber);
+                    return new AutoPolicyNotFoundException("AutoPolicy with policy number " + policyNumber + " not found");
+                });
     }
 
     /**
      * Strategy: Evict all relevant caches when creating new policy
      * - Prevents stale data in both individual and list caches
      * - New policies affect all cached lists and filtered queries
+     * - A blank policy number is assigned from the block allocator; a supplied one may not look like one it issues
      */
     @Override
     @Caching(
@@ -83,9 +116,18 @@ public class AutoPolicyServiceImpl implements AutoPolicyService {
                     @CacheEvict(value = "filteredPolicies", allEntries = true)
             }
     )
+    @Transactional
     public AutoPolicyDTO createPolicy(AutoPolicyDTO autoPolicyDTO) {
         AutoPolicy policy = autoPolicyMapper.toEntity(autoPolicyDTO);
-        return autoPolicyMapper.toDTO(autoPolicyRepository.save(policy));
+        if (isBlank(policy.getPolicyNumber())) {
+            policy.setPolicyNumber(policyNumberService.nextPolicyNumber());
+        } else {
+            rejectIssuedFormat(List.of(policy.getPolicyNumber()));
+            rejectArchivedNumber(policy.getPolicyNumber());
+        }
+        AutoPolicyDTO created = autoPolicyMapper.toDTO(autoPolicyRepository.save(policy));
+        eventPublisher.publishEvent(PolicyChangedEvent.created(created));
+        return created;
     }
 
     /**
@@ -105,76 +147,158 @@ public class AutoPolicyServiceImpl implements AutoPolicyService {
 
     /**
      * Strategy: Update cache with fresh data on update
-     * - @CachePut updates the individual policy cache with new data
+     * - @CachePut replaces the one cached entry; if the policy number changed, its number index moves with it
      * - Evict list caches since they might contain the updated policy
      */
     @Override
     @Caching(
             put = @CachePut(value = "policies", key = "#id"),
             evict = {
-                    @CacheEvict(value = "policyNumbers", allEntries = true), // Policy number might change
                     @CacheEvict(value = "allPolicies", allEntries = true),
                     @CacheEvict(value = "filteredPolicies", allEntries = true)
             }
     )
+    @Transactional
     public AutoPolicyDTO updatePolicy(Long id, AutoPolicyDTO autoPolicyDTO) {
-        if (!autoPolicyRepository.existsById(id)) {
-            throw new AutoPolicyNotFoundException("Auto Policy not found with ID: " + id);
-        }
+        AutoPolicyDTO before = autoPolicyRepository.findById(id)
+                .map(autoPolicyMapper::toDTO)
+                .orElseThrow(() -> notFoundOrArchived(id, "Auto Policy not found with ID: " + id));
         AutoPolicy updatedPolicy = autoPolicyMapper.toEntity(autoPolicyDTO);
         updatedPolicy.setId(id);
-        return autoPolicyMapper.toDTO(autoPolicyRepository.save(updatedPolicy));
+        if (!isBlank(updatedPolicy.getPolicyNumber()) && !updatedPolicy.getPolicyNumber().equals(before.getPolicyNumber())) {
+            if (policyNumberService.isIssuedFormat(updatedPolicy.getPolicyNumber())) {
+                throw new ReservedPolicyNumberException(List.of(updatedPolicy.getPolicyNumber()));
+            }
+            rejectArchivedNumber(updatedPolicy.getPolicyNumber());
+        }
+        AutoPolicyDTO updated = autoPolicyMapper.toDTO(autoPolicyRepository.save(updatedPolicy));
+        eventPublisher.publishEvent(PolicyChangedEvent.updated(before, updated));
+        return updated;
     }
 
     /**
      * Strategy: Evict all relevant caches on deletion
-     * - Remove individual policy from "policies" cache
+     * - Remove the individual policy from "policies", which drops its number lookup too
      * - Evict all list caches that might contain the deleted policy
      */
     @Override
     @Caching(
             evict = {
                     @CacheEvict(value = "policies", key = "#id"),
-                    @CacheEvict(value = "policyNumbers", allEntries = true),
                     @CacheEvict(value = "allPolicies", allEntries = true),
                     @CacheEvict(value = "filteredPolicies", allEntries = true)
             }
     )
+    @Transactional
     public void deletePolicy(Long id) {
-        if (!autoPolicyRepository.existsById(id)) {
-            throw new AutoPolicyNotFoundException("AutoPolicy with ID " + id + " not found");
-        }
-        autoPolicyRepository.deleteById(id);
+        AutoPolicy existing = autoPolicyRepository.findById(id)
+                .orElseThrow(() -> notFoundOrArchived(id, "AutoPolicy with ID " + id + " not found"));
+        AutoPolicyDTO before = autoPolicyMapper.toDTO(existing);
+        autoPolicyRepository.delete(existing);
+        eventPublisher.publishEvent(PolicyChangedEvent.deleted(before));
     }
 
     /**
      * Strategy: Evict all list caches on batch creation
      * - Multiple new policies affect all cached lists
-     * - Complete cache refresh needed for list views
+     * - Complete cache refresh needed for list views; lookups of unknown numbers are never cached, so the
+     *   individual policy cache is left alone
+     * - Blank policy numbers are allocated together, so concurrent batch loads never collide on them
+     * - Supplied numbers are checked for duplicates up front and rejected as a whole; only the numbers the
+     *   existence filter cannot rule out cost a query
      */
     @Override
     @Caching(
             evict = {
                     @CacheEvict(value = "allPolicies", allEntries = true),
-                    @CacheEvict(value = "filteredPolicies", allEntries = true),
-                    @CacheEvict(value = "policyNumbers", allEntries = true)
+                    @CacheEvict(value = "filteredPolicies", allEntries = true)
             }
     )
+    @Transactional
     public List<AutoPolicyDTO> createPolicies(List<AutoPolicyDTO> autoPolicyDTOs) {
         List<AutoPolicy> policies = autoPolicyDTOs.stream()
                 .map(autoPolicyMapper::toEntity)
                 .collect(Collectors.toList());
+        rejectIssuedFormat(policies.stream().map(AutoPolicy::getPolicyNumber).toList());
+        rejectDuplicateNumbers(policies);
+        List<AutoPolicy> unnumbered = policies.stream()
+                .filter(policy -> isBlank(policy.getPolicyNumber()))
+                .collect(Collectors.toList());
+        if (!unnumbered.isEmpty()) {
+            Iterator<String> numbers = policyNumberService.nextPolicyNumbers(unnumbered.size()).iterator();
+            unnumbered.forEach(policy -> policy.setPolicyNumber(numbers.next()));
+        }
         List<AutoPolicy> savedPolicies = autoPolicyRepository.saveAll(policies);
-        return savedPolicies.stream()
+        List<AutoPolicyDTO> created = savedPolicies.stream()
                 .map(autoPolicyMapper::toDTO)
                 .collect(Collectors.toList());
+        created.forEach(policy -> eventPublisher.publishEvent(PolicyChangedEvent.created(policy)));
+        return created;
+    }
+
+    private void rejectDuplicateNumbers(List<AutoPolicy> policies) {
+        Set<String> supplied = new HashSet<>();
+        Set<String> duplicates = new TreeSet<>();
+        for (AutoPolicy policy : policies) {
+            if (!isBlank(policy.getPolicyNumber()) && !supplied.add(policy.getPolicyNumber())) {
+                duplicates.add(policy.getPolicyNumber());
+            }
+        }
+        List<String> candidates = List.copyOf(policyExistenceService.possiblyExisting(supplied));
+        // Archived numbers stay taken: lookups by number still find the archived policy
+        for (int from = 0; from < candidates.size(); from += DUPLICATE_CHECK_CHUNK) {
+            List<String> chunk = candidates.subList(from, Math.min(candidates.size(), from + DUPLICATE_CHECK_CHUNK));
+            duplicates.addAll(autoPolicyRepository.findExistingPolicyNumbers(chunk));
+            duplicates.addAll(archivedAutoPolicyRepository.findExistingPolicyNumbers(chunk));
+        }
+        if (!duplicates.isEmpty()) {
+            throw new DuplicatePolicyNumberException(duplicates);
+        }
+    }
+
+    /**
+     * Archived policies stay readable by ID and number but are read-only: writes to one are refused, not reported
+     * as missing, since a GET on the same ID still finds it.
+     */
+    private RuntimeException notFoundOrArchived(Long id, String notFoundMessage) {
+        if (archivedAutoPolicyRepository.existsById(id)) {
+            return new ArchivedPolicyException(id);
+        }
+        return new AutoPolicyNotFoundException(notFoundMessage);
+    }
+
+    /**
+     * Sharded, this service is the shard-local delegate of the sharded one, which allocates numbers before handing
+     * new policies over and checks the caller's numbers itself.
+     */
+    private void rejectIssuedFormat(List<String> policyNumbers) {
+        if (shardRouter.isSharded()) {
+            return;
+        }
+        List<String> reserved = policyNumbers.stream()
+                .filter(policyNumber -> !isBlank(policyNumber) && policyNumberService.isIssuedFormat(policyNumber))
+                .toList();
+        if (!reserved.isEmpty()) {
+            throw new ReservedPolicyNumberException(reserved);
+        }
     }
 
     /**
-     * Strategy: Manual caching for complex filtered queries
+     * Single writes are guarded in the database (the live table's unique constraint, or the policy_numbers side table
+     * once auto_policies is partitioned); this turns a number that moved to the archive into a clean 409 up front.
+     */
+    private void rejectArchivedNumber(String policyNumber) {
+        if (!policyExistenceService.possiblyExisting(List.of(policyNumber)).isEmpty()
+                && archivedAutoPolicyRepository.findByPolicyNumber(policyNumber).isPresent()) {
+            throw new DuplicatePolicyNumberException(List.of(policyNumber));
+        }
+    }
+
+    /**
+     * Strategy: Programmatic caching for complex filtered queries in the "filteredPolicies" region
      * - Complex key generation for diverse filter combinations
-     * - Manual cache control for better flexibility with dynamic parameters
-     * - Separate from Spring's cache abstraction due to complex key requirements
+     * - Same region the write paths evict, so a filter never serves data older than the last write
+     * - Weighted by estimated result size, so a few huge results cannot crowd out the heap
      */
     @Override
     public List<AutoPolicyDTO> getAllPolicies(LocalDate startDate, LocalDate endDate, PolicyStatus status,
@@ -185,70 +309,76 @@ public class AutoPolicyServiceImpl implements AutoPolicyService {
         String cacheKey = generateCacheKey(startDate, endDate, status, type, vehicleMake, firstName, lastName, minPremium, maxPremium);
 
         // Try to get from cache first
-        List<AutoPolicyDTO> cachedResult = filteredPoliciesCache.getIfPresent(cacheKey);
+        Cache filteredPolicies = cacheManager.getCache("filteredPolicies");
+        @SuppressWarnings("unchecked")
+        List<AutoPolicyDTO> cachedResult = filteredPolicies.get(cacheKey, List.class);
         if (cachedResult != null) {
             return cachedResult;
         }
 
-        // Cache miss - execute query and cache result
+        // Cache miss - execute query, record its shape for the index advisor and cache result
+        long started = System.nanoTime();
+        FilterQueryEvent queryEvent = FilterQueryEvent.start();
         List<AutoPolicyDTO> result = executeFilteredQuery(startDate, endDate, status, type, vehicleMake, firstName, lastName, minPremium, maxPremium);
-        filteredPoliciesCache.put(cacheKey, result);
+        int shape = FilterShape.of(startDate, endDate, status, type, vehicleMake, firstName, lastName, minPremium, maxPremium);
+        indexAdvisorService.recordFilterQuery(shape, status, result.size(), System.nanoTime() - started);
+        queryEvent.finish(shape, status, result.size());
+        filteredPolicies.put(cacheKey, result);
 
         return result;
     }
 
+    @Override
+    public FacetedPoliciesDTO getFacetedPolicies(LocalDate startDate, LocalDate endDate, PolicyStatus status,
+                                                 AutoPolicyType type, String vehicleMake, String firstName,
+                                                 String lastName, Double minPremium, Double maxPremium) {
+        String cacheKey = generateCacheKey(startDate, endDate, status, type, vehicleMake,
+                firstName, lastName, minPremium, maxPremium);
+        return PolicyFacets.withFacets(cacheManager.getCache("filteredPolicies"), cacheKey,
+                () -> getAllPolicies(startDate, endDate, status, type, vehicleMake, firstName, lastName, minPremium, maxPremium),
+                filterProperties);
+    }
+
     /**
-     * Helper method to execute the actual filtered query
+     * Always the JDBC engine, which is the one that can continue a filter from a given ID.
+     */
+    @Override
+    public Stream<AutoPolicyDTO> streamPolicies(LocalDate startDate, LocalDate endDate, PolicyStatus status,
+                                                AutoPolicyType type, String vehicleMake, String firstName,
+                                                String lastName, Double minPremium, Double maxPremium, int pageSize) {
+        return keysetPages(afterId -> autoPolicyRepository.findFilteredPage(startDate, endDate, status, type,
+                vehicleMake, firstName, lastName, minPremium, maxPremium, afterId, pageSize));
+    }
+
+    /**
+     * Flattens keyset pages read one after another; the next page is only read once the previous one is consumed,
+     * and the walk ends on the first empty page.
+     */
+    static Stream<AutoPolicyDTO> keysetPages(LongFunction<List<AutoPolicyDTO>> readPage) {
+        return Stream.iterate(readPage.apply(0L), page -> !page.isEmpty(),
+                        page -> readPage.apply(page.get(page.size() - 1).getId()))
+                .flatMap(List::stream);
+    }
+
+    /**
+     * Both engines live in the repository fragment; the Criteria one stays selectable as a fallback
      */
     private List<AutoPolicyDTO> executeFilteredQuery(LocalDate startDate, LocalDate endDate, PolicyStatus status,
                                                      AutoPolicyType type, String vehicleMake, String firstName,
                                                      String lastName, Double minPremium, Double maxPremium) {
-        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-        CriteriaQuery<AutoPolicy> query = cb.createQuery(AutoPolicy.class);
-        Root<AutoPolicy> root = query.from(AutoPolicy.class);
-
-        List<Predicate> predicates = new ArrayList<>();
-
-        if (startDate != null) {
-            predicates.add(cb.greaterThanOrEqualTo(root.get("startDate"), startDate));
-        }
-        if (endDate != null) {
-            predicates.add(cb.lessThanOrEqualTo(root.get("endDate"), endDate));
-        }
-        if (status != null) {
-            predicates.add(cb.equal(root.get("status"), status));
-        }
-        if (type != null) {
-            predicates.add(cb.equal(root.get("policyType"), type));
-        }
-        if (vehicleMake != null && !vehicleMake.isEmpty()) {
-            predicates.add(cb.like(cb.lower(root.get("vehicleMake")), "%" + vehicleMake.toLowerCase() + "%"));
-        }
-        if (firstName != null && !firstName.isEmpty()) {
-            predicates.add(cb.like(cb.lower(root.get("firstName")), "%" + firstName.toLowerCase() + "%"));
+        if (filterProperties.getEngine() == FilterProperties.Engine.CRITERIA) {
+            return autoPolicyRepository.findFilteredWithCriteria(startDate, endDate, status, type, vehicleMake,
+                    firstName, lastName, minPremium, maxPremium);
         }
-        if (lastName != null && !lastName.isEmpty()) {
-            predicates.add(cb.like(cb.lower(root.get("lastName")), "%" + lastName.toLowerCase() + "%"));
-        }
-        if (minPremium != null) {
-            predicates.add(cb.greaterThanOrEqualTo(root.get("premiumAmount"), minPremium));
-        }
-        if (maxPremium != null) {
-            predicates.add(cb.lessThanOrEqualTo(root.get("premiumAmount"), maxPremium));
-        }
-
-        query.select(root).where(predicates.toArray(new Predicate[0]));
-        return entityManager.createQuery(query).getResultList()
-                .stream()
-                .map(autoPolicyMapper::toDTO)
-                .collect(Collectors.toList());
+        return autoPolicyRepository.findFiltered(startDate, endDate, status, type, vehicleMake,
+                firstName, lastName, minPremium, maxPremium);
     }
 
     /**
      * Generate unique cache key based on filter parameters
-     * Handles null values appropriately
+     * Handles null values appropriately; the reactive service uses the same keys, so both stacks share entries
      */
-    private String generateCacheKey(LocalDate startDate, LocalDate endDate, PolicyStatus status,
+    static String generateCacheKey(LocalDate startDate, LocalDate endDate, PolicyStatus status,
                                     AutoPolicyType type, String vehicleMake, String firstName,
                                     String lastName, Double minPremium, Double maxPremium) {
         return String.format("filter_%s_%s_%s_%s_%s_%s_%s_%s_%s",
@@ -268,6 +398,10 @@ public class AutoPolicyServiceImpl implements AutoPolicyService {
      * Useful for targeted cache invalidation during testing or maintenance
      */
     public void clearFilteredCache() {
-        filteredPoliciesCache.invalidateAll();
+        cacheManager.getCache("filteredPolicies").clear();
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
     }
 }
\ No newline at end of file
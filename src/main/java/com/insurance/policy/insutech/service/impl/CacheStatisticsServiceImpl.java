@@ -0,0 +1,163 @@
+package com.insurance.policy.insutech.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.insurance.policy.insutech.cache.CacheTelemetry;
+import com.insurance.policy.insutech.cache.CacheTelemetryRegistry;
+import com.insurance.policy.insutech.cache.LatencyHistogram;
+import com.insurance.policy.insutech.cache.PolicyCacheWeigher;
+import com.insurance.policy.insutech.cache.TopKeys;
+import com.insurance.policy.insutech.config.CacheProperties;
+import com.insurance.policy.insutech.dto.CacheFootprintDTO;
+import com.insurance.policy.insutech.dto.CacheKeyStatDTO;
+import com.insurance.policy.insutech.dto.CacheRegionDTO;
+import com.insurance.policy.insutech.dto.CacheTelemetryDTO;
+import com.insurance.policy.insutech.service.CacheStatisticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@Service
+@RequiredArgsConstructor
+public class CacheStatisticsServiceImpl implements CacheStatisticsService {
+
+    private final CacheTelemetryRegistry cacheTelemetryRegistry;
+    private final CacheProperties cacheProperties;
+
+    /**
+     * Lifetime Caffeine counters per cache, in the shape this endpoint has always had.
+     */
+    @Override
+    public Map<String, Map<String, Object>> getStats() {
+        Map<String, Map<String, Object>> stats = new HashMap<>();
+        for (CacheTelemetry telemetry : cacheTelemetryRegistry.getAll()) {
+            CacheStats cacheStats = telemetry.snapshot();
+            Map<String, Object> cacheStatsMap = new HashMap<>();
+            cacheStatsMap.put("hitCount", cacheStats.hitCount());
+            cacheStatsMap.put("missCount", cacheStats.missCount());
+            cacheStatsMap.put("loadSuccessCount", cacheStats.loadSuccessCount());
+            cacheStatsMap.put("loadFailureCount", cacheStats.loadFailureCount());
+            cacheStatsMap.put("totalLoadTime", cacheStats.totalLoadTime());
+            cacheStatsMap.put("evictionCount", cacheStats.evictionCount());
+            stats.put(telemetry.getName(), cacheStatsMap);
+        }
+        return stats;
+    }
+
+    /**
+     * Weighted regions report Caffeine's running weight total, which costs nothing to read. Size-bounded regions
+     * are weighed entry by entry, so only the reporting call pays for their estimate.
+     */
+    @Override
+    public CacheFootprintDTO getFootprint() {
+        List<CacheRegionDTO> regions = new ArrayList<>();
+        long total = 0;
+        Set<Cache<Object, Object>> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (CacheTelemetry telemetry : cacheTelemetryRegistry.getAll()) {
+            Cache<Object, Object> nativeCache = nativeCache(telemetry);
+            // A second view onto a region, such as policyNumbers, holds no entries of its own
+            if (!seen.add(nativeCache)) {
+                continue;
+            }
+            CacheRegionDTO region = new CacheRegionDTO();
+            region.setName(telemetry.getName());
+            region.setEntries(nativeCache.estimatedSize());
+
+            Policy.Eviction<Object, Object> eviction = nativeCache.policy().eviction().orElse(null);
+            if (eviction != null && eviction.isWeighted()) {
+                region.setMaximumBytes(eviction.getMaximum());
+                region.setEstimatedBytes(eviction.weightedSize().orElse(0));
+            } else {
+                region.setMaximumSize(eviction != null ? eviction.getMaximum() : null);
+                long bytes = 0;
+                for (Map.Entry<Object, Object> entry : nativeCache.asMap().entrySet()) {
+                    bytes += PolicyCacheWeigher.INSTANCE.weigh(entry.getKey(), entry.getValue());
+                }
+                region.setEstimatedBytes(bytes);
+            }
+
+            CacheStats stats = nativeCache.stats();
+            region.setHitRate(stats.hitRate());
+            region.setEvictionCount(stats.evictionCount());
+            regions.add(region);
+            total += region.getEstimatedBytes();
+        }
+
+        CacheFootprintDTO footprint = new CacheFootprintDTO();
+        footprint.setBudgetBytes(cacheProperties.getMaxWeight().toBytes());
+        footprint.setEstimatedBytes(total);
+        footprint.setRegions(regions);
+        return footprint;
+    }
+
+    /**
+     * Strategy: every figure comes from fixed-size structures maintained on the request path, so reading them
+     * never walks a cache
+     * - Hit ratios over the last 1, 5 and 15 minutes come from rotating 10-second buckets; lifetime totals hide
+     *   a ratio that collapsed after a deploy
+     * - Hot and expensive keys are count-min sketch estimates, accurate for the heavy hitters that matter
+     */
+    @Override
+    public List<CacheTelemetryDTO> getTelemetry() {
+        List<CacheTelemetryDTO> telemetries = new ArrayList<>();
+        for (CacheTelemetry telemetry : cacheTelemetryRegistry.getAll()) {
+            CacheStats stats = telemetry.snapshot();
+            LatencyHistogram loadLatency = telemetry.getLoadLatency();
+
+            CacheTelemetryDTO dto = new CacheTelemetryDTO();
+            dto.setName(telemetry.getName());
+            dto.setEntries(nativeCache(telemetry).estimatedSize());
+            dto.setRequests(stats.requestCount());
+            dto.setHitRatio(stats.hitRate());
+            dto.setHitRatio1m(ratio(telemetry.hitRatio(1, TimeUnit.MINUTES)));
+            dto.setHitRatio5m(ratio(telemetry.hitRatio(5, TimeUnit.MINUTES)));
+            dto.setHitRatio15m(ratio(telemetry.hitRatio(15, TimeUnit.MINUTES)));
+            dto.setLoadCount(loadLatency.count());
+            dto.setLoadP50Ms(millis(loadLatency, 50));
+            dto.setLoadP95Ms(millis(loadLatency, 95));
+            dto.setLoadP99Ms(millis(loadLatency, 99));
+            Map<String, Long> removals = new LinkedHashMap<>();
+            telemetry.getRemovals().forEach((cause, count) -> removals.put(cause.name(), count));
+            dto.setRemovalsByCause(removals);
+            dto.setHotKeys(keys(telemetry.getHotKeys()));
+            dto.setExpensiveKeys(keys(telemetry.getExpensiveKeys()));
+            telemetries.add(dto);
+        }
+        return telemetries;
+    }
+
+    @Override
+    public void resetTelemetry() {
+        cacheTelemetryRegistry.getAll().forEach(CacheTelemetry::reset);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Cache<Object, Object> nativeCache(CacheTelemetry telemetry) {
+        return (Cache<Object, Object>) telemetry.getCache();
+    }
+
+    /** An idle window has no ratio; report it as absent rather than as 0 or 1. */
+    private static Double ratio(double ratio) {
+        return Double.isNaN(ratio) ? null : ratio;
+    }
+
+    private static Double millis(LatencyHistogram histogram, double percentile) {
+        return histogram.count() == 0 ? null : histogram.percentile(percentile) / 1_000_000.0;
+    }
+
+    private static List<CacheKeyStatDTO> keys(TopKeys topKeys) {
+        return topKeys.snapshot().stream()
+                .map(entry -> new CacheKeyStatDTO(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+}
@@ -0,0 +1,335 @@
+package com.insurance.policy.insutech.service.impl;
+
+import com.insurance.policy.insutech.dto.FilterShapeStatsDTO;
+import com.insurance.policy.insutech.dto.IndexRecommendationDTO;
+import com.insurance.policy.insutech.model.PolicyStatus;
+import com.insurance.policy.insutech.repository.AutoPolicyRepository;
+import com.insurance.policy.insutech.service.IndexAdvisorService;
+import com.insurance.policy.insutech.specification.FilterParameter;
+import com.insurance.policy.insutech.specification.FilterShape;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class IndexAdvisorServiceImpl implements IndexAdvisorService {
+
+    private static final String TABLE = "auto_policies";
+
+    // A status value must cover this share of a shape's executions before a partial index is suggested
+    private static final double PARTIAL_INDEX_DOMINANCE = 0.9;
+
+    private final AutoPolicyRepository autoPolicyRepository;
+
+    // One slot per possible filter shape (2^9), allocated on first use - memory is bounded by construction
+    private final AtomicReferenceArray<ShapeStats> shapes = new AtomicReferenceArray<>(FilterShape.SHAPE_COUNT);
+
+    /**
+     * Called on every filter query that reaches the database (cache hits cost nothing and are not recorded).
+     */
+    @Override
+    public void recordFilterQuery(int shape, PolicyStatus status, int rowCount, long elapsedNanos) {
+        ShapeStats stats = shapes.get(shape);
+        if (stats == null) {
+            shapes.compareAndSet(shape, null, new ShapeStats());
+            stats = shapes.get(shape);
+        }
+        stats.record(status, rowCount, elapsedNanos);
+    }
+
+    @Override
+    public List<FilterShapeStatsDTO> getShapeStats() {
+        long tableRows = autoPolicyRepository.count();
+        List<FilterShapeStatsDTO> result = new ArrayList<>();
+        for (int shape = 0; shape < FilterShape.SHAPE_COUNT; shape++) {
+            ShapeStats stats = shapes.get(shape);
+            if (stats != null && stats.executions.sum() > 0) {
+                result.add(toDTO(shape, stats, tableRows));
+            }
+        }
+        result.sort(Comparator.comparingDouble(FilterShapeStatsDTO::getTotalTimeMs).reversed());
+        return result;
+    }
+
+    /**
+     * Strategy: derive one candidate index per observed shape, then score every candidate against all shapes
+     * - A B-tree candidate holds the equality columns followed by at most one range column
+     * - A status that dominates a shape's traffic moves into a partial-index predicate instead of a key column
+     * - CONTAINS (LIKE '%x%') parameters can only be served by a trigram GIN index
+     * - Savings = time spent on a shape * share of rows the index lets us skip * share of the shape's predicates it covers
+     */
+    @Override
+    public List<IndexRecommendationDTO> getRecommendations(int limit) {
+        long tableRows = Math.max(1, autoPolicyRepository.count());
+        Map<String, Candidate> candidates = new LinkedHashMap<>();
+
+        for (int shape = 0; shape < FilterShape.SHAPE_COUNT; shape++) {
+            ShapeStats stats = shapes.get(shape);
+            if (stats == null || stats.executions.sum() == 0) {
+                continue;
+            }
+            Candidate btree = btreeCandidate(shape, stats);
+            if (btree != null) {
+                candidates.putIfAbsent(btree.key(), btree);
+            }
+            for (FilterParameter parameter : FilterShape.parameters(shape)) {
+                if (parameter.getKind() == FilterParameter.Kind.CONTAINS) {
+                    Candidate trigram = new Candidate("gin", List.of(parameter.getColumn()), null);
+                    candidates.putIfAbsent(trigram.key(), trigram);
+                }
+            }
+        }
+
+        for (int shape = 0; shape < FilterShape.SHAPE_COUNT; shape++) {
+            ShapeStats stats = shapes.get(shape);
+            if (stats == null || stats.executions.sum() == 0) {
+                continue;
+            }
+            double selectivity = Math.min(1.0, stats.averageRows() / tableRows);
+            double avoidableNanos = stats.totalNanos.sum() * (1.0 - selectivity);
+            int predicateCount = distinctColumns(shape).size();
+            for (Candidate candidate : candidates.values()) {
+                int covered = candidate.coveredPredicates(shape, stats);
+                if (covered > 0) {
+                    candidate.savingsNanos += avoidableNanos * covered / predicateCount;
+                    candidate.servedShapes++;
+                    candidate.servedExecutions += stats.executions.sum();
+                }
+            }
+        }
+
+        return candidates.values().stream()
+                .filter(candidate -> candidate.savingsNanos > 0)
+                .sorted(Comparator.comparingDouble((Candidate candidate) -> candidate.savingsNanos).reversed())
+                .limit(limit)
+                .map(Candidate::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public String generateDdl(int limit) {
+        List<IndexRecommendationDTO> recommendations = getRecommendations(limit);
+        StringBuilder ddl = new StringBuilder();
+        if (recommendations.stream().anyMatch(recommendation -> "gin".equals(recommendation.getMethod()))) {
+            ddl.append("CREATE EXTENSION IF NOT EXISTS pg_trgm;\n");
+        }
+        for (IndexRecommendationDTO recommendation : recommendations) {
+            ddl.append(String.format("-- serves %d shape(s), %d execution(s), est. %.1f ms saved%n",
+                    recommendation.getServedShapes(), recommendation.getServedExecutions(),
+                    recommendation.getEstimatedSavingsMs()));
+            ddl.append(recommendation.getDdl()).append('\n');
+        }
+        return ddl.toString();
+    }
+
+    @Override
+    public void reset() {
+        for (int shape = 0; shape < FilterShape.SHAPE_COUNT; shape++) {
+            shapes.set(shape, null);
+        }
+    }
+
+    private Candidate btreeCandidate(int shape, ShapeStats stats) {
+        List<String> columns = new ArrayList<>();
+        String predicate = null;
+
+        if (FilterShape.has(shape, FilterParameter.STATUS)) {
+            PolicyStatus dominant = stats.dominantStatus(PARTIAL_INDEX_DOMINANCE);
+            if (dominant != null) {
+                predicate = "status = '" + dominant.name() + "'";
+            } else {
+                columns.add(FilterParameter.STATUS.getColumn());
+            }
+        }
+        if (FilterShape.has(shape, FilterParameter.TYPE)) {
+            columns.add(FilterParameter.TYPE.getColumn());
+        }
+        String rangeColumn = rangeColumn(shape);
+        if (rangeColumn != null) {
+            columns.add(rangeColumn);
+        }
+        if (columns.isEmpty()) {
+            // A partial index needs at least one key column; fall back to keying on status itself
+            if (predicate == null) {
+                return null;
+            }
+            columns.add(FilterParameter.STATUS.getColumn());
+        }
+        return new Candidate("btree", columns, predicate);
+    }
+
+    private static String rangeColumn(int shape) {
+        if (FilterShape.has(shape, FilterParameter.START_DATE)) {
+            return FilterParameter.START_DATE.getColumn();
+        }
+        if (FilterShape.has(shape, FilterParameter.END_DATE)) {
+            return FilterParameter.END_DATE.getColumn();
+        }
+        if (FilterShape.has(shape, FilterParameter.MIN_PREMIUM) || FilterShape.has(shape, FilterParameter.MAX_PREMIUM)) {
+            return FilterParameter.MIN_PREMIUM.getColumn();
+        }
+        return null;
+    }
+
+    private static Set<String> distinctColumns(int shape) {
+        Set<String> columns = new LinkedHashSet<>();
+        for (FilterParameter parameter : FilterShape.parameters(shape)) {
+            columns.add(parameter.getColumn());
+        }
+        return columns;
+    }
+
+    private static FilterShapeStatsDTO toDTO(int shape, ShapeStats stats, long tableRows) {
+        long executions = stats.executions.sum();
+        FilterShapeStatsDTO dto = new FilterShapeStatsDTO();
+        dto.setShape(shape);
+        dto.setParameters(FilterShape.parameters(shape).stream().map(Enum::name).collect(Collectors.toList()));
+        dto.setExecutions(executions);
+        dto.setTotalTimeMs(stats.totalNanos.sum() / 1_000_000.0);
+        dto.setAverageTimeMs(stats.totalNanos.sum() / 1_000_000.0 / executions);
+        dto.setMaxTimeMs(stats.maxNanos.get() / 1_000_000.0);
+        dto.setAverageRows(stats.averageRows());
+        dto.setSelectivity(tableRows > 0 ? Math.min(1.0, stats.averageRows() / tableRows) : null);
+        if (FilterShape.has(shape, FilterParameter.STATUS)) {
+            Map<String, Long> statusValues = new LinkedHashMap<>();
+            for (PolicyStatus status : PolicyStatus.values()) {
+                statusValues.put(status.name(), stats.statusCounts.get(status).sum());
+            }
+            dto.setStatusValues(statusValues);
+        }
+        return dto;
+    }
+
+    private static final class ShapeStats {
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder totalRows = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final Map<PolicyStatus, LongAdder> statusCounts = new EnumMap<>(PolicyStatus.class);
+
+        private ShapeStats() {
+            for (PolicyStatus status : PolicyStatus.values()) {
+                statusCounts.put(status, new LongAdder());
+            }
+        }
+
+        void record(PolicyStatus status, int rowCount, long elapsedNanos) {
+            executions.increment();
+            totalNanos.add(elapsedNanos);
+            totalRows.add(rowCount);
+            maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+            if (status != null) {
+                statusCounts.get(status).increment();
+            }
+        }
+
+        double averageRows() {
+            long count = executions.sum();
+            return count == 0 ? 0 : (double) totalRows.sum() / count;
+        }
+
+        PolicyStatus dominantStatus(double threshold) {
+            long count = executions.sum();
+            for (PolicyStatus status : PolicyStatus.values()) {
+                if (count > 0 && statusCounts.get(status).sum() >= threshold * count) {
+                    return status;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class Candidate {
+        private final String method;
+        private final List<String> columns;
+        private final String predicate;
+        private double savingsNanos;
+        private int servedShapes;
+        private long servedExecutions;
+
+        private Candidate(String method, List<String> columns, String predicate) {
+            this.method = method;
+            this.columns = columns;
+            this.predicate = predicate;
+        }
+
+        String key() {
+            return method + ":" + columns + ":" + predicate;
+        }
+
+        /**
+         * Number of the shape's predicates this index can serve. A B-tree is only usable through a leading
+         * prefix of its columns, and a range column ends the usable prefix.
+         */
+        int coveredPredicates(int shape, ShapeStats stats) {
+            Set<String> shapeColumns = distinctColumns(shape);
+            if ("gin".equals(method)) {
+                return shapeColumns.contains(columns.get(0)) ? 1 : 0;
+            }
+            int covered = 0;
+            if (predicate != null) {
+                if (!shapeColumns.contains(FilterParameter.STATUS.getColumn())
+                        || stats.dominantStatus(PARTIAL_INDEX_DOMINANCE) == null
+                        || !predicate.equals("status = '" + stats.dominantStatus(PARTIAL_INDEX_DOMINANCE).name() + "'")) {
+                    return 0;
+                }
+                covered++;
+            }
+            for (String column : columns) {
+                if (!shapeColumns.contains(column)) {
+                    break;
+                }
+                if (predicate != null && column.equals(FilterParameter.STATUS.getColumn())) {
+                    continue;
+                }
+                covered++;
+                if (!isEqualityColumn(column)) {
+                    break;
+                }
+            }
+            return covered;
+        }
+
+        private static boolean isEqualityColumn(String column) {
+            return column.equals(FilterParameter.STATUS.getColumn()) || column.equals(FilterParameter.TYPE.getColumn());
+        }
+
+        IndexRecommendationDTO toDTO() {
+            String suffix = "gin".equals(method) ? "_trgm" : (predicate != null ? "_" + predicate.replaceAll("[^A-Za-z]+", "_").toLowerCase() : "");
+            String indexName = ("idx_" + TABLE + "_" + String.join("_", columns) + suffix).replaceAll("_+$", "");
+
+            String ddl;
+            if ("gin".equals(method)) {
+                ddl = String.format("CREATE INDEX IF NOT EXISTS %s ON %s USING gin (lower(%s) gin_trgm_ops);",
+                        indexName, TABLE, columns.get(0));
+            } else {
+                ddl = String.format("CREATE INDEX IF NOT EXISTS %s ON %s (%s)%s;",
+                        indexName, TABLE, String.join(", ", columns), predicate != null ? " WHERE " + predicate : "");
+            }
+
+            IndexRecommendationDTO dto = new IndexRecommendationDTO();
+            dto.setIndexName(indexName);
+            dto.setMethod(method);
+            dto.setColumns(columns);
+            dto.setPredicate(predicate);
+            dto.setDdl(ddl);
+            dto.setServedShapes(servedShapes);
+            dto.setServedExecutions(servedExecutions);
+            dto.setEstimatedSavingsMs(savingsNanos / 1_000_000.0);
+            return dto;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.insurance.policy.insutech.service.impl;
+
+import com.insurance.policy.insutech.config.ArchivalProperties;
+import com.insurance.policy.insutech.event.PolicyChangedEvent;
+import com.insurance.policy.insutech.mapper.AutoPolicyMapper;
+import com.insurance.policy.insutech.model.ArchivedAutoPolicy;
+import com.insurance.policy.insutech.model.AutoPolicy;
+import com.insurance.policy.insutech.model.PolicyStatus;
+import com.insurance.policy.insutech.repository.AutoPolicyRepository;
+import com.insurance.policy.insutech.service.PolicyArchivalService;
+import com.insurance.policy.insutech.sharding.ShardRouter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PolicyArchivalServiceImpl implements PolicyArchivalService {
+
+    private static final Set<PolicyStatus> ARCHIVABLE_STATUSES = EnumSet.of(PolicyStatus.EXPIRED, PolicyStatus.CANCELLED);
+
+    private final AutoPolicyRepository autoPolicyRepository;
+    private final ArchivalProperties archivalProperties;
+    private final PlatformTransactionManager transactionManager;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ShardRouter shardRouter;
+    private final AutoPolicyMapper autoPolicyMapper = AutoPolicyMapper.INSTANCE;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Scheduled(cron = "${insutech.archival.cron:0 30 2 * * *}")
+    public void scheduledArchival() {
+        if (archivalProperties.isEnabled()) {
+            archiveExpiredPolicies();
+        }
+    }
+
+    /**
+     * Strategy: move dead policies in small batches, one transaction per batch
+     * - Each batch copies rows into auto_policies_archive and deletes them from the live table atomically
+     * - Short transactions keep row locks and WAL bursts small on the hot table
+     * - Shards are swept one after the other; a policy is archived on the shard it lives on
+     * - Each archived policy is published as archived inside its batch, so the outbox and the in-memory indexes
+     *   (search, expiry, suggestions, duplicates) drop it when the batch commits
+     * - List caches are evicted afterwards; ID and number caches stay valid because lookups fall back to the archive,
+     *   where the policy is read-only
+     */
+    @Override
+    public int archiveExpiredPolicies() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Policy archival already running, skipping");
+            return 0;
+        }
+        try {
+            LocalDate cutoff = LocalDate.now().minusDays(archivalProperties.getRetentionDays());
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            AtomicInteger total = new AtomicInteger();
+            shardRouter.forEachShard(shard -> {
+                int moved;
+                do {
+                    Integer batch = transactionTemplate.execute(status -> archiveBatch(cutoff));
+                    moved = batch != null ? batch : 0;
+                    total.addAndGet(moved);
+                } while (moved == archivalProperties.getBatchSize());
+            });
+            int archived = total.get();
+
+            if (archived > 0) {
+                evictListCaches();
+            }
+            log.info("Archived {} expired/cancelled policies with end date before {}", archived, cutoff);
+            return archived;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private int archiveBatch(LocalDate cutoff) {
+        List<Long> ids = autoPolicyRepository.findArchivableIds(ARCHIVABLE_STATUSES, cutoff,
+                PageRequest.of(0, archivalProperties.getBatchSize()));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime archivedAt = LocalDateTime.now();
+        List<AutoPolicy> policies = autoPolicyRepository.findAllById(ids);
+        List<ArchivedAutoPolicy> archive = policies.stream()
+                .map(autoPolicyMapper::toArchive)
+                .peek(policy -> policy.setArchivedAt(archivedAt))
+                .collect(Collectors.toList());
+        // persist rather than save: archive IDs are assigned, and save() would issue a merge-select per row
+        archive.forEach(entityManager::persist);
+        autoPolicyRepository.deleteAllByIdInBatch(ids);
+        policies.forEach(policy -> eventPublisher.publishEvent(PolicyChangedEvent.archived(autoPolicyMapper.toDTO(policy))));
+        return ids.size();
+    }
+
+    private void evictListCaches() {
+        for (String cacheName : List.of("allPolicies", "filteredPolicies")) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+}
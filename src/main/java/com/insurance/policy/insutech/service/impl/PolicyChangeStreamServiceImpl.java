@@ -0,0 +1,314 @@
+package com.insurance.policy.insutech.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insurance.policy.insutech.config.OutboxProperties;
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.dto.PolicyChangeEventDTO;
+import com.insurance.policy.insutech.event.OutboxCursor;
+import com.insurance.policy.insutech.event.PolicyChangedEvent;
+import com.insurance.policy.insutech.model.PolicyOutboxEvent;
+import com.insurance.policy.insutech.repository.PolicyOutboxRepository;
+import com.insurance.policy.insutech.service.PolicyChangeStreamService;
+import com.insurance.policy.insutech.sharding.ShardRouter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PolicyChangeStreamServiceImpl implements PolicyChangeStreamService {
+
+    private final PolicyOutboxRepository policyOutboxRepository;
+    private final OutboxProperties outboxProperties;
+    private final ObjectMapper objectMapper;
+    private final ShardRouter shardRouter;
+
+    private final Set<Subscriber> subscribers = new CopyOnWriteArraySet<>();
+    private OutboxCursor relayCursor;
+    // Highest ID the relay has fanned out; catch-up reads stop here, so they never pass a gap the relay waits on
+    private volatile long relayedUpTo;
+    private volatile long lastSendNanos = System.nanoTime();
+    private ExecutorService senders;
+
+    @PostConstruct
+    public void start() {
+        if (shardRouter.isSharded() && outboxProperties.isRelayEnabled()) {
+            throw new IllegalStateException("The policy change stream does not run on sharded storage;"
+                    + " set insutech.outbox.relay-enabled=false when insutech.sharding.enabled is true");
+        }
+        relayCursor = new OutboxCursor(policyOutboxRepository.findMaxId(), outboxProperties.getGapTimeoutMs());
+        relayedUpTo = relayCursor.getPosition();
+        senders = Executors.newFixedThreadPool(outboxProperties.getSenderThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "policy-change-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Open streams are completed as soon as the context starts closing; left open, they would hold a graceful
+     * web server shutdown until its timeout. Clients reconnect elsewhere with their Last-Event-ID.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void onContextClosed() {
+        subscribers.forEach(this::close);
+    }
+
+    @PreDestroy
+    public void stop() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    /**
+     * Strategy: transactional outbox
+     * - Runs synchronously inside the service's write transaction, so the change and its event commit or roll back together
+     * - Stores a compact JSON snapshot; consumers never need to call back into the API
+     */
+    @EventListener
+    public void onPolicyChanged(PolicyChangedEvent event) {
+        AutoPolicyDTO snapshot = event.after() != null ? event.after() : event.before();
+        PolicyOutboxEvent outboxEvent = new PolicyOutboxEvent();
+        outboxEvent.setEventType(event.type().name());
+        outboxEvent.setPolicyId(event.policyId());
+        outboxEvent.setPolicyNumber(snapshot.getPolicyNumber());
+        outboxEvent.setPayload(toJson(snapshot));
+        outboxEvent.setCreatedAt(Instant.now());
+        policyOutboxRepository.save(outboxEvent);
+    }
+
+    /**
+     * A subscriber starts from {@code lastEventId} (or the current head when absent). It first catches up from the
+     * outbox table on its own, then switches to the batches fanned out by {@link #relay()}.
+     */
+    @Override
+    public SseEmitter subscribe(Long lastEventId) {
+        if (!outboxProperties.isRelayEnabled()) {
+            throw new IllegalStateException("The policy change stream is disabled");
+        }
+        SseEmitter emitter = new SseEmitter(outboxProperties.getEmitterTimeoutMs());
+        Subscriber subscriber = new Subscriber(emitter, lastEventId != null ? lastEventId : relayedUpTo,
+                outboxProperties.getSubscriberBufferSize());
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        try {
+            // Commits the response, so the client sees the stream open before the first change arrives
+            emitter.send(SseEmitter.event().comment("connected"));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open the policy change stream", e);
+        }
+        subscribers.add(subscriber);
+        schedule(subscriber);
+        return emitter;
+    }
+
+    @Override
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Strategy: one database read per batch, fanned out to every live subscriber
+     * - Events go out in ID order; a lower ID whose transaction commits late holds back the ones above it until it
+     *   shows up or the gap timeout passes, so neither the relay nor a Last-Event-ID resume can skip it
+     * - Each subscriber has a bounded buffer; overflowing it disconnects the subscriber, which resumes via Last-Event-ID
+     * - Subscribers still catching up are skipped - their catch-up reads the same rows from the table
+     */
+    @Scheduled(fixedDelayString = "${insutech.outbox.relay-interval-ms:500}")
+    public synchronized void relay() {
+        if (!outboxProperties.isRelayEnabled()) {
+            return;
+        }
+        List<PolicyOutboxEvent> page;
+        List<PolicyChangeEventDTO> batch;
+        do {
+            page = policyOutboxRepository.findByIdGreaterThanOrderByIdAsc(relayCursor.getPosition(),
+                    PageRequest.of(0, outboxProperties.getBatchSize()));
+            batch = relayCursor.advance(page, PolicyOutboxEvent::getId).stream()
+                    .map(PolicyChangeStreamServiceImpl::toDTO)
+                    .collect(Collectors.toList());
+            if (batch.isEmpty()) {
+                break;
+            }
+            relayedUpTo = relayCursor.getPosition();
+            for (Subscriber subscriber : subscribers) {
+                if (!subscriber.live) {
+                    continue;
+                }
+                for (PolicyChangeEventDTO event : batch) {
+                    if (!subscriber.buffer.offer(event)) {
+                        log.warn("Change stream subscriber fell more than {} events behind, disconnecting",
+                                outboxProperties.getSubscriberBufferSize());
+                        close(subscriber);
+                        break;
+                    }
+                }
+                schedule(subscriber);
+            }
+        } while (batch.size() == outboxProperties.getBatchSize());
+
+        if (System.nanoTime() - lastSendNanos > Duration.ofMillis(outboxProperties.getHeartbeatIntervalMs()).toNanos()) {
+            heartbeat();
+        }
+    }
+
+    /**
+     * Every shard keeps its own outbox, written in the same transaction as its policies, and each is purged.
+     */
+    @Scheduled(fixedDelayString = "PT1H")
+    public void purge() {
+        Instant cutoff = Instant.now().minus(Duration.ofHours(outboxProperties.getRetentionHours()));
+        shardRouter.forEachShard(shard -> {
+            int purged = policyOutboxRepository.deleteCreatedBefore(cutoff);
+            if (purged > 0) {
+                log.info("Purged {} relayed outbox events on shard {}", purged, shard);
+            }
+        });
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.scheduled.compareAndSet(false, true)) {
+            senders.execute(() -> pump(subscriber));
+        }
+    }
+
+    /**
+     * Sends everything a subscriber is owed. Only one pump runs per subscriber at a time, so writes to its
+     * emitter are never interleaved; the cursor check drops events already sent during catch-up.
+     */
+    private void pump(Subscriber subscriber) {
+        try {
+            if (!subscriber.live) {
+                catchUp(subscriber);
+                subscriber.live = true;
+                // Events relayed between the last catch-up read and going live were not buffered
+                catchUp(subscriber);
+            }
+            List<PolicyChangeEventDTO> pending = new ArrayList<>();
+            while (subscriber.buffer.drainTo(pending, outboxProperties.getBatchSize()) > 0) {
+                send(subscriber, pending.stream().filter(event -> event.getId() > subscriber.cursor).collect(Collectors.toList()));
+                pending.clear();
+            }
+        } catch (IOException | IllegalStateException e) {
+            close(subscriber);
+        } finally {
+            subscriber.scheduled.set(false);
+            if (!subscriber.buffer.isEmpty() && subscribers.contains(subscriber)) {
+                schedule(subscriber);
+            }
+        }
+    }
+
+    private void catchUp(Subscriber subscriber) throws IOException {
+        List<PolicyChangeEventDTO> page;
+        do {
+            page = readRelayed(subscriber.cursor);
+            send(subscriber, page);
+        } while (page.size() == outboxProperties.getBatchSize());
+    }
+
+    private void send(Subscriber subscriber, List<PolicyChangeEventDTO> events) throws IOException {
+        if (events.isEmpty()) {
+            return;
+        }
+        // All events of a batch go out in a single write and flush
+        Set<ResponseBodyEmitter.DataWithMediaType> data = new LinkedHashSet<>();
+        for (PolicyChangeEventDTO event : events) {
+            data.addAll(SseEmitter.event()
+                    .id(event.getId().toString())
+                    .name(event.getType())
+                    .data(event, MediaType.APPLICATION_JSON)
+                    .build());
+        }
+        subscriber.emitter.send(data);
+        subscriber.cursor = events.get(events.size() - 1).getId();
+        lastSendNanos = System.nanoTime();
+    }
+
+    private void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.live && !subscriber.scheduled.get()) {
+                try {
+                    subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                } catch (IOException | IllegalStateException e) {
+                    close(subscriber);
+                }
+            }
+        }
+        lastSendNanos = System.nanoTime();
+    }
+
+    private void close(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+        subscriber.emitter.complete();
+    }
+
+    private List<PolicyChangeEventDTO> readRelayed(long cursor) {
+        return policyOutboxRepository.findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(cursor, relayedUpTo,
+                        PageRequest.of(0, outboxProperties.getBatchSize()))
+                .stream()
+                .map(PolicyChangeStreamServiceImpl::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    private String toJson(AutoPolicyDTO policy) {
+        try {
+            return objectMapper.writeValueAsString(policy);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize policy " + policy.getId() + " for the outbox", e);
+        }
+    }
+
+    private static PolicyChangeEventDTO toDTO(PolicyOutboxEvent event) {
+        PolicyChangeEventDTO dto = new PolicyChangeEventDTO();
+        dto.setId(event.getId());
+        dto.setType(event.getEventType());
+        dto.setPolicyId(event.getPolicyId());
+        dto.setPolicyNumber(event.getPolicyNumber());
+        dto.setOccurredAt(event.getCreatedAt());
+        dto.setPolicy(event.getPayload());
+        return dto;
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<PolicyChangeEventDTO> buffer;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile long cursor;
+        private volatile boolean live;
+
+        private Subscriber(SseEmitter emitter, long cursor, int bufferSize) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.insurance.policy.insutech.service.impl;
+
+import com.insurance.policy.insutech.config.DocumentProperties;
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.service.PolicyDocumentService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.apache.fontbox.ttf.TTFParser;
+import org.apache.fontbox.ttf.TrueTypeFont;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType0Font;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+@Service
+@RequiredArgsConstructor
+public class PolicyDocumentServiceImpl implements PolicyDocumentService {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MMM d, yyyy");
+    private static final float MARGIN = 56;
+    private static final float LABEL_X = MARGIN;
+    private static final float VALUE_X = MARGIN + 150;
+    private static final float ROW_HEIGHT = 22;
+
+    // Static layout of the declaration page, built once and shared by every render
+    private static final List<TemplateRow> DECLARATION_ROWS = List.of(
+            new TemplateRow("Policy Number", AutoPolicyDTO::getPolicyNumber),
+            new TemplateRow("Status", policy -> policy.getStatus() != null ? policy.getStatus().name() : null),
+            new TemplateRow("Coverage", policy -> policy.getPolicyType() != null ? policy.getPolicyType().getCode() : null),
+            new TemplateRow("Policy Period", policy -> date(policy.getStartDate()) + "  to  " + date(policy.getEndDate())),
+            new TemplateRow("Named Insured", policy -> join(policy.getFirstName(), policy.getLastName())),
+            new TemplateRow("Vehicle", policy -> join(policy.getVehicleYear(), policy.getVehicleMake(), policy.getVehicleModel())),
+            new TemplateRow("Premium", policy -> money(policy.getPremiumAmount())));
+
+    private final DocumentProperties documentProperties;
+
+    private byte[] fontBytes;
+    private ThreadLocal<TrueTypeFont> parsedFont;
+    private ThreadPoolExecutor renderPool;
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (documentProperties.getFontPath() != null && !documentProperties.getFontPath().isBlank()) {
+            // Read once; each worker parses it once and keeps the parsed tables for every document it renders
+            fontBytes = Files.readAllBytes(Path.of(documentProperties.getFontPath()));
+            parsedFont = ThreadLocal.withInitial(this::parseFont);
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        renderPool = new ThreadPoolExecutor(documentProperties.getWorkerThreads(), documentProperties.getWorkerThreads(),
+                0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(documentProperties.getWorkerThreads() * documentProperties.getMaxInFlight()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "policy-document-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                // A saturated pool pushes back on the submitting batch instead of queueing without bound
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    public void stop() {
+        renderPool.shutdownNow();
+    }
+
+    @Override
+    public byte[] renderDeclaration(AutoPolicyDTO policy) {
+        try (PDDocument document = new PDDocument()) {
+            PDFont regular;
+            PDFont bold;
+            if (parsedFont != null) {
+                regular = PDType0Font.load(document, parsedFont.get(), true);
+                bold = regular;
+            } else {
+                regular = PDType1Font.HELVETICA;
+                bold = PDType1Font.HELVETICA_BOLD;
+            }
+
+            PDPage page = new PDPage(PDRectangle.LETTER);
+            document.addPage(page);
+            float top = page.getMediaBox().getHeight() - MARGIN;
+
+            try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                text(content, bold, 18, LABEL_X, top, documentProperties.getCompanyName());
+                text(content, regular, 13, LABEL_X, top - 24, "Auto Policy Declarations");
+
+                content.moveTo(LABEL_X, top - 36);
+                content.lineTo(page.getMediaBox().getWidth() - MARGIN, top - 36);
+                content.stroke();
+
+                float y = top - 70;
+                for (TemplateRow row : DECLARATION_ROWS) {
+                    text(content, bold, 11, LABEL_X, y, row.label());
+                    text(content, regular, 11, VALUE_X, y, row.value().apply(policy));
+                    y -= ROW_HEIGHT;
+                }
+
+                text(content, regular, 8, LABEL_X, MARGIN,
+                        "Issued " + LocalDate.now().format(DATE_FORMAT) + ". This declaration summarizes your coverage; "
+                                + "the policy contract governs.");
+            }
+
+            ByteArrayOutputStream output = new ByteArrayOutputStream(8 * 1024);
+            document.save(output);
+            return output.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to render declaration for policy " + policy.getPolicyNumber(), e);
+        }
+    }
+
+    /**
+     * Strategy: bounded render-ahead window feeding a single ZIP writer
+     * - Documents render in parallel on the shared pool, at most maxInFlight ahead of the writer
+     * - Entries are written in input order as soon as they are ready, so memory stays flat and the
+     *   client starts receiving bytes immediately
+     * - A failed write (e.g. client disconnect) cancels everything still pending
+     */
+    @Override
+    public int renderDeclarations(Iterable<AutoPolicyDTO> policies, OutputStream zipOutput) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(zipOutput);
+        // PDF content streams are already compressed; spend as little CPU as possible on them again
+        zip.setLevel(Deflater.BEST_SPEED);
+        Deque<Future<RenderedDocument>> window = new ArrayDeque<>();
+        int written = 0;
+        try {
+            for (AutoPolicyDTO policy : policies) {
+                window.add(renderPool.submit(() -> new RenderedDocument(fileName(policy), renderDeclaration(policy))));
+                if (window.size() >= documentProperties.getMaxInFlight()) {
+                    writeEntry(zip, window.poll());
+                    written++;
+                }
+            }
+            while (!window.isEmpty()) {
+                writeEntry(zip, window.poll());
+                written++;
+            }
+            zip.finish();
+            zip.flush();
+            return written;
+        } finally {
+            window.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private static void writeEntry(ZipOutputStream zip, Future<RenderedDocument> future) throws IOException {
+        RenderedDocument document;
+        try {
+            document = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while rendering policy documents", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to render a policy document", e.getCause());
+        }
+        zip.putNextEntry(new ZipEntry(document.fileName()));
+        zip.write(document.content());
+        zip.closeEntry();
+    }
+
+    private TrueTypeFont parseFont() {
+        try {
+            return new TTFParser().parse(new ByteArrayInputStream(fontBytes));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to parse font " + documentProperties.getFontPath(), e);
+        }
+    }
+
+    private void text(PDPageContentStream content, PDFont font, float size, float x, float y, String value) throws IOException {
+        if (value == null || value.isBlank()) {
+            return;
+        }
+        content.beginText();
+        content.setFont(font, size);
+        content.newLineAtOffset(x, y);
+        content.showText(parsedFont != null ? value : winAnsi(value));
+        content.endText();
+    }
+
+    /**
+     * The standard 14 fonts only cover WinAnsi; anything else would make PDFBox throw mid-document. That includes
+     * DEL and the C1 controls U+0080-U+009F, whose byte values WinAnsi gives to other characters.
+     */
+    private static String winAnsi(String value) {
+        StringBuilder safe = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            safe.append(c < 0x20 ? ' ' : c >= 0x7F && c <= 0x9F || c > 0xFF ? '?' : c);
+        }
+        return safe.toString();
+    }
+
+    static String fileName(AutoPolicyDTO policy) {
+        String name = policy.getPolicyNumber() != null ? policy.getPolicyNumber() : "policy-" + policy.getId();
+        return name.replaceAll("[^A-Za-z0-9._-]", "_") + ".pdf";
+    }
+
+    private static String date(LocalDate date) {
+        return date != null ? date.format(DATE_FORMAT) : "-";
+    }
+
+    private static String money(BigDecimal amount) {
+        return amount != null ? "$" + amount.setScale(2, RoundingMode.HALF_UP).toPlainString() : null;
+    }
+
+    private static String join(String... parts) {
+        StringBuilder joined = new StringBuilder();
+        for (String part : parts) {
+            if (part != null && !part.isBlank()) {
+                if (!joined.isEmpty()) {
+                    joined.append(' ');
+                }
+                joined.append(part);
+            }
+        }
+        return joined.toString();
+    }
+
+    private record TemplateRow(String label, Function<AutoPolicyDTO, String> value) {
+    }
+
+    private record RenderedDocument(String fileName, byte[] content) {
+    }
+}
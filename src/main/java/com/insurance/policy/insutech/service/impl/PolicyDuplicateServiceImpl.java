@@ -0,0 +1,581 @@
+package com.insurance.policy.insutech.service.impl;
+
+import com.insurance.policy.insutech.config.DuplicateProperties;
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.dto.DuplicateClusterDTO;
+import com.insurance.policy.insutech.dto.DuplicateMatchDTO;
+import com.insurance.policy.insutech.dto.DuplicateRunDTO;
+import com.insurance.policy.insutech.duplicate.BlockIndex;
+import com.insurance.policy.insutech.duplicate.DuplicateKind;
+import com.insurance.policy.insutech.event.PolicyChangedEvent;
+import com.insurance.policy.insutech.model.DuplicateRun;
+import com.insurance.policy.insutech.model.PolicyDuplicate;
+import com.insurance.policy.insutech.repository.DuplicateRunRepository;
+import com.insurance.policy.insutech.repository.PolicyDuplicateRepository;
+import com.insurance.policy.insutech.scan.PolicyScanner;
+import com.insurance.policy.insutech.scan.ScannedIndex;
+import com.insurance.policy.insutech.service.PolicyDuplicateService;
+import com.insurance.policy.insutech.sharding.ShardRouter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PolicyDuplicateServiceImpl implements PolicyDuplicateService, ScannedIndex {
+
+    private static final String SELECT_POLICIES =
+            "select id, policy_number, first_name, last_name, vehicle_make, vehicle_model, vehicle_year "
+                    + "from auto_policies where id in (";
+    private static final String INSERT_DUPLICATE =
+            "insert into policy_duplicates (run_id, kind, cluster_id, policy_id, policy_number, similarity) "
+                    + "values (?, ?, ?, ?, ?, ?)";
+
+    private static final RowMapper<AutoPolicyDTO> POLICY_MAPPER = (rs, rowNum) -> {
+        AutoPolicyDTO policy = new AutoPolicyDTO();
+        policy.setId(rs.getLong("id"));
+        policy.setPolicyNumber(rs.getString("policy_number"));
+        policy.setFirstName(rs.getString("first_name"));
+        policy.setLastName(rs.getString("last_name"));
+        policy.setVehicleMake(rs.getString("vehicle_make"));
+        policy.setVehicleModel(rs.getString("vehicle_model"));
+        policy.setVehicleYear(rs.getString("vehicle_year"));
+        return policy;
+    };
+
+    private final DuplicateProperties duplicateProperties;
+    private final DuplicateRunRepository duplicateRunRepository;
+    private final PolicyDuplicateRepository policyDuplicateRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final ShardRouter shardRouter;
+    private final PolicyScanner policyScanner;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile Map<DuplicateKind, BlockIndex> current;
+    // Guarded by this
+    private Map<DuplicateKind, BlockIndex> building;
+    private ExecutorService workers;
+    private ThreadPoolTaskExecutor checkers;
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(duplicateProperties.getWorkerThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "policy-duplicate-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        checkers = new ThreadPoolTaskExecutor();
+        checkers.setCorePoolSize(duplicateProperties.getCheckThreads());
+        checkers.setMaxPoolSize(duplicateProperties.getCheckThreads());
+        checkers.setThreadNamePrefix("policy-duplicate-check-");
+        checkers.setQueueCapacity(duplicateProperties.getCheckQueueCapacity());
+        // A full queue means checks are already running late; the new one is refused rather than queued
+        checkers.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        checkers.setDaemon(true);
+        checkers.initialize();
+    }
+
+    @PreDestroy
+    public void stop() {
+        workers.shutdownNow();
+        checkers.shutdown();
+    }
+
+    @Scheduled(cron = "${insutech.duplicates.cron:0 0 5 * * *}")
+    public void scheduledDetection() {
+        if (duplicateProperties.isEnabled()) {
+            detectDuplicates();
+        }
+    }
+
+    /**
+     * Strategy: compare only within blocks, in parallel chunks, and swap the result in when complete
+     * - The block index is rebuilt first; a policy changed since its block was read is dropped once loaded
+     * - Whole blocks are packed into chunks; workers load a chunk's policies by ID and score it, at most
+     *   maxChunksInFlight ahead of the writer, which inserts each chunk's clusters as one JDBC batch
+     * - Within a block sorted by name, each policy meets the next comparisonWindow ones; matches are joined
+     *   transitively, and a policy is in one block per kind, so clusters never need merging across chunks
+     * - Queries read the latest completed run; its predecessor's rows are deleted once it completes
+     */
+    @Override
+    public DuplicateRunDTO detectDuplicates() {
+        if (!duplicateProperties.isEnabled()) {
+            throw new IllegalStateException("Duplicate detection is disabled");
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A duplicate detection run is already in progress");
+        }
+        try {
+            rebuild();
+            Map<DuplicateKind, BlockIndex> indexes = current;
+            if (indexes == null) {
+                throw new IllegalStateException("The duplicate blocking index is not available");
+            }
+            DuplicateRun run = new DuplicateRun();
+            run.setStatus(DuplicateRun.Status.RUNNING);
+            run.setStartedAt(LocalDateTime.now());
+            run = duplicateRunRepository.save(run);
+            log.info("Duplicate detection run {} starting", run.getId());
+            try {
+                process(run, indexes);
+                run.setStatus(DuplicateRun.Status.COMPLETED);
+                run.setCompletedAt(LocalDateTime.now());
+            } catch (RuntimeException e) {
+                run.setStatus(DuplicateRun.Status.FAILED);
+                throw e;
+            } finally {
+                run = duplicateRunRepository.save(run);
+            }
+            int deleted = policyDuplicateRepository.deleteRunsBefore(run.getId());
+            log.info("Duplicate detection run {} completed: {} clusters of {} policies from {} comparisons in {} blocks; "
+                            + "{} rows of earlier runs deleted", run.getId(), run.getClusterCount(), run.getMemberCount(),
+                    run.getComparisonCount(), run.getBlockCount(), deleted);
+            return toDTO(run);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @Override
+    public List<DuplicateRunDTO> getRecentRuns() {
+        return duplicateRunRepository.findTop20ByOrderByIdDesc().stream()
+                .map(PolicyDuplicateServiceImpl::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<DuplicateClusterDTO> getClusters(DuplicateKind kind, int page, int size) {
+        if (page < 0 || size < 1 || size > duplicateProperties.getMaxClustersPerPage()) {
+            throw new IllegalArgumentException("Page must be at least 0 and size between 1 and "
+                    + duplicateProperties.getMaxClustersPerPage());
+        }
+        return latestRunId().map(runId -> {
+            List<Long> clusterIds = policyDuplicateRepository.findClusterIds(runId, kind, PageRequest.of(page, size));
+            return clusterIds.isEmpty() ? List.<DuplicateClusterDTO>of() : toClusters(policyDuplicateRepository
+                    .findByRunIdAndKindAndClusterIdInOrderByClusterIdAscPolicyIdAsc(runId, kind, clusterIds));
+        }).orElse(List.of());
+    }
+
+    @Override
+    public List<DuplicateClusterDTO> getClustersOfPolicy(Long policyId) {
+        return latestRunId().map(runId -> policyDuplicateRepository.findByRunIdAndPolicyId(runId, policyId).stream()
+                .flatMap(membership -> toClusters(policyDuplicateRepository
+                        .findByRunIdAndKindAndClusterIdInOrderByClusterIdAscPolicyIdAsc(runId, membership.getKind(),
+                                List.of(membership.getClusterId()))).stream())
+                .toList()).orElse(List.of());
+    }
+
+    /**
+     * Strategy: look only into the new policy's own blocks, on a budget
+     * - The block index answers which policies could match from memory; one query by ID per shard loads the
+     *   most recent maxCandidates of them for scoring
+     * - Runs on its own small pool and is abandoned when checkTimeoutMs runs out; a check that fails or runs over
+     *   reports nothing rather than holding up or failing the creation
+     */
+    @Override
+    public List<DuplicateMatchDTO> findPossibleDuplicates(AutoPolicyDTO policy) {
+        Map<DuplicateKind, BlockIndex> indexes = current;
+        if (!duplicateProperties.isEnabled() || indexes == null) {
+            return List.of();
+        }
+        Future<List<DuplicateMatchDTO>> check;
+        try {
+            check = checkers.submit(() -> match(indexes, policy));
+        } catch (RejectedExecutionException e) {
+            log.debug("Duplicate check of policy {} refused, {} checks already queued", policy.getId(),
+                    duplicateProperties.getCheckQueueCapacity());
+            return List.of();
+        }
+        try {
+            return check.get(duplicateProperties.getCheckTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            check.cancel(true);
+            log.debug("Duplicate check of policy {} ran over its {} ms budget", policy.getId(),
+                    duplicateProperties.getCheckTimeoutMs());
+        } catch (InterruptedException e) {
+            check.cancel(true);
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.warn("Duplicate check of policy {} failed", policy.getId(), e.getCause());
+        }
+        return List.of();
+    }
+
+    /**
+     * Strategy: keep the block index in step with every committed write
+     * - A policy leaves the blocks of its old values and joins those of its new ones
+     * - During a rebuild, writes reach the index being built too; the scan may still add a row's older state,
+     *   which only costs a candidate that is dropped when its loaded values no longer match the block
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onPolicyChanged(PolicyChangedEvent event) {
+        apply(current, event);
+        apply(building, event);
+    }
+
+    @Override
+    public void rebuild() {
+        policyScanner.rebuild(List.of(this));
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return duplicateProperties.isEnabled();
+    }
+
+    /**
+     * The blocks are built from the shared scan beside the live ones, then swapped in.
+     */
+    @Override
+    public Build startBuild() {
+        Map<DuplicateKind, BlockIndex> next = emptyIndexes();
+        synchronized (this) {
+            building = next;
+        }
+        long started = System.nanoTime();
+        return new Build() {
+            @Override
+            public void scanned(AutoPolicyDTO row) {
+                synchronized (PolicyDuplicateServiceImpl.this) {
+                    index(next, row);
+                }
+            }
+
+            @Override
+            public void finish() {
+                synchronized (PolicyDuplicateServiceImpl.this) {
+                    current = next;
+                    building = null;
+                }
+                log.info("Rebuilt duplicate blocking index in {} ms: {}", (System.nanoTime() - started) / 1_000_000,
+                        next.entrySet().stream()
+                                .map(entry -> entry.getKey().getParameter() + "=" + entry.getValue().size() + " blocks")
+                                .toList());
+            }
+
+            @Override
+            public void abandon() {
+                synchronized (PolicyDuplicateServiceImpl.this) {
+                    building = null;
+                }
+            }
+        };
+    }
+
+    @Override
+    public boolean isReady() {
+        return current != null;
+    }
+
+    private void process(DuplicateRun run, Map<DuplicateKind, BlockIndex> indexes) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Deque<Future<Chunk>> window = new ArrayDeque<>();
+        try {
+            for (DuplicateKind kind : DuplicateKind.values()) {
+                List<BlockIndex.Block> blocks = new ArrayList<>();
+                int policies = 0;
+                for (BlockIndex.Block block : indexes.get(kind).blocks(2)) {
+                    if (policies > 0 && policies + block.members().length > duplicateProperties.getChunkSize()) {
+                        submit(window, kind, blocks, transactionTemplate, run);
+                        blocks = new ArrayList<>();
+                        policies = 0;
+                    }
+                    blocks.add(block);
+                    policies += block.members().length;
+                }
+                if (!blocks.isEmpty()) {
+                    submit(window, kind, blocks, transactionTemplate, run);
+                }
+            }
+            while (!window.isEmpty()) {
+                write(transactionTemplate, run, await(window.poll()));
+            }
+        } finally {
+            window.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private void submit(Deque<Future<Chunk>> window, DuplicateKind kind, List<BlockIndex.Block> blocks,
+                        TransactionTemplate transactionTemplate, DuplicateRun run) {
+        window.add(workers.submit(() -> score(run.getId(), kind, blocks)));
+        if (window.size() >= duplicateProperties.getMaxChunksInFlight()) {
+            write(transactionTemplate, run, await(window.poll()));
+        }
+    }
+
+    private Chunk score(long runId, DuplicateKind kind, List<BlockIndex.Block> blocks) {
+        List<Long> ids = new ArrayList<>();
+        for (BlockIndex.Block block : blocks) {
+            for (long id : block.members()) {
+                ids.add(id);
+            }
+        }
+        Map<Long, AutoPolicyDTO> policies = load(ids);
+        double threshold = thresholdOf(kind);
+        int window = duplicateProperties.getComparisonWindow();
+        long comparisons = 0;
+        long clusters = 0;
+        List<Object[]> rows = new ArrayList<>();
+        for (BlockIndex.Block block : blocks) {
+            List<DuplicateKind.Profile> profiles = new ArrayList<>(block.members().length);
+            for (long id : block.members()) {
+                AutoPolicyDTO policy = policies.get(id);
+                DuplicateKind.Profile profile = policy != null ? kind.profile(policy) : null;
+                if (profile != null && profile.blockKey().equals(block.key())) {
+                    profiles.add(profile);
+                }
+            }
+            if (profiles.size() < 2) {
+                continue;
+            }
+            profiles.sort(Comparator.comparing(DuplicateKind.Profile::sortKey));
+
+            int[] parent = new int[profiles.size()];
+            double[] best = new double[profiles.size()];
+            for (int i = 0; i < parent.length; i++) {
+                parent[i] = i;
+            }
+            for (int i = 0; i < profiles.size(); i++) {
+                for (int j = i + 1; j < profiles.size() && j <= i + window; j++) {
+                    comparisons++;
+                    double similarity = kind.similarity(profiles.get(i), profiles.get(j));
+                    if (similarity >= threshold) {
+                        parent[root(parent, i)] = root(parent, j);
+                        best[i] = Math.max(best[i], similarity);
+                        best[j] = Math.max(best[j], similarity);
+                    }
+                }
+            }
+
+            Map<Integer, List<Integer>> members = new HashMap<>();
+            for (int i = 0; i < parent.length; i++) {
+                members.computeIfAbsent(root(parent, i), ignored -> new ArrayList<>()).add(i);
+            }
+            for (List<Integer> cluster : members.values()) {
+                if (cluster.size() < 2) {
+                    continue;
+                }
+                clusters++;
+                long clusterId = cluster.stream().mapToLong(i -> profiles.get(i).policyId()).min().orElseThrow();
+                for (int i : cluster) {
+                    DuplicateKind.Profile profile = profiles.get(i);
+                    rows.add(new Object[]{runId, kind.name(), clusterId, profile.policyId(), profile.policyNumber(), best[i]});
+                }
+            }
+        }
+        return new Chunk(blocks.size(), comparisons, clusters, rows);
+    }
+
+    private void write(TransactionTemplate transactionTemplate, DuplicateRun run, Chunk chunk) {
+        if (!chunk.rows().isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_DUPLICATE, chunk.rows()));
+        }
+        run.setBlockCount(run.getBlockCount() + chunk.blocks());
+        run.setComparisonCount(run.getComparisonCount() + chunk.comparisons());
+        run.setClusterCount(run.getClusterCount() + chunk.clusters());
+        run.setMemberCount(run.getMemberCount() + chunk.rows().size());
+    }
+
+    private List<DuplicateMatchDTO> match(Map<DuplicateKind, BlockIndex> indexes, AutoPolicyDTO policy) {
+        long self = policy.getId() != null ? policy.getId() : -1;
+        Map<DuplicateKind, DuplicateKind.Profile> profiles = new EnumMap<>(DuplicateKind.class);
+        Set<Long> candidates = new LinkedHashSet<>();
+        for (DuplicateKind kind : DuplicateKind.values()) {
+            DuplicateKind.Profile profile = kind.profile(policy);
+            if (profile == null) {
+                continue;
+            }
+            profiles.put(kind, profile);
+            long[] members = indexes.get(kind).members(profile.blockKey());
+            int taken = 0;
+            for (int i = members.length - 1; i >= 0 && taken < duplicateProperties.getMaxCandidates(); i--) {
+                if (members[i] != self) {
+                    candidates.add(members[i]);
+                    taken++;
+                }
+            }
+        }
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, AutoPolicyDTO> loaded = load(candidates);
+        List<DuplicateMatchDTO> matches = new ArrayList<>();
+        profiles.forEach((kind, profile) -> {
+            double threshold = thresholdOf(kind);
+            for (AutoPolicyDTO candidate : loaded.values()) {
+                DuplicateKind.Profile other = kind.profile(candidate);
+                if (other == null || !other.blockKey().equals(profile.blockKey())) {
+                    continue;
+                }
+                double similarity = kind.similarity(profile, other);
+                if (similarity >= threshold) {
+                    matches.add(new DuplicateMatchDTO(kind.getParameter(), other.policyId(), other.policyNumber(), similarity));
+                }
+            }
+        });
+        matches.sort(Comparator.comparingDouble(DuplicateMatchDTO::getSimilarity).reversed());
+        return matches.size() > duplicateProperties.getMaxMatches()
+                ? matches.subList(0, duplicateProperties.getMaxMatches())
+                : matches;
+    }
+
+    /**
+     * The policies by ID, loaded from their own shards in batches; IDs no longer found are left out.
+     */
+    private Map<Long, AutoPolicyDTO> load(Collection<Long> ids) {
+        Map<Integer, List<Long>> byShard = ids.stream().collect(Collectors.groupingBy(ShardRouter::shardOf));
+        Map<Long, AutoPolicyDTO> policies = new HashMap<>();
+        int batchSize = duplicateProperties.getLoadBatchSize();
+        byShard.forEach((shard, shardIds) -> {
+            if (!shardRouter.isKnownShard(shard)) {
+                return;
+            }
+            shardRouter.onShard(shard, () -> {
+                for (int from = 0; from < shardIds.size(); from += batchSize) {
+                    List<Long> batch = shardIds.subList(from, Math.min(from + batchSize, shardIds.size()));
+                    String placeholders = String.join(", ", Collections.nCopies(batch.size(), "?"));
+                    jdbcTemplate.query(SELECT_POLICIES + placeholders + ")", POLICY_MAPPER, batch.toArray())
+                            .forEach(policy -> policies.put(policy.getId(), policy));
+                }
+                return null;
+            });
+        });
+        return policies;
+    }
+
+    private double thresholdOf(DuplicateKind kind) {
+        return kind == DuplicateKind.CUSTOMER
+                ? duplicateProperties.getCustomerThreshold()
+                : duplicateProperties.getVehicleThreshold();
+    }
+
+    private Optional<Long> latestRunId() {
+        return duplicateRunRepository.findFirstByStatusOrderByIdDesc(DuplicateRun.Status.COMPLETED).map(DuplicateRun::getId);
+    }
+
+    private static Map<DuplicateKind, BlockIndex> emptyIndexes() {
+        Map<DuplicateKind, BlockIndex> indexes = new EnumMap<>(DuplicateKind.class);
+        for (DuplicateKind kind : DuplicateKind.values()) {
+            indexes.put(kind, new BlockIndex());
+        }
+        return indexes;
+    }
+
+    private static void index(Map<DuplicateKind, BlockIndex> indexes, AutoPolicyDTO policy) {
+        for (DuplicateKind kind : DuplicateKind.values()) {
+            String key = kind.blockKey(policy);
+            if (key != null) {
+                indexes.get(kind).add(key, policy.getId());
+            }
+        }
+    }
+
+    private static void apply(Map<DuplicateKind, BlockIndex> indexes, PolicyChangedEvent event) {
+        if (indexes == null) {
+            return;
+        }
+        for (DuplicateKind kind : DuplicateKind.values()) {
+            String removed = event.before() != null ? kind.blockKey(event.before()) : null;
+            String added = event.after() != null ? kind.blockKey(event.after()) : null;
+            if (removed != null && removed.equals(added)) {
+                continue;
+            }
+            if (removed != null) {
+                indexes.get(kind).remove(removed, event.policyId());
+            }
+            if (added != null) {
+                indexes.get(kind).add(added, event.policyId());
+            }
+        }
+    }
+
+    private static int root(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    private static Chunk await(Future<Chunk> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException("Interrupted while detecting duplicates", e);
+        } catch (ExecutionException e) {
+            throw new CompletionException("Failed to score a duplicate detection chunk", e.getCause());
+        }
+    }
+
+    private static List<DuplicateClusterDTO> toClusters(List<PolicyDuplicate> rows) {
+        List<DuplicateClusterDTO> clusters = new ArrayList<>();
+        DuplicateClusterDTO cluster = null;
+        for (PolicyDuplicate row : rows) {
+            if (cluster == null || !cluster.getClusterId().equals(row.getClusterId())) {
+                cluster = new DuplicateClusterDTO(row.getKind().getParameter(), row.getClusterId(), new ArrayList<>());
+                clusters.add(cluster);
+            }
+            cluster.getMembers().add(new DuplicateMatchDTO(row.getKind().getParameter(), row.getPolicyId(),
+                    row.getPolicyNumber(), row.getSimilarity()));
+        }
+        return clusters;
+    }
+
+    private static DuplicateRunDTO toDTO(DuplicateRun run) {
+        DuplicateRunDTO dto = new DuplicateRunDTO();
+        dto.setId(run.getId());
+        dto.setStatus(run.getStatus().name());
+        dto.setBlockCount(run.getBlockCount());
+        dto.setComparisonCount(run.getComparisonCount());
+        dto.setClusterCount(run.getClusterCount());
+        dto.setMemberCount(run.getMemberCount());
+        dto.setStartedAt(run.getStartedAt());
+        dto.setCompletedAt(run.getCompletedAt());
+        return dto;
+    }
+
+    private record Chunk(int blocks, long comparisons, long clusters, List<Object[]> rows) {
+    }
+}
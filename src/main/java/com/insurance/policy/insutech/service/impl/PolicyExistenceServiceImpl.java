@@ -0,0 +1,344 @@
+package com.insurance.policy.insutech.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.insurance.policy.insutech.cache.BloomFilter;
+import com.insurance.policy.insutech.cache.CacheTelemetryRegistry;
+import com.insurance.policy.insutech.config.ExistenceFilterProperties;
+import com.insurance.policy.insutech.config.OutboxProperties;
+import com.insurance.policy.insutech.config.ScanProperties;
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.event.OutboxCursor;
+import com.insurance.policy.insutech.event.PolicyChangedEvent;
+import com.insurance.policy.insutech.model.PolicyOutboxEvent;
+import com.insurance.policy.insutech.repository.PolicyOutboxRepository;
+import com.insurance.policy.insutech.scan.PolicyScanner;
+import com.insurance.policy.insutech.scan.ScannedIndex;
+import com.insurance.policy.insutech.service.PolicyExistenceService;
+import com.insurance.policy.insutech.sharding.ShardRouter;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PolicyExistenceServiceImpl implements PolicyExistenceService, ScannedIndex {
+
+    private static final String NEGATIVE_CACHE = "policyMisses";
+    private static final String[] TABLES = {"auto_policies", "auto_policies_archive"};
+    // The live table comes from the shared scan; the archive is read here, after it
+    private static final String SELECT_ARCHIVED = "select id, policy_number from auto_policies_archive";
+
+    private final ExistenceFilterProperties existenceFilterProperties;
+    private final OutboxProperties outboxProperties;
+    private final ScanProperties scanProperties;
+    private final PolicyOutboxRepository policyOutboxRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final CacheTelemetryRegistry cacheTelemetryRegistry;
+    private final ShardRouter shardRouter;
+    private final PolicyScanner policyScanner;
+
+    private volatile Filters current;
+    private volatile Filters building;
+    private OutboxCursor[] outboxCursors;
+    private RecentKeys recentIds;
+    private RecentKeys recentNumbers;
+    private Cache<Object, Boolean> misses;
+
+    @PostConstruct
+    public void start() {
+        recentIds = new RecentKeys(existenceFilterProperties.getRecentWrites());
+        recentNumbers = new RecentKeys(existenceFilterProperties.getRecentWrites());
+        misses = cacheTelemetryRegistry.build(NEGATIVE_CACHE, Caffeine.newBuilder()
+                .expireAfterWrite(existenceFilterProperties.getNegativeCacheTtl())
+                .maximumSize(existenceFilterProperties.getNegativeCacheSize()));
+        // Other shards get their schema after startup; their cursors start on the first poll
+        outboxCursors = new OutboxCursor[shardRouter.shardCount()];
+        outboxCursors[0] = new OutboxCursor(policyOutboxRepository.findMaxId(), outboxProperties.getGapTimeoutMs());
+    }
+
+    /**
+     * Strategy: answer definite misses from memory
+     * - A Bloom filter over every live and archived ID and number; a negative answer is certain, so the lookup
+     *   returns 404 without a query
+     * - IDs above the highest one the last rebuild saw on their shard are always possible; identity IDs only grow,
+     *   so rows inserted without an event, such as renewals, are never reported missing by ID
+     * - Keys the filter cannot rule out but the database did not find are remembered briefly in a negative cache
+     * - Until the first rebuild finishes, everything is possible and lookups behave as before
+     */
+    @Override
+    public boolean mightExist(Long id) {
+        Filters filters = current;
+        if (filters == null || id == null) {
+            return true;
+        }
+        if (misses.getIfPresent(id) != null) {
+            return false;
+        }
+        int shard = ShardRouter.shardOf(id);
+        return shard < filters.maxIds().length && id > filters.maxIds()[shard]
+                || filters.ids().mightContain(BloomFilter.hash(id));
+    }
+
+    @Override
+    public boolean mightExist(String policyNumber) {
+        Filters filters = current;
+        if (filters == null || policyNumber == null) {
+            return true;
+        }
+        if (misses.getIfPresent(policyNumber) != null) {
+            return false;
+        }
+        return filters.numbers().mightContain(BloomFilter.hash(policyNumber));
+    }
+
+    @Override
+    public void recordMissing(Long id) {
+        if (current != null) {
+            misses.put(id, Boolean.TRUE);
+        }
+    }
+
+    @Override
+    public void recordMissing(String policyNumber) {
+        if (current != null) {
+            misses.put(policyNumber, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Ignores the negative cache: a number remembered as missing may have been taken since on another node.
+     */
+    @Override
+    public Set<String> possiblyExisting(Collection<String> policyNumbers) {
+        Filters filters = current;
+        if (filters == null) {
+            return new LinkedHashSet<>(policyNumbers);
+        }
+        Set<String> possible = new LinkedHashSet<>();
+        for (String policyNumber : policyNumbers) {
+            if (filters.numbers().mightContain(BloomFilter.hash(policyNumber))) {
+                possible.add(policyNumber);
+            }
+        }
+        return possible;
+    }
+
+    @Override
+    public void addPolicyNumbers(Collection<String> policyNumbers) {
+        policyNumbers.forEach(this::addNumber);
+    }
+
+    /**
+     * Runs inside the write transaction, before commit, so no reader can see the row while the filter still
+     * denies it. A rollback leaves only a false positive behind.
+     */
+    @EventListener
+    public void onPolicyChanged(PolicyChangedEvent event) {
+        if (event.after() != null) {
+            addId(event.after().getId());
+            addNumber(event.after().getPolicyNumber());
+        }
+    }
+
+    /**
+     * Picks up policies created on other nodes from the outbox, so their numbers stop being denied here within
+     * one relay interval. Each shard has its own outbox, written in the same transactions as its policies; a
+     * shard's cursor waits at gaps in its IDs like the relay's does, so a late-committing batch is not skipped.
+     */
+    @Scheduled(fixedDelayString = "${insutech.outbox.relay-interval-ms:500}")
+    public synchronized void followOutbox() {
+        if (!existenceFilterProperties.isEnabled()) {
+            return;
+        }
+        shardRouter.forEachShard(this::followOutbox);
+    }
+
+    private void followOutbox(int shard) {
+        if (outboxCursors[shard] == null) {
+            outboxCursors[shard] = new OutboxCursor(policyOutboxRepository.findMaxId(), outboxProperties.getGapTimeoutMs());
+        }
+        OutboxCursor cursor = outboxCursors[shard];
+        List<PolicyOutboxEvent> page;
+        List<PolicyOutboxEvent> events;
+        do {
+            page = policyOutboxRepository.findByIdGreaterThanOrderByIdAsc(cursor.getPosition(),
+                    PageRequest.of(0, outboxProperties.getBatchSize()));
+            events = cursor.advance(page, PolicyOutboxEvent::getId);
+            for (PolicyOutboxEvent event : events) {
+                if (!PolicyChangedEvent.ChangeType.DELETED.name().equals(event.getEventType())) {
+                    addId(event.getPolicyId());
+                    addNumber(event.getPolicyNumber());
+                }
+            }
+        } while (events.size() == outboxProperties.getBatchSize());
+    }
+
+    @Scheduled(cron = "${insutech.existence-filter.rebuild-cron:0 0 4 * * *}")
+    public void scheduledRebuild() {
+        requestRebuild();
+    }
+
+    @Override
+    public void requestRebuild() {
+        policyScanner.requestRebuild(List.of(this));
+    }
+
+    @Override
+    public void rebuild() {
+        policyScanner.rebuild(List.of(this));
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return existenceFilterProperties.isEnabled();
+    }
+
+    /**
+     * Strategy: build a fresh filter beside the live one from the shared scan, then swap
+     * - Each shard's ID high-water mark is read before the scan, and IDs above it stay possible
+     * - The archive is read once the live table has been scanned, so a policy archived meanwhile is seen in one of them
+     * - Writes during the scan go to both filters, and the most recent writes are replayed before the swap, so
+     *   a row committed just after the scan started is not lost
+     * - Sized for twice the current rows, so the filter does not saturate before the next scheduled rebuild
+     */
+    @Override
+    public Build startBuild() {
+        long started = System.nanoTime();
+        long[] maxIds = new long[shardRouter.shardCount()];
+        AtomicLong rows = new AtomicLong();
+        shardRouter.forEachShard(shard -> {
+            for (String table : TABLES) {
+                rows.addAndGet(jdbcTemplate.queryForObject("select count(*) from " + table, Long.class));
+                maxIds[shard] = Math.max(maxIds[shard],
+                        jdbcTemplate.queryForObject("select coalesce(max(id), 0) from " + table, Long.class));
+            }
+        });
+        long expected = Math.max(existenceFilterProperties.getExpectedPolicies(), rows.get() * 2);
+        double rate = existenceFilterProperties.getFalsePositiveRate();
+        Filters next = new Filters(new BloomFilter(expected, rate), new BloomFilter(expected, rate), maxIds);
+        building = next;
+        return new Build() {
+            @Override
+            public void scanned(AutoPolicyDTO row) {
+                next.ids().put(BloomFilter.hash(row.getId()));
+                next.numbers().put(BloomFilter.hash(row.getPolicyNumber()));
+            }
+
+            @Override
+            public void finish() {
+                try {
+                    TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+                    transactionTemplate.setReadOnly(true);
+                    shardRouter.forEachShard(shard -> transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                        PreparedStatement statement = connection.prepareStatement(SELECT_ARCHIVED);
+                        statement.setFetchSize(scanProperties.getFetchSize());
+                        return statement;
+                    }, (RowCallbackHandler) resultSet -> {
+                        next.ids().put(BloomFilter.hash(resultSet.getLong(1)));
+                        next.numbers().put(BloomFilter.hash(resultSet.getString(2)));
+                    })));
+                    recentIds.replay(next.ids());
+                    recentNumbers.replay(next.numbers());
+                    current = next;
+                } finally {
+                    building = null;
+                }
+                log.info("Rebuilt policy existence filter over {} policies in {} ms ({} KB)", rows.get(),
+                        (System.nanoTime() - started) / 1_000_000,
+                        (next.ids().getSizeInBytes() + next.numbers().getSizeInBytes()) / 1024);
+            }
+
+            @Override
+            public void abandon() {
+                building = null;
+            }
+        };
+    }
+
+    @Override
+    public boolean isReady() {
+        return current != null;
+    }
+
+    private void addId(Long id) {
+        if (id == null) {
+            return;
+        }
+        long hash = BloomFilter.hash(id);
+        recentIds.add(hash);
+        add(hash, Filters::ids);
+        misses.invalidate(id);
+    }
+
+    private void addNumber(String policyNumber) {
+        if (policyNumber == null) {
+            return;
+        }
+        long hash = BloomFilter.hash(policyNumber);
+        recentNumbers.add(hash);
+        add(hash, Filters::numbers);
+        misses.invalidate(policyNumber);
+    }
+
+    private void add(long hash, Function<Filters, BloomFilter> filter) {
+        Filters live = current;
+        if (live != null) {
+            filter.apply(live).put(hash);
+            if (filter.apply(live).isSaturated()) {
+                requestRebuild();
+            }
+        }
+        Filters next = building;
+        if (next != null) {
+            filter.apply(next).put(hash);
+        }
+    }
+
+    private record Filters(BloomFilter ids, BloomFilter numbers, long[] maxIds) {
+    }
+
+    /**
+     * Ring of the most recently added key hashes; zero marks an empty slot.
+     */
+    private static final class RecentKeys {
+        private final AtomicLongArray hashes;
+        private final AtomicLong next = new AtomicLong();
+
+        private RecentKeys(int capacity) {
+            this.hashes = new AtomicLongArray(capacity);
+        }
+
+        private void add(long hash) {
+            hashes.set((int) (next.getAndIncrement() % hashes.length()), hash);
+        }
+
+        private void replay(BloomFilter filter) {
+            for (int i = 0; i < hashes.length(); i++) {
+                long hash = hashes.get(i);
+                if (hash != 0) {
+                    filter.put(hash);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,332 @@
+package com.insurance.policy.insutech.service.impl;
+
+import com.insurance.policy.insutech.config.ExpiryProperties;
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.dto.PolicyExpiryAlertDTO;
+import com.insurance.policy.insutech.event.PolicyChangedEvent;
+import com.insurance.policy.insutech.expiry.ExpiryIndex;
+import com.insurance.policy.insutech.mapper.AutoPolicyMapper;
+import com.insurance.policy.insutech.model.PolicyStatus;
+import com.insurance.policy.insutech.repository.AutoPolicyRepository;
+import com.insurance.policy.insutech.scan.PolicyScanner;
+import com.insurance.policy.insutech.scan.ScannedIndex;
+import com.insurance.policy.insutech.service.PolicyExpiryService;
+import com.insurance.policy.insutech.sharding.ShardRouter;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PolicyExpiryServiceImpl implements PolicyExpiryService, ScannedIndex {
+
+    private static final Comparator<AutoPolicyDTO> BY_END_DATE =
+            Comparator.comparing(AutoPolicyDTO::getEndDate).thenComparing(AutoPolicyDTO::getId);
+
+    private final ExpiryProperties expiryProperties;
+    private final AutoPolicyRepository autoPolicyRepository;
+    private final ShardRouter shardRouter;
+    private final PolicyScanner policyScanner;
+    private final AutoPolicyMapper autoPolicyMapper = AutoPolicyMapper.INSTANCE;
+
+    private final Set<SseEmitter> subscribers = new CopyOnWriteArraySet<>();
+    private volatile ExpiryIndex current;
+    private volatile ExpiryIndex building;
+    // Latest state written during a rebuild's scan, keyed by ID; empty for policies no longer indexed
+    private volatile Map<Long, Optional<LocalDate>> writtenDuringBuild;
+    // Guarded by this
+    private LocalDate lastDay;
+
+    @PreDestroy
+    public void stop() {
+        subscribers.forEach(SseEmitter::complete);
+    }
+
+    /**
+     * Strategy: answer from the day buckets, touch the database only for the policies returned
+     * - The index yields the window's IDs in end-date order; rows are read by primary key in that order, re-checked
+     *   against the status and window, and reading stops once the limit is met
+     * - Until the first rebuild finishes, the window is read from the database as a range query
+     */
+    @Override
+    public List<AutoPolicyDTO> getExpiringPolicies(int withinDays, Integer limit) {
+        if (withinDays < 0 || withinDays > expiryProperties.getMaxWithinDays()) {
+            throw new IllegalArgumentException("withinDays must be between 0 and " + expiryProperties.getMaxWithinDays());
+        }
+        int maxResults = Math.min(limit != null ? limit : expiryProperties.getDefaultLimit(), expiryProperties.getMaxLimit());
+        if (maxResults <= 0) {
+            return List.of();
+        }
+        LocalDate today = today();
+        LocalDate to = today.plusDays(withinDays);
+        ExpiryIndex index = current;
+        if (index != null) {
+            return load(index.between(today, to, Integer.MAX_VALUE), today, to, maxResults);
+        }
+        PageRequest page = PageRequest.of(0, maxResults, Sort.by("endDate", "id"));
+        return shardRouter.scatter(shard -> autoPolicyRepository.findByStatusAndEndDateBetween(PolicyStatus.ACTIVE,
+                        today, to, page))
+                .stream()
+                .flatMap(List::stream)
+                .map(autoPolicyMapper::toDTO)
+                .sorted(BY_END_DATE)
+                .limit(maxResults)
+                .toList();
+    }
+
+    @Override
+    public SseEmitter subscribeAlerts() {
+        SseEmitter emitter = new SseEmitter(expiryProperties.getEmitterTimeoutMs());
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        emitter.onTimeout(() -> subscribers.remove(emitter));
+        emitter.onError(e -> subscribers.remove(emitter));
+        subscribers.add(emitter);
+        return emitter;
+    }
+
+    @Override
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Runs after commit, so a rolled-back write never moves a policy in the index. Writes racing a rebuild go to
+     * both indexes and are remembered, so the scan cannot put back a state older than the write.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPolicyChanged(PolicyChangedEvent event) {
+        AutoPolicyDTO after = event.after();
+        Optional<LocalDate> endDate = after != null && after.getStatus() == PolicyStatus.ACTIVE
+                && after.getEndDate() != null && !after.getEndDate().isBefore(today())
+                ? Optional.of(after.getEndDate())
+                : Optional.empty();
+        Map<Long, Optional<LocalDate>> written = writtenDuringBuild;
+        if (written != null) {
+            written.put(event.policyId(), endDate);
+        }
+        apply(current, event.policyId(), endDate);
+        apply(building, event.policyId(), endDate);
+    }
+
+    @Scheduled(cron = "${insutech.expiry.tick-cron:0 0 0 * * *}", zone = "${insutech.expiry.zone:}")
+    public void tick() {
+        if (expiryProperties.isEnabled()) {
+            advanceTo(today());
+        }
+    }
+
+    /**
+     * Strategy: one pass over a handful of buckets per day boundary, no polling
+     * - For each day passed, the policies ending alertDays after it are resolved and pushed to every subscriber
+     * - Buckets of days already over are dropped, which keeps the index to policies still in force
+     * - A node started after midnight does not alert for that day; the boundary belongs to whichever node ran it
+     */
+    @Override
+    public synchronized List<PolicyExpiryAlertDTO> advanceTo(LocalDate today) {
+        ExpiryIndex index = current;
+        if (index == null || lastDay == null || !today.isAfter(lastDay)) {
+            return List.of();
+        }
+        List<PolicyExpiryAlertDTO> alerts = new ArrayList<>();
+        for (LocalDate day = lastDay.plusDays(1); !day.isAfter(today); day = day.plusDays(1)) {
+            for (int daysRemaining : expiryProperties.getAlertDays()) {
+                LocalDate endDate = day.plusDays(daysRemaining);
+                for (AutoPolicyDTO policy : load(index.on(endDate), endDate, endDate, Integer.MAX_VALUE)) {
+                    alerts.add(toAlert(day, daysRemaining, policy));
+                }
+            }
+            int ended = index.removeBefore(day);
+            if (ended > 0) {
+                log.info("Dropped {} ended policies from the expiry index", ended);
+            }
+        }
+        lastDay = today;
+        send(alerts);
+        return alerts;
+    }
+
+    @Scheduled(cron = "${insutech.expiry.rebuild-cron:0 15 4 * * *}", zone = "${insutech.expiry.zone:}")
+    public void scheduledRebuild() {
+        policyScanner.requestRebuild(List.of(this));
+    }
+
+    @Override
+    public void rebuild() {
+        policyScanner.rebuild(List.of(this));
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return expiryProperties.isEnabled();
+    }
+
+    /**
+     * Strategy: build a fresh index from the shared scan beside the live one, then swap
+     * - Only active policies that have not ended are kept, by ID and end date
+     * - Writes during the scan reach both indexes and win over whatever the scan reads for the same policy
+     */
+    @Override
+    public Build startBuild() {
+        LocalDate today = today();
+        ExpiryIndex next = new ExpiryIndex();
+        Map<Long, Optional<LocalDate>> written = new ConcurrentHashMap<>();
+        writtenDuringBuild = written;
+        building = next;
+        long started = System.nanoTime();
+        return new Build() {
+            private long rows;
+
+            @Override
+            public void scanned(AutoPolicyDTO row) {
+                if (row.getStatus() != PolicyStatus.ACTIVE || row.getEndDate() == null || row.getEndDate().isBefore(today)) {
+                    return;
+                }
+                next.put(row.getId(), row.getEndDate());
+                Optional<LocalDate> write = written.get(row.getId());
+                if (write != null) {
+                    apply(next, row.getId(), write);
+                }
+                rows++;
+            }
+
+            @Override
+            public void finish() {
+                synchronized (PolicyExpiryServiceImpl.this) {
+                    current = next;
+                    if (lastDay == null || lastDay.isBefore(today)) {
+                        lastDay = today;
+                    }
+                }
+                abandon();
+                log.info("Rebuilt policy expiry index over {} active policies in {} ms", rows,
+                        (System.nanoTime() - started) / 1_000_000);
+            }
+
+            @Override
+            public void abandon() {
+                building = null;
+                writtenDuringBuild = null;
+            }
+        };
+    }
+
+    @Override
+    public boolean isReady() {
+        return current != null;
+    }
+
+    @Scheduled(fixedDelayString = "${insutech.expiry.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        for (SseEmitter subscriber : subscribers) {
+            try {
+                subscriber.send(SseEmitter.event().comment("heartbeat"));
+            } catch (IOException | IllegalStateException e) {
+                close(subscriber);
+            }
+        }
+    }
+
+    /**
+     * All alerts of a day boundary go out to each subscriber in a single write and flush.
+     */
+    private void send(List<PolicyExpiryAlertDTO> alerts) {
+        if (alerts.isEmpty() || subscribers.isEmpty()) {
+            return;
+        }
+        Set<ResponseBodyEmitter.DataWithMediaType> data = new LinkedHashSet<>();
+        for (PolicyExpiryAlertDTO alert : alerts) {
+            data.addAll(SseEmitter.event()
+                    .id(alert.getAlertDate() + ":" + alert.getPolicy().getId())
+                    .name("EXPIRING")
+                    .data(alert, MediaType.APPLICATION_JSON)
+                    .build());
+        }
+        for (SseEmitter subscriber : subscribers) {
+            try {
+                subscriber.send(data);
+            } catch (IOException | IllegalStateException e) {
+                close(subscriber);
+            }
+        }
+    }
+
+    private void close(SseEmitter subscriber) {
+        subscribers.remove(subscriber);
+        subscriber.complete();
+    }
+
+    /**
+     * Reads the policies by primary key, on their own shards, in index order; the result is in end-date order.
+     * Policies that stopped being active or moved out of the window behind the index's back are dropped before
+     * the limit applies, so they never cost the caller a result; each round reads only as many rows as are missing.
+     */
+    private List<AutoPolicyDTO> load(List<Long> ids, LocalDate from, LocalDate to, int maxResults) {
+        List<AutoPolicyDTO> policies = new ArrayList<>();
+        int next = 0;
+        while (next < ids.size() && policies.size() < maxResults) {
+            int batchSize = Math.min(expiryProperties.getLoadBatchSize(), maxResults - policies.size());
+            List<Long> batch = ids.subList(next, Math.min(ids.size(), next + batchSize));
+            next += batch.size();
+            Map<Integer, List<Long>> idsByShard = new TreeMap<>();
+            batch.forEach(id -> idsByShard.computeIfAbsent(ShardRouter.shardOf(id), shard -> new ArrayList<>()).add(id));
+            idsByShard.forEach((shard, shardIds) -> shardRouter.onShard(shard, () -> {
+                autoPolicyRepository.findAllById(shardIds).stream()
+                        .filter(policy -> policy.getStatus() == PolicyStatus.ACTIVE && policy.getEndDate() != null
+                                && !policy.getEndDate().isBefore(from) && !policy.getEndDate().isAfter(to))
+                        .map(autoPolicyMapper::toDTO)
+                        .forEach(policies::add);
+                return null;
+            }));
+        }
+        policies.sort(BY_END_DATE);
+        return policies;
+    }
+
+    private LocalDate today() {
+        return expiryProperties.getZone().isBlank()
+                ? LocalDate.now()
+                : LocalDate.now(ZoneId.of(expiryProperties.getZone()));
+    }
+
+    private static void apply(ExpiryIndex index, Long policyId, Optional<LocalDate> endDate) {
+        if (index == null || policyId == null) {
+            return;
+        }
+        if (endDate.isPresent()) {
+            index.put(policyId, endDate.get());
+        } else {
+            index.remove(policyId);
+        }
+    }
+
+    private static PolicyExpiryAlertDTO toAlert(LocalDate day, int daysRemaining, AutoPolicyDTO policy) {
+        PolicyExpiryAlertDTO alert = new PolicyExpiryAlertDTO();
+        alert.setAlertDate(day);
+        alert.setDaysRemaining(daysRemaining);
+        alert.setPolicy(policy);
+        return alert;
+    }
+}
@@ -0,0 +1,104 @@
+package com.insurance.policy.insutech.service.impl;
+
+import com.insurance.policy.insutech.config.FilterProperties;
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.dto.FacetCountDTO;
+import com.insurance.policy.insutech.dto.FacetedPoliciesDTO;
+import com.insurance.policy.insutech.dto.PolicyFacetsDTO;
+import com.insurance.policy.insutech.dto.PremiumBandCountDTO;
+import com.insurance.policy.insutech.model.AutoPolicyType;
+import com.insurance.policy.insutech.model.PolicyStatus;
+import org.springframework.cache.Cache;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Facet counts for a filter result, shared by the unsharded and sharded services.
+ */
+final class PolicyFacets {
+
+    private static final String KEY_PREFIX = "facets_";
+
+    private PolicyFacets() {
+    }
+
+    /**
+     * Strategy: facets ride along with the cached result
+     * - The rows and their facets are cached together as one entry in "filteredPolicies", under the filter's key
+     *   with a prefix, so a response never pairs facets with rows from another generation of the cache
+     * - The write paths clear "filteredPolicies" as a whole, so the entry goes with the plain result
+     * - Computed in one pass over the rows the filter already returned; no extra query, grouped or otherwise
+     */
+    static FacetedPoliciesDTO withFacets(Cache filteredPolicies, String cacheKey, Supplier<List<AutoPolicyDTO>> policies,
+                                         FilterProperties filterProperties) {
+        String facetKey = KEY_PREFIX + cacheKey;
+        FacetedPoliciesDTO cached = filteredPolicies.get(facetKey, FacetedPoliciesDTO.class);
+        if (cached != null) {
+            return cached;
+        }
+        List<AutoPolicyDTO> result = policies.get();
+        FacetedPoliciesDTO faceted = new FacetedPoliciesDTO(result,
+                count(result, filterProperties.getPremiumBands(), filterProperties.getFacetVehicleMakes()));
+        filteredPolicies.put(facetKey, faceted);
+        return faceted;
+    }
+
+    static PolicyFacetsDTO count(List<AutoPolicyDTO> policies, List<BigDecimal> premiumBands, int vehicleMakes) {
+        long[] statuses = new long[PolicyStatus.values().length];
+        long[] types = new long[AutoPolicyType.values().length];
+        long[] bands = new long[premiumBands.size() + 1];
+        Map<String, Long> makes = new HashMap<>();
+        for (AutoPolicyDTO policy : policies) {
+            if (policy.getStatus() != null) {
+                statuses[policy.getStatus().ordinal()]++;
+            }
+            if (policy.getPolicyType() != null) {
+                types[policy.getPolicyType().ordinal()]++;
+            }
+            if (policy.getVehicleMake() != null) {
+                makes.merge(policy.getVehicleMake(), 1L, Long::sum);
+            }
+            if (policy.getPremiumAmount() != null) {
+                bands[band(premiumBands, policy.getPremiumAmount())]++;
+            }
+        }
+
+        PolicyFacetsDTO facets = new PolicyFacetsDTO();
+        facets.setTotal(policies.size());
+        List<FacetCountDTO> statusCounts = new ArrayList<>();
+        for (PolicyStatus status : PolicyStatus.values()) {
+            statusCounts.add(new FacetCountDTO(status.getCode(), statuses[status.ordinal()]));
+        }
+        facets.setStatuses(statusCounts);
+        List<FacetCountDTO> typeCounts = new ArrayList<>();
+        for (AutoPolicyType type : AutoPolicyType.values()) {
+            typeCounts.add(new FacetCountDTO(type.getCode(), types[type.ordinal()]));
+        }
+        facets.setPolicyTypes(typeCounts);
+        facets.setVehicleMakes(makes.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(vehicleMakes)
+                .map(entry -> new FacetCountDTO(entry.getKey(), entry.getValue()))
+                .toList());
+        List<PremiumBandCountDTO> bandCounts = new ArrayList<>();
+        for (int i = 0; i < bands.length; i++) {
+            bandCounts.add(new PremiumBandCountDTO(i > 0 ? premiumBands.get(i - 1) : null,
+                    i < premiumBands.size() ? premiumBands.get(i) : null, bands[i]));
+        }
+        facets.setPremiumBands(bandCounts);
+        return facets;
+    }
+
+    // Index of the first boundary above the premium, which is the premium's band
+    private static int band(List<BigDecimal> boundaries, BigDecimal premium) {
+        int position = Collections.binarySearch(boundaries, premium, Comparator.naturalOrder());
+        return position >= 0 ? position + 1 : -position - 1;
+    }
+}
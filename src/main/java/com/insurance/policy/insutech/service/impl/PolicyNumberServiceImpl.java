@@ -0,0 +1,240 @@
+package com.insurance.policy.insutech.service.impl;
+
+import com.insurance.policy.insutech.config.PolicyNumberProperties;
+import com.insurance.policy.insutech.repository.PolicyNumberCounterRepository;
+import com.insurance.policy.insutech.service.PolicyNumberService;
+import com.insurance.policy.insutech.sharding.ShardRouter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PolicyNumberServiceImpl implements PolicyNumberService {
+
+    private static final Block EXHAUSTED = new Block(0, 0);
+
+    private final PolicyNumberCounterRepository policyNumberCounterRepository;
+    private final PolicyNumberProperties policyNumberProperties;
+    private final PlatformTransactionManager transactionManager;
+    private final ShardRouter shardRouter;
+
+    private final AtomicReference<Block> block = new AtomicReference<>(EXHAUSTED);
+    // The block being reserved or reserved but not yet in use; cleared once installed or failed
+    private final AtomicReference<CompletableFuture<Block>> nextBlock = new AtomicReference<>();
+    private Pattern issuedFormat;
+    private ExecutorService reserver;
+
+    @PostConstruct
+    public void start() {
+        issuedFormat = Pattern.compile(Pattern.quote(policyNumberProperties.getPrefix()) + "-"
+                + (policyNumberProperties.isIncludeYear() ? "\\d{4}-" : "")
+                + "\\d{" + policyNumberProperties.getDigits() + ",}"
+                + (policyNumberProperties.isCheckDigit() ? "-\\d" : ""));
+        reserver = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "policy-number-reserve");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        reserver.shutdownNow();
+    }
+
+    /**
+     * Strategy: hi/lo block allocation, reserved ahead on a thread of its own
+     * - One short transaction reserves blockSize values on the shared counter row; every node owns its ranges outright
+     * - Numbers inside a block come from a lock-free counter, so generating them costs no database round trip
+     * - Halfway through a block the next one is reserved in the background; the reservation never runs on the
+     *   caller's thread, so it neither nests in the caller's transaction nor holds a lock callers queue on
+     * - A caller that finds the block exhausted waits for that reservation only, never for another caller
+     */
+    @Override
+    public String nextPolicyNumber() {
+        return format(nextValue(), LocalDate.now().getYear());
+    }
+
+    @Override
+    public List<String> nextPolicyNumbers(int count) {
+        int year = LocalDate.now().getYear();
+        List<String> numbers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            numbers.add(format(nextValue(), year));
+        }
+        return numbers;
+    }
+
+    /**
+     * Numbers this allocator issues look like this; clients may not pick one, or it could be issued again.
+     */
+    @Override
+    public boolean isIssuedFormat(String policyNumber) {
+        return issuedFormat.matcher(policyNumber).matches();
+    }
+
+    private long nextValue() {
+        while (true) {
+            Block current = block.get();
+            long value = current.next.getAndIncrement();
+            if (value < current.limit) {
+                if (value == current.reserveNextAt) {
+                    reserveNext();
+                }
+                return value;
+            }
+            CompletableFuture<Block> reserved = reserveNext();
+            Block fresh = await(reserved);
+            if (block.compareAndSet(current, fresh)) {
+                nextBlock.compareAndSet(reserved, null);
+            }
+        }
+    }
+
+    /**
+     * The pending reservation, started now if there is none.
+     */
+    private CompletableFuture<Block> reserveNext() {
+        while (true) {
+            CompletableFuture<Block> pending = nextBlock.get();
+            if (pending != null) {
+                return pending;
+            }
+            CompletableFuture<Block> started = new CompletableFuture<>();
+            if (nextBlock.compareAndSet(null, started)) {
+                try {
+                    reserver.execute(() -> {
+                        try {
+                            int size = policyNumberProperties.getBlockSize();
+                            long start = reserve(size);
+                            log.debug("Reserved policy number block [{}, {})", start, start + size);
+                            started.complete(new Block(start, start + size));
+                        } catch (RuntimeException e) {
+                            failed(started, e);
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    failed(started, e);
+                }
+                return started;
+            }
+        }
+    }
+
+    // Waiting callers fail; the next caller starts a new reservation
+    private void failed(CompletableFuture<Block> reservation, RuntimeException cause) {
+        nextBlock.compareAndSet(reservation, null);
+        reservation.completeExceptionally(cause);
+    }
+
+    private static Block await(CompletableFuture<Block> reserved) {
+        try {
+            return reserved.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    /**
+     * Runs in a transaction of its own on the reserver thread, so the reservation commits even if the caller's
+     * insert rolls back; the block is then merely wasted, never handed out twice. The counter row lives on
+     * shard 0 whichever shard the caller is working on.
+     */
+    private long reserve(int size) {
+        return shardRouter.onShard(0, () -> reserveOnDefaultShard(size));
+    }
+
+    private long reserveOnDefaultShard(int size) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        String name = policyNumberProperties.getCounterName();
+        while (true) {
+            Long start = transactionTemplate.execute(status -> {
+                if (policyNumberCounterRepository.advance(name, size) == 0) {
+                    return null;
+                }
+                return policyNumberCounterRepository.findNextValue(name) - size;
+            });
+            if (start != null) {
+                return start;
+            }
+            try {
+                // First reservation ever: create the row already holding this block
+                transactionTemplate.executeWithoutResult(status -> policyNumberCounterRepository.create(name, 1L + size));
+                return 1;
+            } catch (DataIntegrityViolationException e) {
+                // Another node created the row first; advance it like any other reservation
+            }
+        }
+    }
+
+    private String format(long sequence, int year) {
+        String digits = (policyNumberProperties.isIncludeYear() ? String.valueOf(year) : "")
+                + pad(sequence, policyNumberProperties.getDigits());
+        StringBuilder number = new StringBuilder(policyNumberProperties.getPrefix()).append('-');
+        if (policyNumberProperties.isIncludeYear()) {
+            number.append(digits, 0, 4).append('-').append(digits, 4, digits.length());
+        } else {
+            number.append(digits);
+        }
+        if (policyNumberProperties.isCheckDigit()) {
+            number.append('-').append(luhnCheckDigit(digits));
+        }
+        return number.toString();
+    }
+
+    private static String pad(long value, int width) {
+        String digits = Long.toString(value);
+        return digits.length() >= width ? digits : "0".repeat(width - digits.length()) + digits;
+    }
+
+    /**
+     * Luhn (mod 10) check digit for a string of decimal digits.
+     */
+    public static int luhnCheckDigit(CharSequence digits) {
+        int sum = 0;
+        boolean doubled = true;
+        for (int i = digits.length() - 1; i >= 0; i--) {
+            int digit = digits.charAt(i) - '0';
+            if (doubled) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubled = !doubled;
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long limit;
+        private final long reserveNextAt;
+
+        private Block(long start, long limit) {
+            this.next = new AtomicLong(start);
+            this.limit = limit;
+            this.reserveNextAt = start + (limit - start) / 2;
+        }
+    }
+}
@@ -0,0 +1,361 @@
+package com.insurance.policy.insutech.service.impl;
+
+import com.insurance.policy.insutech.config.RenewalProperties;
+import com.insurance.policy.insutech.dto.RenewalRunDTO;
+import com.insurance.policy.insutech.event.PolicyChangedEvent;
+import com.insurance.policy.insutech.mapper.AutoPolicyMapper;
+import com.insurance.policy.insutech.model.AutoPolicy;
+import com.insurance.policy.insutech.model.AutoPolicyType;
+import com.insurance.policy.insutech.model.PolicyStatus;
+import com.insurance.policy.insutech.model.RenewalRun;
+import com.insurance.policy.insutech.rating.RatingTable;
+import com.insurance.policy.insutech.rating.RatingTableRegistry;
+import com.insurance.policy.insutech.repository.AutoPolicyRepository;
+import com.insurance.policy.insutech.repository.RenewalRunRepository;
+import com.insurance.policy.insutech.service.PolicyRenewalService;
+import com.insurance.policy.insutech.service.PolicyExistenceService;
+import com.insurance.policy.insutech.sharding.ShardRouter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PolicyRenewalServiceImpl implements PolicyRenewalService {
+
+    private static final String SELECT_CANDIDATES =
+            "select id, policy_number, status, start_date, end_date, premium_amount, policy_type, "
+                    + "vehicle_make, vehicle_model, vehicle_year, first_name, last_name from auto_policies "
+                    + "where status = ? and end_date between ? and ? and id > ? and id <= ? order by id limit ?";
+    private static final String INSERT_POLICY =
+            "insert into auto_policies (policy_number, status, start_date, end_date, premium_amount, policy_type, "
+                    + "vehicle_make, vehicle_model, vehicle_year, first_name, last_name) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    // -R and the successor's start as yyyyMM; the bare -Ryyyy of earlier renewals is replaced too
+    private static final Pattern RENEWAL_SUFFIX = Pattern.compile("-R\\d{4}(\\d{2})?$");
+    private static final DateTimeFormatter RENEWAL_MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final Period DEFAULT_TERM = Period.ofYears(1);
+
+    private static final RowMapper<AutoPolicy> CANDIDATE_MAPPER = (rs, rowNum) -> {
+        AutoPolicy policy = new AutoPolicy();
+        policy.setId(rs.getLong("id"));
+        policy.setPolicyNumber(rs.getString("policy_number"));
+        policy.setStatus(PolicyStatus.valueOf(rs.getString("status")));
+        policy.setStartDate(toLocalDate(rs.getDate("start_date")));
+        policy.setEndDate(toLocalDate(rs.getDate("end_date")));
+        policy.setPremiumAmount(rs.getBigDecimal("premium_amount"));
+        String type = rs.getString("policy_type");
+        policy.setPolicyType(type != null ? AutoPolicyType.fromCode(type) : null);
+        policy.setVehicleMake(rs.getString("vehicle_make"));
+        policy.setVehicleModel(rs.getString("vehicle_model"));
+        policy.setVehicleYear(rs.getString("vehicle_year"));
+        policy.setFirstName(rs.getString("first_name"));
+        policy.setLastName(rs.getString("last_name"));
+        return policy;
+    };
+
+    private final RenewalRunRepository renewalRunRepository;
+    private final RenewalProperties renewalProperties;
+    private final RatingTableRegistry ratingTableRegistry;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final CacheManager cacheManager;
+    private final PolicyExistenceService policyExistenceService;
+    private final AutoPolicyRepository autoPolicyRepository;
+    private final AutoPolicyMapper autoPolicyMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ShardRouter shardRouter;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private ExecutorService transformers;
+
+    /**
+     * A successor's number hashes to a shard of its own, so renewing a shard's policies writes to other shards,
+     * which a run's single transaction per chunk cannot do. Sharded deployments must leave the job off.
+     */
+    @PostConstruct
+    public void start() {
+        if (shardRouter.isSharded() && renewalProperties.isEnabled()) {
+            throw new IllegalStateException("Policy renewal does not run on sharded storage;"
+                    + " set insutech.renewal.enabled=false when insutech.sharding.enabled is true");
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        transformers = Executors.newFixedThreadPool(renewalProperties.getTransformerThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "policy-renewal-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        transformers.shutdownNow();
+    }
+
+    @Scheduled(cron = "${insutech.renewal.cron:0 0 3 * * *}")
+    public void scheduledRenewal() {
+        if (renewalProperties.isEnabled()) {
+            LocalDate windowStart = LocalDate.now().plusDays(renewalProperties.getLeadDays());
+            renewPolicies(windowStart, windowStart.plusDays(renewalProperties.getWindowDays() - 1L));
+        }
+    }
+
+    /**
+     * Strategy: staged, chunked pipeline with a checkpoint per chunk
+     * - Reader: keyset pages of ACTIVE candidates straight from JDBC, bounded by the ID high-water mark of the run
+     * - Transformers: chunks are turned into successors in parallel, at most maxChunksInFlight ahead of the writer
+     * - Writer: chunks are committed in order, each as one JDBC batch plus the checkpoint update in one transaction;
+     *   every successor is published as created in that transaction, so the outbox and the indexes follow it
+     * - Restart: an unfinished run for the same window resumes after its checkpoint; successor numbers are
+     *   deterministic, so a policy renewed by an earlier or overlapping run is recognized and skipped
+     */
+    @Override
+    public RenewalRunDTO renewPolicies(LocalDate windowStart, LocalDate windowEnd) {
+        if (windowEnd.isBefore(windowStart)) {
+            throw new IllegalArgumentException("Renewal window ends before it starts");
+        }
+        if (shardRouter.isSharded()) {
+            throw new IllegalStateException("Policy renewal does not run on sharded storage");
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A renewal run is already in progress");
+        }
+        try {
+            RenewalRun run = renewalRunRepository
+                    .findFirstByWindowStartAndWindowEndAndStatusNotOrderByIdDesc(windowStart, windowEnd, RenewalRun.Status.COMPLETED)
+                    .orElseGet(() -> newRun(windowStart, windowEnd));
+            run.setStatus(RenewalRun.Status.RUNNING);
+            run.setUpdatedAt(LocalDateTime.now());
+            run = renewalRunRepository.save(run);
+            log.info("Renewal run {} for policies ending {}..{} starting after policy ID {}",
+                    run.getId(), windowStart, windowEnd, run.getLastPolicyId());
+            long renewedBefore = run.getRenewedCount();
+            try {
+                run = process(run);
+                run.setStatus(RenewalRun.Status.COMPLETED);
+                run.setCompletedAt(LocalDateTime.now());
+            } catch (RuntimeException e) {
+                run = renewalRunRepository.findById(run.getId()).orElse(run);
+                run.setStatus(RenewalRun.Status.FAILED);
+                throw e;
+            } finally {
+                run.setUpdatedAt(LocalDateTime.now());
+                run = renewalRunRepository.save(run);
+                if (run.getRenewedCount() > renewedBefore) {
+                    evictListCaches();
+                }
+            }
+            log.info("Renewal run {} completed: {} renewed, {} skipped", run.getId(), run.getRenewedCount(), run.getSkippedCount());
+            return toDTO(run);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @Override
+    public List<RenewalRunDTO> getRecentRuns() {
+        return renewalRunRepository.findTop20ByOrderByIdDesc().stream()
+                .map(PolicyRenewalServiceImpl::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    private RenewalRun newRun(LocalDate windowStart, LocalDate windowEnd) {
+        RenewalRun run = new RenewalRun();
+        run.setWindowStart(windowStart);
+        run.setWindowEnd(windowEnd);
+        Long maxId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from auto_policies", Long.class);
+        run.setMaxPolicyId(maxId != null ? maxId : 0);
+        run.setStartedAt(LocalDateTime.now());
+        return run;
+    }
+
+    private RenewalRun process(RenewalRun run) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Deque<Future<Chunk>> window = new ArrayDeque<>();
+        long cursor = run.getLastPolicyId();
+        try {
+            List<AutoPolicy> page;
+            do {
+                page = jdbcTemplate.query(SELECT_CANDIDATES, CANDIDATE_MAPPER, PolicyStatus.ACTIVE.name(),
+                        run.getWindowStart(), run.getWindowEnd(), cursor, run.getMaxPolicyId(), renewalProperties.getChunkSize());
+                if (page.isEmpty()) {
+                    break;
+                }
+                cursor = page.get(page.size() - 1).getId();
+                List<AutoPolicy> candidates = page;
+                window.add(transformers.submit(() -> transform(candidates)));
+                if (window.size() >= renewalProperties.getMaxChunksInFlight()) {
+                    run = write(transactionTemplate, run, await(window.poll()));
+                }
+            } while (page.size() == renewalProperties.getChunkSize());
+
+            while (!window.isEmpty()) {
+                run = write(transactionTemplate, run, await(window.poll()));
+            }
+            return run;
+        } finally {
+            window.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private Chunk transform(List<AutoPolicy> candidates) {
+        List<AutoPolicy> successors = new ArrayList<>(candidates.size());
+        for (AutoPolicy policy : candidates) {
+            AutoPolicy successor = successorOf(policy);
+            if (RatingTable.isRatable(successor.getPolicyType(), successor.getStartDate(), successor.getEndDate())) {
+                successor.setPremiumAmount(ratingTableRegistry.effectiveOn(successor.getStartDate()).premium(
+                        successor.getPolicyType(), successor.getVehicleMake(), successor.getVehicleModel(),
+                        successor.getVehicleYear(), successor.getStartDate(), successor.getEndDate()));
+            }
+            successors.add(successor);
+        }
+        return new Chunk(candidates.get(candidates.size() - 1).getId(), successors);
+    }
+
+    /**
+     * The successor keeps the insured, vehicle and coverage and follows on from the current term with the same
+     * length. Transformers then price it with the rating table in effect when it starts.
+     */
+    public static AutoPolicy successorOf(AutoPolicy policy) {
+        AutoPolicy successor = (AutoPolicy) policy.clone();
+        successor.setId(null);
+        successor.setPolicyNumber(successorNumber(policy.getPolicyNumber(), policy.getEndDate()));
+        successor.setStatus(PolicyStatus.ACTIVE);
+        Period term = policy.getStartDate() != null && policy.getStartDate().isBefore(policy.getEndDate())
+                ? Period.between(policy.getStartDate(), policy.getEndDate())
+                : DEFAULT_TERM;
+        successor.setStartDate(policy.getEndDate());
+        successor.setEndDate(policy.getEndDate().plus(term));
+        return successor;
+    }
+
+    /**
+     * Deterministic, so reruns and overlapping windows can detect successors that already exist. The suffix is
+     * the month the successor starts, which is distinct for every term of a month or longer: AP-1001 ending on
+     * 2026-02-01 renews as AP-1001-R202602, which after six months renews as AP-1001-R202608.
+     */
+    public static String successorNumber(String policyNumber, LocalDate endDate) {
+        return RENEWAL_SUFFIX.matcher(policyNumber).replaceFirst("") + "-R" + RENEWAL_MONTH.format(endDate);
+    }
+
+    private RenewalRun write(TransactionTemplate transactionTemplate, RenewalRun run, Chunk chunk) {
+        return transactionTemplate.execute(status -> {
+            Set<String> existing = existingNumbers(chunk.successors());
+            List<Object[]> rows = new ArrayList<>(chunk.successors().size());
+            for (AutoPolicy successor : chunk.successors()) {
+                if (!existing.contains(successor.getPolicyNumber())) {
+                    rows.add(toRow(successor));
+                }
+            }
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_POLICY, rows);
+                // Read back for their generated IDs; inserted behind the service, so the events are published here
+                autoPolicyRepository.findByPolicyNumberIn(rows.stream().map(row -> (String) row[0]).toList())
+                        .forEach(policy -> eventPublisher.publishEvent(PolicyChangedEvent.created(autoPolicyMapper.toDTO(policy))));
+            }
+            run.setLastPolicyId(chunk.lastPolicyId());
+            run.setRenewedCount(run.getRenewedCount() + rows.size());
+            run.setSkippedCount(run.getSkippedCount() + chunk.successors().size() - rows.size());
+            run.setUpdatedAt(LocalDateTime.now());
+            return renewalRunRepository.save(run);
+        });
+    }
+
+    private static Object[] toRow(AutoPolicy successor) {
+        return new Object[]{successor.getPolicyNumber(), successor.getStatus().name(), successor.getStartDate(),
+                successor.getEndDate(), successor.getPremiumAmount(),
+                successor.getPolicyType() != null ? successor.getPolicyType().getCode() : null,
+                successor.getVehicleMake(), successor.getVehicleModel(), successor.getVehicleYear(),
+                successor.getFirstName(), successor.getLastName()};
+    }
+
+    /**
+     * Only successors the existence filter cannot rule out are looked up; on a first run that is almost none.
+     */
+    private Set<String> existingNumbers(List<AutoPolicy> successors) {
+        Set<String> candidates = policyExistenceService.possiblyExisting(
+                successors.stream().map(AutoPolicy::getPolicyNumber).toList());
+        if (candidates.isEmpty()) {
+            return Collections.emptySet();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(candidates.size(), "?"));
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "select policy_number from auto_policies where policy_number in (" + placeholders + ")"
+                        + " union select policy_number from auto_policies_archive where policy_number in (" + placeholders + ")",
+                String.class, Stream.concat(candidates.stream(), candidates.stream()).toArray()));
+    }
+
+    private static Chunk await(Future<Chunk> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException("Interrupted while renewing policies", e);
+        } catch (ExecutionException e) {
+            throw new CompletionException("Failed to transform a renewal chunk", e.getCause());
+        }
+    }
+
+    private void evictListCaches() {
+        for (String cacheName : List.of("allPolicies", "filteredPolicies")) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
+    private static LocalDate toLocalDate(Date date) {
+        return date != null ? date.toLocalDate() : null;
+    }
+
+    private static RenewalRunDTO toDTO(RenewalRun run) {
+        RenewalRunDTO dto = new RenewalRunDTO();
+        dto.setId(run.getId());
+        dto.setWindowStart(run.getWindowStart());
+        dto.setWindowEnd(run.getWindowEnd());
+        dto.setStatus(run.getStatus().name());
+        dto.setLastPolicyId(run.getLastPolicyId());
+        dto.setRenewedCount(run.getRenewedCount());
+        dto.setSkippedCount(run.getSkippedCount());
+        dto.setStartedAt(run.getStartedAt());
+        dto.setCompletedAt(run.getCompletedAt());
+        return dto;
+    }
+
+    private record Chunk(long lastPolicyId, List<AutoPolicy> successors) {
+    }
+}
@@ -0,0 +1,507 @@
+package com.insurance.policy.insutech.service.impl;
+
+import com.insurance.policy.insutech.config.SearchProperties;
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.dto.PolicySearchResultDTO;
+import com.insurance.policy.insutech.event.PolicyChangedEvent;
+import com.insurance.policy.insutech.model.AutoPolicyType;
+import com.insurance.policy.insutech.model.PolicyStatus;
+import com.insurance.policy.insutech.scan.PolicyScanner;
+import com.insurance.policy.insutech.scan.ScannedIndex;
+import com.insurance.policy.insutech.service.PolicySearchService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PolicySearchServiceImpl implements PolicySearchService, ScannedIndex {
+
+    private static final String GENERATION_PREFIX = "generation-";
+    private static final String CURRENT_GENERATION = "current";
+
+    // Exact (lower-cased) policy number; a full-number query should always rank first
+    private static final String POLICY_NUMBER_KEY = "policyNumberKey";
+    private static final float POLICY_NUMBER_KEY_BOOST = 10.0f;
+
+    private final SearchProperties searchProperties;
+    private final PolicyScanner policyScanner;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    // Held shared by every use of the live index and exclusively by the swap, which closes the old one
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    // Orders write-path changes against the reindex's own writes to the index being built
+    private final Object buildLock = new Object();
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile SearchIndex live;
+    private volatile SearchIndex building;
+
+    /**
+     * Each build lives in its own generation directory under the index path; a small pointer file names the live
+     * one. Generations the pointer does not name are left over from an interrupted rebuild and are removed.
+     */
+    @PostConstruct
+    public void open() throws IOException {
+        Path root = Path.of(searchProperties.getIndexPath());
+        Files.createDirectories(root);
+        Path pointer = root.resolve(CURRENT_GENERATION);
+        String generation = Files.exists(pointer) ? Files.readString(pointer).trim() : GENERATION_PREFIX + 0;
+        try (Stream<Path> children = Files.list(root)) {
+            for (Path child : children.toList()) {
+                if (child.getFileName().toString().startsWith(GENERATION_PREFIX) && !child.getFileName().toString().equals(generation)) {
+                    deleteGeneration(child);
+                }
+            }
+        }
+        live = SearchIndex.open(root.resolve(generation), analyzer);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        swapLock.writeLock().lock();
+        try {
+            live.close();
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Strategy: keep the index in step with committed writes only
+     * - Runs after commit, so a rolled-back write never becomes searchable
+     * - updateDocument is keyed on the policy ID, which makes replays and overlaps with a reindex harmless
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPolicyChanged(PolicyChangedEvent event) {
+        if (event.after() == null) {
+            remove(event.policyId());
+        } else {
+            index(event.after());
+        }
+    }
+
+    /**
+     * During a rebuild the change goes to the index being built as well, and its ID is marked so that the
+     * rebuild's older copy of the row cannot overwrite it.
+     */
+    @Override
+    public void index(AutoPolicyDTO policy) {
+        Term id = new Term("id", policy.getId().toString());
+        Document document = toDocument(policy);
+        try {
+            if (building != null) {
+                synchronized (buildLock) {
+                    SearchIndex next = building;
+                    if (next != null) {
+                        changedDuringRebuild.add(policy.getId());
+                        next.writer().updateDocument(id, document);
+                    }
+                }
+            }
+            withLive(index -> index.writer().updateDocument(id, document));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to index policy " + policy.getId(), e);
+        }
+    }
+
+    @Override
+    public void remove(Long policyId) {
+        Term id = new Term("id", policyId.toString());
+        try {
+            if (building != null) {
+                synchronized (buildLock) {
+                    SearchIndex next = building;
+                    if (next != null) {
+                        changedDuringRebuild.add(policyId);
+                        next.writer().deleteDocuments(id);
+                    }
+                }
+            }
+            withLive(index -> index.writer().deleteDocuments(id));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to remove policy " + policyId + " from the search index", e);
+        }
+    }
+
+    @Override
+    public long reindex() {
+        return policyScanner.rebuild(List.of(this));
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * An index that already holds documents is kept across restarts; only an empty one is rebuilt at startup.
+     */
+    @Override
+    public boolean isRebuiltOnStartup() {
+        return searchProperties.isReindexOnStartup() && live.writer().getDocStats().numDocs == 0;
+    }
+
+    /**
+     * Strategy: build a fresh index from the shared scan beside the live one, then swap
+     * - Searches keep using the live index, complete, for the whole rebuild
+     * - Writes during the rebuild go to both indexes; a row changed meanwhile is left to the write path, whose
+     *   copy is at least as new as the one the scan read
+     * - The new generation is committed and opened before the swap, and the old one is then deleted
+     */
+    @Override
+    public Build startBuild() {
+        Path root = Path.of(searchProperties.getIndexPath());
+        Path path = root.resolve(GENERATION_PREFIX + System.currentTimeMillis());
+        SearchIndex next;
+        try {
+            next = SearchIndex.open(path, analyzer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create a new policy search index", e);
+        }
+        changedDuringRebuild.clear();
+        building = next;
+        return new Build() {
+            private long indexed;
+
+            @Override
+            public void scanned(AutoPolicyDTO row) {
+                synchronized (buildLock) {
+                    if (!changedDuringRebuild.contains(row.getId())) {
+                        try {
+                            next.writer().updateDocument(new Term("id", row.getId().toString()), toDocument(row));
+                        } catch (IOException e) {
+                            throw new UncheckedIOException("Failed to index policy " + row.getId(), e);
+                        }
+                    }
+                }
+                indexed++;
+            }
+
+            @Override
+            public void finish() {
+                boolean swapped = false;
+                try {
+                    next.writer().commit();
+                    next.searcherManager().maybeRefresh();
+
+                    SearchIndex previous;
+                    swapLock.writeLock().lock();
+                    try {
+                        synchronized (buildLock) {
+                            previous = live;
+                            live = next;
+                            building = null;
+                        }
+                        swapped = true;
+                    } finally {
+                        swapLock.writeLock().unlock();
+                    }
+                    Path pointer = root.resolve(CURRENT_GENERATION);
+                    Path pointerUpdate = root.resolve(CURRENT_GENERATION + ".tmp");
+                    Files.writeString(pointerUpdate, path.getFileName().toString());
+                    Files.move(pointerUpdate, pointer, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    previous.close();
+                    deleteGeneration(previous.path());
+                    log.info("Rebuilt policy search index with {} documents", indexed);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to rebuild the policy search index", e);
+                } finally {
+                    changedDuringRebuild.clear();
+                    if (!swapped) {
+                        abandon();
+                    }
+                }
+            }
+
+            @Override
+            public void abandon() {
+                changedDuringRebuild.clear();
+                synchronized (buildLock) {
+                    building = null;
+                }
+                try {
+                    next.close();
+                } catch (IOException e) {
+                    log.warn("Failed to close the abandoned search index at {}", path, e);
+                }
+                deleteGeneration(path);
+            }
+        };
+    }
+
+    @Scheduled(fixedDelayString = "${insutech.search.refresh-interval-ms:1000}")
+    public void refresh() throws IOException {
+        withLive(index -> index.searcherManager().maybeRefresh());
+    }
+
+    @Scheduled(fixedDelayString = "${insutech.search.commit-interval-ms:30000}")
+    public void commit() throws IOException {
+        withLive(index -> {
+            if (index.writer().hasUncommittedChanges()) {
+                index.writer().commit();
+            }
+        });
+    }
+
+    @Override
+    public List<PolicySearchResultDTO> search(String queryText, Integer limit) {
+        if (queryText == null || queryText.isBlank()) {
+            return List.of();
+        }
+        int maxResults = Math.min(limit != null ? limit : searchProperties.getDefaultLimit(), searchProperties.getMaxLimit());
+        Query query = buildQuery(queryText);
+        if (query == null) {
+            return List.of();
+        }
+
+        // A searcher stays usable after a swap closes its index; it is released to the manager it came from
+        IndexSearcher searcher = null;
+        SearcherManager searcherManager;
+        swapLock.readLock().lock();
+        try {
+            searcherManager = live.searcherManager();
+            searcher = searcherManager.acquire();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Policy search failed for query: " + queryText, e);
+        } finally {
+            swapLock.readLock().unlock();
+        }
+        try {
+            TopDocs topDocs = searcher.search(query, maxResults);
+            List<PolicySearchResultDTO> results = new ArrayList<>(topDocs.scoreDocs.length);
+            for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                Document document = searcher.storedFields().document(scoreDoc.doc);
+                results.add(new PolicySearchResultDTO(toDTO(document), scoreDoc.score));
+            }
+            return results;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Policy search failed for query: " + queryText, e);
+        } finally {
+            if (searcher != null) {
+                try {
+                    searcherManager.release(searcher);
+                } catch (IOException e) {
+                    log.warn("Failed to release index searcher", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Every query term has to match some field; within a term, exact matches score higher than typo-tolerant
+     * (fuzzy) ones, and the last term also matches as a prefix so partially typed words still find results.
+     */
+    private Query buildQuery(String queryText) {
+        List<String> terms = analyze(queryText);
+        if (terms.isEmpty()) {
+            return null;
+        }
+
+        BooleanQuery.Builder allTerms = new BooleanQuery.Builder();
+        for (int i = 0; i < terms.size(); i++) {
+            String term = terms.get(i);
+            boolean last = i == terms.size() - 1;
+            BooleanQuery.Builder anyField = new BooleanQuery.Builder();
+            for (Map.Entry<String, Float> boost : searchProperties.getBoosts().entrySet()) {
+                String field = boost.getKey();
+                anyField.add(new BoostQuery(new TermQuery(new Term(field, term)), boost.getValue()), BooleanClause.Occur.SHOULD);
+                if (term.length() >= 4) {
+                    int maxEdits = term.length() >= 8 ? 2 : 1;
+                    anyField.add(new BoostQuery(new FuzzyQuery(new Term(field, term), maxEdits, 1), boost.getValue() * 0.5f),
+                            BooleanClause.Occur.SHOULD);
+                }
+                if (last) {
+                    anyField.add(new BoostQuery(new PrefixQuery(new Term(field, term)), boost.getValue() * 0.3f),
+                            BooleanClause.Occur.SHOULD);
+                }
+            }
+            allTerms.add(anyField.build(), BooleanClause.Occur.MUST);
+        }
+
+        return new BooleanQuery.Builder()
+                .add(new BoostQuery(new TermQuery(new Term(POLICY_NUMBER_KEY, queryText.trim().toLowerCase(Locale.ROOT))),
+                        POLICY_NUMBER_KEY_BOOST), BooleanClause.Occur.SHOULD)
+                .add(allTerms.build(), BooleanClause.Occur.SHOULD)
+                .setMinimumNumberShouldMatch(1)
+                .build();
+    }
+
+    private List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        try (TokenStream stream = analyzer.tokenStream("lastName", text)) {
+            CharTermAttribute attribute = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                terms.add(attribute.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return terms;
+    }
+
+    private static Document toDocument(AutoPolicyDTO policy) {
+        Document document = new Document();
+        document.add(new StringField("id", policy.getId().toString(), Field.Store.YES));
+        if (policy.getPolicyNumber() != null) {
+            document.add(new TextField("policyNumber", policy.getPolicyNumber(), Field.Store.YES));
+            document.add(new StringField(POLICY_NUMBER_KEY, policy.getPolicyNumber().toLowerCase(Locale.ROOT), Field.Store.NO));
+        }
+        if (policy.getStatus() != null) {
+            // Searchable by name or code ("ACTIVE" / "ACT"), stored by name
+            document.add(new TextField("status", policy.getStatus().name() + " " + policy.getStatus().getCode(), Field.Store.NO));
+            document.add(new StoredField("statusValue", policy.getStatus().name()));
+        }
+        if (policy.getPolicyType() != null) {
+            document.add(new TextField("policyType", policy.getPolicyType().getCode(), Field.Store.YES));
+        }
+        addText(document, "vehicleMake", policy.getVehicleMake());
+        addText(document, "vehicleModel", policy.getVehicleModel());
+        addText(document, "vehicleYear", policy.getVehicleYear());
+        addText(document, "firstName", policy.getFirstName());
+        addText(document, "lastName", policy.getLastName());
+        addStored(document, "startDate", policy.getStartDate());
+        addStored(document, "endDate", policy.getEndDate());
+        addStored(document, "premiumAmount", policy.getPremiumAmount());
+        return document;
+    }
+
+    private static void addText(Document document, String field, String value) {
+        if (value != null) {
+            document.add(new TextField(field, value, Field.Store.YES));
+        }
+    }
+
+    private static void addStored(Document document, String field, Object value) {
+        if (value != null) {
+            document.add(new StoredField(field, value.toString()));
+        }
+    }
+
+    private void withLive(IndexAction action) throws IOException {
+        swapLock.readLock().lock();
+        try {
+            action.apply(live);
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private static void deleteGeneration(Path path) {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(path)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to delete old search index generation {}", path, e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface IndexAction {
+        void apply(SearchIndex index) throws IOException;
+    }
+
+    /**
+     * One generation of the index: its directory, writer and near-real-time searchers.
+     */
+    private record SearchIndex(Path path, FSDirectory directory, IndexWriter writer, SearcherManager searcherManager) {
+
+        static SearchIndex open(Path path, Analyzer analyzer) throws IOException {
+            Files.createDirectories(path);
+            FSDirectory directory = FSDirectory.open(path);
+            IndexWriterConfig config = new IndexWriterConfig(analyzer)
+                    .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+            IndexWriter writer = new IndexWriter(directory, config);
+            return new SearchIndex(path, directory, writer, new SearcherManager(writer, null));
+        }
+
+        void close() throws IOException {
+            searcherManager.close();
+            writer.commit();
+            writer.close();
+            directory.close();
+        }
+    }
+
+    /**
+     * Results are rebuilt from stored fields, so a search never touches the database.
+     */
+    private static AutoPolicyDTO toDTO(Document document) {
+        AutoPolicyDTO dto = new AutoPolicyDTO();
+        dto.setId(Long.valueOf(document.get("id")));
+        dto.setPolicyNumber(document.get("policyNumber"));
+        if (document.get("statusValue") != null) {
+            dto.setStatus(PolicyStatus.valueOf(document.get("statusValue")));
+        }
+        if (document.get("policyType") != null) {
+            dto.setPolicyType(AutoPolicyType.fromCode(document.get("policyType")));
+        }
+        dto.setVehicleMake(document.get("vehicleMake"));
+        dto.setVehicleModel(document.get("vehicleModel"));
+        dto.setVehicleYear(document.get("vehicleYear"));
+        dto.setFirstName(document.get("firstName"));
+        dto.setLastName(document.get("lastName"));
+        if (document.get("startDate") != null) {
+            dto.setStartDate(LocalDate.parse(document.get("startDate")));
+        }
+        if (document.get("endDate") != null) {
+            dto.setEndDate(LocalDate.parse(document.get("endDate")));
+        }
+        if (document.get("premiumAmount") != null) {
+            dto.setPremiumAmount(new BigDecimal(document.get("premiumAmount")));
+        }
+        return dto;
+    }
+}
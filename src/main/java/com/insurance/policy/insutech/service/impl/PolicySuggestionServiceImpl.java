@@ -0,0 +1,183 @@
+package com.insurance.policy.insutech.service.impl;
+
+import com.insurance.policy.insutech.config.SuggestProperties;
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.dto.SuggestionDTO;
+import com.insurance.policy.insutech.event.PolicyChangedEvent;
+import com.insurance.policy.insutech.scan.PolicyScanner;
+import com.insurance.policy.insutech.scan.ScannedIndex;
+import com.insurance.policy.insutech.service.PolicySuggestionService;
+import com.insurance.policy.insutech.suggest.CompletionTrie;
+import com.insurance.policy.insutech.suggest.SuggestField;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PolicySuggestionServiceImpl implements PolicySuggestionService, ScannedIndex {
+
+    private final SuggestProperties suggestProperties;
+    private final PolicyScanner policyScanner;
+
+    private volatile Map<SuggestField, CompletionTrie> current;
+    // Guarded by this
+    private TrieBuild build;
+
+    @Override
+    public List<SuggestionDTO> suggest(SuggestField field, String prefix, Integer limit) {
+        Map<SuggestField, CompletionTrie> tries = current;
+        int maxResults = Math.min(limit != null ? limit : suggestProperties.getDefaultLimit(), suggestProperties.getMaxLimit());
+        if (tries == null || maxResults <= 0) {
+            return List.of();
+        }
+        return tries.get(field).complete(prefix != null ? prefix.trim() : "", maxResults).stream()
+                .map(completion -> new SuggestionDTO(completion.value(), completion.count()))
+                .toList();
+    }
+
+    /**
+     * Strategy: adjust the counts by the difference each committed write makes
+     * - Runs after commit, so a rolled-back write never shows up as a suggestion
+     * - The old values lose one policy and the new ones gain one; an unchanged value is left alone
+     * - A write racing a rebuild is settled against the rebuild's scan position, see {@link #startBuild()}
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onPolicyChanged(PolicyChangedEvent event) {
+        apply(current, event.before(), event.after());
+        if (build != null) {
+            build.onChange(event);
+        }
+    }
+
+    @Scheduled(cron = "${insutech.suggest.rebuild-cron:0 30 4 * * *}")
+    public void scheduledRebuild() {
+        policyScanner.requestRebuild(List.of(this));
+    }
+
+    @Override
+    public void rebuild() {
+        policyScanner.rebuild(List.of(this));
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return suggestProperties.isEnabled();
+    }
+
+    /**
+     * Strategy: count every value of the shared scan beside the live tries, then swap
+     * - The scan runs in ID order, shard after shard, and a shard's IDs all lie above the previous shard's, so one
+     *   ID is the scan's position across all of them
+     * - A write to a row the scan has passed is applied to the new tries as a difference, like on the live ones
+     * - A write to a row still ahead is remembered instead; the scan skips that row and its latest state is
+     *   added at the end, so a snapshot the scan reads can never be counted on top of the write
+     */
+    @Override
+    public synchronized Build startBuild() {
+        build = new TrieBuild(emptyTries());
+        return build;
+    }
+
+    @Override
+    public boolean isReady() {
+        return current != null;
+    }
+
+    private static Map<SuggestField, CompletionTrie> emptyTries() {
+        Map<SuggestField, CompletionTrie> tries = new EnumMap<>(SuggestField.class);
+        for (SuggestField field : SuggestField.values()) {
+            tries.put(field, new CompletionTrie());
+        }
+        return tries;
+    }
+
+    private static void apply(Map<SuggestField, CompletionTrie> tries, AutoPolicyDTO before, AutoPolicyDTO after) {
+        if (tries == null) {
+            return;
+        }
+        for (SuggestField field : SuggestField.values()) {
+            String removed = before != null ? normalize(field.valueOf(before)) : null;
+            String added = after != null ? normalize(field.valueOf(after)) : null;
+            if (removed != null && removed.equals(added)) {
+                continue;
+            }
+            CompletionTrie trie = tries.get(field);
+            if (removed != null) {
+                trie.add(removed, -1);
+            }
+            if (added != null) {
+                trie.add(added, 1);
+            }
+        }
+    }
+
+    private static String normalize(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    /**
+     * A rebuild in progress; only touched while holding the service's lock.
+     */
+    private final class TrieBuild implements Build {
+        private final Map<SuggestField, CompletionTrie> tries;
+        // Latest state of rows written ahead of the scan; null for deleted rows
+        private final Map<Long, AutoPolicyDTO> ahead = new HashMap<>();
+        private final long started = System.nanoTime();
+        private long position;
+
+        private TrieBuild(Map<SuggestField, CompletionTrie> tries) {
+            this.tries = tries;
+        }
+
+        private void onChange(PolicyChangedEvent event) {
+            if (event.policyId() <= position) {
+                apply(tries, event.before(), event.after());
+            } else {
+                ahead.put(event.policyId(), event.after());
+            }
+        }
+
+        @Override
+        public void scanned(AutoPolicyDTO row) {
+            synchronized (PolicySuggestionServiceImpl.this) {
+                position = row.getId();
+                if (!ahead.containsKey(row.getId())) {
+                    apply(tries, null, row);
+                }
+            }
+        }
+
+        @Override
+        public void finish() {
+            synchronized (PolicySuggestionServiceImpl.this) {
+                ahead.values().forEach(after -> apply(tries, null, after));
+                current = tries;
+                build = null;
+            }
+            log.info("Rebuilt policy suggestions in {} ms: {}", (System.nanoTime() - started) / 1_000_000,
+                    tries.entrySet().stream()
+                            .map(entry -> entry.getKey().getParameter() + "=" + entry.getValue().size())
+                            .toList());
+        }
+
+        @Override
+        public void abandon() {
+            synchronized (PolicySuggestionServiceImpl.this) {
+                build = null;
+            }
+        }
+    }
+}
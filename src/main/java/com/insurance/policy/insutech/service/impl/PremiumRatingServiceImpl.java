@@ -0,0 +1,379 @@
+package com.insurance.policy.insutech.service.impl;
+
+import com.insurance.policy.insutech.cache.PolicyCache;
+import com.insurance.policy.insutech.config.RatingProperties;
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.dto.PremiumQuoteDTO;
+import com.insurance.policy.insutech.dto.ReRateRunDTO;
+import com.insurance.policy.insutech.event.PolicyChangedEvent;
+import com.insurance.policy.insutech.mapper.AutoPolicyMapper;
+import com.insurance.policy.insutech.model.AutoPolicy;
+import com.insurance.policy.insutech.model.AutoPolicyType;
+import com.insurance.policy.insutech.model.PolicyStatus;
+import com.insurance.policy.insutech.rating.RatingTable;
+import com.insurance.policy.insutech.rating.RatingTableRegistry;
+import com.insurance.policy.insutech.repository.AutoPolicyRepository;
+import com.insurance.policy.insutech.service.PremiumRatingService;
+import com.insurance.policy.insutech.sharding.ShardRouter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PremiumRatingServiceImpl implements PremiumRatingService {
+
+    private static final String SELECT_PAGE =
+            "select id, policy_type, vehicle_make, vehicle_model, vehicle_year, start_date, end_date, premium_amount "
+                    + "from auto_policies where status = ? and id > ? order by id limit ?";
+    private static final String UPDATE_PREMIUM =
+            "update auto_policies set premium_amount = ? where id = ? and status = ?";
+    private static final long UNRATABLE = Long.MIN_VALUE;
+    private static final int RECENT_RUNS = 20;
+    private static final String RUNNING = "RUNNING";
+    private static final String COMPLETED = "COMPLETED";
+    private static final String FAILED = "FAILED";
+
+    private final RatingTableRegistry ratingTableRegistry;
+    private final RatingProperties ratingProperties;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final CacheManager cacheManager;
+    private final AutoPolicyRepository autoPolicyRepository;
+    private final AutoPolicyMapper autoPolicyMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ShardRouter shardRouter;
+
+    // Oldest first; guarded by this
+    private final Map<Long, ReRateRunDTO> runs = new LinkedHashMap<>();
+    private long lastRunId;
+    private ForkJoinPool ratingPool;
+    private ExecutorService reRater;
+
+    @PostConstruct
+    public void start() {
+        ratingPool = new ForkJoinPool(ratingProperties.getParallelism());
+        reRater = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "policy-rerate");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        reRater.shutdownNow();
+        ratingPool.shutdownNow();
+    }
+
+    /**
+     * New business rates with the table in effect on the policy's start date.
+     */
+    @Override
+    public PremiumQuoteDTO quote(AutoPolicyDTO policy) {
+        if (!RatingTable.isRatable(policy.getPolicyType(), policy.getStartDate(), policy.getEndDate())) {
+            throw new IllegalArgumentException("A quote needs a policy type and an end date after the start date");
+        }
+        RatingTable.Factors factors = ratingTableRegistry.effectiveOn(policy.getStartDate()).factors(
+                policy.getPolicyType(), policy.getVehicleMake(), policy.getVehicleModel(), policy.getVehicleYear(),
+                policy.getStartDate(), policy.getEndDate());
+
+        PremiumQuoteDTO quote = new PremiumQuoteDTO();
+        quote.setPremiumAmount(factors.premium());
+        quote.setTableVersion(factors.tableVersion());
+        quote.setTermDays(factors.termDays());
+        quote.setBaseRate(factors.baseRate());
+        quote.setMakeFactor(factors.makeFactor());
+        quote.setModelFactor(factors.modelFactor());
+        quote.setVehicleAgeFactor(factors.vehicleAgeFactor());
+        quote.setTermLoad(factors.termLoad());
+        return quote;
+    }
+
+    /**
+     * Strategy: keyset-paged read, fork/join pricing, batched write-back, on a background thread
+     * - Runs one at a time on its own thread; the caller gets the run back at once and polls it by ID
+     * - Shards are re-rated one after the other, each paged from its own lowest ID
+     * - Pages are read by primary key with plain JDBC into column arrays, never materializing entities
+     * - Each page is priced in parallel by splitting the arrays recursively on a dedicated fork/join pool
+     * - Only premiums that actually change are written, as JDBC batch updates in one transaction per page
+     * - Only active policies are re-rated; expired and cancelled ones keep the premium they were billed, and
+     *   the update re-checks the status so a policy cancelled after its page was read is left alone
+     * - Each written policy is published as updated inside its page's transaction, so the outbox gets its rows
+     *   and the in-memory indexes follow when the page commits; its cache entries are evicted after the commit
+     */
+    @Override
+    public synchronized ReRateRunDTO startReRate(String tableVersion) {
+        RatingTable table = tableVersion != null
+                ? ratingTableRegistry.byVersion(tableVersion)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown rating table version: " + tableVersion))
+                : ratingTableRegistry.effectiveOn(LocalDate.now());
+        for (ReRateRunDTO run : runs.values()) {
+            if (RUNNING.equals(run.getState())) {
+                throw new IllegalStateException("Re-rate " + run.getId() + " is still running");
+            }
+        }
+        ReRateRunDTO run = new ReRateRunDTO();
+        run.setId(++lastRunId);
+        run.setTableVersion(table.getVersion());
+        run.setState(RUNNING);
+        run.setStartedAt(Instant.now());
+        runs.put(run.getId(), run);
+        discardOldRuns();
+        reRater.execute(() -> reRate(run.getId(), table));
+        return copyOf(run);
+    }
+
+    @Override
+    public synchronized Optional<ReRateRunDTO> getReRate(long id) {
+        return Optional.ofNullable(runs.get(id)).map(PremiumRatingServiceImpl::copyOf);
+    }
+
+    private void reRate(long runId, RatingTable table) {
+        long started = System.nanoTime();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        AtomicLong rated = new AtomicLong();
+        AtomicLong updated = new AtomicLong();
+        AtomicLong skipped = new AtomicLong();
+        try {
+            shardRouter.forEachShard(shard -> {
+                long cursor = 0;
+                Page page;
+                do {
+                    page = readPage(cursor);
+                    if (page.size == 0) {
+                        break;
+                    }
+                    ratingPool.invoke(new PriceTask(table, page, 0, page.size));
+                    Page written = page;
+                    List<Long> changed = transactionTemplate.execute(status -> writeChanged(written));
+                    if (changed != null && !changed.isEmpty()) {
+                        evictCaches(changed);
+                        updated.addAndGet(changed.size());
+                    }
+                    for (int i = 0; i < page.size; i++) {
+                        if (page.newPremiumCents[i] == UNRATABLE) {
+                            skipped.incrementAndGet();
+                        } else {
+                            rated.incrementAndGet();
+                        }
+                    }
+                    cursor = page.ids[page.size - 1];
+                    progress(runId, RUNNING, rated.get(), updated.get(), skipped.get());
+                } while (page.size == ratingProperties.getPageSize());
+            });
+
+            progress(runId, COMPLETED, rated.get(), updated.get(), skipped.get());
+            log.info("Re-rated {} active policies with table {} in {} ms: {} premiums changed, {} not ratable",
+                    rated, table.getVersion(), (System.nanoTime() - started) / 1_000_000, updated, skipped);
+        } catch (RuntimeException e) {
+            progress(runId, FAILED, rated.get(), updated.get(), skipped.get());
+            log.error("Re-rate {} with table {} failed after {} premiums changed", runId, table.getVersion(), updated, e);
+        }
+    }
+
+    private Page readPage(long afterId) {
+        Page page = new Page(ratingProperties.getPageSize());
+        jdbcTemplate.query(SELECT_PAGE, rs -> {
+            int i = page.size++;
+            page.ids[i] = rs.getLong(1);
+            String type = rs.getString(2);
+            page.types[i] = type != null ? AutoPolicyType.fromCode(type) : null;
+            page.makes[i] = rs.getString(3);
+            page.models[i] = rs.getString(4);
+            page.years[i] = rs.getString(5);
+            Date start = rs.getDate(6);
+            Date end = rs.getDate(7);
+            page.startDates[i] = start != null ? start.toLocalDate() : null;
+            page.endDates[i] = end != null ? end.toLocalDate() : null;
+            BigDecimal premium = rs.getBigDecimal(8);
+            page.currentPremiumCents[i] = premium != null ? premium.movePointRight(2).longValue() : UNRATABLE;
+        }, PolicyStatus.ACTIVE.name(), afterId, ratingProperties.getPageSize());
+        return page;
+    }
+
+    private List<Long> writeChanged(Page page) {
+        int[] changed = new int[page.size];
+        int count = 0;
+        for (int i = 0; i < page.size; i++) {
+            if (page.newPremiumCents[i] != UNRATABLE && page.newPremiumCents[i] != page.currentPremiumCents[i]) {
+                changed[count++] = i;
+            }
+        }
+        Map<Long, BigDecimal> previousPremiums = new HashMap<>();
+        int batchSize = ratingProperties.getBatchSize();
+        for (int from = 0; from < count; from += batchSize) {
+            int offset = from;
+            int length = Math.min(batchSize, count - from);
+            int[] rowCounts = jdbcTemplate.batchUpdate(UPDATE_PREMIUM, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    int row = changed[offset + i];
+                    ps.setBigDecimal(1, BigDecimal.valueOf(page.newPremiumCents[row], 2));
+                    ps.setLong(2, page.ids[row]);
+                    ps.setString(3, PolicyStatus.ACTIVE.name());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return length;
+                }
+            });
+            // Zero rows means the policy left ACTIVE after the page was read; drivers may also report no count
+            for (int i = 0; i < rowCounts.length; i++) {
+                if (rowCounts[i] != 0) {
+                    int row = changed[offset + i];
+                    previousPremiums.put(page.ids[row], BigDecimal.valueOf(page.currentPremiumCents[row], 2));
+                }
+            }
+        }
+        if (previousPremiums.isEmpty()) {
+            return List.of();
+        }
+        List<Long> written = new ArrayList<>(previousPremiums.size());
+        for (AutoPolicy policy : autoPolicyRepository.findAllById(previousPremiums.keySet())) {
+            AutoPolicyDTO after = autoPolicyMapper.toDTO(policy);
+            AutoPolicyDTO before = autoPolicyMapper.toDTO(policy);
+            before.setPremiumAmount(previousPremiums.get(policy.getId()));
+            eventPublisher.publishEvent(PolicyChangedEvent.updated(before, after));
+            written.add(policy.getId());
+        }
+        return written;
+    }
+
+    private void evictCaches(List<Long> policyIds) {
+        Cache policies = cacheManager.getCache(PolicyCache.REGION);
+        if (policies != null) {
+            policyIds.forEach(policies::evict);
+        }
+        for (String cacheName : List.of("allPolicies", "filteredPolicies")) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
+    private synchronized void progress(long runId, String state, long rated, long updated, long skipped) {
+        ReRateRunDTO run = runs.get(runId);
+        if (run == null) {
+            return;
+        }
+        run.setState(state);
+        run.setRated(rated);
+        run.setUpdated(updated);
+        run.setSkipped(skipped);
+        if (!RUNNING.equals(state)) {
+            run.setCompletedAt(Instant.now());
+        }
+    }
+
+    // Guarded by this
+    private void discardOldRuns() {
+        Iterator<ReRateRunDTO> oldestFirst = runs.values().iterator();
+        while (runs.size() > RECENT_RUNS && oldestFirst.hasNext()) {
+            if (!RUNNING.equals(oldestFirst.next().getState())) {
+                oldestFirst.remove();
+            }
+        }
+    }
+
+    private static ReRateRunDTO copyOf(ReRateRunDTO run) {
+        ReRateRunDTO copy = new ReRateRunDTO();
+        copy.setId(run.getId());
+        copy.setTableVersion(run.getTableVersion());
+        copy.setState(run.getState());
+        copy.setRated(run.getRated());
+        copy.setUpdated(run.getUpdated());
+        copy.setSkipped(run.getSkipped());
+        copy.setStartedAt(run.getStartedAt());
+        copy.setCompletedAt(run.getCompletedAt());
+        return copy;
+    }
+
+    /**
+     * One page of policies in column form; workers write disjoint slices of {@link #newPremiumCents}.
+     */
+    private static final class Page {
+        private final long[] ids;
+        private final AutoPolicyType[] types;
+        private final String[] makes;
+        private final String[] models;
+        private final String[] years;
+        private final LocalDate[] startDates;
+        private final LocalDate[] endDates;
+        private final long[] currentPremiumCents;
+        private final long[] newPremiumCents;
+        private int size;
+
+        private Page(int capacity) {
+            ids = new long[capacity];
+            types = new AutoPolicyType[capacity];
+            makes = new String[capacity];
+            models = new String[capacity];
+            years = new String[capacity];
+            startDates = new LocalDate[capacity];
+            endDates = new LocalDate[capacity];
+            currentPremiumCents = new long[capacity];
+            newPremiumCents = new long[capacity];
+        }
+    }
+
+    private final class PriceTask extends RecursiveAction {
+        private final RatingTable table;
+        private final Page page;
+        private final int from;
+        private final int to;
+
+        private PriceTask(RatingTable table, Page page, int from, int to) {
+            this.table = table;
+            this.page = page;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= ratingProperties.getForkThreshold()) {
+                for (int i = from; i < to; i++) {
+                    page.newPremiumCents[i] = RatingTable.isRatable(page.types[i], page.startDates[i], page.endDates[i])
+                            ? table.premiumCents(page.types[i], page.makes[i], page.models[i], page.years[i],
+                            page.startDates[i], page.endDates[i])
+                            : UNRATABLE;
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new PriceTask(table, page, from, middle), new PriceTask(table, page, middle, to));
+        }
+    }
+}
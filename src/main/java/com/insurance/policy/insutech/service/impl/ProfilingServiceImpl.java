@@ -0,0 +1,271 @@
+package com.insurance.policy.insutech.service.impl;
+
+import com.insurance.policy.insutech.config.ProfilingProperties;
+import com.insurance.policy.insutech.dto.ProfilingHotspotDTO;
+import com.insurance.policy.insutech.dto.ProfilingRecordingDTO;
+import com.insurance.policy.insutech.dto.ProfilingSummaryDTO;
+import com.insurance.policy.insutech.exception.RecordingInProgressException;
+import com.insurance.policy.insutech.profiling.CacheLoadEvent;
+import com.insurance.policy.insutech.profiling.FilterQueryEvent;
+import com.insurance.policy.insutech.profiling.PolicyServiceEvent;
+import com.insurance.policy.insutech.service.ProfilingService;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProfilingServiceImpl implements ProfilingService {
+
+    private static final String EXECUTION_SAMPLE = "jdk.ExecutionSample";
+    private static final String ALLOCATION_SAMPLE = "jdk.ObjectAllocationSample";
+    private static final String MONITOR_ENTER = "jdk.JavaMonitorEnter";
+
+    private final ProfilingProperties profilingProperties;
+
+    // Oldest first; guarded by this
+    private final Map<Long, Session> sessions = new LinkedHashMap<>();
+    private long lastId;
+
+    /**
+     * Strategy: one time-boxed flight recording at a time
+     * - A built-in JFR configuration: "default" costs about 1% and suits a live node, "profile" samples more
+     *   often for a few percent more
+     * - The recording stops on its own after the duration and is written to disk then, so a forgotten session
+     *   cannot keep running
+     * - The application's own events are always on, whatever the configuration
+     * - A second recording is refused while one runs, so two callers never double the overhead
+     */
+    @Override
+    public synchronized ProfilingRecordingDTO startRecording(String profile, Duration duration) {
+        if (duration.isZero() || duration.isNegative() || duration.compareTo(profilingProperties.getMaxDuration()) > 0) {
+            throw new IllegalArgumentException("Duration must be between 1 second and "
+                    + profilingProperties.getMaxDuration().toSeconds() + " seconds");
+        }
+        for (Session session : sessions.values()) {
+            if (session.isRunning()) {
+                throw new RecordingInProgressException("Recording " + session.id() + " is still running");
+            }
+        }
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(profile);
+        } catch (IOException | ParseException e) {
+            throw new IllegalArgumentException("Unknown JFR configuration: " + profile);
+        }
+
+        long id = ++lastId;
+        Recording recording = new Recording(configuration);
+        try {
+            Path directory = Paths.get(profilingProperties.getDirectory());
+            Files.createDirectories(directory);
+            Path file = directory.resolve("policy-" + id + ".jfr");
+            recording.setName("insutech-" + id);
+            recording.enable(PolicyServiceEvent.class);
+            recording.enable(CacheLoadEvent.class);
+            recording.enable(FilterQueryEvent.class);
+            recording.setToDisk(true);
+            recording.setDuration(duration);
+            recording.setDestination(file);
+            recording.start();
+            Session session = new Session(id, profile, recording, file, Instant.now(), duration);
+            sessions.put(id, session);
+            log.info("Started JFR recording {} with the {} configuration for {} s", id, profile, duration.toSeconds());
+            discardOldSessions();
+            return toDTO(session);
+        } catch (IOException e) {
+            recording.close();
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized Optional<ProfilingRecordingDTO> getRecording(long id) {
+        return Optional.ofNullable(sessions.get(id)).map(this::toDTO);
+    }
+
+    @Override
+    public synchronized Optional<ProfilingRecordingDTO> stopRecording(long id) {
+        Session session = sessions.get(id);
+        if (session == null) {
+            return Optional.empty();
+        }
+        if (session.isRunning()) {
+            session.recording().stop();
+        }
+        return Optional.of(toDTO(session));
+    }
+
+    @Override
+    public synchronized Optional<Path> getRecordingFile(long id) {
+        Session session = sessions.get(id);
+        if (session == null) {
+            return Optional.empty();
+        }
+        if (session.isRunning()) {
+            throw new RecordingInProgressException("Recording " + id + " is still running; stop it or wait "
+                    + session.duration().toSeconds() + " s from its start");
+        }
+        return Files.exists(session.file()) ? Optional.of(session.file()) : Optional.empty();
+    }
+
+    /**
+     * Strategy: summarize on the server, so a quick look needs no JMC
+     * - Hot methods are the top frames of execution samples, which is where the CPU time was spent
+     * - Allocation sites add up the sampled weights, an estimate of the bytes each method allocated
+     * - Lock contention adds up the time threads waited to enter a monitor, per waiting method and monitor class
+     * - The application's events are grouped by operation, cache region and filter parameters
+     */
+    @Override
+    public Optional<ProfilingSummaryDTO> summarize(long id, int limit) {
+        Optional<Path> path = getRecordingFile(id);
+        if (path.isEmpty()) {
+            return Optional.empty();
+        }
+        Map<String, long[]> hotMethods = new HashMap<>();
+        Map<String, long[]> allocationSites = new HashMap<>();
+        Map<String, long[]> lockContention = new HashMap<>();
+        Map<String, long[]> applicationEvents = new HashMap<>();
+        long samples = 0;
+        try (RecordingFile recordingFile = new RecordingFile(path.get())) {
+            while (recordingFile.hasMoreEvents()) {
+                RecordedEvent event = recordingFile.readEvent();
+                switch (event.getEventType().getName()) {
+                    case EXECUTION_SAMPLE -> {
+                        samples++;
+                        add(hotMethods, topFrame(event), 0);
+                    }
+                    case ALLOCATION_SAMPLE -> add(allocationSites, topFrame(event), event.getLong("weight"));
+                    case MONITOR_ENTER -> add(lockContention,
+                            topFrame(event) + " on " + event.getClass("monitorClass").getName(), micros(event));
+                    case PolicyServiceEvent.NAME -> add(applicationEvents,
+                            "AutoPolicyService." + event.getString("method"), micros(event));
+                    case CacheLoadEvent.NAME -> add(applicationEvents,
+                            "Cache load " + event.getString("region"), micros(event));
+                    case FilterQueryEvent.NAME -> add(applicationEvents,
+                            "Filter query " + event.getString("parameters"), micros(event));
+                    default -> {
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        Session session;
+        synchronized (this) {
+            session = sessions.get(id);
+        }
+        ProfilingSummaryDTO summary = new ProfilingSummaryDTO();
+        summary.setRecordingId(id);
+        summary.setProfile(session != null ? session.profile() : null);
+        summary.setExecutionSamples(samples);
+        summary.setHotMethods(top(hotMethods, limit));
+        summary.setAllocationSites(top(allocationSites, limit));
+        summary.setLockContention(top(lockContention, limit));
+        summary.setApplicationEvents(top(applicationEvents, limit));
+        return Optional.of(summary);
+    }
+
+    @PreDestroy
+    public synchronized void closeRecordings() {
+        sessions.values().forEach(session -> session.recording().close());
+    }
+
+    private void discardOldSessions() {
+        Iterator<Session> oldestFirst = sessions.values().iterator();
+        int excess = sessions.size() - Math.max(1, profilingProperties.getRetainedRecordings());
+        while (excess > 0 && oldestFirst.hasNext()) {
+            Session session = oldestFirst.next();
+            if (session.isRunning()) {
+                continue;
+            }
+            session.recording().close();
+            try {
+                Files.deleteIfExists(session.file());
+            } catch (IOException e) {
+                log.warn("Could not delete JFR recording {}", session.file(), e);
+            }
+            oldestFirst.remove();
+            excess--;
+        }
+    }
+
+    private static void add(Map<String, long[]> sites, String site, long total) {
+        long[] counters = sites.computeIfAbsent(site, key -> new long[2]);
+        counters[0]++;
+        counters[1] += total;
+    }
+
+    private static List<ProfilingHotspotDTO> top(Map<String, long[]> sites, int limit) {
+        return sites.entrySet().stream()
+                .map(entry -> new ProfilingHotspotDTO(entry.getKey(), entry.getValue()[0], entry.getValue()[1]))
+                .sorted(Comparator.comparingLong(ProfilingHotspotDTO::getTotal)
+                        .thenComparingLong(ProfilingHotspotDTO::getCount)
+                        .reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    private static String topFrame(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "<no stack trace>";
+        }
+        RecordedFrame frame = stackTrace.getFrames().get(0);
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+    }
+
+    private static long micros(RecordedEvent event) {
+        return event.getDuration().toNanos() / 1_000;
+    }
+
+    private ProfilingRecordingDTO toDTO(Session session) {
+        ProfilingRecordingDTO dto = new ProfilingRecordingDTO();
+        dto.setId(session.id());
+        dto.setProfile(session.profile());
+        dto.setState(session.isRunning() ? RecordingState.RUNNING.name() : RecordingState.STOPPED.name());
+        dto.setStartedAt(session.startedAt());
+        dto.setDurationSeconds(session.duration().toSeconds());
+        try {
+            dto.setSizeBytes(session.isRunning() || !Files.exists(session.file()) ? null : Files.size(session.file()));
+        } catch (IOException e) {
+            dto.setSizeBytes(null);
+        }
+        return dto;
+    }
+
+    private record Session(long id, String profile, Recording recording, Path file, Instant startedAt,
+                           Duration duration) {
+
+        private boolean isRunning() {
+            RecordingState state = recording.getState();
+            return state == RecordingState.NEW || state == RecordingState.DELAYED || state == RecordingState.RUNNING;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.insurance.policy.insutech.service.impl;
+
+import com.insurance.policy.insutech.config.DeadlineProperties;
+import com.insurance.policy.insutech.config.ReactiveProperties;
+import com.insurance.policy.insutech.deadline.ReactiveDeadlines;
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.exception.AutoPolicyNotFoundException;
+import com.insurance.policy.insutech.model.AutoPolicyType;
+import com.insurance.policy.insutech.model.PolicyStatus;
+import com.insurance.policy.insutech.profiling.FilterQueryEvent;
+import com.insurance.policy.insutech.repository.ReactiveAutoPolicyRepository;
+import com.insurance.policy.insutech.service.AutoPolicyService;
+import com.insurance.policy.insutech.service.IndexAdvisorService;
+import com.insurance.policy.insutech.service.PolicyExistenceService;
+import com.insurance.policy.insutech.service.ReactiveAutoPolicyService;
+import com.insurance.policy.insutech.specification.FilterShape;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveAutoPolicyServiceImpl implements ReactiveAutoPolicyService {
+
+    private final ReactiveAutoPolicyRepository reactiveAutoPolicyRepository;
+    private final AutoPolicyService autoPolicyService;
+    private final PolicyExistenceService policyExistenceService;
+    private final IndexAdvisorService indexAdvisorService;
+    private final CacheManager cacheManager;
+    private final DeadlineProperties deadlineProperties;
+    private final ReactiveProperties reactiveProperties;
+    private final Scheduler reactiveBlockingScheduler;
+
+    /**
+     * Strategy: same "policies" region and existence filter as the blocking lookup
+     * - @Cacheable reads the region through its asynchronous view and caches the value once the Mono completes
+     * - IDs the existence filter rules out fail without a query; a miss in both tables is remembered
+     */
+    @Override
+    @Cacheable(value = "policies", key = "#id")
+    public Mono<AutoPolicyDTO> getPolicyById(Long id) {
+        if (!policyExistenceService.mightExist(id)) {
+            return Mono.error(new AutoPolicyNotFoundException("Auto Policy not found with ID: " + id));
+        }
+        return reactiveAutoPolicyRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> {
+                    policyExistenceService.recordMissing(id);
+                    return new AutoPolicyNotFoundException("Auto Policy not found with ID: " + id);
+                }));
+    }
+
+    @Override
+    @Cacheable(value = "policyNumbers", key = "#policyNumber")
+    public Mono<AutoPolicyDTO> getPolicyByPolicyNumber(String policyNumber) {
+        if (!policyExistenceService.mightExist(policyNumber)) {
+            return Mono.error(new AutoPolicyNotFoundException("AutoPolicy with policy number " + policyNumber + " not found"));
+        }
+        return reactiveAutoPolicyRepository.findByPolicyNumber(policyNumber)
+                .switchIfEmpty(Mono.error(() -> {
+                    policyExistenceService.recordMissing(policyNumber);
+                    return new AutoPolicyNotFoundException("AutoPolicy with policy number " + policyNumber + " not found");
+                }));
+    }
+
+    /**
+     * Strategy: stream the list, served from "allPolicies" when cached
+     * - Rows go out as they arrive; the list is cached on completion only if it is small enough
+     * - Bounded by the list deadline; an empty table is a 404, as on the blocking stack
+     */
+    @Override
+    public Flux<AutoPolicyDTO> getAllPolicies() {
+        Flux<AutoPolicyDTO> policies = cachedOrStreamed(cacheManager.getCache("allPolicies"), "all",
+                () -> reactiveAutoPolicyRepository.findAll()
+                        .switchIfEmpty(Mono.error(() -> new AutoPolicyNotFoundException("No auto policies found in the system."))));
+        return ReactiveDeadlines.limit(policies, "Policy list", deadlineProperties.getListMs());
+    }
+
+    /**
+     * Strategy: stream filter results under the blocking stack's cache keys
+     * - Both stacks read and fill the same "filteredPolicies" entries, and the write paths evict them
+     * - The shape is recorded for the index advisor once the last row is out; with a slow client the time
+     *   includes waiting on it
+     */
+    @Override
+    public Flux<AutoPolicyDTO> getAllPolicies(LocalDate startDate, LocalDate endDate, PolicyStatus status,
+                                              AutoPolicyType type, String vehicleMake, String firstName,
+                                              String lastName, Double minPremium, Double maxPremium) {
+        String cacheKey = AutoPolicyServiceImpl.generateCacheKey(startDate, endDate, status, type, vehicleMake,
+                firstName, lastName, minPremium, maxPremium);
+        Flux<AutoPolicyDTO> policies = cachedOrStreamed(cacheManager.getCache("filteredPolicies"), cacheKey, () -> {
+            long started = System.nanoTime();
+            FilterQueryEvent queryEvent = FilterQueryEvent.start();
+            AtomicLong rows = new AtomicLong();
+            return reactiveAutoPolicyRepository.findFiltered(startDate, endDate, status, type, vehicleMake,
+                            firstName, lastName, minPremium, maxPremium)
+                    .doOnNext(policy -> rows.incrementAndGet())
+                    .doOnComplete(() -> {
+                        int shape = FilterShape.of(startDate, endDate, status, type, vehicleMake, firstName, lastName,
+                                minPremium, maxPremium);
+                        indexAdvisorService.recordFilterQuery(shape, status, (int) rows.get(), System.nanoTime() - started);
+                        queryEvent.finish(shape, status, rows.get());
+                    });
+        });
+        return ReactiveDeadlines.limit(policies, "Policy filter", deadlineProperties.getFilterMs());
+    }
+
+    @Override
+    public Mono<AutoPolicyDTO> createPolicy(AutoPolicyDTO autoPolicyDTO) {
+        return blocking(() -> autoPolicyService.createPolicy(autoPolicyDTO));
+    }
+
+    @Override
+    public Mono<List<AutoPolicyDTO>> createPolicies(List<AutoPolicyDTO> autoPolicyDTOs) {
+        return ReactiveDeadlines.blocking("Batch create", deadlineProperties.getBatchMs(), reactiveBlockingScheduler,
+                () -> autoPolicyService.createPolicies(autoPolicyDTOs));
+    }
+
+    @Override
+    public Mono<AutoPolicyDTO> updatePolicy(Long id, AutoPolicyDTO autoPolicyDTO) {
+        return blocking(() -> autoPolicyService.updatePolicy(id, autoPolicyDTO));
+    }
+
+    @Override
+    public Mono<Void> deletePolicy(Long id) {
+        return blocking(() -> {
+            autoPolicyService.deletePolicy(id);
+            return null;
+        }).then();
+    }
+
+    /**
+     * Writes keep the blocking service's transaction, numbering, events and cache eviction.
+     */
+    private <T> Mono<T> blocking(Supplier<T> work) {
+        return Mono.fromSupplier(work).subscribeOn(reactiveBlockingScheduler);
+    }
+
+    /**
+     * A cached list is replayed as a stream. Otherwise the query streams and its rows are collected on the side;
+     * the list is cached only when the stream completes within {@code cacheMaxRows}, never after a cancel or error.
+     */
+    @SuppressWarnings("unchecked")
+    private Flux<AutoPolicyDTO> cachedOrStreamed(Cache cache, Object key, Supplier<Flux<AutoPolicyDTO>> query) {
+        return Flux.defer(() -> {
+            CompletableFuture<?> cached = cache.retrieve(key);
+            if (cached != null) {
+                return Mono.fromFuture(cached).flatMapIterable(list -> (List<AutoPolicyDTO>) list);
+            }
+            int cacheMaxRows = reactiveProperties.getCacheMaxRows();
+            AtomicReference<List<AutoPolicyDTO>> collected = new AtomicReference<>(new ArrayList<>());
+            return query.get()
+                    .doOnNext(policy -> {
+                        List<AutoPolicyDTO> rows = collected.get();
+                        if (rows != null && rows.size() < cacheMaxRows) {
+                            rows.add(policy);
+                        } else {
+                            collected.set(null);
+                        }
+                    })
+                    .doOnComplete(() -> {
+                        List<AutoPolicyDTO> rows = collected.get();
+                        if (rows != null) {
+                            cache.put(key, rows);
+                        }
+                    });
+        });
+    }
+}
@@ -0,0 +1,288 @@
+package com.insurance.policy.insutech.service.impl;
+
+import com.insurance.policy.insutech.config.FilterProperties;
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.dto.FacetedPoliciesDTO;
+import com.insurance.policy.insutech.exception.AutoPolicyNotFoundException;
+import com.insurance.policy.insutech.exception.CrossShardRenumberException;
+import com.insurance.policy.insutech.exception.DuplicatePolicyNumberException;
+import com.insurance.policy.insutech.exception.ReservedPolicyNumberException;
+import com.insurance.policy.insutech.mapper.AutoPolicyMapper;
+import com.insurance.policy.insutech.model.AutoPolicyType;
+import com.insurance.policy.insutech.model.PolicyStatus;
+import com.insurance.policy.insutech.profiling.FilterQueryEvent;
+import com.insurance.policy.insutech.repository.ArchivedAutoPolicyRepository;
+import com.insurance.policy.insutech.repository.AutoPolicyRepository;
+import com.insurance.policy.insutech.service.AutoPolicyService;
+import com.insurance.policy.insutech.service.IndexAdvisorService;
+import com.insurance.policy.insutech.service.PolicyExistenceService;
+import com.insurance.policy.insutech.service.PolicyNumberService;
+import com.insurance.policy.insutech.sharding.ShardRouter;
+import com.insurance.policy.insutech.specification.FilterShape;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+/**
+ * Strategy: route point operations to one shard, scatter-gather the rest
+ * - Lookups, updates and deletes bind the policy's shard and hand over to {@link AutoPolicyServiceImpl}, whose
+ *   caching, events and transactions then apply unchanged on that shard
+ * - The shard is bound before the delegate's transaction starts, so its connection comes from the right pool
+ * - Lists and filters query every shard in parallel and merge; they are cached under the same keys as unsharded
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "insutech.sharding.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ShardedAutoPolicyServiceImpl implements AutoPolicyService {
+
+    private static final int DUPLICATE_CHECK_CHUNK = 1000;
+
+    private final AutoPolicyServiceImpl shardLocalService;
+    private final AutoPolicyRepository autoPolicyRepository;
+    private final ArchivedAutoPolicyRepository archivedAutoPolicyRepository;
+    private final ShardRouter shardRouter;
+    private final PolicyNumberService policyNumberService;
+    private final PolicyExistenceService policyExistenceService;
+    private final IndexAdvisorService indexAdvisorService;
+    private final FilterProperties filterProperties;
+    private final CacheManager cacheManager;
+    private final AutoPolicyMapper autoPolicyMapper = AutoPolicyMapper.INSTANCE;
+
+    /**
+     * The shard comes from the ID itself; an ID naming no configured shard cannot exist.
+     */
+    @Override
+    public AutoPolicyDTO getPolicyById(Long id) {
+        int shard = ShardRouter.shardOf(id);
+        if (!shardRouter.isKnownShard(shard)) {
+            throw new AutoPolicyNotFoundException("Auto Policy not found with ID: " + id);
+        }
+        return shardRouter.onShard(shard, () -> shardLocalService.getPolicyById(id));
+    }
+
+    @Override
+    public AutoPolicyDTO getPolicyByPolicyNumber(String policyNumber) {
+        return shardRouter.onShard(shardRouter.shardFor(policyNumber),
+                () -> shardLocalService.getPolicyByPolicyNumber(policyNumber));
+    }
+
+    /**
+     * A blank number is allocated here, since the number decides the shard; a supplied one may not look like one
+     * the allocator issues.
+     */
+    @Override
+    public AutoPolicyDTO createPolicy(AutoPolicyDTO autoPolicyDTO) {
+        if (isBlank(autoPolicyDTO.getPolicyNumber())) {
+            autoPolicyDTO.setPolicyNumber(policyNumberService.nextPolicyNumber());
+        } else if (policyNumberService.isIssuedFormat(autoPolicyDTO.getPolicyNumber())) {
+            throw new ReservedPolicyNumberException(List.of(autoPolicyDTO.getPolicyNumber()));
+        }
+        return shardRouter.onShard(shardRouter.shardFor(autoPolicyDTO.getPolicyNumber()),
+                () -> shardLocalService.createPolicy(autoPolicyDTO));
+    }
+
+    @Override
+    @Cacheable(value = "allPolicies", key = "'all'")
+    public List<AutoPolicyDTO> getAllPolicies() {
+        List<AutoPolicyDTO> policies = merge(shardRouter.scatter(shard -> autoPolicyRepository.findAll().stream()
+                .map(autoPolicyMapper::toDTO)
+                .toList()));
+        if (policies.isEmpty()) {
+            throw new AutoPolicyNotFoundException("No auto policies found in the system.");
+        }
+        return policies;
+    }
+
+    /**
+     * A new number may hash to another shard; moving a policy between shards is not done implicitly.
+     */
+    @Override
+    public AutoPolicyDTO updatePolicy(Long id, AutoPolicyDTO autoPolicyDTO) {
+        int shard = ShardRouter.shardOf(id);
+        if (!shardRouter.isKnownShard(shard)) {
+            throw new AutoPolicyNotFoundException("Auto Policy not found with ID: " + id);
+        }
+        String policyNumber = autoPolicyDTO.getPolicyNumber();
+        if (!isBlank(policyNumber) && shardRouter.shardFor(policyNumber) != shard) {
+            throw new CrossShardRenumberException(id, policyNumber);
+        }
+        return shardRouter.onShard(shard, () -> shardLocalService.updatePolicy(id, autoPolicyDTO));
+    }
+
+    @Override
+    public void deletePolicy(Long id) {
+        int shard = ShardRouter.shardOf(id);
+        if (!shardRouter.isKnownShard(shard)) {
+            throw new AutoPolicyNotFoundException("AutoPolicy with ID " + id + " not found");
+        }
+        shardRouter.onShard(shard, () -> {
+            shardLocalService.deletePolicy(id);
+            return null;
+        });
+    }
+
+    /**
+     * Strategy: validate across all shards, then write each shard's share in parallel
+     * - Supplied numbers in the allocator's format are refused, and the rest are checked for duplicates on every
+     *   shard before anything is written, so a taken number still rejects the whole batch
+     * - Blank numbers are allocated up front, since the number decides the shard
+     * - Each shard commits its share on its own; a failure other than a duplicate can leave the shares of other
+     *   shards in place
+     * - Results come back in request order
+     */
+    @Override
+    public List<AutoPolicyDTO> createPolicies(List<AutoPolicyDTO> autoPolicyDTOs) {
+        List<String> reserved = autoPolicyDTOs.stream()
+                .map(AutoPolicyDTO::getPolicyNumber)
+                .filter(policyNumber -> !isBlank(policyNumber) && policyNumberService.isIssuedFormat(policyNumber))
+                .toList();
+        if (!reserved.isEmpty()) {
+            throw new ReservedPolicyNumberException(reserved);
+        }
+        rejectDuplicateNumbers(autoPolicyDTOs);
+        List<AutoPolicyDTO> unnumbered = autoPolicyDTOs.stream()
+                .filter(policy -> isBlank(policy.getPolicyNumber()))
+                .toList();
+        if (!unnumbered.isEmpty()) {
+            Iterator<String> numbers = policyNumberService.nextPolicyNumbers(unnumbered.size()).iterator();
+            unnumbered.forEach(policy -> policy.setPolicyNumber(numbers.next()));
+        }
+
+        List<List<Integer>> positions = new ArrayList<>();
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            positions.add(new ArrayList<>());
+        }
+        for (int i = 0; i < autoPolicyDTOs.size(); i++) {
+            positions.get(shardRouter.shardFor(autoPolicyDTOs.get(i).getPolicyNumber())).add(i);
+        }
+        List<List<AutoPolicyDTO>> created = shardRouter.scatter(shard -> positions.get(shard).isEmpty()
+                ? List.of()
+                : shardLocalService.createPolicies(positions.get(shard).stream().map(autoPolicyDTOs::get).toList()));
+
+        AutoPolicyDTO[] ordered = new AutoPolicyDTO[autoPolicyDTOs.size()];
+        for (int shard = 0; shard < created.size(); shard++) {
+            for (int i = 0; i < created.get(shard).size(); i++) {
+                ordered[positions.get(shard).get(i)] = created.get(shard).get(i);
+            }
+        }
+        return Arrays.asList(ordered);
+    }
+
+    private void rejectDuplicateNumbers(List<AutoPolicyDTO> policies) {
+        Set<String> supplied = new HashSet<>();
+        Set<String> duplicates = new TreeSet<>();
+        for (AutoPolicyDTO policy : policies) {
+            if (!isBlank(policy.getPolicyNumber()) && !supplied.add(policy.getPolicyNumber())) {
+                duplicates.add(policy.getPolicyNumber());
+            }
+        }
+        List<List<String>> candidates = new ArrayList<>();
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            candidates.add(new ArrayList<>());
+        }
+        for (String policyNumber : policyExistenceService.possiblyExisting(supplied)) {
+            candidates.get(shardRouter.shardFor(policyNumber)).add(policyNumber);
+        }
+        shardRouter.scatter(shard -> {
+            List<String> shardCandidates = candidates.get(shard);
+            List<String> taken = new ArrayList<>();
+            for (int from = 0; from < shardCandidates.size(); from += DUPLICATE_CHECK_CHUNK) {
+                List<String> chunk = shardCandidates.subList(from, Math.min(shardCandidates.size(), from + DUPLICATE_CHECK_CHUNK));
+                taken.addAll(autoPolicyRepository.findExistingPolicyNumbers(chunk));
+                taken.addAll(archivedAutoPolicyRepository.findExistingPolicyNumbers(chunk));
+            }
+            return taken;
+        }).forEach(duplicates::addAll);
+        if (!duplicates.isEmpty()) {
+            throw new DuplicatePolicyNumberException(duplicates);
+        }
+    }
+
+    /**
+     * Same region and keys as {@link AutoPolicyServiceImpl}, so the write paths' evictions keep applying. The
+     * index advisor records the whole scatter as one query.
+     */
+    @Override
+    public List<AutoPolicyDTO> getAllPolicies(LocalDate startDate, LocalDate endDate, PolicyStatus status,
+                                              AutoPolicyType type, String vehicleMake, String firstName,
+                                              String lastName, Double minPremium, Double maxPremium) {
+        String cacheKey = AutoPolicyServiceImpl.generateCacheKey(startDate, endDate, status, type, vehicleMake,
+                firstName, lastName, minPremium, maxPremium);
+        Cache filteredPolicies = cacheManager.getCache("filteredPolicies");
+        @SuppressWarnings("unchecked")
+        List<AutoPolicyDTO> cachedResult = filteredPolicies.get(cacheKey, List.class);
+        if (cachedResult != null) {
+            return cachedResult;
+        }
+
+        long started = System.nanoTime();
+        FilterQueryEvent queryEvent = FilterQueryEvent.start();
+        List<AutoPolicyDTO> result = merge(shardRouter.scatter(shard -> filterProperties.getEngine() == FilterProperties.Engine.CRITERIA
+                ? autoPolicyRepository.findFilteredWithCriteria(startDate, endDate, status, type, vehicleMake,
+                        firstName, lastName, minPremium, maxPremium)
+                : autoPolicyRepository.findFiltered(startDate, endDate, status, type, vehicleMake,
+                        firstName, lastName, minPremium, maxPremium)));
+        int shape = FilterShape.of(startDate, endDate, status, type, vehicleMake, firstName, lastName, minPremium, maxPremium);
+        indexAdvisorService.recordFilterQuery(shape, status, result.size(), System.nanoTime() - started);
+        queryEvent.finish(shape, status, result.size());
+        filteredPolicies.put(cacheKey, result);
+        return result;
+    }
+
+    @Override
+    public FacetedPoliciesDTO getFacetedPolicies(LocalDate startDate, LocalDate endDate, PolicyStatus status,
+                                                 AutoPolicyType type, String vehicleMake, String firstName,
+                                                 String lastName, Double minPremium, Double maxPremium) {
+        String cacheKey = AutoPolicyServiceImpl.generateCacheKey(startDate, endDate, status, type, vehicleMake,
+                firstName, lastName, minPremium, maxPremium);
+        return PolicyFacets.withFacets(cacheManager.getCache("filteredPolicies"), cacheKey,
+                () -> getAllPolicies(startDate, endDate, status, type, vehicleMake, firstName, lastName, minPremium, maxPremium),
+                filterProperties);
+    }
+
+    /**
+     * Shards are walked one after another rather than scattered: IDs carry their shard in the high bits, so a page
+     * continues on the cursor's shard and moves on to the next shard once that one is exhausted.
+     */
+    @Override
+    public Stream<AutoPolicyDTO> streamPolicies(LocalDate startDate, LocalDate endDate, PolicyStatus status,
+                                                AutoPolicyType type, String vehicleMake, String firstName,
+                                                String lastName, Double minPremium, Double maxPremium, int pageSize) {
+        return AutoPolicyServiceImpl.keysetPages(afterId -> {
+            for (int shard = ShardRouter.shardOf(afterId); shard < shardRouter.shardCount(); shard++) {
+                List<AutoPolicyDTO> page = shardRouter.onShard(shard, () -> autoPolicyRepository.findFilteredPage(
+                        startDate, endDate, status, type, vehicleMake, firstName, lastName, minPremium, maxPremium,
+                        afterId, pageSize));
+                if (!page.isEmpty()) {
+                    return page;
+                }
+            }
+            return List.of();
+        });
+    }
+
+    private static List<AutoPolicyDTO> merge(List<List<AutoPolicyDTO>> perShard) {
+        List<AutoPolicyDTO> merged = new ArrayList<>(perShard.stream().mapToInt(List::size).sum());
+        perShard.forEach(merged::addAll);
+        return merged;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,124 @@
+package com.insurance.policy.insutech.service.impl;
+
+import com.insurance.policy.insutech.config.SqlAccountingProperties;
+import com.insurance.policy.insutech.dto.SqlStatisticsDTO;
+import com.insurance.policy.insutech.service.SqlStatisticsService;
+import com.insurance.policy.insutech.sql.SqlScope;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SqlStatisticsServiceImpl implements SqlStatisticsService {
+
+    private static final int MAX_TRACKED_PATTERNS = 20;
+
+    private final SqlAccountingProperties sqlAccountingProperties;
+
+    private final Map<String, Aggregate> serviceCalls = new ConcurrentHashMap<>();
+    private final Map<String, Aggregate> requests = new ConcurrentHashMap<>();
+
+    @Override
+    public void recordServiceCall(SqlScope scope) {
+        record(serviceCalls, scope.getName(), scope);
+    }
+
+    /**
+     * Repeated statements are logged per request rather than per service call, so an N+1 pattern is reported
+     * once, with the endpoint that triggered it.
+     */
+    @Override
+    public void recordRequest(String endpoint, SqlScope scope) {
+        List<Map.Entry<String, Integer>> repeated = record(requests, endpoint, scope);
+        for (Map.Entry<String, Integer> entry : repeated) {
+            log.warn("{} executed the same statement {} times: {}", endpoint, entry.getValue(), entry.getKey());
+        }
+    }
+
+    @Override
+    public List<SqlStatisticsDTO> getServiceStatistics() {
+        return snapshot(serviceCalls);
+    }
+
+    @Override
+    public List<SqlStatisticsDTO> getRequestStatistics() {
+        return snapshot(requests);
+    }
+
+    @Override
+    public void reset() {
+        serviceCalls.clear();
+        requests.clear();
+    }
+
+    private List<Map.Entry<String, Integer>> record(Map<String, Aggregate> aggregates, String name, SqlScope scope) {
+        Aggregate aggregate = aggregates.computeIfAbsent(name, key -> new Aggregate());
+        aggregate.invocations.increment();
+        aggregate.statements.add(scope.getStatements());
+        aggregate.rows.add(scope.getRows());
+        aggregate.dbNanos.add(scope.getDbNanos());
+        aggregate.maxStatements.accumulate(scope.getStatements());
+
+        List<Map.Entry<String, Integer>> repeated = scope.getRepeatedStatements(sqlAccountingProperties.getRepeatThreshold());
+        if (!repeated.isEmpty()) {
+            aggregate.repeatedInvocations.increment();
+            for (Map.Entry<String, Integer> entry : repeated) {
+                if (aggregate.repeatedStatements.size() < MAX_TRACKED_PATTERNS
+                        || aggregate.repeatedStatements.containsKey(entry.getKey())) {
+                    aggregate.repeatedStatements.computeIfAbsent(entry.getKey(), key -> new LongAdder()).increment();
+                }
+            }
+        }
+        return repeated;
+    }
+
+    private static List<SqlStatisticsDTO> snapshot(Map<String, Aggregate> aggregates) {
+        return aggregates.entrySet().stream()
+                .map(entry -> toDTO(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparingDouble(SqlStatisticsDTO::getDbTimeMs).reversed())
+                .collect(Collectors.toList());
+    }
+
+    private static SqlStatisticsDTO toDTO(String name, Aggregate aggregate) {
+        long invocations = aggregate.invocations.sum();
+        long statements = aggregate.statements.sum();
+        double dbTimeMs = aggregate.dbNanos.sum() / (double) TimeUnit.MILLISECONDS.toNanos(1);
+
+        SqlStatisticsDTO dto = new SqlStatisticsDTO();
+        dto.setName(name);
+        dto.setInvocations(invocations);
+        dto.setStatements(statements);
+        dto.setRows(aggregate.rows.sum());
+        dto.setDbTimeMs(dbTimeMs);
+        dto.setAverageStatements(invocations > 0 ? (double) statements / invocations : 0);
+        dto.setAverageDbTimeMs(invocations > 0 ? dbTimeMs / invocations : 0);
+        dto.setMaxStatements(aggregate.maxStatements.get());
+        dto.setRepeatedStatementInvocations(aggregate.repeatedInvocations.sum());
+        Map<String, Long> repeatedStatements = new LinkedHashMap<>();
+        aggregate.repeatedStatements.forEach((sql, count) -> repeatedStatements.put(sql, count.sum()));
+        dto.setRepeatedStatements(repeatedStatements);
+        return dto;
+    }
+
+    private static final class Aggregate {
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder dbNanos = new LongAdder();
+        private final LongAccumulator maxStatements = new LongAccumulator(Math::max, 0);
+        private final LongAdder repeatedInvocations = new LongAdder();
+        private final Map<String, LongAdder> repeatedStatements = new ConcurrentHashMap<>();
+    }
+}
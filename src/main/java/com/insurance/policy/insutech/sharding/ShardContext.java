@@ -0,0 +1,25 @@
+package com.insurance.policy.insutech.sharding;
+
+/**
+ * The shard the current thread's connections go to. Only {@link ShardRouter} binds it, so a shard is always chosen
+ * before a transaction opens its connection.
+ */
+final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    static Integer current() {
+        return CURRENT.get();
+    }
+
+    static void bind(Integer shard) {
+        if (shard == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(shard);
+        }
+    }
+}
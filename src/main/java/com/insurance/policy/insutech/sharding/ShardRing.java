@@ -0,0 +1,60 @@
+package com.insurance.policy.insutech.sharding;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Consistent hash ring over policy numbers. Each shard owns many points on the ring and a number belongs to the
+ * first point at or after its hash, so adding a shard moves only the numbers that land on its new points, about
+ * 1/N of them, instead of rehashing everything.
+ */
+public final class ShardRing {
+
+    private final long[] points;
+    private final int[] owners;
+
+    public ShardRing(int shards, int virtualNodes) {
+        if (shards < 1 || virtualNodes < 1) {
+            throw new IllegalArgumentException("A ring needs at least one shard and one virtual node");
+        }
+        long[][] entries = new long[shards * virtualNodes][];
+        for (int shard = 0; shard < shards; shard++) {
+            for (int node = 0; node < virtualNodes; node++) {
+                entries[shard * virtualNodes + node] = new long[]{hash("shard-" + shard + "#" + node), shard};
+            }
+        }
+        Arrays.sort(entries, (left, right) -> Long.compare(left[0], right[0]));
+        points = new long[entries.length];
+        owners = new int[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            points[i] = entries[i][0];
+            owners[i] = (int) entries[i][1];
+        }
+    }
+
+    public int shardFor(String policyNumber) {
+        int index = Arrays.binarySearch(points, hash(policyNumber));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == points.length ? 0 : index];
+    }
+
+    /**
+     * FNV-1a over the UTF-8 bytes, finished with the MurmurHash3 mix. Placement is persistent: changing this
+     * function strands every policy on the wrong shard.
+     */
+    static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,152 @@
+package com.insurance.policy.insutech.sharding;
+
+import com.insurance.policy.insutech.sql.SqlAccounting;
+import com.insurance.policy.insutech.sql.SqlScope;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Strategy: route by policy number, locate by ID
+ * - A policy lives on the shard its number hashes to on the {@link ShardRing}
+ * - Every shard draws IDs from its own range, so the shard is in the ID's high bits and a lookup by ID needs no
+ *   directory; shard 0's range starts at zero, so IDs from before sharding keep their meaning
+ * - Work runs with its shard bound, and the shard must be bound before a transaction opens its connection
+ * - Unsharded, there is one shard and everything runs inline, so callers need no special case
+ */
+public class ShardRouter {
+
+    /** IDs below 2^40 per shard; the bits above name the shard. */
+    public static final int SHARD_SHIFT = 40;
+
+    private final ShardRing ring;
+    private final int shardCount;
+    private final Executor scatterExecutor;
+
+    public ShardRouter(ShardRing ring, int shardCount, Executor scatterExecutor) {
+        this.ring = ring;
+        this.shardCount = shardCount;
+        this.scatterExecutor = scatterExecutor;
+    }
+
+    public static ShardRouter unsharded() {
+        return new ShardRouter(new ShardRing(1, 1), 1, Runnable::run);
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    public boolean isSharded() {
+        return shardCount > 1;
+    }
+
+    public int shardFor(String policyNumber) {
+        return isSharded() ? ring.shardFor(policyNumber) : 0;
+    }
+
+    public static int shardOf(long id) {
+        return (int) (id >>> SHARD_SHIFT);
+    }
+
+    /**
+     * First identity value of a shard's range.
+     */
+    public static long firstId(int shard) {
+        return ((long) shard << SHARD_SHIFT) + 1;
+    }
+
+    public boolean isKnownShard(int shard) {
+        return shard >= 0 && shard < shardCount;
+    }
+
+    public <T> T onShard(int shard, Supplier<T> work) {
+        if (!isSharded()) {
+            return work.get();
+        }
+        if (!isKnownShard(shard)) {
+            throw new IllegalArgumentException("No shard " + shard + "; " + shardCount + " are configured");
+        }
+        Integer previous = ShardContext.current();
+        if (previous != null && previous != shard && TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Cannot switch from shard " + previous + " to " + shard
+                    + " inside a transaction");
+        }
+        ShardContext.bind(shard);
+        try {
+            return work.get();
+        } finally {
+            ShardContext.bind(previous);
+        }
+    }
+
+    /**
+     * Runs the work on each shard in turn, for background jobs that sweep every shard.
+     */
+    public void forEachShard(IntConsumer work) {
+        for (int shard = 0; shard < shardCount; shard++) {
+            int current = shard;
+            onShard(current, () -> {
+                work.accept(current);
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Runs the work on every shard in parallel and returns the results in shard order. The first failure cancels
+     * the legs still running and is rethrown as is. Each leg counts its SQL in a scope of its own, which is added to
+     * the caller's scopes once the leg's result is in.
+     */
+    public <T> List<T> scatter(IntFunction<T> work) {
+        if (!isSharded()) {
+            return List.of(work.apply(0));
+        }
+        List<FutureTask<T>> legs = new ArrayList<>(shardCount);
+        List<SqlScope> legScopes = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            int current = shard;
+            List<SqlScope> legScope = List.of(SqlAccounting.fork());
+            FutureTask<T> leg = new FutureTask<>(() -> {
+                SqlAccounting.attach(legScope);
+                try {
+                    return onShard(current, () -> work.apply(current));
+                } finally {
+                    SqlAccounting.detach(legScope);
+                }
+            });
+            legs.add(leg);
+            legScopes.add(legScope.get(0));
+            scatterExecutor.execute(leg);
+        }
+        List<T> results = new ArrayList<>(shardCount);
+        try {
+            for (int i = 0; i < legs.size(); i++) {
+                results.add(legs.get(i).get());
+                SqlAccounting.join(legScopes.get(i));
+            }
+        } catch (InterruptedException e) {
+            legs.forEach(leg -> leg.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while gathering shard results");
+        } catch (ExecutionException e) {
+            legs.forEach(leg -> leg.cancel(true));
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+        return results;
+    }
+}
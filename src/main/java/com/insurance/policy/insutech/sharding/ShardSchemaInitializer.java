@@ -0,0 +1,103 @@
+package com.insurance.policy.insutech.sharding;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.hibernate.tool.schema.spi.SchemaManagementToolCoordinator;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * Strategy: give every shard the schema and its own ID range
+ * - Hibernate manages the schema through the default connection only, so it reaches shard 0; this repeats the same
+ *   schema action on every other shard, from the metadata captured while the session factory was built
+ * - A shard whose identity would still hand out IDs below its range is restarted inside it, so IDs never collide
+ *   across shards and always name their shard
+ * - The restart point clears every ID already used on the shard, archived ones included, and an identity already
+ *   past it is left alone: this runs on every boot and must never move the identity backwards
+ */
+@Slf4j
+public class ShardSchemaInitializer implements Integrator, SmartInitializingSingleton {
+
+    // Identity table and the table its rows may move to, whose IDs stay taken
+    private static final String[][] IDENTITY_TABLES = {{"auto_policies", "auto_policies_archive"}};
+
+    private final ShardRouter shardRouter;
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Metadata metadata;
+    private volatile SessionFactoryImplementor sessionFactory;
+
+    public ShardSchemaInitializer(ShardRouter shardRouter, DataSource dataSource) {
+        this.shardRouter = shardRouter;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+        this.metadata = metadata;
+        this.sessionFactory = sessionFactory;
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        this.metadata = null;
+        this.sessionFactory = null;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (metadata == null) {
+            throw new IllegalStateException("Hibernate metadata was not captured; sharded schemas cannot be created");
+        }
+        for (int shard = 1; shard < shardRouter.shardCount(); shard++) {
+            int current = shard;
+            shardRouter.onShard(current, () -> {
+                SchemaManagementToolCoordinator.process(metadata, sessionFactory.getServiceRegistry(),
+                        sessionFactory.getProperties(), action -> {
+                        });
+                for (String[] tables : IDENTITY_TABLES) {
+                    moveIdentityIntoRange(tables[0], tables[1], current);
+                }
+                return null;
+            });
+        }
+    }
+
+    void moveIdentityIntoRange(String table, String archiveTable, int shard) {
+        long highest = jdbcTemplate.queryForObject("select greatest(coalesce((select max(id) from " + table + "), 0), "
+                + "coalesce((select max(id) from " + archiveTable + "), 0))", Long.class);
+        long target = Math.max(ShardRouter.firstId(shard), highest + 1);
+        Long next = nextIdentityValue(table);
+        // Without a readable identity, only a shard with nothing in its range yet is moved
+        if (next == null ? highest < ShardRouter.firstId(shard) : next < target) {
+            jdbcTemplate.execute("alter table " + table + " alter column id restart with " + target);
+            log.info("Shard {}: {} identity restarted at {}", shard, table, target);
+        }
+    }
+
+    /**
+     * The value the identity of the table's id column hands out next, or null on a database this cannot read it from.
+     */
+    private Long nextIdentityValue(String table) {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if ("PostgreSQL".equals(product)) {
+            String sequence = jdbcTemplate.queryForObject("select pg_get_serial_sequence(?, 'id')", String.class, table);
+            return jdbcTemplate.queryForObject("select case when is_called then last_value + 1 else last_value end from "
+                    + sequence, Long.class);
+        }
+        if ("H2".equals(product)) {
+            return jdbcTemplate.queryForObject("select identity_base from information_schema.columns "
+                    + "where table_schema = current_schema and table_name = ? and column_name = 'ID'",
+                    Long.class, table.toUpperCase());
+        }
+        return null;
+    }
+}
@@ -0,0 +1,39 @@
+package com.insurance.policy.insutech.specification;
+
+import lombok.Getter;
+
+/**
+ * The nine optional parameters accepted by the filter endpoint, in the order they are
+ * passed to {@code AutoPolicyService.getAllPolicies(...)}. Each parameter owns one bit of a
+ * {@link FilterShape} mask.
+ */
+@Getter
+public enum FilterParameter {
+    START_DATE("start_date", Kind.RANGE),
+    END_DATE("end_date", Kind.RANGE),
+    STATUS("status", Kind.EQUALITY),
+    TYPE("policy_type", Kind.EQUALITY),
+    VEHICLE_MAKE("vehicle_make", Kind.CONTAINS),
+    FIRST_NAME("first_name", Kind.CONTAINS),
+    LAST_NAME("last_name", Kind.CONTAINS),
+    MIN_PREMIUM("premium_amount", Kind.RANGE),
+    MAX_PREMIUM("premium_amount", Kind.RANGE);
+
+    /**
+     * How the parameter is turned into a predicate by {@code AutoPolicyFilterRepository}.
+     * CONTAINS parameters become {@code lower(column) LIKE '%value%'} and cannot use a B-tree index.
+     */
+    public enum Kind { EQUALITY, RANGE, CONTAINS }
+
+    private final String column;
+    private final Kind kind;
+
+    FilterParameter(String column, Kind kind) {
+        this.column = column;
+        this.kind = kind;
+    }
+
+    public int bit() {
+        return 1 << ordinal();
+    }
+}
@@ -0,0 +1,53 @@
+package com.insurance.policy.insutech.specification;
+
+import com.insurance.policy.insutech.model.AutoPolicyType;
+import com.insurance.policy.insutech.model.PolicyStatus;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bit mask describing which filter parameters were present on a query, independent of their values.
+ * There are 2^9 possible shapes, so shape statistics can live in a fixed-size array.
+ */
+public final class FilterShape {
+
+    public static final int SHAPE_COUNT = 1 << FilterParameter.values().length;
+
+    private FilterShape() {
+    }
+
+    /**
+     * Mirrors the presence checks in {@code AutoPolicyFilterRepository}: blank strings are treated as absent.
+     */
+    public static int of(LocalDate startDate, LocalDate endDate, PolicyStatus status, AutoPolicyType type,
+                         String vehicleMake, String firstName, String lastName,
+                         Double minPremium, Double maxPremium) {
+        int mask = 0;
+        if (startDate != null) mask |= FilterParameter.START_DATE.bit();
+        if (endDate != null) mask |= FilterParameter.END_DATE.bit();
+        if (status != null) mask |= FilterParameter.STATUS.bit();
+        if (type != null) mask |= FilterParameter.TYPE.bit();
+        if (vehicleMake != null && !vehicleMake.isEmpty()) mask |= FilterParameter.VEHICLE_MAKE.bit();
+        if (firstName != null && !firstName.isEmpty()) mask |= FilterParameter.FIRST_NAME.bit();
+        if (lastName != null && !lastName.isEmpty()) mask |= FilterParameter.LAST_NAME.bit();
+        if (minPremium != null) mask |= FilterParameter.MIN_PREMIUM.bit();
+        if (maxPremium != null) mask |= FilterParameter.MAX_PREMIUM.bit();
+        return mask;
+    }
+
+    public static boolean has(int mask, FilterParameter parameter) {
+        return (mask & parameter.bit()) != 0;
+    }
+
+    public static List<FilterParameter> parameters(int mask) {
+        List<FilterParameter> parameters = new ArrayList<>();
+        for (FilterParameter parameter : FilterParameter.values()) {
+            if (has(mask, parameter)) {
+                parameters.add(parameter);
+            }
+        }
+        return parameters;
+    }
+}
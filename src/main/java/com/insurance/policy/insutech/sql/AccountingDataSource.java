@@ -0,0 +1,91 @@
+package com.insurance.policy.insutech.sql;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Strategy: thin JDK proxies around Connection, Statement and ResultSet
+ * - Each execute call is timed and charged, with its SQL, to the scopes open on the current thread
+ * - Rows are counted as ResultSet.next() returns them, wherever the result set is consumed
+ * - Nothing is recorded when no scope is open, so background jobs pay only the proxy dispatch
+ */
+public class AccountingDataSource extends DelegatingDataSource {
+
+    public AccountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(super.getConnection(username, password));
+    }
+
+    private static Connection wrapConnection(Connection connection) {
+        return proxy(Connection.class, connection, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            return switch (method.getName()) {
+                case "createStatement" -> wrapStatement(Statement.class, (Statement) result, null);
+                case "prepareStatement" -> wrapStatement(PreparedStatement.class, (Statement) result, (String) args[0]);
+                case "prepareCall" -> wrapStatement(CallableStatement.class, (Statement) result, (String) args[0]);
+                default -> result;
+            };
+        });
+    }
+
+    private static <S extends Statement> S wrapStatement(Class<S> type, Statement statement, String preparedSql) {
+        return proxy(type, statement, (proxy, method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+                long start = System.nanoTime();
+                try {
+                    Object result = invoke(statement, method, args);
+                    return result instanceof ResultSet resultSet ? wrapResultSet(resultSet) : result;
+                } finally {
+                    SqlAccounting.recordStatement(sql, System.nanoTime() - start);
+                }
+            }
+            Object result = invoke(statement, method, args);
+            return result instanceof ResultSet resultSet && name.equals("getResultSet") ? wrapResultSet(resultSet) : result;
+        });
+    }
+
+    private static ResultSet wrapResultSet(ResultSet resultSet) {
+        return proxy(ResultSet.class, resultSet, (proxy, method, args) -> {
+            Object result = invoke(resultSet, method, args);
+            if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                SqlAccounting.recordRows(1);
+            }
+            return result;
+        });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Object target, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(AccountingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+}
@@ -0,0 +1,20 @@
+package com.insurance.policy.insutech.sql;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Prefixes Hibernate-generated SQL with a comment naming the service method that caused it (for example
+ * AutoPolicyService.updatePolicy), so the origin of a statement is visible in database logs and
+ * pg_stat_statements as well.
+ */
+public class ServiceMethodStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        String scope = SqlAccounting.currentScopeName();
+        if (scope == null || sql.startsWith("/*")) {
+            return sql;
+        }
+        return "/* " + scope.replace("*/", "") + " */ " + sql;
+    }
+}
@@ -0,0 +1,35 @@
+package com.insurance.policy.insutech.sql;
+
+import com.insurance.policy.insutech.service.AutoPolicyService;
+import com.insurance.policy.insutech.service.SqlStatisticsService;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Opens a scope around every {@link AutoPolicyService} call. Ordered outside the transaction advice so that
+ * statements flushed at commit (the UPDATE of updatePolicy, for instance) are charged to the method too.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ServiceSqlAccountingAspect {
+
+    private final SqlStatisticsService sqlStatisticsService;
+
+    @Around("execution(* com.insurance.policy.insutech.service.AutoPolicyService.*(..))")
+    public Object account(ProceedingJoinPoint joinPoint) throws Throwable {
+        SqlScope scope = SqlAccounting.open(AutoPolicyService.class.getSimpleName() + "." + joinPoint.getSignature().getName());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            SqlAccounting.close(scope);
+            sqlStatisticsService.recordServiceCall(scope);
+        }
+    }
+}
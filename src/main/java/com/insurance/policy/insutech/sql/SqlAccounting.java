@@ -0,0 +1,122 @@
+package com.insurance.policy.insutech.sql;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Thread-bound stack of open {@link SqlScope}s. Every statement executed on a thread is charged to all scopes
+ * open on it, so a request sees the statements of the service calls it makes.
+ */
+public final class SqlAccounting {
+
+    private static final ThreadLocal<Deque<SqlScope>> SCOPES = new ThreadLocal<>();
+
+    private SqlAccounting() {
+    }
+
+    /**
+     * @param name label used to tag SQL issued within the scope, or null for scopes that only count
+     */
+    public static SqlScope open(String name) {
+        SqlScope scope = new SqlScope(name);
+        push(scope);
+        return scope;
+    }
+
+    private static void push(SqlScope scope) {
+        Deque<SqlScope> scopes = SCOPES.get();
+        if (scopes == null) {
+            scopes = new ArrayDeque<>();
+            SCOPES.set(scopes);
+        }
+        scopes.push(scope);
+    }
+
+    public static void close(SqlScope scope) {
+        Deque<SqlScope> scopes = SCOPES.get();
+        if (scopes != null) {
+            scopes.remove(scope);
+            if (scopes.isEmpty()) {
+                SCOPES.remove();
+            }
+        }
+    }
+
+    /**
+     * Scopes open on this thread, innermost first, for handing work over to another thread.
+     */
+    public static List<SqlScope> currentScopes() {
+        Deque<SqlScope> scopes = SCOPES.get();
+        return scopes != null ? List.copyOf(scopes) : List.of();
+    }
+
+    /**
+     * Charges statements on this thread to scopes opened elsewhere, until {@link #detach}. The owning thread
+     * must not use the scopes meanwhile; a request thread parked in async processing does not.
+     */
+    public static void attach(List<SqlScope> scopes) {
+        for (int i = scopes.size() - 1; i >= 0; i--) {
+            push(scopes.get(i));
+        }
+    }
+
+    public static void detach(List<SqlScope> scopes) {
+        scopes.forEach(SqlAccounting::close);
+    }
+
+    /**
+     * A detached scope for one leg of parallel work, named after the current unit of work. The leg attaches only
+     * this scope, so concurrent legs never share one, and the owning thread {@link #join}s it once the leg is done.
+     */
+    public static SqlScope fork() {
+        return new SqlScope(currentScopeName());
+    }
+
+    /**
+     * Charges a finished fork's totals to every scope open on this thread.
+     */
+    public static void join(SqlScope fork) {
+        Deque<SqlScope> scopes = SCOPES.get();
+        if (scopes != null) {
+            for (SqlScope scope : scopes) {
+                scope.merge(fork);
+            }
+        }
+    }
+
+    /**
+     * Name of the innermost named scope, or null when no named unit of work is being tracked.
+     */
+    public static String currentScopeName() {
+        Deque<SqlScope> scopes = SCOPES.get();
+        if (scopes != null) {
+            for (SqlScope scope : scopes) {
+                if (scope.getName() != null) {
+                    return scope.getName();
+                }
+            }
+        }
+        return null;
+    }
+
+    static void recordStatement(String sql, long elapsedNanos) {
+        Deque<SqlScope> scopes = SCOPES.get();
+        if (scopes == null) {
+            return;
+        }
+        String normalized = SqlNormalizer.normalize(sql);
+        for (SqlScope scope : scopes) {
+            scope.recordStatement(normalized, elapsedNanos);
+        }
+    }
+
+    static void recordRows(long count) {
+        Deque<SqlScope> scopes = SCOPES.get();
+        if (scopes != null) {
+            for (SqlScope scope : scopes) {
+                scope.recordRows(count);
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.insurance.policy.insutech.sql;
+
+import com.insurance.policy.insutech.service.SqlStatisticsService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Opens the request-level scope. Requests are aggregated by route pattern ({@code GET /api/v1/policies/{id}}),
+ * not by raw URI, so the statistics stay bounded.
+ */
+@Component
+@RequiredArgsConstructor
+public class SqlAccountingFilter extends OncePerRequestFilter {
+
+    static final String SCOPE_ATTRIBUTE = SqlAccountingFilter.class.getName() + ".SCOPE";
+
+    private final SqlStatisticsService sqlStatisticsService;
+
+    /**
+     * Async requests pass through twice; the scope opened on the first dispatch is reused on the final one.
+     */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlScope scope = request.getAttribute(SCOPE_ATTRIBUTE) instanceof SqlScope existing ? existing : null;
+        if (scope == null) {
+            // Unnamed: the route is only known after dispatch, and raw URIs must not end up in SQL comments
+            scope = SqlAccounting.open(null);
+            request.setAttribute(SCOPE_ATTRIBUTE, scope);
+        } else {
+            SqlAccounting.attach(List.of(scope));
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlAccounting.close(scope);
+            // While async work continues on another thread, recording waits for the final dispatch
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (pattern != null && !isAsyncStarted(request)) {
+                sqlStatisticsService.recordRequest(request.getMethod() + " " + pattern, scope);
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.insurance.policy.insutech.sql;
+
+import com.insurance.policy.insutech.config.SqlAccountingProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Debug mode: reports the request's SQL totals as response headers. Headers have to be set before the body is
+ * written, so this runs as body advice rather than in {@link SqlAccountingFilter}.
+ */
+@ControllerAdvice
+@RequiredArgsConstructor
+public class SqlAccountingResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    private final SqlAccountingProperties sqlAccountingProperties;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return sqlAccountingProperties.isResponseHeaders();
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest
+                && servletRequest.getServletRequest().getAttribute(SqlAccountingFilter.SCOPE_ATTRIBUTE) instanceof SqlScope scope) {
+            response.getHeaders().set("X-SQL-Statements", String.valueOf(scope.getStatements()));
+            response.getHeaders().set("X-SQL-Rows", String.valueOf(scope.getRows()));
+            response.getHeaders().set("X-SQL-Time-Micros", String.valueOf(TimeUnit.NANOSECONDS.toMicros(scope.getDbNanos())));
+            response.getHeaders().set("X-SQL-Repeated",
+                    String.valueOf(scope.getRepeatedStatements(sqlAccountingProperties.getRepeatThreshold()).size()));
+        }
+        return body;
+    }
+}
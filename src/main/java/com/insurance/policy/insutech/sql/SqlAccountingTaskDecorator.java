@@ -0,0 +1,28 @@
+package com.insurance.policy.insutech.sql;
+
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.List;
+
+/**
+ * Carries the submitting thread's scopes over to the worker, so SQL run on behalf of an async request is still
+ * charged to that request.
+ */
+public class SqlAccountingTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        List<SqlScope> scopes = SqlAccounting.currentScopes();
+        if (scopes.isEmpty()) {
+            return runnable;
+        }
+        return () -> {
+            SqlAccounting.attach(scopes);
+            try {
+                runnable.run();
+            } finally {
+                SqlAccounting.detach(scopes);
+            }
+        };
+    }
+}
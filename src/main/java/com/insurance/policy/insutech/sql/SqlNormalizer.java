@@ -0,0 +1,46 @@
+package com.insurance.policy.insutech.sql;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Reduces SQL to its shape so that executions differing only in literals, IN-list length or comments are
+ * counted as the same statement.
+ */
+public final class SqlNormalizer {
+
+    private static final Pattern COMMENT = Pattern.compile("/\\*.*?\\*/", Pattern.DOTALL);
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMERIC_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final int CACHE_LIMIT = 2048;
+
+    // Prepared statement texts repeat endlessly; normalize each distinct text once
+    private static final Map<String, String> CACHE = new ConcurrentHashMap<>();
+
+    private SqlNormalizer() {
+    }
+
+    public static String normalize(String sql) {
+        if (sql == null) {
+            return "";
+        }
+        String cached = CACHE.get(sql);
+        if (cached != null) {
+            return cached;
+        }
+        String normalized = COMMENT.matcher(sql).replaceAll(" ");
+        normalized = STRING_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = NUMERIC_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = PARAMETER_LIST.matcher(normalized).replaceAll("(?)");
+        normalized = WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+        if (CACHE.size() >= CACHE_LIMIT) {
+            // Literal-heavy ad-hoc SQL would otherwise grow the cache without bound
+            CACHE.clear();
+        }
+        CACHE.put(sql, normalized);
+        return normalized;
+    }
+}
@@ -0,0 +1,53 @@
+package com.insurance.policy.insutech.sql;
+
+import lombok.Getter;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Statement totals for one unit of work (an HTTP request or a service call). Only ever touched by one thread
+ * at a time: the one that opened it, or a worker it was handed to with {@link SqlAccounting#attach}.
+ */
+@Getter
+public class SqlScope {
+
+    private final String name;
+    private int statements;
+    private long rows;
+    private long dbNanos;
+    private final Map<String, Integer> statementCounts = new LinkedHashMap<>();
+
+    public SqlScope(String name) {
+        this.name = name;
+    }
+
+    void recordStatement(String normalizedSql, long elapsedNanos) {
+        statements++;
+        dbNanos += elapsedNanos;
+        statementCounts.merge(normalizedSql, 1, Integer::sum);
+    }
+
+    void recordRows(long count) {
+        rows += count;
+    }
+
+    void merge(SqlScope other) {
+        statements += other.statements;
+        rows += other.rows;
+        dbNanos += other.dbNanos;
+        other.statementCounts.forEach((sql, count) -> statementCounts.merge(sql, count, Integer::sum));
+    }
+
+    /**
+     * Normalized statements executed at least {@code threshold} times, most frequent first.
+     */
+    public List<Map.Entry<String, Integer>> getRepeatedStatements(int threshold) {
+        return statementCounts.entrySet().stream()
+                .filter(entry -> entry.getValue() >= threshold)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,228 @@
+package com.insurance.policy.insutech.suggest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Radix tree of values with a frequency each, answering "the n most frequent values starting with this prefix".
+ * Keys are case-insensitive and each value keeps the casing it was first added with. Every node records the highest
+ * frequency below it, so a query walks best-first and touches only the branches its results come from, however
+ * many values share the prefix. Chains of single children are collapsed into one node, which keeps a node per
+ * distinct value plus one per branching point. Safe for concurrent use; queries share a read lock.
+ */
+public class CompletionTrie {
+
+    public record Completion(String value, int count) {
+    }
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private final Node root = new Node(new char[0]);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private int size;
+
+    /**
+     * Adjusts the frequency of a value by {@code delta}; frequencies never drop below zero, and a value at zero
+     * is removed.
+     */
+    public void add(String value, int delta) {
+        if (value == null || value.isEmpty() || delta == 0) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            update(root, value, 0, delta);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Up to {@code limit} values starting with {@code prefix}, most frequent first; among equal frequencies,
+     * shorter values come first.
+     */
+    public List<Completion> complete(String prefix, int limit) {
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            int offset = 0;
+            while (offset < prefix.length()) {
+                int index = find(node, prefix.charAt(offset));
+                if (index < 0) {
+                    return List.of();
+                }
+                Node child = node.children[index];
+                int common = commonPrefix(child.label, prefix, offset);
+                if (offset + common < prefix.length() && common < child.label.length) {
+                    return List.of();
+                }
+                offset += common;
+                node = child;
+            }
+            return bestFirst(node, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Distinct values with a frequency above zero. */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Completion> bestFirst(Node start, int limit) {
+        List<Completion> completions = new ArrayList<>(Math.min(limit, 64));
+        PriorityQueue<Candidate> queue = new PriorityQueue<>(Comparator.comparingInt(Candidate::score).reversed()
+                .thenComparingLong(Candidate::sequence));
+        long sequence = 0;
+        queue.add(new Candidate(start, false, start.best, sequence++));
+        while (!queue.isEmpty() && completions.size() < limit) {
+            Candidate candidate = queue.poll();
+            if (candidate.score() == 0) {
+                break;
+            }
+            Node node = candidate.node();
+            if (candidate.terminal()) {
+                completions.add(new Completion(node.value, node.count));
+                continue;
+            }
+            if (node.count > 0) {
+                queue.add(new Candidate(node, true, node.count, sequence++));
+            }
+            for (Node child : node.children) {
+                queue.add(new Candidate(child, false, child.best, sequence++));
+            }
+        }
+        return completions;
+    }
+
+    private void update(Node node, String value, int offset, int delta) {
+        if (offset == value.length()) {
+            int before = node.count;
+            node.count = Math.max(0, node.count + delta);
+            size += Integer.compare(node.count > 0 ? 1 : 0, before > 0 ? 1 : 0);
+            if (node.count == 0) {
+                node.value = null;
+            } else if (before == 0) {
+                node.value = value;
+            }
+        } else {
+            int index = find(node, value.charAt(offset));
+            if (index < 0) {
+                if (delta < 0) {
+                    return;
+                }
+                Node leaf = new Node(value.substring(offset).toCharArray());
+                leaf.count = delta;
+                leaf.value = value;
+                leaf.best = delta;
+                size++;
+                int at = -index - 1;
+                Node[] children = new Node[node.children.length + 1];
+                System.arraycopy(node.children, 0, children, 0, at);
+                children[at] = leaf;
+                System.arraycopy(node.children, at, children, at + 1, node.children.length - at);
+                node.children = children;
+            } else {
+                Node child = node.children[index];
+                int common = commonPrefix(child.label, value, offset);
+                if (common < child.label.length) {
+                    if (delta < 0) {
+                        return;
+                    }
+                    // The value branches off inside the child's label: split the label at that point
+                    Node middle = new Node(Arrays.copyOf(child.label, common));
+                    child.label = Arrays.copyOfRange(child.label, common, child.label.length);
+                    middle.children = new Node[]{child};
+                    middle.best = child.best;
+                    node.children[index] = middle;
+                    child = middle;
+                }
+                update(child, value, offset + common, delta);
+                prune(node, index);
+            }
+        }
+        int best = node.count;
+        for (Node child : node.children) {
+            best = Math.max(best, child.best);
+        }
+        node.best = best;
+    }
+
+    /**
+     * Drops a child left without values, or merges it into its only child, so removals do not leave chains behind.
+     */
+    private static void prune(Node node, int index) {
+        Node child = node.children[index];
+        if (child.count > 0 || child.children.length > 1) {
+            return;
+        }
+        if (child.children.length == 1) {
+            Node grandchild = child.children[0];
+            char[] label = Arrays.copyOf(child.label, child.label.length + grandchild.label.length);
+            System.arraycopy(grandchild.label, 0, label, child.label.length, grandchild.label.length);
+            grandchild.label = label;
+            node.children[index] = grandchild;
+            return;
+        }
+        Node[] children = new Node[node.children.length - 1];
+        System.arraycopy(node.children, 0, children, 0, index);
+        System.arraycopy(node.children, index + 1, children, index, children.length - index);
+        node.children = children.length == 0 ? NO_CHILDREN : children;
+    }
+
+    // Children are ordered by the lower-cased first character of their label
+    private static int find(Node node, char c) {
+        char key = Character.toLowerCase(c);
+        int low = 0;
+        int high = node.children.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char first = Character.toLowerCase(node.children[mid].label[0]);
+            if (first < key) {
+                low = mid + 1;
+            } else if (first > key) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private static int commonPrefix(char[] label, String value, int offset) {
+        int length = Math.min(label.length, value.length() - offset);
+        int i = 0;
+        while (i < length && Character.toLowerCase(label[i]) == Character.toLowerCase(value.charAt(offset + i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static final class Node {
+        private char[] label;
+        private Node[] children = NO_CHILDREN;
+        private int count;
+        // The value ending here, as first added; null while count is zero
+        private String value;
+        // Highest count in this subtree, this node included
+        private int best;
+
+        private Node(char[] label) {
+            this.label = label;
+        }
+    }
+
+    private record Candidate(Node node, boolean terminal, int score, long sequence) {
+    }
+}
@@ -0,0 +1,40 @@
+package com.insurance.policy.insutech.suggest;
+
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+
+import java.util.function.Function;
+
+/**
+ * Policy fields with type-ahead suggestions, named as in the API.
+ */
+public enum SuggestField {
+    FIRST_NAME("firstName", AutoPolicyDTO::getFirstName),
+    LAST_NAME("lastName", AutoPolicyDTO::getLastName),
+    VEHICLE_MAKE("vehicleMake", AutoPolicyDTO::getVehicleMake),
+    POLICY_NUMBER("policyNumber", AutoPolicyDTO::getPolicyNumber);
+
+    private final String parameter;
+    private final Function<AutoPolicyDTO, String> accessor;
+
+    SuggestField(String parameter, Function<AutoPolicyDTO, String> accessor) {
+        this.parameter = parameter;
+        this.accessor = accessor;
+    }
+
+    public String getParameter() {
+        return parameter;
+    }
+
+    public String valueOf(AutoPolicyDTO policy) {
+        return accessor.apply(policy);
+    }
+
+    public static SuggestField fromParameter(String parameter) {
+        for (SuggestField field : values()) {
+            if (field.parameter.equalsIgnoreCase(parameter)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("No suggestions for field: " + parameter);
+    }
+}
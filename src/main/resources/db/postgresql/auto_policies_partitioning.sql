@@ -0,0 +1,89 @@
+-- Converts auto_policies into a table range-partitioned by start_date (one partition per year).
+--
+-- Run once, during a maintenance window, after the application has created the table with ddl-auto.
+-- Filters on start_date (and end_date, see executeFilteredQuery) then only scan the partitions they
+-- can match. Expired/cancelled policies are moved out separately by the archival job.
+--
+-- PostgreSQL requires every unique constraint on a partitioned table to include the partition key, so the
+-- global primary key on id and the unique constraint on policy_number are replaced by per-partition indexes.
+-- id stays unique because it is still drawn from the identity sequence. policy_number uniqueness moves to the
+-- policy_numbers side table: a trigger claims the number in the same transaction as every insert or renumber
+-- (JPA, the renewal batch and the data generator alike), so a duplicate still fails the writing statement.
+-- Numbers of archived policies stay claimed, as the archive keeps them taken.
+
+BEGIN;
+
+ALTER TABLE auto_policies RENAME TO auto_policies_unpartitioned;
+
+CREATE TABLE auto_policies (
+    id             BIGINT       GENERATED BY DEFAULT AS IDENTITY,
+    policy_number  VARCHAR(255) NOT NULL,
+    status         VARCHAR(10)  NOT NULL,
+    start_date     DATE,
+    end_date       DATE,
+    premium_amount NUMERIC(10, 2),
+    policy_type    VARCHAR(20)  NOT NULL,
+    vehicle_make   VARCHAR(255),
+    vehicle_model  VARCHAR(255),
+    vehicle_year   VARCHAR(255),
+    first_name     VARCHAR(255),
+    last_name      VARCHAR(255)
+) PARTITION BY RANGE (start_date);
+
+-- Rows without a start date, and anything outside the generated years, land here
+CREATE TABLE auto_policies_default PARTITION OF auto_policies DEFAULT;
+
+DO $$
+DECLARE
+    first_year INT := COALESCE((SELECT EXTRACT(YEAR FROM MIN(start_date))::INT FROM auto_policies_unpartitioned),
+                               EXTRACT(YEAR FROM CURRENT_DATE)::INT);
+    last_year  INT := EXTRACT(YEAR FROM CURRENT_DATE)::INT + 5;
+BEGIN
+    FOR y IN first_year..last_year LOOP
+        EXECUTE format('CREATE TABLE auto_policies_%s PARTITION OF auto_policies FOR VALUES FROM (%L) TO (%L)',
+                       y, make_date(y, 1, 1), make_date(y + 1, 1, 1));
+    END LOOP;
+END $$;
+
+CREATE INDEX idx_auto_policies_id ON auto_policies (id);
+CREATE INDEX idx_auto_policies_policy_number ON auto_policies (policy_number);
+CREATE INDEX idx_auto_policies_end_date ON auto_policies (end_date);
+
+INSERT INTO auto_policies
+SELECT id, policy_number, status, start_date, end_date, premium_amount, policy_type,
+       vehicle_make, vehicle_model, vehicle_year, first_name, last_name
+FROM auto_policies_unpartitioned;
+
+SELECT setval(pg_get_serial_sequence('auto_policies', 'id'), COALESCE(MAX(id), 0) + 1, false) FROM auto_policies;
+DROP TABLE auto_policies_unpartitioned;
+
+CREATE TABLE policy_numbers (
+    policy_number VARCHAR(255) PRIMARY KEY,
+    policy_id     BIGINT       NOT NULL
+);
+
+INSERT INTO policy_numbers (policy_number, policy_id)
+SELECT policy_number, id FROM auto_policies
+UNION ALL
+SELECT policy_number, id FROM auto_policies_archive;
+
+-- A number is released only when its policy is really deleted; the archival job copies the row into
+-- auto_policies_archive before deleting it from the live table, so an archived number stays claimed.
+CREATE FUNCTION auto_policies_claim_number() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'DELETE' OR (TG_OP = 'UPDATE' AND NEW.policy_number IS DISTINCT FROM OLD.policy_number) THEN
+        IF NOT EXISTS (SELECT 1 FROM auto_policies_archive WHERE id = OLD.id) THEN
+            DELETE FROM policy_numbers WHERE policy_number = OLD.policy_number AND policy_id = OLD.id;
+        END IF;
+    END IF;
+    IF TG_OP = 'INSERT' OR (TG_OP = 'UPDATE' AND NEW.policy_number IS DISTINCT FROM OLD.policy_number) THEN
+        INSERT INTO policy_numbers (policy_number, policy_id) VALUES (NEW.policy_number, NEW.id);
+    END IF;
+    RETURN NULL;
+END $$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_auto_policies_claim_number
+    AFTER INSERT OR UPDATE OF policy_number OR DELETE ON auto_policies
+    FOR EACH ROW EXECUTE FUNCTION auto_policies_claim_number();
+
+COMMIT;
@@ -1,9 +1,8 @@
 package com.insurance.policy.insutech;
 
 import org.junit.jupiter.api.Test;
-import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@PolicyIntegrationTest
 class InsuranceManagementApplicationTests {
 
 	@Test
@@ -0,0 +1,96 @@
+package com.insurance.policy.insutech;
+
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.model.AutoPolicyType;
+import com.insurance.policy.insutech.model.PolicyStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Builds a valid policy for tests, so a test spells out only the fields it is about:
+ * <pre>
+ * autoPolicyService.createPolicy(PolicyFixture.policy("EXP-SOON").lastName("Window").endingIn(3).build());
+ * </pre>
+ * By default the policy is an active one-year collision cover that started today.
+ */
+public final class PolicyFixture {
+
+    private final AutoPolicyDTO dto = new AutoPolicyDTO();
+
+    private PolicyFixture(String policyNumber) {
+        dto.setPolicyNumber(policyNumber);
+        dto.setStatus(PolicyStatus.ACTIVE);
+        dto.setPolicyType(AutoPolicyType.COLLISION);
+        dto.setVehicleMake("Volvo");
+        dto.setVehicleModel("V70");
+        dto.setVehicleYear("2015");
+        dto.setFirstName("Ingrid");
+        dto.setLastName("Tester");
+        dto.setStartDate(LocalDate.now());
+        dto.setEndDate(LocalDate.now().plusYears(1));
+        dto.setPremiumAmount(new BigDecimal("500.00"));
+    }
+
+    public static PolicyFixture policy(String policyNumber) {
+        return new PolicyFixture(policyNumber);
+    }
+
+    public PolicyFixture status(PolicyStatus status) {
+        dto.setStatus(status);
+        return this;
+    }
+
+    public PolicyFixture type(AutoPolicyType policyType) {
+        dto.setPolicyType(policyType);
+        return this;
+    }
+
+    public PolicyFixture vehicle(String make, String model, String year) {
+        dto.setVehicleMake(make);
+        dto.setVehicleModel(model);
+        dto.setVehicleYear(year);
+        return this;
+    }
+
+    public PolicyFixture vehicleMake(String make) {
+        dto.setVehicleMake(make);
+        return this;
+    }
+
+    public PolicyFixture holder(String firstName, String lastName) {
+        dto.setFirstName(firstName);
+        dto.setLastName(lastName);
+        return this;
+    }
+
+    public PolicyFixture lastName(String lastName) {
+        dto.setLastName(lastName);
+        return this;
+    }
+
+    public PolicyFixture term(LocalDate startDate, LocalDate endDate) {
+        dto.setStartDate(startDate);
+        dto.setEndDate(endDate);
+        return this;
+    }
+
+    /** A one-year term ending the given number of days from today; negative for one that has ended. */
+    public PolicyFixture endingIn(int days) {
+        LocalDate endDate = LocalDate.now().plusDays(days);
+        return term(endDate.minusYears(1), endDate);
+    }
+
+    public PolicyFixture premium(String amount) {
+        return premium(new BigDecimal(amount));
+    }
+
+    public PolicyFixture premium(BigDecimal amount) {
+        dto.setPremiumAmount(amount);
+        return this;
+    }
+
+    public AutoPolicyDTO build() {
+        return dto;
+    }
+}
@@ -0,0 +1,44 @@
+package com.insurance.policy.insutech;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Boots the whole application on an in-memory H2 database. Every test class carrying only this annotation gets the
+ * same configuration, so the suite starts that context once and the classes share its database: a test scopes its
+ * assertions to the rows it wrote (a policy number prefix, a last name), never to whole tables.
+ * <p>
+ * A class that needs other beans (sharding, the reactive profile) adds its own {@code @TestPropertySource} or
+ * {@code @ActiveProfiles}, which take precedence over these, and must then name its own database so it does not
+ * share the tables of the common context.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:insutech-test;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        // Jobs run when a test calls them, not on their schedules
+        "insutech.renewal.enabled=false",
+        "insutech.archival.enabled=false",
+        // Small pages and chunks so a handful of rows spans several of them
+        "insutech.renewal.chunk-size=2",
+        "insutech.renewal.max-chunks-in-flight=2",
+        "insutech.archival.batch-size=2",
+        "insutech.rating.page-size=2",
+        // A cold JVM cannot be held to the production budget
+        "insutech.duplicates.check-timeout-ms=5000",
+        "insutech.outbox.relay-interval-ms=100",
+        "insutech.outbox.gap-timeout-ms=60000"
+})
+public @interface PolicyIntegrationTest {
+}
@@ -0,0 +1,41 @@
+package com.insurance.policy.insutech.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void shouldNeverDenyAnAddedKey() {
+        BloomFilter filter = new BloomFilter(100_000, 0.01);
+        for (long id = 1; id <= 100_000; id++) {
+            filter.put(BloomFilter.hash(id));
+            filter.put(BloomFilter.hash("AP-2026-" + id));
+        }
+
+        for (long id = 1; id <= 100_000; id++) {
+            assertTrue(filter.mightContain(BloomFilter.hash(id)));
+            assertTrue(filter.mightContain(BloomFilter.hash("AP-2026-" + id)));
+        }
+    }
+
+    @Test
+    void shouldKeepFalsePositivesNearTheConfiguredRate() {
+        BloomFilter filter = new BloomFilter(100_000, 0.01);
+        for (int i = 0; i < 100_000; i++) {
+            filter.put(BloomFilter.hash("AP-" + i));
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(BloomFilter.hash("PROBE-" + i))) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < 1_500, falsePositives + " false positives in 100000 probes");
+        assertFalse(filter.isSaturated());
+        assertTrue(filter.getSizeInBytes() < 130_000, "sized at " + filter.getSizeInBytes() + " bytes");
+    }
+}
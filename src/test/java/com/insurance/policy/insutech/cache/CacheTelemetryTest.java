@@ -0,0 +1,90 @@
+package com.insurance.policy.insutech.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheTelemetryTest {
+
+    @Test
+    void shouldRankHeavyHittersAboveTheLongTail() {
+        CacheTelemetry telemetry = new CacheTelemetry("policies");
+        for (int i = 0; i < 30_000; i++) {
+            telemetry.recordAccess(i % 10 == 0 ? "hot-" + (i % 30) : "cold-" + i);
+        }
+
+        List<Map.Entry<String, Long>> hot = telemetry.getHotKeys().snapshot();
+
+        assertEquals(List.of("hot-0", "hot-10", "hot-20"),
+                hot.subList(0, 3).stream().map(Map.Entry::getKey).sorted().toList());
+        assertTrue(hot.get(0).getValue() >= 30_000 / 30);
+        assertTrue(hot.get(3).getValue() < hot.get(2).getValue() / 10);
+    }
+
+    @Test
+    void shouldReportPercentilesWithinOneBucket() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(i));
+        }
+
+        assertEquals(1000, histogram.count());
+        assertWithin(TimeUnit.MICROSECONDS.toNanos(500), histogram.percentile(50));
+        assertWithin(TimeUnit.MICROSECONDS.toNanos(990), histogram.percentile(99));
+    }
+
+    @Test
+    void shouldComputeWindowedRatioAndIgnoreIdleWindows() {
+        CacheTelemetry telemetry = new CacheTelemetry("policies");
+        assertTrue(Double.isNaN(telemetry.hitRatio(1, TimeUnit.MINUTES)));
+
+        telemetry.recordHits(3);
+        telemetry.recordMisses(1);
+
+        assertEquals(0.75, telemetry.hitRatio(1, TimeUnit.MINUTES), 1e-9);
+        assertEquals(0.75, telemetry.snapshot().hitRate(), 1e-9);
+    }
+
+    @Test
+    void shouldTimeCacheableLoadsFromMissToPut() throws InterruptedException {
+        CacheTelemetry telemetry = new CacheTelemetry("policies");
+        TelemetryCache cache = new TelemetryCache(new ConcurrentMapCache("policies"), telemetry);
+
+        assertNull(cache.get(42L));
+        Thread.sleep(5);
+        cache.put(42L, "policy");
+        // A put without a preceding miss, such as a write-through update, is not a load
+        cache.put(43L, "other");
+
+        assertEquals(1, telemetry.getLoadLatency().count());
+        assertTrue(telemetry.getLoadLatency().percentile(50) >= TimeUnit.MILLISECONDS.toNanos(5));
+        assertEquals("42", telemetry.getExpensiveKeys().snapshot().get(0).getKey());
+    }
+
+    @Test
+    void shouldFeedCaffeineStatisticsAndRemovalsIntoTheRegistry() {
+        CacheTelemetryRegistry registry = new CacheTelemetryRegistry();
+        Cache<Object, Object> cache = registry.build("policies", Caffeine.newBuilder().executor(Runnable::run));
+
+        cache.put(1L, "a");
+        cache.getIfPresent(1L);
+        cache.getIfPresent(2L);
+        cache.invalidate(1L);
+
+        CacheTelemetry telemetry = registry.get("policies");
+        assertSame(cache, telemetry.getCache());
+        assertEquals(0.5, telemetry.hitRatio(1, TimeUnit.MINUTES), 1e-9);
+        assertEquals(1L, telemetry.getRemovals().get(com.github.benmanes.caffeine.cache.RemovalCause.EXPLICIT));
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue(actual >= expected && actual <= expected * 1.25, expected + " reported as " + actual);
+    }
+}
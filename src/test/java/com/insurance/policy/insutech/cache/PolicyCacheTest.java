@@ -0,0 +1,74 @@
+package com.insurance.policy.insutech.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PolicyCacheTest {
+
+    private final CacheTelemetryRegistry registry = new CacheTelemetryRegistry();
+
+    @Test
+    void shouldReachOneEntryByIdOrNumber() {
+        PolicyCache cache = new PolicyCache(Caffeine.newBuilder(), registry);
+        cache.put(policy(1L, "AP-1"));
+
+        assertSame(cache.getById(1L), cache.getByNumber("AP-1"));
+        assertEquals(1, registry.get(PolicyCache.REGION).getCache().estimatedSize());
+    }
+
+    @Test
+    void shouldMoveTheNumberIndexWhenAPolicyIsRenumbered() {
+        PolicyCache cache = new PolicyCache(Caffeine.newBuilder(), registry);
+        cache.put(policy(1L, "AP-1"));
+        cache.put(policy(2L, "AP-2"));
+
+        cache.put(policy(1L, "AP-1B"));
+
+        assertNull(cache.getByNumber("AP-1"));
+        assertEquals(1L, cache.getByNumber("AP-1B").getId());
+        // The other policy's number lookup survives the write
+        assertEquals(2L, cache.getByNumber("AP-2").getId());
+        assertEquals(2, cache.indexSize());
+    }
+
+    @Test
+    void shouldDropTheNumberWithTheEntry() {
+        PolicyCache cache = new PolicyCache(Caffeine.newBuilder().executor(Runnable::run).maximumSize(10), registry);
+        for (long id = 1; id <= 100; id++) {
+            cache.put(policy(id, "AP-" + id));
+        }
+        cache.byNumber().evict("AP-100");
+        registry.get(PolicyCache.REGION).getCache().cleanUp();
+
+        assertNull(cache.getById(100L));
+        assertEquals(registry.get(PolicyCache.REGION).getCache().estimatedSize(), cache.indexSize());
+    }
+
+    @Test
+    void shouldServeSpringCachesForBothKeys() {
+        PolicyCache cache = new PolicyCache(Caffeine.newBuilder(), registry);
+        org.springframework.cache.Cache byId = cache.byId();
+        org.springframework.cache.Cache byNumber = cache.byNumber();
+
+        assertNull(byNumber.get("AP-7"));
+        byNumber.put("AP-7", policy(7L, "AP-7"));
+
+        assertEquals("AP-7", byId.get(7L, AutoPolicyDTO.class).getPolicyNumber());
+        assertNotNull(byNumber.get("AP-7"));
+        byId.evict(7L);
+        assertNull(byNumber.get("AP-7"));
+        assertEquals(1.0 / 3, registry.get(PolicyCache.NUMBER_REGION).hitRatio(1, TimeUnit.MINUTES), 1e-9);
+    }
+
+    private static AutoPolicyDTO policy(Long id, String policyNumber) {
+        AutoPolicyDTO policy = new AutoPolicyDTO();
+        policy.setId(id);
+        policy.setPolicyNumber(policyNumber);
+        return policy;
+    }
+}
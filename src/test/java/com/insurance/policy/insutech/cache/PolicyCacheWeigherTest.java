@@ -0,0 +1,81 @@
+package com.insurance.policy.insutech.cache;
+
+import com.insurance.policy.insutech.config.CacheProperties;
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.model.AutoPolicyType;
+import com.insurance.policy.insutech.model.PolicyStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PolicyCacheWeigherTest {
+
+    @Test
+    void shouldWeighListsInProportionToTheirPolicies() {
+        AutoPolicyDTO policy = policy();
+        long single = PolicyCacheWeigher.estimate(policy);
+        long thousand = PolicyCacheWeigher.estimate(Collections.nCopies(1000, policy));
+
+        assertTrue(single > 200 && single < 1000, "one policy weighs " + single);
+        assertTrue(thousand >= 1000 * single && thousand < 1000 * (single + 8), "a thousand weigh " + thousand);
+        assertEquals(Integer.MAX_VALUE, PolicyCacheWeigher.INSTANCE.weigh("all", Collections.nCopies(10_000_000, policy)));
+    }
+
+    @Test
+    void shouldSplitRemainingBudgetAmongUnsizedRegions() {
+        CacheProperties properties = new CacheProperties();
+        properties.setMaxWeight(DataSize.ofMegabytes(100));
+        properties.getRegions().put("policies", region(DataSize.ofMegabytes(40), null));
+        properties.getRegions().put("allPolicies", region(null, null));
+        properties.getRegions().put("filteredPolicies", region(null, null));
+        properties.getRegions().put("policyNumbers", region(null, 500L));
+
+        Map<String, Long> weights = CacheBudget.allocate(properties);
+
+        assertEquals(DataSize.ofMegabytes(40).toBytes(), weights.get("policies"));
+        assertEquals(DataSize.ofMegabytes(30).toBytes(), weights.get("allPolicies"));
+        assertEquals(DataSize.ofMegabytes(30).toBytes(), weights.get("filteredPolicies"));
+        assertFalse(weights.containsKey("policyNumbers"));
+    }
+
+    @Test
+    void shouldRejectRegionsReservingMoreThanTheBudget() {
+        CacheProperties properties = new CacheProperties();
+        properties.setMaxWeight(DataSize.ofMegabytes(64));
+        properties.getRegions().put("policies", region(DataSize.ofMegabytes(48), null));
+        properties.getRegions().put("allPolicies", region(DataSize.ofMegabytes(32), null));
+
+        assertThrows(IllegalStateException.class, () -> CacheBudget.allocate(properties));
+    }
+
+    private static CacheProperties.Region region(DataSize maximumWeight, Long maximumSize) {
+        CacheProperties.Region region = new CacheProperties.Region();
+        region.setMaximumWeight(maximumWeight);
+        region.setMaximumSize(maximumSize);
+        return region;
+    }
+
+    private static AutoPolicyDTO policy() {
+        AutoPolicyDTO dto = new AutoPolicyDTO();
+        dto.setId(1L);
+        dto.setPolicyNumber("AP-2026-000000011");
+        dto.setStatus(PolicyStatus.ACTIVE);
+        dto.setPolicyType(AutoPolicyType.COLLISION);
+        dto.setVehicleMake("Toyota");
+        dto.setVehicleModel("Camry");
+        dto.setVehicleYear("2023");
+        dto.setFirstName("Sarah");
+        dto.setLastName("Johnston");
+        dto.setStartDate(LocalDate.of(2026, 1, 1));
+        dto.setEndDate(LocalDate.of(2027, 1, 1));
+        dto.setPremiumAmount(new BigDecimal("1234.50"));
+        return dto;
+    }
+}
@@ -0,0 +1,78 @@
+package com.insurance.policy.insutech.concurrency;
+
+import com.insurance.policy.insutech.config.ConcurrencyProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(5);
+
+    @Test
+    void shouldRejectBeyondLimitWithoutQueueing() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(Bulkhead.QUERY, new ConcurrencyProperties.Limit(2, 1, 10));
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(1, limiter.getRejectedCount());
+
+        limiter.release(FAST, true);
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void shouldGrowLimitWhileLatencyStaysAtBaseline() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(Bulkhead.POINT, new ConcurrencyProperties.Limit(4, 1, 50));
+
+        for (int i = 0; i < 200; i++) {
+            saturate(limiter, FAST);
+        }
+
+        assertEquals(50, limiter.getLimit());
+    }
+
+    @Test
+    void shouldShrinkLimitWhenLatencyRises() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(Bulkhead.QUERY, new ConcurrencyProperties.Limit(20, 2, 20));
+        for (int i = 0; i < 200; i++) {
+            saturate(limiter, FAST);
+        }
+
+        for (int i = 0; i < 10; i++) {
+            saturate(limiter, FAST * 10);
+        }
+
+        assertTrue(limiter.getLimit() < 10, "limit was " + limiter.getLimit());
+    }
+
+    @Test
+    void shouldIgnoreSamplesFromFailedRequests() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(Bulkhead.QUERY, new ConcurrencyProperties.Limit(10, 2, 20));
+        for (int i = 0; i < 50; i++) {
+            saturate(limiter, FAST);
+        }
+        int limit = limiter.getLimit();
+
+        for (int i = 0; i < 50; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(FAST * 100, false);
+        }
+
+        assertEquals(limit, limiter.getLimit());
+    }
+
+    // Fills the bulkhead to its limit, then releases every permit with the given latency
+    private static void saturate(AdaptiveConcurrencyLimiter limiter, long rttNanos) {
+        int acquired = 0;
+        while (limiter.tryAcquire()) {
+            acquired++;
+        }
+        for (int i = 0; i < acquired; i++) {
+            limiter.release(rttNanos, true);
+        }
+    }
+}
@@ -1,5 +1,11 @@
 package com.insurance.policy.insutech.controller;
 
+import com.insurance.policy.insutech.cache.CacheTelemetryRegistry;
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.model.AutoPolicyType;
+import com.insurance.policy.insutech.model.PolicyStatus;
+import com.insurance.policy.insutech.perf.PerformanceBudget;
+import com.insurance.policy.insutech.service.AutoPolicyService;
 import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -7,7 +13,10 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -20,6 +29,11 @@ public class AutoPolicyControllerIT {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private AutoPolicyService autoPolicyService;
+
+    @Autowired
+    private CacheTelemetryRegistry cacheTelemetryRegistry;
 
     @Test
     void shouldCreatePolicy() throws Exception {
@@ -49,18 +63,76 @@ public class AutoPolicyControllerIT {
 
     @Test
     void shouldGetAllPolicies() throws Exception {
-        mockMvc.perform(get("/api/v1/policies"))
+        MvcResult result = mockMvc.perform(get("/api/v1/policies"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk());
     }
 
     @Test
     void shouldFilterPolicies() throws Exception {
-        mockMvc.perform(get("/api/v1/policies/filter")
+        MvcResult result = mockMvc.perform(get("/api/v1/policies/filter")
                         .param("startDate", "2023-01-01")
                         .param("status", "ACT")
                         .param("type", "COMP")
                         .param("firstName", "John")
                         .param("vehicleMake", "Toyota"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk());
     }
+
+    @Test
+    void shouldServeAWarmPolicyWithinItsBudget() throws Exception {
+        Long id = autoPolicyService.createPolicy(budgetPolicy("AP-" + System.nanoTime())).getId();
+        mockMvc.perform(get("/api/v1/policies/{id}", id)).andExpect(status().isOk());
+
+        PerformanceBudget.of("GET /api/v1/policies/{id}, warm cache")
+                .maxStatements(0)
+                .maxAllocatedBytes(2 * 1024 * 1024)
+                .expectCacheHits("policies", 1)
+                .check(cacheTelemetryRegistry, () -> mockMvc.perform(get("/api/v1/policies/{id}", id))
+                        .andExpect(status().isOk()));
+    }
+
+    @Test
+    void shouldServeARepeatedFilterWithinItsBudget() throws Exception {
+        autoPolicyService.createPolicy(budgetPolicy("AP-" + System.nanoTime()));
+        filterByLastName();
+
+        PerformanceBudget.of("GET /api/v1/policies/filter, repeated")
+                .maxStatements(0)
+                .expectCacheHits("filteredPolicies", 1)
+                .check(cacheTelemetryRegistry, this::filterByLastName);
+    }
+
+    private MvcResult filterByLastName() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/v1/policies/filter")
+                        .param("status", "ACT")
+                        .param("type", "COMPREHENSIVE")
+                        .param("lastName", "Budget"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn();
+    }
+
+    private static AutoPolicyDTO budgetPolicy(String policyNumber) {
+        AutoPolicyDTO dto = new AutoPolicyDTO();
+        dto.setPolicyNumber(policyNumber);
+        dto.setFirstName("John");
+        dto.setLastName("Budget");
+        dto.setPolicyType(AutoPolicyType.COMPREHENSIVE);
+        dto.setStatus(PolicyStatus.ACTIVE);
+        dto.setVehicleMake("Toyota");
+        dto.setVehicleModel("Camry");
+        dto.setVehicleYear("2022");
+        dto.setPremiumAmount(new BigDecimal("500.00"));
+        dto.setStartDate(LocalDate.of(2024, 1, 1));
+        dto.setEndDate(LocalDate.of(2025, 1, 1));
+        return dto;
+    }
 }
@@ -0,0 +1,112 @@
+package com.insurance.policy.insutech.controller;
+
+import com.insurance.policy.insutech.PolicyIntegrationTest;
+import com.insurance.policy.insutech.repository.PolicyOutboxRepository;
+import com.insurance.policy.insutech.service.AutoPolicyService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.insurance.policy.insutech.PolicyFixture.policy;
+import static org.junit.jupiter.api.Assertions.*;
+
+@PolicyIntegrationTest
+class PolicyChangeControllerTest {
+
+    private static final Duration WAIT = Duration.ofSeconds(20);
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private AutoPolicyService autoPolicyService;
+
+    @Autowired
+    private PolicyOutboxRepository policyOutboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        webTestClient = webTestClient.mutate().responseTimeout(WAIT).build();
+    }
+
+    @Test
+    void shouldResumeAfterTheLastEventId() {
+        long head = policyOutboxRepository.findMaxId();
+        autoPolicyService.createPolicy(policy("CHG-R1").build());
+        autoPolicyService.createPolicy(policy("CHG-R2").build());
+        autoPolicyService.createPolicy(policy("CHG-R3").build());
+
+        List<ServerSentEvent<String>> events = events(head + 1).take(2).collectList().block(WAIT);
+
+        assertEquals(List.of(String.valueOf(head + 2), String.valueOf(head + 3)),
+                events.stream().map(ServerSentEvent::id).toList());
+        assertEquals(List.of("CREATED", "CREATED"), events.stream().map(ServerSentEvent::event).toList());
+        assertTrue(events.get(0).data().contains("CHG-R2"));
+        assertTrue(events.get(1).data().contains("CHG-R3"));
+    }
+
+    @Test
+    void shouldWaitForALowerIdThatCommitsLate() throws Exception {
+        long head = policyOutboxRepository.findMaxId();
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        CompletableFuture<Void> slow = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            autoPolicyService.createPolicy(policy("CHG-SLOW").build());
+            inserted.countDown();
+            await(commit);
+        }));
+        assertTrue(inserted.await(10, TimeUnit.SECONDS));
+        autoPolicyService.createPolicy(policy("CHG-FAST").build());
+
+        CompletableFuture<List<ServerSentEvent<String>>> received = events(head).take(2).collectList().toFuture();
+        // Several relay passes see the committed higher ID while the lower one is still open
+        Thread.sleep(1000);
+        assertFalse(received.isDone());
+        commit.countDown();
+        slow.get(10, TimeUnit.SECONDS);
+
+        List<ServerSentEvent<String>> events = received.get(WAIT.toSeconds(), TimeUnit.SECONDS);
+        assertEquals(List.of(String.valueOf(head + 1), String.valueOf(head + 2)),
+                events.stream().map(ServerSentEvent::id).toList());
+        assertTrue(events.get(0).data().contains("CHG-SLOW"));
+        assertTrue(events.get(1).data().contains("CHG-FAST"));
+    }
+
+    private Flux<ServerSentEvent<String>> events(long lastEventId) {
+        return webTestClient.get().uri("/api/v1/policies/changes")
+                .header("Last-Event-ID", String.valueOf(lastEventId))
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<String>>() {
+                })
+                .getResponseBody()
+                .filter(event -> event.id() != null);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(30, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.insurance.policy.insutech.controller;
+
+import com.insurance.policy.insutech.PolicyIntegrationTest;
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.model.AutoPolicy;
+import com.insurance.policy.insutech.model.AutoPolicyType;
+import com.insurance.policy.insutech.model.PolicyStatus;
+import com.insurance.policy.insutech.repository.AutoPolicyRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.insurance.policy.insutech.PolicyFixture.policy;
+import static org.junit.jupiter.api.Assertions.*;
+
+@PolicyIntegrationTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reactive;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "insutech.reactive.url=r2dbc:h2:mem:///reactive?options=MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "insutech.reactive.fetch-size=8"
+})
+@ActiveProfiles("reactive")
+class ReactiveAutoPolicyControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private AutoPolicyRepository autoPolicyRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    void shouldCreateThroughServiceAndReadThroughR2dbc() {
+        AutoPolicyDTO created = webTestClient.post().uri("/api/v1/policies")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(policy("RX-CREATE-1").term(LocalDate.of(2026, 1, 1), LocalDate.of(2027, 1, 1)).premium("812.50")
+                        .build())
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(AutoPolicyDTO.class).returnResult().getResponseBody();
+
+        AutoPolicyDTO byNumber = webTestClient.get().uri("/api/v1/policies/policyNumber/RX-CREATE-1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(AutoPolicyDTO.class).returnResult().getResponseBody();
+        webTestClient.get().uri("/api/v1/policies/{id}", created.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.vehicleMake").isEqualTo("Volvo");
+
+        assertEquals(created.getId(), byNumber.getId());
+        assertEquals(LocalDate.of(2026, 1, 1), byNumber.getStartDate());
+        assertEquals(0, new BigDecimal("812.50").compareTo(byNumber.getPremiumAmount()));
+        assertNotNull(cacheManager.getCache("policies").get(created.getId()));
+        webTestClient.get().uri("/api/v1/policies/{id}", Long.MAX_VALUE)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody().jsonPath("$.message").isEqualTo("Auto Policy not found with ID: " + Long.MAX_VALUE);
+    }
+
+    @Test
+    void shouldStreamFilterResultsAndServeRepeatsFromCache() {
+        List<AutoPolicy> policies = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            AutoPolicy policy = new AutoPolicy();
+            policy.setPolicyNumber("RX-FLT-" + i);
+            policy.setStatus(i % 3 == 0 ? PolicyStatus.CANCELLED : PolicyStatus.ACTIVE);
+            policy.setPolicyType(AutoPolicyType.COLLISION);
+            policy.setVehicleMake(i % 2 == 0 ? "Streamline" : "Other");
+            policy.setVehicleModel("Model " + i);
+            policy.setVehicleYear("2024");
+            policy.setFirstName("Rita");
+            policy.setLastName("Flux");
+            policy.setStartDate(LocalDate.of(2026, 1, 1));
+            policy.setEndDate(LocalDate.of(2027, 1, 1));
+            policy.setPremiumAmount(new BigDecimal("500.00"));
+            policies.add(policy);
+        }
+        autoPolicyRepository.saveAllAndFlush(policies);
+
+        List<AutoPolicyDTO> first = filterStreamline();
+        List<AutoPolicyDTO> second = filterStreamline();
+
+        // Even indexes that are not multiples of three: 0..28 step 2 is 15, minus 0, 6, 12, 18, 24
+        assertEquals(10, first.size());
+        assertTrue(first.stream().allMatch(policy -> policy.getStatus() == PolicyStatus.ACTIVE
+                && policy.getVehicleMake().equals("Streamline")));
+        assertEquals(first.stream().map(AutoPolicyDTO::getPolicyNumber).toList(),
+                second.stream().map(AutoPolicyDTO::getPolicyNumber).toList());
+        assertNotNull(cacheManager.getCache("filteredPolicies")
+                .get("filter_null_null_ACTIVE_null_stream_null_null_null_null"));
+        webTestClient.get().uri("/api/v1/policies/filter?status=NOPE")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    private List<AutoPolicyDTO> filterStreamline() {
+        return webTestClient.get().uri("/api/v1/policies/filter?status=ACT&vehicleMake=stream")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(AutoPolicyDTO.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+    }
+}
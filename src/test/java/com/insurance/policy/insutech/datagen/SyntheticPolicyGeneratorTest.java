@@ -0,0 +1,107 @@
+package com.insurance.policy.insutech.datagen;
+
+import com.insurance.policy.insutech.model.AutoPolicy;
+import com.insurance.policy.insutech.model.PolicyStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SyntheticPolicyGeneratorTest {
+
+    private final PolicyDistribution distribution = new PolicyDistribution();
+
+    @Test
+    void shouldProduceTheSameRowsForTheSameSeed() {
+        List<String> first = lines(new SyntheticPolicyGenerator(42, distribution).policies(1000).toList());
+        List<String> again = lines(new SyntheticPolicyGenerator(42, distribution).policies(1000).toList());
+        List<String> otherSeed = lines(new SyntheticPolicyGenerator(43, distribution).policies(1000).toList());
+
+        assertEquals(first, again);
+        assertNotEquals(first, otherSeed);
+        // Row n does not depend on what was generated before it
+        assertEquals(first.get(777), lines(List.of(new SyntheticPolicyGenerator(42, distribution).policy(777))).get(0));
+    }
+
+    @Test
+    void shouldFollowTheConfiguredDistribution() {
+        LocalDate reference = distribution.getReferenceDate();
+        List<AutoPolicy> policies = new SyntheticPolicyGenerator(7, distribution).policies(20_000).toList();
+
+        Map<PolicyStatus, Long> byStatus = policies.stream()
+                .collect(Collectors.groupingBy(AutoPolicy::getStatus, Collectors.counting()));
+        distribution.getStatusWeights().forEach((status, weight) ->
+                assertEquals(weight, byStatus.get(status) / 20_000.0, 0.02, status.name()));
+
+        Map<String, Long> byMake = policies.stream()
+                .collect(Collectors.groupingBy(AutoPolicy::getVehicleMake, Collectors.counting()));
+        assertTrue(byMake.get("Toyota") > byMake.get("Audi") * 5, "makes are skewed: " + byMake);
+
+        for (AutoPolicy policy : policies) {
+            assertTrue(policy.getEndDate().isAfter(policy.getStartDate()));
+            assertTrue(policy.getPremiumAmount().doubleValue() >= distribution.getMinPremium());
+            switch (policy.getStatus()) {
+                case ACTIVE -> assertTrue(!policy.getStartDate().isAfter(reference) && policy.getEndDate().isAfter(reference));
+                case EXPIRED -> assertTrue(policy.getEndDate().isBefore(reference));
+                case CANCELLED -> assertTrue(policy.getStartDate().isBefore(reference));
+            }
+        }
+    }
+
+    @Test
+    void shouldWriteIdenticalCsvWhateverTheThreadCount() throws Exception {
+        assertEquals(csv(1), csv(8));
+        assertTrue(csv(4).startsWith(CsvPolicyWriter.HEADER + "\nSYN-00000000000,"));
+    }
+
+    @Test
+    void shouldBulkInsertThroughJdbcInParallel() throws Exception {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:datagen;MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("""
+                CREATE TABLE auto_policies (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                    policy_number VARCHAR(255) NOT NULL UNIQUE, status VARCHAR(10) NOT NULL,
+                    policy_type VARCHAR(20) NOT NULL, vehicle_make VARCHAR(255), vehicle_model VARCHAR(255),
+                    vehicle_year VARCHAR(255), first_name VARCHAR(255), last_name VARCHAR(255), start_date DATE,
+                    end_date DATE, premium_amount NUMERIC(10, 2))""");
+
+        SyntheticPolicyGenerator generator = new SyntheticPolicyGenerator(42, distribution);
+        generator.generate(25_000, 4, 2_000, new JdbcPolicyWriter(dataSource, 500));
+
+        assertEquals(25_000, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM auto_policies", Long.class));
+        AutoPolicy expected = generator.policy(12_345);
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT * FROM auto_policies WHERE policy_number = ?", expected.getPolicyNumber());
+        assertEquals(expected.getLastName(), row.get("LAST_NAME"));
+        assertEquals(0, expected.getPremiumAmount().compareTo((java.math.BigDecimal) row.get("PREMIUM_AMOUNT")));
+    }
+
+    private String csv(int threads) throws Exception {
+        StringWriter out = new StringWriter();
+        try (CsvPolicyWriter writer = new CsvPolicyWriter(out)) {
+            new SyntheticPolicyGenerator(42, distribution).generate(5_000, threads, 300, writer);
+        }
+        return out.toString();
+    }
+
+    private static List<String> lines(List<AutoPolicy> policies) {
+        return policies.stream().map(toLine()).toList();
+    }
+
+    private static Function<AutoPolicy, String> toLine() {
+        return policy -> {
+            StringBuilder line = new StringBuilder();
+            CsvPolicyWriter.appendLine(line, policy);
+            return line.toString();
+        };
+    }
+}
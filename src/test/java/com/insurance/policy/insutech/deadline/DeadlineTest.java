@@ -0,0 +1,92 @@
+package com.insurance.policy.insutech.deadline;
+
+import com.insurance.policy.insutech.exception.DeadlineExceededException;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DeadlineTest {
+
+    @Test
+    void shouldApplyRemainingBudgetAsQueryTimeout() throws SQLException {
+        Deadline deadline = new Deadline("Policy filter", Duration.ofMillis(2_500));
+        Statement statement = mock(Statement.class);
+
+        deadline.register(statement);
+
+        verify(statement).setQueryTimeout(3);
+        assertFalse(deadline.isExpired());
+    }
+
+    @Test
+    void shouldCancelStatementInFlight() throws SQLException {
+        Deadline deadline = new Deadline("Policy filter", Duration.ofSeconds(5));
+        Statement statement = mock(Statement.class);
+        deadline.register(statement);
+
+        deadline.cancel();
+
+        verify(statement).cancel();
+        assertTrue(deadline.isExpired());
+    }
+
+    @Test
+    void shouldCancelTheStatementInFlightOnEveryLeg() throws SQLException {
+        Deadline deadline = new Deadline("Policy search", Duration.ofSeconds(5));
+        Deadline first = deadline.leg();
+        Deadline second = deadline.leg();
+        Deadline released = deadline.leg();
+        Statement onFirst = mock(Statement.class);
+        Statement onSecond = mock(Statement.class);
+        Statement onReleased = mock(Statement.class);
+        first.register(onFirst);
+        second.register(onSecond);
+        released.register(onReleased);
+        released.release();
+
+        deadline.cancel();
+
+        verify(onFirst).cancel();
+        verify(onSecond).cancel();
+        verify(onReleased, never()).cancel();
+        assertTrue(first.isExpired());
+        assertThrows(SQLTimeoutException.class, () -> second.register(mock(Statement.class)));
+    }
+
+    @Test
+    void shouldRefuseNewStatementsOnceExpired() throws SQLException {
+        Deadline deadline = new Deadline("Batch create", Duration.ZERO);
+        Statement statement = mock(Statement.class);
+
+        assertThrows(SQLTimeoutException.class, () -> deadline.register(statement));
+        verify(statement).close();
+        verify(statement, never()).setQueryTimeout(anyInt());
+    }
+
+    @Test
+    void shouldFailAndCancelStreamOutlivingItsBudget() {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Flux<Long> endless = Flux.interval(Duration.ofMillis(10)).doOnCancel(() -> cancelled.set(true));
+
+        assertThrows(DeadlineExceededException.class,
+                () -> ReactiveDeadlines.limit(endless, "Policy list", 200).blockLast());
+        assertTrue(cancelled.get());
+    }
+
+    @Test
+    void shouldCompleteStreamWithinBudgetWithoutWaitingForIt() {
+        long started = System.nanoTime();
+
+        assertEquals(List.of(1, 2, 3), ReactiveDeadlines.limit(Flux.range(1, 3), "Policy list", 5_000).collectList().block());
+        assertTrue(Duration.ofNanos(System.nanoTime() - started).toMillis() < 1_000);
+    }
+}
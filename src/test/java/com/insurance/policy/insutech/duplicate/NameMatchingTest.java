@@ -0,0 +1,56 @@
+package com.insurance.policy.insutech.duplicate;
+
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NameMatchingTest {
+
+    @Test
+    void shouldCodeNamesLikeAmericanSoundex() {
+        assertEquals("R163", NameMatching.soundex("robert"));
+        assertEquals("R163", NameMatching.soundex("rupert"));
+        assertEquals("A261", NameMatching.soundex("ashcraft"));
+        assertEquals("T522", NameMatching.soundex("tymczak"));
+        assertEquals("P236", NameMatching.soundex("pfister"));
+        assertEquals("L000", NameMatching.soundex("lee"));
+        assertEquals("", NameMatching.soundex("42"));
+    }
+
+    @Test
+    void shouldScoreTypicalTyposHigh() {
+        assertEquals(0.961, NameMatching.jaroWinkler("martha", "marhta"), 0.001);
+        assertEquals(0.840, NameMatching.jaroWinkler("dwayne", "duane"), 0.001);
+        assertEquals(0.813, NameMatching.jaroWinkler("dixon", "dicksonx"), 0.001);
+        assertEquals(1.0, NameMatching.jaroWinkler("smith", "smith"));
+        assertEquals(0.0, NameMatching.jaroWinkler("", "smith"));
+    }
+
+    @Test
+    void shouldBlockSpellingVariantsTogether() {
+        assertEquals("oneil", NameMatching.normalize(" O'Neil "));
+        assertEquals("muller", NameMatching.normalize("Müller"));
+
+        AutoPolicyDTO a = policy("Jon", "Smith", "Toyota", "Corolla", "2019");
+        AutoPolicyDTO b = policy("John", "Smyth", "Toyotta", "Corola", " 19");
+        assertEquals(DuplicateKind.CUSTOMER.blockKey(a), DuplicateKind.CUSTOMER.blockKey(b));
+        assertEquals(DuplicateKind.VEHICLE.blockKey(a), DuplicateKind.VEHICLE.blockKey(b));
+        assertTrue(DuplicateKind.CUSTOMER.similarity(DuplicateKind.CUSTOMER.profile(a), DuplicateKind.CUSTOMER.profile(b)) > 0.9);
+        assertTrue(DuplicateKind.VEHICLE.similarity(DuplicateKind.VEHICLE.profile(a), DuplicateKind.VEHICLE.profile(b)) > 0.9);
+
+        assertNotEquals(DuplicateKind.VEHICLE.blockKey(a),
+                DuplicateKind.VEHICLE.blockKey(policy("Jon", "Smith", "Toyota", "Corolla", "2020")));
+        assertNull(DuplicateKind.CUSTOMER.blockKey(policy("Jon", null, "Toyota", "Corolla", "2019")));
+    }
+
+    private static AutoPolicyDTO policy(String firstName, String lastName, String make, String model, String year) {
+        AutoPolicyDTO dto = new AutoPolicyDTO();
+        dto.setFirstName(firstName);
+        dto.setLastName(lastName);
+        dto.setVehicleMake(make);
+        dto.setVehicleModel(model);
+        dto.setVehicleYear(year);
+        return dto;
+    }
+}
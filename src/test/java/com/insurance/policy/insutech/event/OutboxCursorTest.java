@@ -0,0 +1,63 @@
+package com.insurance.policy.insutech.event;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutboxCursorTest {
+
+    private static final ToLongFunction<Long> ID = Long::longValue;
+
+    private final AtomicLong now = new AtomicLong(1_000);
+    private final OutboxCursor cursor = new OutboxCursor(10, 500, now::get);
+
+    @Test
+    void shouldDeliverContiguousIdsInOrder() {
+        assertEquals(List.of(11L, 12L, 13L), cursor.advance(List.of(11L, 12L, 13L), ID));
+        assertEquals(13, cursor.getPosition());
+        assertEquals(List.of(), cursor.advance(List.of(), ID));
+        assertEquals(13, cursor.getPosition());
+    }
+
+    @Test
+    void shouldHoldBackEventsAboveALateCommittingLowerId() {
+        // 11 belongs to a batch that is still running; 12 and 13 committed before it
+        assertEquals(List.of(), cursor.advance(List.of(12L, 13L), ID));
+        assertEquals(10, cursor.getPosition());
+
+        now.addAndGet(400);
+        assertEquals(List.of(11L, 12L, 13L), cursor.advance(List.of(11L, 12L, 13L), ID));
+        assertEquals(13, cursor.getPosition());
+        assertEquals(0, cursor.getOpenGaps());
+    }
+
+    @Test
+    void shouldGiveUpOnAGapAfterTheTimeout() {
+        assertEquals(List.of(), cursor.advance(List.of(13L), ID));
+        now.addAndGet(499);
+        assertEquals(List.of(), cursor.advance(List.of(13L), ID));
+
+        now.addAndGet(1);
+        assertEquals(List.of(13L), cursor.advance(List.of(13L), ID));
+        assertEquals(13, cursor.getPosition());
+        assertEquals(0, cursor.getOpenGaps());
+    }
+
+    @Test
+    void shouldTimeEveryGapFromWhenItWasFirstSeen() {
+        assertEquals(List.of(11L), cursor.advance(List.of(11L, 13L, 15L), ID));
+        assertEquals(2, cursor.getOpenGaps());
+
+        now.addAndGet(500);
+        // Both gaps were seen at the same time, so both have expired now
+        assertEquals(List.of(13L, 15L), cursor.advance(List.of(13L, 15L), ID));
+
+        assertEquals(List.of(), cursor.advance(List.of(17L), ID));
+        now.addAndGet(100);
+        assertEquals(List.of(16L, 17L), cursor.advance(List.of(16L, 17L), ID));
+    }
+}
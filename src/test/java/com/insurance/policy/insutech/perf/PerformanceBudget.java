@@ -0,0 +1,153 @@
+package com.insurance.policy.insutech.perf;
+
+import com.insurance.policy.insutech.cache.CacheTelemetry;
+import com.insurance.policy.insutech.cache.CacheTelemetryRegistry;
+import com.insurance.policy.insutech.sql.SqlAccounting;
+import com.insurance.policy.insutech.sql.SqlScope;
+import org.opentest4j.AssertionFailedError;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Declares what one operation may cost and fails the test when it costs more, the way a functional assertion fails
+ * on a wrong result:
+ * <pre>
+ * PerformanceBudget.of("getPolicyById, warm cache")
+ *         .maxStatements(0)
+ *         .expectCacheHits("policies", 1)
+ *         .check(cacheTelemetryRegistry, () -> autoPolicyService.getPolicyById(id));
+ * </pre>
+ * Statements and rows come from SQL accounting, so they include work handed to other threads with the accounting
+ * decorator, such as deadline workers. Allocated bytes are those of the calling thread only. Cache expectations
+ * compare hit and miss counters before and after, so the test must not share the region with concurrent work.
+ */
+public final class PerformanceBudget {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final String operation;
+    private Integer maxStatements;
+    private Long maxRows;
+    private Long maxAllocatedBytes;
+    private final Map<String, Long> expectedHits = new LinkedHashMap<>();
+    private final Map<String, Long> expectedMisses = new LinkedHashMap<>();
+
+    private PerformanceBudget(String operation) {
+        this.operation = operation;
+    }
+
+    public static PerformanceBudget of(String operation) {
+        return new PerformanceBudget(operation);
+    }
+
+    public PerformanceBudget maxStatements(int statements) {
+        this.maxStatements = statements;
+        return this;
+    }
+
+    public PerformanceBudget maxRows(long rows) {
+        this.maxRows = rows;
+        return this;
+    }
+
+    public PerformanceBudget maxAllocatedBytes(long bytes) {
+        this.maxAllocatedBytes = bytes;
+        return this;
+    }
+
+    /** Exactly this many hits in the region. */
+    public PerformanceBudget expectCacheHits(String region, long hits) {
+        expectedHits.put(region, hits);
+        return this;
+    }
+
+    /** Exactly this many misses in the region. */
+    public PerformanceBudget expectCacheMisses(String region, long misses) {
+        expectedMisses.put(region, misses);
+        return this;
+    }
+
+    public <T> T check(Operation<T> work) throws Exception {
+        return check(null, work);
+    }
+
+    /**
+     * Runs the operation once, measuring it, and throws an {@link AssertionFailedError} listing every exceeded
+     * limit. The statements that ran are part of the message, so a failure says which query crept in.
+     */
+    public <T> T check(CacheTelemetryRegistry cacheTelemetryRegistry, Operation<T> work) throws Exception {
+        Map<String, long[]> cacheBefore = cacheCounters(cacheTelemetryRegistry);
+        long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+        SqlScope scope = SqlAccounting.open(null);
+        T result;
+        try {
+            result = work.call();
+        } finally {
+            SqlAccounting.close(scope);
+        }
+        long allocated = THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        Map<String, long[]> cacheAfter = cacheCounters(cacheTelemetryRegistry);
+
+        List<String> violations = new ArrayList<>();
+        if (maxStatements != null && scope.getStatements() > maxStatements) {
+            violations.add(scope.getStatements() + " statements, budget " + maxStatements + ": "
+                    + scope.getRepeatedStatements(1));
+        }
+        if (maxRows != null && scope.getRows() > maxRows) {
+            violations.add(scope.getRows() + " rows fetched, budget " + maxRows);
+        }
+        if (maxAllocatedBytes != null && allocated > maxAllocatedBytes) {
+            violations.add(allocated + " bytes allocated, budget " + maxAllocatedBytes);
+        }
+        expectedHits.forEach((region, hits) -> {
+            long actual = cacheAfter.get(region)[0] - cacheBefore.get(region)[0];
+            if (actual != hits) {
+                violations.add(actual + " cache hits in " + region + ", expected " + hits);
+            }
+        });
+        expectedMisses.forEach((region, misses) -> {
+            long actual = cacheAfter.get(region)[1] - cacheBefore.get(region)[1];
+            if (actual != misses) {
+                violations.add(actual + " cache misses in " + region + ", expected " + misses);
+            }
+        });
+        if (!violations.isEmpty()) {
+            throw new AssertionFailedError(operation + " exceeded its budget:\n  " + String.join("\n  ", violations));
+        }
+        return result;
+    }
+
+    private Map<String, long[]> cacheCounters(CacheTelemetryRegistry cacheTelemetryRegistry) {
+        Map<String, long[]> counters = new LinkedHashMap<>();
+        if (expectedHits.isEmpty() && expectedMisses.isEmpty()) {
+            return counters;
+        }
+        if (cacheTelemetryRegistry == null) {
+            throw new IllegalStateException("Cache expectations need the CacheTelemetryRegistry");
+        }
+        for (String region : regions()) {
+            CacheTelemetry telemetry = cacheTelemetryRegistry.get(region);
+            if (telemetry == null) {
+                throw new IllegalArgumentException("No cache telemetry for region " + region);
+            }
+            counters.put(region, new long[]{telemetry.snapshot().hitCount(), telemetry.snapshot().missCount()});
+        }
+        return counters;
+    }
+
+    private List<String> regions() {
+        List<String> regions = new ArrayList<>(expectedHits.keySet());
+        expectedMisses.keySet().stream().filter(region -> !regions.contains(region)).forEach(regions::add);
+        return regions;
+    }
+
+    @FunctionalInterface
+    public interface Operation<T> {
+        T call() throws Exception;
+    }
+}
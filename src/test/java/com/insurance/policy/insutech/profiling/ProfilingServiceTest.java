@@ -0,0 +1,106 @@
+package com.insurance.policy.insutech.profiling;
+
+import com.insurance.policy.insutech.config.ProfilingProperties;
+import com.insurance.policy.insutech.dto.ProfilingHotspotDTO;
+import com.insurance.policy.insutech.dto.ProfilingRecordingDTO;
+import com.insurance.policy.insutech.dto.ProfilingSummaryDTO;
+import com.insurance.policy.insutech.exception.AdminAccessDeniedException;
+import com.insurance.policy.insutech.exception.RecordingInProgressException;
+import com.insurance.policy.insutech.model.PolicyStatus;
+import com.insurance.policy.insutech.service.impl.ProfilingServiceImpl;
+import com.insurance.policy.insutech.specification.FilterParameter;
+import com.insurance.policy.insutech.specification.FilterShape;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProfilingServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private ProfilingProperties properties;
+    private ProfilingServiceImpl profilingService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ProfilingProperties();
+        properties.setDirectory(directory.toString());
+        properties.setAdminToken("s3cret");
+        profilingService = new ProfilingServiceImpl(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        profilingService.closeRecordings();
+    }
+
+    @Test
+    void shouldRecordApplicationEventsAndSummarizeThem() {
+        ProfilingRecordingDTO started = profilingService.startRecording("default", Duration.ofMinutes(1));
+
+        assertEquals("RUNNING", started.getState());
+        assertThrows(RecordingInProgressException.class,
+                () -> profilingService.startRecording("default", Duration.ofSeconds(10)));
+        assertThrows(RecordingInProgressException.class, () -> profilingService.getRecordingFile(started.getId()));
+        int shape = 1 << FilterParameter.STATUS.ordinal() | 1 << FilterParameter.LAST_NAME.ordinal();
+        for (int i = 0; i < 3; i++) {
+            FilterQueryEvent.start().finish(shape, PolicyStatus.ACTIVE, 42);
+            CacheLoadEvent.start().finish("policies", i);
+        }
+        ProfilingRecordingDTO stopped = profilingService.stopRecording(started.getId()).orElseThrow();
+        ProfilingSummaryDTO summary = profilingService.summarize(started.getId(), 10).orElseThrow();
+
+        assertEquals("STOPPED", stopped.getState());
+        assertTrue(stopped.getSizeBytes() > 0);
+        assertTrue(Files.exists(profilingService.getRecordingFile(started.getId()).orElseThrow()));
+        assertEquals(3, count(summary, "Filter query " + FilterShape.parameters(shape)));
+        assertEquals(3, count(summary, "Cache load policies"));
+    }
+
+    @Test
+    void shouldRejectUnknownConfigurationsAndOverlongRecordings() {
+        assertThrows(IllegalArgumentException.class,
+                () -> profilingService.startRecording("no-such-profile", Duration.ofSeconds(10)));
+        assertThrows(IllegalArgumentException.class,
+                () -> profilingService.startRecording("default", properties.getMaxDuration().plusSeconds(1)));
+        assertTrue(profilingService.getRecording(1).isEmpty());
+    }
+
+    @Test
+    void shouldRequireTheAdminToken() {
+        AdminTokenInterceptor interceptor = new AdminTokenInterceptor(properties);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/admin/profiling/recordings");
+
+        assertThrows(AdminAccessDeniedException.class,
+                () -> interceptor.preHandle(request, new MockHttpServletResponse(), null));
+        request.addHeader(AdminTokenInterceptor.HEADER, "guess");
+        assertThrows(AdminAccessDeniedException.class,
+                () -> interceptor.preHandle(request, new MockHttpServletResponse(), null));
+
+        MockHttpServletRequest authorized = new MockHttpServletRequest("POST", "/api/v1/admin/profiling/recordings");
+        authorized.addHeader(AdminTokenInterceptor.HEADER, "s3cret");
+        assertTrue(interceptor.preHandle(authorized, new MockHttpServletResponse(), null));
+
+        properties.setAdminToken(null);
+        assertThrows(AdminAccessDeniedException.class,
+                () -> interceptor.preHandle(authorized, new MockHttpServletResponse(), null));
+    }
+
+    private static long count(ProfilingSummaryDTO summary, String site) {
+        return summary.getApplicationEvents().stream()
+                .filter(event -> event.getSite().equals(site))
+                .mapToLong(ProfilingHotspotDTO::getCount)
+                .findFirst()
+                .orElse(0);
+    }
+}
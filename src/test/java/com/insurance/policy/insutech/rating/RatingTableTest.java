@@ -0,0 +1,68 @@
+package com.insurance.policy.insutech.rating;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.insurance.policy.insutech.config.RatingProperties;
+import com.insurance.policy.insutech.model.AutoPolicyType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RatingTableTest {
+
+    private RatingTableRegistry registry;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        registry = new RatingTableRegistry(new RatingProperties(), new ObjectMapper().registerModule(new JavaTimeModule()));
+        registry.reload();
+    }
+
+    @Test
+    void shouldPickTableEffectiveOnStartDate() {
+        assertEquals("2025.1", registry.effectiveOn(LocalDate.of(2025, 6, 1)).getVersion());
+        assertEquals("2026.1", registry.effectiveOn(LocalDate.of(2026, 1, 1)).getVersion());
+        assertEquals("2025.1", registry.effectiveOn(LocalDate.of(2020, 1, 1)).getVersion());
+    }
+
+    @Test
+    void shouldMultiplyFactorsForAnnualTerm() {
+        RatingTable table = registry.byVersion("2025.1").orElseThrow();
+
+        // 690.00 base * 1.02 Ford * 1.06 F-150 * 1.09 (3 years old) for a full year
+        RatingTable.Factors factors = table.factors(AutoPolicyType.COLLISION, "ford", " F-150 ", "2022",
+                LocalDate.of(2025, 3, 1), LocalDate.of(2026, 3, 1));
+
+        assertEquals(365, factors.termDays());
+        assertEquals(1.0, factors.termLoad());
+        assertEquals(new BigDecimal("813.17"), factors.premium());
+    }
+
+    @Test
+    void shouldLoadShortTermsAndApplyDefaultsAndMinimum() {
+        RatingTable table = registry.byVersion("2025.1").orElseThrow();
+
+        // Unknown make and unparseable year fall back to the default make factor and 1.0
+        BigDecimal quarter = table.premium(AutoPolicyType.LIABILITY, "Lada", "Niva", "n/a",
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 4, 1));
+        BigDecimal month = table.premium(AutoPolicyType.COMPREHENSIVE, "Toyota", "Prius", "2024",
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 2, 1));
+
+        assertEquals(new BigDecimal("176.88"), quarter);
+        assertEquals(new BigDecimal("150.00"), month);
+    }
+
+    @Test
+    void shouldRejectTablesMissingACoverage() {
+        RatingTableDefinition definition = new RatingTableDefinition();
+        definition.setVersion("broken");
+        definition.setEffectiveDate(LocalDate.of(2025, 1, 1));
+
+        assertThrows(IllegalArgumentException.class, () -> RatingTable.compile(definition));
+    }
+}
@@ -0,0 +1,136 @@
+package com.insurance.policy.insutech.repository;
+
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.model.AutoPolicy;
+import com.insurance.policy.insutech.model.AutoPolicyType;
+import com.insurance.policy.insutech.model.PolicyStatus;
+import com.insurance.policy.insutech.specification.FilterParameter;
+import com.insurance.policy.insutech.specification.FilterShape;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect")
+class AutoPolicyFilterRepositoryTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 3, 1);
+    private static final LocalDate END = LocalDate.of(2026, 6, 30);
+
+    @Autowired
+    private AutoPolicyRepository autoPolicyRepository;
+
+    @BeforeEach
+    void setUp() {
+        String[] makes = {"Toyota", "Ford", "Honda", "TOYOTA"};
+        String[] firstNames = {"Anna", "Joanna", "Mark", "Hannah", "Ed"};
+        String[] lastNames = {"Smith", "Smithers", "Brown", "Goldsmith", "Lee", "Ng"};
+        PolicyStatus[] statuses = PolicyStatus.values();
+        AutoPolicyType[] types = AutoPolicyType.values();
+        List<AutoPolicy> policies = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            AutoPolicy policy = new AutoPolicy();
+            policy.setPolicyNumber("FLT-" + i);
+            policy.setStatus(statuses[i % statuses.length]);
+            policy.setPolicyType(types[i % types.length]);
+            policy.setVehicleMake(makes[i % makes.length]);
+            policy.setVehicleModel("Model " + i);
+            policy.setVehicleYear(String.valueOf(2015 + i % 10));
+            policy.setFirstName(firstNames[i % firstNames.length]);
+            policy.setLastName(lastNames[i % lastNames.length]);
+            LocalDate start = LocalDate.of(2024, 1, 1).plusDays(i * 7L);
+            // A few open-started policies exercise the null branch of the end-date bound
+            policy.setStartDate(i % 17 == 0 ? null : start);
+            policy.setEndDate(start.plusYears(1));
+            policy.setPremiumAmount(BigDecimal.valueOf(400 + (i * 37) % 900, 0).add(new BigDecimal("0.50")));
+            policies.add(policy);
+        }
+        autoPolicyRepository.saveAllAndFlush(policies);
+    }
+
+    @Test
+    void shouldMatchCriteriaEngineForEveryFilterShape() {
+        for (int shape = 0; shape < FilterShape.SHAPE_COUNT; shape++) {
+            LocalDate startDate = value(shape, FilterParameter.START_DATE, START);
+            LocalDate endDate = value(shape, FilterParameter.END_DATE, END);
+            PolicyStatus status = value(shape, FilterParameter.STATUS, PolicyStatus.ACTIVE);
+            AutoPolicyType type = value(shape, FilterParameter.TYPE, AutoPolicyType.values()[0]);
+            String make = value(shape, FilterParameter.VEHICLE_MAKE, "toy");
+            String firstName = value(shape, FilterParameter.FIRST_NAME, "ANN");
+            String lastName = value(shape, FilterParameter.LAST_NAME, "smith");
+            Double minPremium = value(shape, FilterParameter.MIN_PREMIUM, 600.5);
+            Double maxPremium = value(shape, FilterParameter.MAX_PREMIUM, 1100.0);
+
+            List<Long> jdbc = ids(autoPolicyRepository.findFiltered(startDate, endDate, status, type, make,
+                    firstName, lastName, minPremium, maxPremium));
+            List<Long> criteria = ids(autoPolicyRepository.findFilteredWithCriteria(startDate, endDate, status, type,
+                    make, firstName, lastName, minPremium, maxPremium));
+
+            assertEquals(criteria, jdbc, "shape " + FilterShape.parameters(shape));
+        }
+    }
+
+    @Test
+    void shouldWalkEveryFilterShapeInKeysetPages() {
+        for (int shape = 0; shape < FilterShape.SHAPE_COUNT; shape++) {
+            LocalDate startDate = value(shape, FilterParameter.START_DATE, START);
+            LocalDate endDate = value(shape, FilterParameter.END_DATE, END);
+            PolicyStatus status = value(shape, FilterParameter.STATUS, PolicyStatus.ACTIVE);
+            AutoPolicyType type = value(shape, FilterParameter.TYPE, AutoPolicyType.values()[0]);
+            String make = value(shape, FilterParameter.VEHICLE_MAKE, "toy");
+            String firstName = value(shape, FilterParameter.FIRST_NAME, "ANN");
+            String lastName = value(shape, FilterParameter.LAST_NAME, "smith");
+            Double minPremium = value(shape, FilterParameter.MIN_PREMIUM, 600.5);
+            Double maxPremium = value(shape, FilterParameter.MAX_PREMIUM, 1100.0);
+
+            List<Long> paged = new ArrayList<>();
+            List<AutoPolicyDTO> page = autoPolicyRepository.findFilteredPage(startDate, endDate, status, type, make,
+                    firstName, lastName, minPremium, maxPremium, 0L, 7);
+            while (!page.isEmpty()) {
+                assertTrue(page.size() <= 7);
+                page.forEach(policy -> paged.add(policy.getId()));
+                page = autoPolicyRepository.findFilteredPage(startDate, endDate, status, type, make, firstName,
+                        lastName, minPremium, maxPremium, page.get(page.size() - 1).getId(), 7);
+            }
+
+            assertEquals(ids(autoPolicyRepository.findFiltered(startDate, endDate, status, type, make, firstName,
+                    lastName, minPremium, maxPremium)), paged, "shape " + FilterShape.parameters(shape));
+        }
+    }
+
+    @Test
+    void shouldMapEveryColumnLikeTheEntityMapper() {
+        AutoPolicyDTO jdbc = autoPolicyRepository.findFiltered(null, null, null, null, null, null, null, null, null)
+                .stream().filter(policy -> "FLT-5".equals(policy.getPolicyNumber())).findFirst().orElseThrow();
+        AutoPolicyDTO criteria = autoPolicyRepository.findFilteredWithCriteria(null, null, null, null, null, null, null, null, null)
+                .stream().filter(policy -> "FLT-5".equals(policy.getPolicyNumber())).findFirst().orElseThrow();
+
+        assertEquals(criteria.getId(), jdbc.getId());
+        assertEquals(criteria.getStatus(), jdbc.getStatus());
+        assertEquals(criteria.getPolicyType(), jdbc.getPolicyType());
+        assertEquals(criteria.getVehicleMake(), jdbc.getVehicleMake());
+        assertEquals(criteria.getVehicleModel(), jdbc.getVehicleModel());
+        assertEquals(criteria.getVehicleYear(), jdbc.getVehicleYear());
+        assertEquals(criteria.getFirstName(), jdbc.getFirstName());
+        assertEquals(criteria.getLastName(), jdbc.getLastName());
+        assertEquals(criteria.getStartDate(), jdbc.getStartDate());
+        assertEquals(criteria.getEndDate(), jdbc.getEndDate());
+        assertEquals(0, criteria.getPremiumAmount().compareTo(jdbc.getPremiumAmount()));
+    }
+
+    private static <T> T value(int shape, FilterParameter parameter, T value) {
+        return FilterShape.has(shape, parameter) ? value : null;
+    }
+
+    private static List<Long> ids(List<AutoPolicyDTO> policies) {
+        return policies.stream().map(AutoPolicyDTO::getId).sorted(Comparator.naturalOrder()).toList();
+    }
+}
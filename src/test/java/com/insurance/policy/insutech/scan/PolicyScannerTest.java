@@ -0,0 +1,63 @@
+package com.insurance.policy.insutech.scan;
+
+import com.insurance.policy.insutech.PolicyIntegrationTest;
+import com.insurance.policy.insutech.service.PolicyExistenceService;
+import com.insurance.policy.insutech.service.PolicyExpiryService;
+import com.insurance.policy.insutech.service.PolicySuggestionService;
+import com.insurance.policy.insutech.suggest.SuggestField;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@PolicyIntegrationTest
+class PolicyScannerTest {
+
+    @Autowired
+    private PolicyScanner policyScanner;
+
+    @Autowired
+    private List<ScannedIndex> indexes;
+
+    @Autowired
+    private PolicySuggestionService policySuggestionService;
+
+    @Autowired
+    private PolicyExpiryService policyExpiryService;
+
+    @Autowired
+    private PolicyExistenceService policyExistenceService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void waitForTheStartupPass() throws InterruptedException {
+        for (int i = 0; i < 100 && !(policySuggestionService.isReady() && policyExpiryService.isReady()
+                && policyExistenceService.isReady()); i++) {
+            Thread.sleep(100);
+        }
+        assertTrue(policySuggestionService.isReady() && policyExpiryService.isReady() && policyExistenceService.isReady());
+    }
+
+    @Test
+    void shouldRebuildEveryIndexFromOnePass() {
+        jdbcTemplate.update("insert into auto_policies (policy_number, status, policy_type, vehicle_make, vehicle_model, "
+                + "vehicle_year, first_name, last_name, start_date, end_date, premium_amount) "
+                + "values ('SCAN-BEHIND', 'ACTIVE', 'COLLISION', 'Tatra', 'T87', '1948', 'Ivo', 'Yablonski', ?, ?, 520)",
+                LocalDate.now(), LocalDate.now().plusDays(5));
+        long policies = jdbcTemplate.queryForObject("select count(*) from auto_policies", Long.class);
+
+        assertEquals(policies, policyScanner.rebuild(indexes));
+
+        assertEquals("Yablonski", policySuggestionService.suggest(SuggestField.LAST_NAME, "Yablon", null).get(0).getValue());
+        assertTrue(policyExpiryService.getExpiringPolicies(10, null).stream()
+                .anyMatch(policy -> "SCAN-BEHIND".equals(policy.getPolicyNumber())));
+        assertTrue(policyExistenceService.mightExist("SCAN-BEHIND"));
+    }
+}
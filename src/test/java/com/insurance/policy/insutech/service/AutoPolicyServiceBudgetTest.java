@@ -0,0 +1,150 @@
+package com.insurance.policy.insutech.service;
+
+import com.insurance.policy.insutech.PolicyIntegrationTest;
+import com.insurance.policy.insutech.cache.CacheTelemetryRegistry;
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.dto.FacetCountDTO;
+import com.insurance.policy.insutech.dto.FacetedPoliciesDTO;
+import com.insurance.policy.insutech.dto.PolicyFacetsDTO;
+import com.insurance.policy.insutech.dto.PremiumBandCountDTO;
+import com.insurance.policy.insutech.model.AutoPolicyType;
+import com.insurance.policy.insutech.model.PolicyStatus;
+import com.insurance.policy.insutech.perf.PerformanceBudget;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.insurance.policy.insutech.PolicyFixture.policy;
+import static org.junit.jupiter.api.Assertions.*;
+
+@PolicyIntegrationTest
+class AutoPolicyServiceBudgetTest {
+
+    @Autowired
+    private AutoPolicyService autoPolicyService;
+
+    @Autowired
+    private CacheTelemetryRegistry cacheTelemetryRegistry;
+
+    @Test
+    void shouldServeWarmLookupsWithoutQueries() throws Exception {
+        AutoPolicyDTO created = autoPolicyService.createPolicy(volvo("BGT-LOOKUP", "Lookup"));
+        autoPolicyService.getPolicyById(created.getId());
+
+        AutoPolicyDTO byId = PerformanceBudget.of("getPolicyById, warm cache")
+                .maxStatements(0)
+                .maxAllocatedBytes(256 * 1024)
+                .expectCacheHits("policies", 1)
+                .expectCacheMisses("policies", 0)
+                .check(cacheTelemetryRegistry, () -> autoPolicyService.getPolicyById(created.getId()));
+        AutoPolicyDTO byNumber = PerformanceBudget.of("getPolicyByPolicyNumber, warm cache")
+                .maxStatements(0)
+                .maxAllocatedBytes(256 * 1024)
+                .expectCacheHits("policyNumbers", 1)
+                .check(cacheTelemetryRegistry, () -> autoPolicyService.getPolicyByPolicyNumber("BGT-LOOKUP"));
+
+        assertEquals("BGT-LOOKUP", byId.getPolicyNumber());
+        assertEquals(created.getId(), byNumber.getId());
+    }
+
+    @Test
+    void shouldLoadAColdPolicyWithOneQuery() throws Exception {
+        AutoPolicyDTO created = autoPolicyService.createPolicy(volvo("BGT-COLD", "Cold"));
+
+        PerformanceBudget.of("getPolicyById, cold cache")
+                .maxStatements(1)
+                .maxRows(1)
+                .expectCacheMisses("policies", 1)
+                .check(cacheTelemetryRegistry, () -> autoPolicyService.getPolicyById(created.getId()));
+    }
+
+    @Test
+    void shouldUpdateWithinItsStatementBudget() throws Exception {
+        AutoPolicyDTO created = autoPolicyService.createPolicy(volvo("BGT-UPDATE", "Update"));
+        AutoPolicyDTO changed = volvo("BGT-UPDATE", "Updated");
+
+        // The current row, the update and its outbox event
+        AutoPolicyDTO updated = PerformanceBudget.of("updatePolicy")
+                .maxStatements(3)
+                .maxRows(1)
+                .check(() -> autoPolicyService.updatePolicy(created.getId(), changed));
+
+        assertEquals("Updated", updated.getLastName());
+    }
+
+    @Test
+    void shouldInsertABatchWithoutLookingUpEachPolicy() throws Exception {
+        List<AutoPolicyDTO> batch = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            batch.add(volvo("BGT-BATCH-" + i, "Batch"));
+        }
+
+        // Identity ids rule out JDBC batching, so each policy costs its insert and its outbox event, and nothing else
+        List<AutoPolicyDTO> created = PerformanceBudget.of("createPolicies, 50 policies")
+                .maxStatements(2 * batch.size())
+                .maxRows(0)
+                .check(() -> autoPolicyService.createPolicies(batch));
+
+        assertEquals(50, created.size());
+    }
+
+    @Test
+    void shouldAnswerARepeatedFilterFromTheCache() throws Exception {
+        autoPolicyService.createPolicies(List.of(volvo("BGT-FILTER-1", "Filter"), volvo("BGT-FILTER-2", "Filter")));
+        autoPolicyService.getAllPolicies(null, null, PolicyStatus.ACTIVE, null, null, null, "Filter", null, null);
+
+        List<AutoPolicyDTO> filtered = PerformanceBudget.of("filtered list, repeated")
+                .maxStatements(0)
+                .expectCacheHits("filteredPolicies", 1)
+                .check(cacheTelemetryRegistry, () -> autoPolicyService.getAllPolicies(null, null,
+                        PolicyStatus.ACTIVE, null, null, null, "Filter", null, null));
+
+        assertEquals(2, filtered.size());
+    }
+
+    @Test
+    void shouldCountFacetsInOnePassAndCacheThemWithTheResult() throws Exception {
+        AutoPolicyDTO cancelled = volvo("BGT-FACET-1", "Facet");
+        cancelled.setStatus(PolicyStatus.CANCELLED);
+        AutoPolicyDTO saab = volvo("BGT-FACET-2", "Facet");
+        saab.setVehicleMake("Saab");
+        saab.setPolicyType(AutoPolicyType.LIABILITY);
+        saab.setPremiumAmount(new BigDecimal("1000.00"));
+        AutoPolicyDTO cheap = volvo("BGT-FACET-3", "Facet");
+        cheap.setPremiumAmount(new BigDecimal("180.00"));
+        autoPolicyService.createPolicies(List.of(cancelled, saab, cheap, volvo("BGT-FACET-4", "Facet")));
+
+        PolicyFacetsDTO facets = PerformanceBudget.of("faceted filter, cold")
+                .maxStatements(1)
+                .check(() -> autoPolicyService.getFacetedPolicies(null, null, null, null, null, null, "Facet", null, null))
+                .getFacets();
+
+        assertEquals(4, facets.getTotal());
+        assertEquals(Map.of("ACT", 3L, "EXP", 0L, "CAN", 1L), counts(facets.getStatuses()));
+        assertEquals(Map.of("LIABILITY", 1L, "COLLISION", 3L, "COMPREHENSIVE", 0L), counts(facets.getPolicyTypes()));
+        assertEquals(List.of("Volvo", "Saab"), facets.getVehicleMakes().stream().map(FacetCountDTO::getValue).toList());
+        assertEquals(List.of(1L, 2L, 1L, 0L, 0L),
+                facets.getPremiumBands().stream().map(PremiumBandCountDTO::getCount).toList());
+
+        FacetedPoliciesDTO repeated = PerformanceBudget.of("faceted filter, repeated")
+                .maxStatements(0)
+                .expectCacheHits("filteredPolicies", 1)
+                .check(cacheTelemetryRegistry, () -> autoPolicyService.getFacetedPolicies(null, null, null, null,
+                        null, null, "Facet", null, null));
+        assertEquals(4, repeated.getPolicies().size());
+        assertEquals(4, repeated.getFacets().getTotal());
+    }
+
+    private static Map<String, Long> counts(List<FacetCountDTO> facet) {
+        return facet.stream().collect(Collectors.toMap(FacetCountDTO::getValue, FacetCountDTO::getCount));
+    }
+
+    private static AutoPolicyDTO volvo(String policyNumber, String lastName) {
+        return policy(policyNumber).lastName(lastName).premium("720.00").build();
+    }
+}
@@ -2,20 +2,27 @@ package com.insurance.policy.insutech.service;
 
 import com.insurance.policy.insutech.dto.AutoPolicyDTO;
 import com.insurance.policy.insutech.exception.AutoPolicyNotFoundException;
+import com.insurance.policy.insutech.exception.DuplicatePolicyNumberException;
+import com.insurance.policy.insutech.exception.ReservedPolicyNumberException;
 import com.insurance.policy.insutech.mapper.AutoPolicyMapper;
 import com.insurance.policy.insutech.model.AutoPolicy;
 import com.insurance.policy.insutech.model.AutoPolicyType;
 import com.insurance.policy.insutech.model.PolicyStatus;
+import com.insurance.policy.insutech.repository.ArchivedAutoPolicyRepository;
 import com.insurance.policy.insutech.repository.AutoPolicyRepository;
 import com.insurance.policy.insutech.service.impl.AutoPolicyServiceImpl;
+import com.insurance.policy.insutech.sharding.ShardRouter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -25,9 +32,24 @@ class AutoPolicyServiceTest {
     @Mock
     private AutoPolicyRepository autoPolicyRepository;
 
+    @Mock
+    private ArchivedAutoPolicyRepository archivedAutoPolicyRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Mock
     private AutoPolicyMapper autoPolicyMapper; // Use Mock, not Spy
 
+    @Mock
+    private PolicyExistenceService policyExistenceService;
+
+    @Mock
+    private PolicyNumberService policyNumberService;
+
+    @Mock
+    private ShardRouter shardRouter;
+
     @InjectMocks
     private AutoPolicyServiceImpl autoPolicyService;
 
@@ -37,6 +59,10 @@ class AutoPolicyServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(policyExistenceService.mightExist(anyLong())).thenReturn(true);
+        when(policyExistenceService.mightExist(anyString())).thenReturn(true);
+        when(policyExistenceService.possiblyExisting(anyCollection()))
+                .thenAnswer(invocation -> new HashSet<String>(invocation.getArgument(0)));
 
         policy = new AutoPolicy(
                 "AP-101", PolicyStatus.ACTIVE, LocalDate.of(2023, 1, 1), LocalDate.of(2023, 12, 31),
@@ -112,4 +138,57 @@ class AutoPolicyServiceTest {
 
         verify(autoPolicyRepository, times(1)).findAll();
     }
+
+    @Test
+    void shouldAnswerDefiniteMissWithoutQuerying() {
+        when(policyExistenceService.mightExist("AP-404")).thenReturn(false);
+
+        Exception exception = assertThrows(AutoPolicyNotFoundException.class,
+                () -> autoPolicyService.getPolicyByPolicyNumber("AP-404"));
+
+        assertEquals(0, exception.getStackTrace().length);
+        verifyNoInteractions(autoPolicyRepository, archivedAutoPolicyRepository);
+    }
+
+    @Test
+    void shouldRememberKeysTheDatabaseDidNotFind() {
+        when(autoPolicyRepository.findByPolicyNumber("AP-999")).thenReturn(Optional.empty());
+        when(archivedAutoPolicyRepository.findByPolicyNumber("AP-999")).thenReturn(Optional.empty());
+
+        assertThrows(AutoPolicyNotFoundException.class, () -> autoPolicyService.getPolicyByPolicyNumber("AP-999"));
+
+        verify(policyExistenceService).recordMissing("AP-999");
+    }
+
+    @Test
+    void shouldRejectBatchWithTakenOrRepeatedNumbersBeforeSaving() {
+        AutoPolicyDTO fresh = new AutoPolicyDTO();
+        fresh.setPolicyNumber("AP-NEW");
+        AutoPolicyDTO repeated = new AutoPolicyDTO();
+        repeated.setPolicyNumber("AP-NEW");
+        // The filter rules out AP-NEW, so only AP-101 is checked against the table
+        when(policyExistenceService.possiblyExisting(anyCollection())).thenReturn(Set.of("AP-101"));
+        when(autoPolicyRepository.findExistingPolicyNumbers(List.of("AP-101"))).thenReturn(List.of("AP-101"));
+
+        DuplicatePolicyNumberException exception = assertThrows(DuplicatePolicyNumberException.class,
+                () -> autoPolicyService.createPolicies(List.of(policyDTO, fresh, repeated)));
+
+        assertEquals(List.of("AP-101", "AP-NEW"), exception.getPolicyNumbers());
+        verify(autoPolicyRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void shouldRefuseSuppliedNumbersInTheIssuedFormat() {
+        AutoPolicyDTO issued = new AutoPolicyDTO();
+        issued.setPolicyNumber("AP-2026-00000001-7");
+        when(policyNumberService.isIssuedFormat("AP-2026-00000001-7")).thenReturn(true);
+
+        assertThrows(ReservedPolicyNumberException.class, () -> autoPolicyService.createPolicy(issued));
+        ReservedPolicyNumberException exception = assertThrows(ReservedPolicyNumberException.class,
+                () -> autoPolicyService.createPolicies(List.of(policyDTO, issued)));
+
+        assertEquals(List.of("AP-2026-00000001-7"), exception.getPolicyNumbers());
+        verify(autoPolicyRepository, never()).save(any());
+        verify(autoPolicyRepository, never()).saveAll(any());
+    }
 }
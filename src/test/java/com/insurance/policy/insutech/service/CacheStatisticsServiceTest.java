@@ -0,0 +1,35 @@
+package com.insurance.policy.insutech.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.insurance.policy.insutech.cache.CacheTelemetryRegistry;
+import com.insurance.policy.insutech.config.CacheProperties;
+import com.insurance.policy.insutech.service.impl.CacheStatisticsServiceImpl;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheStatisticsServiceTest {
+
+    @Test
+    void shouldKeepTheStatsShapeOfEveryCache() {
+        CacheTelemetryRegistry registry = new CacheTelemetryRegistry();
+        Cache<Object, Object> policies = registry.build("policies", Caffeine.newBuilder());
+        policies.put(1L, "AP-101");
+        policies.getIfPresent(1L);
+        policies.getIfPresent(2L);
+        CacheStatisticsService cacheStatisticsService = new CacheStatisticsServiceImpl(registry, new CacheProperties());
+
+        Map<String, Map<String, Object>> stats = cacheStatisticsService.getStats();
+
+        assertEquals(Set.of("policies"), stats.keySet());
+        Map<String, Object> policyStats = stats.get("policies");
+        assertEquals(Set.of("hitCount", "missCount", "loadSuccessCount", "loadFailureCount", "totalLoadTime",
+                "evictionCount"), policyStats.keySet());
+        assertEquals(1L, policyStats.get("hitCount"));
+        assertEquals(1L, policyStats.get("missCount"));
+    }
+}
@@ -0,0 +1,84 @@
+package com.insurance.policy.insutech.service;
+
+import com.insurance.policy.insutech.dto.FilterShapeStatsDTO;
+import com.insurance.policy.insutech.dto.IndexRecommendationDTO;
+import com.insurance.policy.insutech.model.AutoPolicyType;
+import com.insurance.policy.insutech.model.PolicyStatus;
+import com.insurance.policy.insutech.repository.AutoPolicyRepository;
+import com.insurance.policy.insutech.service.impl.IndexAdvisorServiceImpl;
+import com.insurance.policy.insutech.specification.FilterShape;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+class IndexAdvisorServiceTest {
+
+    @Mock
+    private AutoPolicyRepository autoPolicyRepository;
+
+    @InjectMocks
+    private IndexAdvisorServiceImpl indexAdvisorService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(autoPolicyRepository.count()).thenReturn(10_000L);
+    }
+
+    @Test
+    void shouldAggregateCallsByShape() {
+        int shape = FilterShape.of(LocalDate.of(2024, 1, 1), null, PolicyStatus.ACTIVE, null, null, null, null, null, null);
+        indexAdvisorService.recordFilterQuery(shape, PolicyStatus.ACTIVE, 100, 4_000_000);
+        indexAdvisorService.recordFilterQuery(shape, PolicyStatus.ACTIVE, 300, 6_000_000);
+
+        List<FilterShapeStatsDTO> stats = indexAdvisorService.getShapeStats();
+
+        assertEquals(1, stats.size());
+        assertEquals(List.of("START_DATE", "STATUS"), stats.get(0).getParameters());
+        assertEquals(2, stats.get(0).getExecutions());
+        assertEquals(200.0, stats.get(0).getAverageRows());
+        assertEquals(10.0, stats.get(0).getTotalTimeMs());
+        assertEquals(0.02, stats.get(0).getSelectivity());
+    }
+
+    @Test
+    void shouldRankRecommendationsBySavedTime() {
+        int hot = FilterShape.of(null, null, null, AutoPolicyType.COLLISION, null, null, null, 100.0, null);
+        int cold = FilterShape.of(null, null, null, null, null, null, "smith", null, null);
+        for (int i = 0; i < 50; i++) {
+            indexAdvisorService.recordFilterQuery(hot, null, 10, 20_000_000);
+        }
+        indexAdvisorService.recordFilterQuery(cold, null, 10, 20_000_000);
+
+        List<IndexRecommendationDTO> recommendations = indexAdvisorService.getRecommendations(10);
+
+        assertEquals(2, recommendations.size());
+        assertEquals(List.of("policy_type", "premium_amount"), recommendations.get(0).getColumns());
+        assertEquals("CREATE INDEX IF NOT EXISTS idx_auto_policies_policy_type_premium_amount ON auto_policies (policy_type, premium_amount);",
+                recommendations.get(0).getDdl());
+        assertEquals("gin", recommendations.get(1).getMethod());
+        assertTrue(recommendations.get(0).getEstimatedSavingsMs() > recommendations.get(1).getEstimatedSavingsMs());
+    }
+
+    @Test
+    void shouldSuggestPartialIndexWhenOneStatusDominates() {
+        int shape = FilterShape.of(null, LocalDate.of(2025, 1, 1), PolicyStatus.ACTIVE, null, null, null, null, null, null);
+        for (int i = 0; i < 20; i++) {
+            indexAdvisorService.recordFilterQuery(shape, PolicyStatus.ACTIVE, 50, 1_000_000);
+        }
+
+        IndexRecommendationDTO recommendation = indexAdvisorService.getRecommendations(1).get(0);
+
+        assertEquals("status = 'ACTIVE'", recommendation.getPredicate());
+        assertEquals(List.of("end_date"), recommendation.getColumns());
+        assertTrue(recommendation.getDdl().endsWith("(end_date) WHERE status = 'ACTIVE';"));
+    }
+}
@@ -0,0 +1,120 @@
+package com.insurance.policy.insutech.service;
+
+import com.insurance.policy.insutech.PolicyIntegrationTest;
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.exception.ArchivedPolicyException;
+import com.insurance.policy.insutech.exception.AutoPolicyNotFoundException;
+import com.insurance.policy.insutech.exception.DuplicatePolicyNumberException;
+import com.insurance.policy.insutech.model.PolicyStatus;
+import com.insurance.policy.insutech.suggest.SuggestField;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.insurance.policy.insutech.PolicyFixture.policy;
+import static org.junit.jupiter.api.Assertions.*;
+
+@PolicyIntegrationTest
+class PolicyArchivalServiceTest {
+
+    @Autowired
+    private PolicyArchivalService policyArchivalService;
+
+    @Autowired
+    private AutoPolicyService autoPolicyService;
+
+    @Autowired
+    private PolicySuggestionService policySuggestionService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void waitForTheTries() throws InterruptedException {
+        for (int i = 0; i < 100 && !policySuggestionService.isReady(); i++) {
+            Thread.sleep(100);
+        }
+        assertTrue(policySuggestionService.isReady());
+    }
+
+    @Test
+    void shouldMoveDeadPoliciesInBatchesAndDropThemFromListsAndIndexes() {
+        List<AutoPolicyDTO> dead = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            dead.add(autoPolicyService.createPolicy(archer("ARC-" + i, i % 2 == 0 ? PolicyStatus.EXPIRED : PolicyStatus.CANCELLED, 400)));
+        }
+        autoPolicyService.createPolicy(archer("ARC-RECENT", PolicyStatus.EXPIRED, 30));
+        autoPolicyService.createPolicy(archer("ARC-ACTIVE", PolicyStatus.ACTIVE, 400));
+        assertEquals(7, archers().size());
+        assertNotNull(cacheManager.getCache("allPolicies").get("all"));
+        assertEquals(List.of("Archer=7"), suggest());
+
+        // Five policies in batches of two: the job keeps going until a batch comes back short
+        assertEquals(5, policyArchivalService.archiveExpiredPolicies());
+
+        assertNull(cacheManager.getCache("allPolicies").get("all"));
+        assertEquals(List.of("ARC-ACTIVE", "ARC-RECENT"), archers().stream()
+                .map(AutoPolicyDTO::getPolicyNumber).sorted().toList());
+        assertEquals(5, jdbcTemplate.queryForObject("select count(*) from auto_policies_archive where policy_number like 'ARC-_'", Integer.class));
+        assertEquals(List.of("Archer=2"), suggest());
+
+        AutoPolicyDTO archived = autoPolicyService.getPolicyById(dead.get(3).getId());
+        assertEquals("ARC-3", archived.getPolicyNumber());
+        assertEquals(PolicyStatus.CANCELLED, archived.getStatus());
+
+        assertEquals(0, policyArchivalService.archiveExpiredPolicies());
+    }
+
+    @Test
+    void shouldServeArchivedPoliciesReadOnlyAndAnnounceThemAsArchived() {
+        AutoPolicyDTO archived = autoPolicyService.createPolicy(archer("ARC-READ-ONLY", PolicyStatus.CANCELLED, 600));
+        policyArchivalService.archiveExpiredPolicies();
+
+        assertEquals("ARC-READ-ONLY", autoPolicyService.getPolicyById(archived.getId()).getPolicyNumber());
+        assertEquals(archived.getId(), autoPolicyService.getPolicyByPolicyNumber("ARC-READ-ONLY").getId());
+        assertThrows(ArchivedPolicyException.class,
+                () -> autoPolicyService.updatePolicy(archived.getId(), archer("ARC-READ-ONLY", PolicyStatus.ACTIVE, 0)));
+        assertThrows(ArchivedPolicyException.class, () -> autoPolicyService.deletePolicy(archived.getId()));
+        assertThrows(AutoPolicyNotFoundException.class, () -> autoPolicyService.deletePolicy(Long.MAX_VALUE - 1));
+        assertEquals(List.of("CREATED", "ARCHIVED"), jdbcTemplate.queryForList(
+                "select event_type from policy_outbox where policy_id = ? order by id", String.class, archived.getId()));
+        assertEquals("ARC-READ-ONLY", autoPolicyService.getPolicyById(archived.getId()).getPolicyNumber());
+    }
+
+    @Test
+    void shouldNotIssueAnArchivedPolicyNumberAgain() {
+        autoPolicyService.createPolicy(archer("ARC-TAKEN", PolicyStatus.EXPIRED, 500));
+        policyArchivalService.archiveExpiredPolicies();
+
+        assertThrows(DuplicatePolicyNumberException.class,
+                () -> autoPolicyService.createPolicy(archer("ARC-TAKEN", PolicyStatus.ACTIVE, 0)));
+        DuplicatePolicyNumberException batch = assertThrows(DuplicatePolicyNumberException.class,
+                () -> autoPolicyService.createPolicies(List.of(archer("ARC-FREE", PolicyStatus.ACTIVE, 0),
+                        archer("ARC-TAKEN", PolicyStatus.ACTIVE, 0))));
+        assertEquals(List.of("ARC-TAKEN"), batch.getPolicyNumbers());
+    }
+
+    private List<String> suggest() {
+        return policySuggestionService.suggest(SuggestField.LAST_NAME, "Archer", null).stream()
+                .map(suggestion -> suggestion.getValue() + "=" + suggestion.getCount())
+                .toList();
+    }
+
+    private List<AutoPolicyDTO> archers() {
+        return autoPolicyService.getAllPolicies().stream()
+                .filter(policy -> "Archer".equals(policy.getLastName()))
+                .toList();
+    }
+
+    private static AutoPolicyDTO archer(String policyNumber, PolicyStatus status, int endedDaysAgo) {
+        return policy(policyNumber).status(status).holder("Ada", "Archer").endingIn(-endedDaysAgo).build();
+    }
+}
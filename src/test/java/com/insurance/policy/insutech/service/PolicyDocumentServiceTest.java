@@ -0,0 +1,104 @@
+package com.insurance.policy.insutech.service;
+
+import com.insurance.policy.insutech.config.DocumentProperties;
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.model.AutoPolicyType;
+import com.insurance.policy.insutech.model.PolicyStatus;
+import com.insurance.policy.insutech.service.impl.PolicyDocumentServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PolicyDocumentServiceTest {
+
+    private PolicyDocumentServiceImpl policyDocumentService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        DocumentProperties properties = new DocumentProperties();
+        properties.setWorkerThreads(2);
+        properties.setMaxInFlight(4);
+        policyDocumentService = new PolicyDocumentServiceImpl(properties);
+        policyDocumentService.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        policyDocumentService.stop();
+    }
+
+    @Test
+    void shouldRenderPdfDeclaration() {
+        byte[] pdf = policyDocumentService.renderDeclaration(policy(1L, "AP-1001", "Zoë"));
+
+        assertEquals("%PDF", new String(pdf, 0, 4, StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void shouldRenderCharactersOutsideStandardFontWithoutFailing() {
+        byte[] pdf = policyDocumentService.renderDeclaration(policy(2L, "AP-1002", "李"));
+
+        assertTrue(pdf.length > 0);
+    }
+
+    @Test
+    void shouldReplaceControlCharactersTheStandardFontCannotEncode() {
+        byte[] pdf = policyDocumentService.renderDeclaration(policy(3L, "AP-1003", "Zo\u0085ë\u007F\u009F\t"));
+
+        assertEquals("%PDF", new String(pdf, 0, 4, StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void shouldStreamOneZipEntryPerPolicyInOrder() throws IOException {
+        List<AutoPolicyDTO> policies = LongStream.rangeClosed(1, 10)
+                .mapToObj(id -> policy(id, "AP-" + (1000 + id), "Driver"))
+                .collect(Collectors.toList());
+        ByteArrayOutputStream zip = new ByteArrayOutputStream();
+
+        int written = policyDocumentService.renderDeclarations(policies, zip);
+
+        List<String> entries = new ArrayList<>();
+        try (ZipInputStream input = new ZipInputStream(new ByteArrayInputStream(zip.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = input.getNextEntry()) != null) {
+                entries.add(entry.getName());
+            }
+        }
+        assertEquals(10, written);
+        assertEquals(10, entries.size());
+        assertEquals("AP-1001.pdf", entries.get(0));
+        assertEquals("AP-1010.pdf", entries.get(9));
+    }
+
+    private static AutoPolicyDTO policy(Long id, String number, String firstName) {
+        AutoPolicyDTO dto = new AutoPolicyDTO();
+        dto.setId(id);
+        dto.setPolicyNumber(number);
+        dto.setStatus(PolicyStatus.ACTIVE);
+        dto.setPolicyType(AutoPolicyType.COLLISION);
+        dto.setStartDate(LocalDate.of(2025, 1, 1));
+        dto.setEndDate(LocalDate.of(2026, 1, 1));
+        dto.setFirstName(firstName);
+        dto.setLastName("Smith");
+        dto.setVehicleMake("Honda");
+        dto.setVehicleModel("Civic");
+        dto.setVehicleYear("2022");
+        dto.setPremiumAmount(new BigDecimal("1234.5"));
+        return dto;
+    }
+}
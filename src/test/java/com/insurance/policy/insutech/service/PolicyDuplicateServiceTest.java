@@ -0,0 +1,93 @@
+package com.insurance.policy.insutech.service;
+
+import com.insurance.policy.insutech.PolicyIntegrationTest;
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.dto.DuplicateClusterDTO;
+import com.insurance.policy.insutech.dto.DuplicateMatchDTO;
+import com.insurance.policy.insutech.dto.DuplicateRunDTO;
+import com.insurance.policy.insutech.duplicate.DuplicateKind;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.insurance.policy.insutech.PolicyFixture.policy;
+import static org.junit.jupiter.api.Assertions.*;
+
+@PolicyIntegrationTest
+class PolicyDuplicateServiceTest {
+
+    @Autowired
+    private PolicyDuplicateService policyDuplicateService;
+
+    @Autowired
+    private AutoPolicyService autoPolicyService;
+
+    @BeforeEach
+    void waitForTheIndex() throws InterruptedException {
+        for (int i = 0; i < 100 && !policyDuplicateService.isReady(); i++) {
+            Thread.sleep(100);
+        }
+        assertTrue(policyDuplicateService.isReady());
+    }
+
+    @Test
+    void shouldFlagANewPolicyThatLooksLikeAnExistingOne() {
+        AutoPolicyDTO original = autoPolicyService.createPolicy(driver("DUP-1", "Katharina", "Wojcik", "Volkswagen", "Golf", "2018"));
+        AutoPolicyDTO stranger = autoPolicyService.createPolicy(driver("DUP-2", "Kevin", "Wojcik", "Seat", "Ibiza", "2021"));
+        AutoPolicyDTO variant = autoPolicyService.createPolicy(driver("DUP-3", "Katharine", "Wojcick", "Volkswagon", "Golf", "18"));
+
+        List<DuplicateMatchDTO> matches = policyDuplicateService.findPossibleDuplicates(variant);
+
+        assertEquals(Set.of("customer", "vehicle"), matches.stream()
+                .filter(match -> match.getPolicyId().equals(original.getId()))
+                .map(DuplicateMatchDTO::getKind)
+                .collect(Collectors.toSet()));
+        assertTrue(matches.stream().noneMatch(match -> match.getPolicyId().equals(stranger.getId())));
+        assertTrue(matches.stream().noneMatch(match -> match.getPolicyId().equals(variant.getId())));
+    }
+
+    @Test
+    void shouldWriteClustersAndReplaceThemOnTheNextRun() {
+        AutoPolicyDTO first = autoPolicyService.createPolicy(driver("DUP-10", "Siobhan", "Fitzgerald", "Wartburg", "353", "1984"));
+        AutoPolicyDTO second = autoPolicyService.createPolicy(driver("DUP-11", "Siobhan", "Fitzgerrald", "Skoda", "Fabia", "2020"));
+        AutoPolicyDTO third = autoPolicyService.createPolicy(driver("DUP-12", "Siobahn", "Fitzgerald", "Mazda", "3", "2015"));
+        // Another driver of the household's car: a different customer, but the same vehicle
+        AutoPolicyDTO sharedCar = autoPolicyService.createPolicy(driver("DUP-13", "Oisin", "Fitzgerald", "Wartburg", "353", "1984"));
+
+        DuplicateRunDTO run = policyDuplicateService.detectDuplicates();
+
+        assertEquals("COMPLETED", run.getStatus());
+        List<DuplicateClusterDTO> clusters = policyDuplicateService.getClustersOfPolicy(second.getId());
+        assertEquals(1, clusters.size());
+        assertEquals("customer", clusters.get(0).getKind());
+        assertEquals(first.getId(), clusters.get(0).getClusterId());
+        assertEquals(List.of(first.getId(), second.getId(), third.getId()), clusters.get(0).getMembers().stream()
+                .map(DuplicateMatchDTO::getPolicyId)
+                .toList());
+        assertTrue(policyDuplicateService.getClusters(DuplicateKind.CUSTOMER, 0, 200).stream()
+                .anyMatch(cluster -> cluster.getClusterId().equals(first.getId())));
+
+        autoPolicyService.updatePolicy(third.getId(), driver("DUP-12", "Aoife", "Brennan", "Mazda", "3", "2015"));
+        policyDuplicateService.detectDuplicates();
+
+        assertEquals(List.of("customer=[%d, %d]".formatted(first.getId(), second.getId()),
+                        "vehicle=[%d, %d]".formatted(first.getId(), sharedCar.getId())),
+                policyDuplicateService.getClustersOfPolicy(first.getId()).stream()
+                        .map(cluster -> cluster.getKind() + "=" + cluster.getMembers().stream()
+                                .map(DuplicateMatchDTO::getPolicyId)
+                                .toList())
+                        .sorted()
+                        .toList());
+        assertEquals(List.of(), policyDuplicateService.getClustersOfPolicy(third.getId()));
+        assertThrows(IllegalArgumentException.class, () -> policyDuplicateService.getClusters(DuplicateKind.VEHICLE, 0, 0));
+    }
+
+    private static AutoPolicyDTO driver(String policyNumber, String firstName, String lastName, String make, String model,
+                                        String year) {
+        return policy(policyNumber).holder(firstName, lastName).vehicle(make, model, year).build();
+    }
+}
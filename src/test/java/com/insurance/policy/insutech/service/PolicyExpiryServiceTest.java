@@ -0,0 +1,107 @@
+package com.insurance.policy.insutech.service;
+
+import com.insurance.policy.insutech.PolicyIntegrationTest;
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.dto.PolicyExpiryAlertDTO;
+import com.insurance.policy.insutech.model.PolicyStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.insurance.policy.insutech.PolicyFixture.policy;
+import static org.junit.jupiter.api.Assertions.*;
+
+@PolicyIntegrationTest
+class PolicyExpiryServiceTest {
+
+    @Autowired
+    private PolicyExpiryService policyExpiryService;
+
+    @Autowired
+    private AutoPolicyService autoPolicyService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDate today = LocalDate.now();
+
+    @BeforeEach
+    void waitForTheIndex() throws InterruptedException {
+        for (int i = 0; i < 100 && !policyExpiryService.isReady(); i++) {
+            Thread.sleep(100);
+        }
+        assertTrue(policyExpiryService.isReady());
+    }
+
+    @Test
+    void shouldKeepTheIndexInStepWithWrites() {
+        AutoPolicyDTO soon = autoPolicyService.createPolicy(ending("EXP-SOON", "Window", PolicyStatus.ACTIVE, 3));
+        AutoPolicyDTO later = autoPolicyService.createPolicy(ending("EXP-LATER", "Window", PolicyStatus.ACTIVE, 10));
+        autoPolicyService.createPolicy(ending("EXP-CANCELLED", "Window", PolicyStatus.CANCELLED, 2));
+
+        assertEquals(List.of("EXP-SOON"), expiring(5, "Window"));
+        assertEquals(List.of("EXP-SOON", "EXP-LATER"), expiring(10, "Window"));
+
+        autoPolicyService.updatePolicy(soon.getId(), ending("EXP-SOON", "Window", PolicyStatus.ACTIVE, 20));
+        autoPolicyService.updatePolicy(later.getId(), ending("EXP-LATER", "Window", PolicyStatus.CANCELLED, 10));
+
+        assertEquals(List.of(), expiring(10, "Window"));
+        assertEquals(List.of("EXP-SOON"), expiring(30, "Window"));
+        assertThrows(IllegalArgumentException.class, () -> policyExpiryService.getExpiringPolicies(-1, null));
+    }
+
+    @Test
+    void shouldFillTheLimitPastEntriesTheIndexHasNotCaughtUpWith() {
+        AutoPolicyDTO stale = autoPolicyService.createPolicy(ending("EXP-STALE", "Stale", PolicyStatus.ACTIVE, 0));
+        autoPolicyService.createPolicy(ending("EXP-STALE-KEPT", "Stale", PolicyStatus.ACTIVE, 0));
+        jdbcTemplate.update("update auto_policies set status = 'CANCELLED' where id = ?", stale.getId());
+
+        assertEquals(List.of("EXP-STALE-KEPT"), policyExpiryService.getExpiringPolicies(0, 1).stream()
+                .map(AutoPolicyDTO::getPolicyNumber)
+                .toList());
+    }
+
+    @Test
+    void shouldAlertAsEachDayBoundaryPasses() {
+        for (int endsIn : new int[]{1, 2, 5, 8, 31}) {
+            autoPolicyService.createPolicy(ending("EXP-ALERT-" + endsIn, "Alert", PolicyStatus.ACTIVE, endsIn));
+        }
+
+        Map<String, Integer> alerts = policyExpiryService.advanceTo(today.plusDays(1)).stream()
+                .filter(alert -> "Alert".equals(alert.getPolicy().getLastName()))
+                .collect(Collectors.toMap(alert -> alert.getPolicy().getPolicyNumber(),
+                        PolicyExpiryAlertDTO::getDaysRemaining));
+
+        assertEquals(Map.of("EXP-ALERT-1", 0, "EXP-ALERT-2", 1, "EXP-ALERT-8", 7, "EXP-ALERT-31", 30), alerts);
+        assertTrue(policyExpiryService.advanceTo(today.plusDays(1)).isEmpty());
+    }
+
+    @Test
+    void shouldPickUpRowsWrittenBehindTheServicesBackOnRebuild() {
+        jdbcTemplate.update("insert into auto_policies (policy_number, status, policy_type, vehicle_make, vehicle_model, "
+                        + "vehicle_year, first_name, last_name, start_date, end_date, premium_amount) "
+                        + "values ('EXP-RENEWED', 'ACTIVE', 'COLLISION', 'Skoda', 'Octavia', '2019', 'Lena', 'Behind', ?, ?, 410)",
+                today.minusDays(365), today.plusDays(4));
+
+        assertEquals(List.of(), expiring(5, "Behind"));
+        policyExpiryService.rebuild();
+        assertEquals(List.of("EXP-RENEWED"), expiring(5, "Behind"));
+    }
+
+    private List<String> expiring(int withinDays, String lastName) {
+        return policyExpiryService.getExpiringPolicies(withinDays, null).stream()
+                .filter(policy -> lastName.equals(policy.getLastName()))
+                .map(AutoPolicyDTO::getPolicyNumber)
+                .toList();
+    }
+
+    private static AutoPolicyDTO ending(String policyNumber, String lastName, PolicyStatus status, int endsInDays) {
+        return policy(policyNumber).status(status).lastName(lastName).endingIn(endsInDays).build();
+    }
+}
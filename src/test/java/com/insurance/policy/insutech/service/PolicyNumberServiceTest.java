@@ -0,0 +1,135 @@
+package com.insurance.policy.insutech.service;
+
+import com.insurance.policy.insutech.config.PolicyNumberProperties;
+import com.insurance.policy.insutech.repository.PolicyNumberCounterRepository;
+import com.insurance.policy.insutech.service.impl.PolicyNumberServiceImpl;
+import com.insurance.policy.insutech.sharding.ShardRouter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class PolicyNumberServiceTest {
+
+    @Mock
+    private PolicyNumberCounterRepository policyNumberCounterRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final AtomicLong counter = new AtomicLong(1);
+    private PolicyNumberProperties properties;
+    private PolicyNumberServiceImpl policyNumberService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        // Stands in for the counter row: advance and read happen under the row lock in one transaction
+        ThreadLocal<Long> reserved = new ThreadLocal<>();
+        when(policyNumberCounterRepository.advance(eq("auto_policy"), anyLong()))
+                .thenAnswer(invocation -> {
+                    reserved.set(counter.addAndGet(invocation.getArgument(1)));
+                    return 1;
+                });
+        when(policyNumberCounterRepository.findNextValue("auto_policy")).thenAnswer(invocation -> reserved.get());
+
+        properties = new PolicyNumberProperties();
+        properties.setBlockSize(100);
+        policyNumberService = new PolicyNumberServiceImpl(policyNumberCounterRepository, properties, transactionManager,
+                ShardRouter.unsharded());
+        policyNumberService.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        policyNumberService.stop();
+    }
+
+    @Test
+    void shouldFormatPrefixYearSequenceAndCheckDigit() {
+        int year = LocalDate.now().getYear();
+        String number = policyNumberService.nextPolicyNumber();
+
+        assertEquals("AP-" + year + "-00000001-" + PolicyNumberServiceImpl.luhnCheckDigit(year + "00000001"), number);
+        assertEquals(3, PolicyNumberServiceImpl.luhnCheckDigit("7992739871"));
+    }
+
+    @Test
+    void shouldReserveOneBlockPerBlockSizeNumbers() {
+        List<String> numbers = policyNumberService.nextPolicyNumbers(250);
+
+        assertEquals(250, Set.copyOf(numbers).size());
+        verify(policyNumberCounterRepository, times(3)).advance("auto_policy", 100);
+    }
+
+    @Test
+    void shouldNeverHandOutTheSameNumberTwiceAcrossThreadsAndNodes() throws InterruptedException {
+        // A second allocator over the same counter behaves like another node
+        PolicyNumberServiceImpl otherNode = new PolicyNumberServiceImpl(policyNumberCounterRepository, properties,
+                transactionManager, ShardRouter.unsharded());
+        otherNode.start();
+        Set<String> issued = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) {
+            PolicyNumberService node = i % 2 == 0 ? policyNumberService : otherNode;
+            pool.execute(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    issued.add(node.nextPolicyNumber());
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(8000, issued.size());
+        otherNode.stop();
+    }
+
+    @Test
+    void shouldReserveBlocksOffTheCallersThread() {
+        Set<String> reservingThreads = ConcurrentHashMap.newKeySet();
+        when(policyNumberCounterRepository.findNextValue("auto_policy")).thenAnswer(invocation -> {
+            reservingThreads.add(Thread.currentThread().getName());
+            return counter.get();
+        });
+
+        policyNumberService.nextPolicyNumbers(150);
+
+        assertEquals(Set.of("policy-number-reserve"), reservingThreads);
+    }
+
+    @Test
+    void shouldRecognizeTheIssuedFormat() {
+        String issued = policyNumberService.nextPolicyNumber();
+
+        assertTrue(policyNumberService.isIssuedFormat(issued));
+        assertTrue(policyNumberService.isIssuedFormat("AP-2031-123456789-4"));
+        assertFalse(policyNumberService.isIssuedFormat("AP-2026-00000001"));
+        assertFalse(policyNumberService.isIssuedFormat(issued + "-R202701"));
+        assertFalse(policyNumberService.isIssuedFormat("POL-1001"));
+    }
+
+    @Test
+    void shouldCreateCounterRowOnFirstReservation() {
+        when(policyNumberCounterRepository.advance(eq("auto_policy"), anyLong())).thenReturn(0);
+
+        assertTrue(policyNumberService.nextPolicyNumber().startsWith("AP-" + LocalDate.now().getYear() + "-00000001"));
+        verify(policyNumberCounterRepository).create("auto_policy", 101L);
+    }
+}
@@ -0,0 +1,86 @@
+package com.insurance.policy.insutech.service;
+
+import com.insurance.policy.insutech.PolicyIntegrationTest;
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.dto.RenewalRunDTO;
+import com.insurance.policy.insutech.model.RenewalRun;
+import com.insurance.policy.insutech.repository.RenewalRunRepository;
+import com.insurance.policy.insutech.service.impl.PolicyRenewalServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.insurance.policy.insutech.PolicyFixture.policy;
+import static org.junit.jupiter.api.Assertions.*;
+
+@PolicyIntegrationTest
+class PolicyRenewalRunTest {
+
+    private static final LocalDate WINDOW = LocalDate.now().plusDays(100);
+
+    @Autowired
+    private PolicyRenewalService policyRenewalService;
+
+    @Autowired
+    private AutoPolicyService autoPolicyService;
+
+    @Autowired
+    private RenewalRunRepository renewalRunRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldResumeAfterTheCheckpointAndSkipPoliciesAlreadyRenewed() {
+        List<AutoPolicyDTO> policies = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            policies.add(autoPolicyService.createPolicy(renewing("RN-" + i, WINDOW.minusMonths(6), WINDOW)));
+        }
+        // RN-2 was renewed by an earlier run; RN-1 lies behind the checkpoint of an interrupted one
+        autoPolicyService.createPolicy(renewing(PolicyRenewalServiceImpl.successorNumber("RN-2", WINDOW), WINDOW, WINDOW.plusMonths(6)));
+        RenewalRun interrupted = new RenewalRun();
+        interrupted.setWindowStart(WINDOW);
+        interrupted.setWindowEnd(WINDOW);
+        interrupted.setStatus(RenewalRun.Status.FAILED);
+        interrupted.setMaxPolicyId(policies.get(4).getId());
+        interrupted.setLastPolicyId(policies.get(0).getId());
+        interrupted.setRenewedCount(1);
+        interrupted.setStartedAt(LocalDateTime.now());
+        interrupted = renewalRunRepository.save(interrupted);
+        long outboxHead = outboxHead();
+
+        RenewalRunDTO run = policyRenewalService.renewPolicies(WINDOW, WINDOW);
+
+        assertEquals(interrupted.getId(), run.getId());
+        assertEquals("COMPLETED", run.getStatus());
+        assertEquals(policies.get(4).getId(), run.getLastPolicyId());
+        assertEquals(4, run.getRenewedCount());
+        assertEquals(1, run.getSkippedCount());
+        assertFalse(exists(PolicyRenewalServiceImpl.successorNumber("RN-1", WINDOW)));
+        for (int i = 3; i <= 5; i++) {
+            String successor = PolicyRenewalServiceImpl.successorNumber("RN-" + i, WINDOW);
+            assertEquals(WINDOW, autoPolicyService.getPolicyByPolicyNumber(successor).getStartDate());
+            assertEquals(1, jdbcTemplate.queryForObject("select count(*) from policy_outbox where id > ? "
+                    + "and event_type = 'CREATED' and policy_number = ?", Integer.class, outboxHead, successor));
+        }
+        assertEquals(3, jdbcTemplate.queryForObject("select count(*) from policy_outbox where id > ?", Integer.class, outboxHead));
+    }
+
+    private boolean exists(String policyNumber) {
+        return jdbcTemplate.queryForObject("select count(*) from auto_policies where policy_number = ?",
+                Integer.class, policyNumber) > 0;
+    }
+
+    private long outboxHead() {
+        return jdbcTemplate.queryForObject("select coalesce(max(id), 0) from policy_outbox", Long.class);
+    }
+
+    private static AutoPolicyDTO renewing(String policyNumber, LocalDate startDate, LocalDate endDate) {
+        return policy(policyNumber).holder("Nora", "Renner").term(startDate, endDate).build();
+    }
+}
@@ -0,0 +1,69 @@
+package com.insurance.policy.insutech.service;
+
+import com.insurance.policy.insutech.model.AutoPolicy;
+import com.insurance.policy.insutech.model.AutoPolicyType;
+import com.insurance.policy.insutech.model.PolicyStatus;
+import com.insurance.policy.insutech.service.impl.PolicyRenewalServiceImpl;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PolicyRenewalServiceTest {
+
+    @Test
+    void shouldFollowOnWithSameTermLength() {
+        AutoPolicy policy = AutoPolicy.builder()
+                .policyNumber("AP-1001")
+                .status(PolicyStatus.ACTIVE)
+                .startDate(LocalDate.of(2025, 8, 1))
+                .endDate(LocalDate.of(2026, 2, 1))
+                .premiumAmount(new BigDecimal("420.00"))
+                .policyType(AutoPolicyType.COLLISION)
+                .vehicleMake("Honda")
+                .firstName("Sarah")
+                .build();
+        policy.setId(7L);
+
+        AutoPolicy successor = PolicyRenewalServiceImpl.successorOf(policy);
+
+        assertNull(successor.getId());
+        assertEquals("AP-1001-R202602", successor.getPolicyNumber());
+        assertEquals(LocalDate.of(2026, 2, 1), successor.getStartDate());
+        assertEquals(LocalDate.of(2026, 8, 1), successor.getEndDate());
+        assertEquals("Sarah", successor.getFirstName());
+        assertEquals(7L, policy.getId());
+        assertEquals("AP-1001", policy.getPolicyNumber());
+    }
+
+    @Test
+    void shouldNumberEverySuccessorOfAShortTermChainApart() {
+        AutoPolicy policy = AutoPolicy.builder()
+                .policyNumber("AP-2002")
+                .status(PolicyStatus.ACTIVE)
+                .startDate(LocalDate.of(2025, 7, 1))
+                .endDate(LocalDate.of(2026, 1, 1))
+                .policyType(AutoPolicyType.LIABILITY)
+                .build();
+
+        Set<String> numbers = new HashSet<>();
+        for (int term = 0; term < 6; term++) {
+            policy = PolicyRenewalServiceImpl.successorOf(policy);
+            assertTrue(numbers.add(policy.getPolicyNumber()), policy.getPolicyNumber());
+        }
+        assertEquals(Set.of("AP-2002-R202601", "AP-2002-R202607", "AP-2002-R202701", "AP-2002-R202707",
+                "AP-2002-R202801", "AP-2002-R202807"), numbers);
+        assertEquals(LocalDate.of(2029, 1, 1), policy.getEndDate());
+    }
+
+    @Test
+    void shouldReplaceRatherThanStackRenewalSuffix() {
+        assertEquals("AP-1001-R202702", PolicyRenewalServiceImpl.successorNumber("AP-1001-R202602", LocalDate.of(2027, 2, 1)));
+        assertEquals("AP-1001-R202702", PolicyRenewalServiceImpl.successorNumber("AP-1001-R2026", LocalDate.of(2027, 2, 1)));
+        assertEquals("R2026-R202702", PolicyRenewalServiceImpl.successorNumber("R2026", LocalDate.of(2027, 2, 1)));
+    }
+}
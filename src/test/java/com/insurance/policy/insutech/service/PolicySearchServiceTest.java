@@ -0,0 +1,152 @@
+package com.insurance.policy.insutech.service;
+
+import com.insurance.policy.insutech.config.SearchProperties;
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.dto.PolicySearchResultDTO;
+import com.insurance.policy.insutech.event.PolicyChangedEvent;
+import com.insurance.policy.insutech.model.AutoPolicyType;
+import com.insurance.policy.insutech.model.PolicyStatus;
+import com.insurance.policy.insutech.scan.PolicyScanner;
+import com.insurance.policy.insutech.scan.ScannedIndex;
+import com.insurance.policy.insutech.service.impl.PolicySearchServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+class PolicySearchServiceTest {
+
+    @Mock
+    private PolicyScanner policyScanner;
+
+    @TempDir
+    Path indexDir;
+
+    private PolicySearchServiceImpl policySearchService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        MockitoAnnotations.openMocks(this);
+        SearchProperties properties = new SearchProperties();
+        properties.setIndexPath(indexDir.toString());
+        policySearchService = new PolicySearchServiceImpl(properties, policyScanner);
+        policySearchService.open();
+
+        policySearchService.index(policy(1L, "AP-101", "Michael", "Johnson", "Ford", "F-150"));
+        policySearchService.index(policy(2L, "AP-102", "Sarah", "Johnston", "Toyota", "Camry"));
+        policySearchService.index(policy(3L, "AP-103", "John", "Miller", "Honda", "Civic"));
+        policySearchService.refresh();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        policySearchService.close();
+    }
+
+    @Test
+    void shouldRankExactMatchAboveTypoMatch() {
+        List<PolicySearchResultDTO> results = policySearchService.search("johnson", null);
+
+        assertEquals(2, results.size());
+        assertEquals(1L, results.get(0).getPolicy().getId());
+        assertEquals(2L, results.get(1).getPolicy().getId());
+        assertEquals("Ford", results.get(0).getPolicy().getVehicleMake());
+    }
+
+    @Test
+    void shouldRequireEveryTermToMatch() {
+        List<PolicySearchResultDTO> results = policySearchService.search("sarah toyota", null);
+
+        assertEquals(1, results.size());
+        assertEquals("AP-102", results.get(0).getPolicy().getPolicyNumber());
+    }
+
+    @Test
+    void shouldFindByExactPolicyNumber() {
+        List<PolicySearchResultDTO> results = policySearchService.search("AP-103", null);
+
+        assertEquals(3L, results.get(0).getPolicy().getId());
+    }
+
+    @Test
+    void shouldApplyDeletesFromWritePath() throws IOException {
+        AutoPolicyDTO deleted = policy(3L, "AP-103", "John", "Miller", "Honda", "Civic");
+        policySearchService.onPolicyChanged(PolicyChangedEvent.deleted(deleted));
+        policySearchService.refresh();
+
+        assertTrue(policySearchService.search("miller", null).isEmpty());
+    }
+
+    @Test
+    void shouldKeepServingTheOldIndexUntilTheRebuildSwapsIn() throws IOException {
+        List<Integer> seenDuringRebuild = new ArrayList<>();
+        scanning(List.of(policy(1L, "AP-101", "Michael", "Johnson", "Ford", "F-150"),
+                policy(3L, "AP-103", "John", "Miller", "Honda", "Civic")), () -> {
+            // Mid-rebuild: searches still see the complete live index, and a write lands in both indexes
+            seenDuringRebuild.add(policySearchService.search("johnson", null).size());
+            policySearchService.onPolicyChanged(PolicyChangedEvent.updated(
+                    policy(3L, "AP-103", "John", "Miller", "Honda", "Civic"),
+                    policy(3L, "AP-103", "John", "Millerton", "Honda", "Civic")));
+        });
+
+        assertEquals(2, policySearchService.reindex());
+        policySearchService.refresh();
+
+        assertEquals(List.of(2), seenDuringRebuild);
+        // Policy 2 is no longer in the database, and the rebuild's older copy of policy 3 did not win
+        assertEquals(List.of(1L), ids(policySearchService.search("johnson", null)));
+        assertEquals(List.of(3L), ids(policySearchService.search("millerton", null)));
+    }
+
+    @Test
+    void shouldReopenTheSwappedInGeneration() throws IOException {
+        scanning(List.of(policy(2L, "AP-102", "Sarah", "Johnston", "Toyota", "Camry")), () -> {
+        });
+        policySearchService.reindex();
+        policySearchService.close();
+
+        policySearchService.open();
+
+        assertEquals(List.of(2L), ids(policySearchService.search("sarah", null)));
+    }
+
+    private static List<Long> ids(List<PolicySearchResultDTO> results) {
+        return results.stream().map(result -> result.getPolicy().getId()).toList();
+    }
+
+    // Stands in for the shared scan: the rows are fed to the build after the action has run mid-rebuild
+    private void scanning(List<AutoPolicyDTO> rows, Runnable duringScan) {
+        when(policyScanner.rebuild(any())).thenAnswer(invocation -> {
+            ScannedIndex.Build build = policySearchService.startBuild();
+            duringScan.run();
+            rows.forEach(build::scanned);
+            build.finish();
+            return (long) rows.size();
+        });
+    }
+
+    private static AutoPolicyDTO policy(Long id, String number, String firstName, String lastName, String make, String model) {
+        AutoPolicyDTO dto = new AutoPolicyDTO();
+        dto.setId(id);
+        dto.setPolicyNumber(number);
+        dto.setStatus(PolicyStatus.ACTIVE);
+        dto.setPolicyType(AutoPolicyType.COLLISION);
+        dto.setFirstName(firstName);
+        dto.setLastName(lastName);
+        dto.setVehicleMake(make);
+        dto.setVehicleModel(model);
+        dto.setVehicleYear("2023");
+        return dto;
+    }
+}
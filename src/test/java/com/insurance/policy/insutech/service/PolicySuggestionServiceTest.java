@@ -0,0 +1,69 @@
+package com.insurance.policy.insutech.service;
+
+import com.insurance.policy.insutech.PolicyIntegrationTest;
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.suggest.SuggestField;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.insurance.policy.insutech.PolicyFixture.policy;
+import static org.junit.jupiter.api.Assertions.*;
+
+@PolicyIntegrationTest
+class PolicySuggestionServiceTest {
+
+    @Autowired
+    private PolicySuggestionService policySuggestionService;
+
+    @Autowired
+    private AutoPolicyService autoPolicyService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void waitForTheTries() throws InterruptedException {
+        for (int i = 0; i < 100 && !policySuggestionService.isReady(); i++) {
+            Thread.sleep(100);
+        }
+        assertTrue(policySuggestionService.isReady());
+    }
+
+    @Test
+    void shouldKeepSuggestionsInStepWithWrites() {
+        autoPolicyService.createPolicy(policy("SUG-1").lastName("Quenneville").vehicleMake("Zastava").build());
+        autoPolicyService.createPolicy(policy("SUG-2").lastName("Quenneville").vehicleMake("Zastava").build());
+        AutoPolicyDTO moved = autoPolicyService.createPolicy(policy("SUG-3").lastName("Quentin").vehicleMake("Zastava").build());
+
+        assertEquals(List.of("Quenneville=2", "Quentin=1"), suggest(SuggestField.LAST_NAME, "quen", null));
+
+        autoPolicyService.updatePolicy(moved.getId(), policy("SUG-3").lastName("Quenneville").vehicleMake("Zastava").build());
+
+        assertEquals(List.of("Quenneville=3"), suggest(SuggestField.LAST_NAME, "Quen", null));
+        assertEquals(List.of("Zastava=3"), suggest(SuggestField.VEHICLE_MAKE, "zas", 1));
+        assertEquals(List.of("SUG-1=1", "SUG-2=1", "SUG-3=1"), suggest(SuggestField.POLICY_NUMBER, "SUG-", null));
+    }
+
+    @Test
+    void shouldPickUpRowsWrittenBehindTheServicesBackOnRebuild() {
+        jdbcTemplate.update("insert into auto_policies (policy_number, status, policy_type, vehicle_make, vehicle_model, "
+                + "vehicle_year, first_name, last_name, start_date, end_date, premium_amount) "
+                + "values ('SUG-BEHIND', 'ACTIVE', 'COLLISION', 'Skoda', 'Octavia', '2019', 'Lena', 'Xenakis', ?, ?, 410)",
+                LocalDate.now(), LocalDate.now().plusYears(1));
+
+        assertEquals(List.of(), suggest(SuggestField.LAST_NAME, "Xenak", null));
+        policySuggestionService.rebuild();
+        assertEquals(List.of("Xenakis=1"), suggest(SuggestField.LAST_NAME, "Xenak", null));
+    }
+
+    private List<String> suggest(SuggestField field, String prefix, Integer limit) {
+        return policySuggestionService.suggest(field, prefix, limit).stream()
+                .map(suggestion -> suggestion.getValue() + "=" + suggestion.getCount())
+                .toList();
+    }
+}
@@ -0,0 +1,77 @@
+package com.insurance.policy.insutech.service;
+
+import com.insurance.policy.insutech.PolicyIntegrationTest;
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.dto.ReRateRunDTO;
+import com.insurance.policy.insutech.model.PolicyStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+
+import static com.insurance.policy.insutech.PolicyFixture.policy;
+import static org.junit.jupiter.api.Assertions.*;
+
+@PolicyIntegrationTest
+class PremiumRatingServiceTest {
+
+    private static final BigDecimal STALE_PREMIUM = new BigDecimal("1.00");
+
+    @Autowired
+    private PremiumRatingService premiumRatingService;
+
+    @Autowired
+    private AutoPolicyService autoPolicyService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldReRateActivePoliciesInTheBackgroundAndPublishEachChange() throws InterruptedException {
+        AutoPolicyDTO first = autoPolicyService.createPolicy(stale("RR-1", PolicyStatus.ACTIVE));
+        AutoPolicyDTO second = autoPolicyService.createPolicy(stale("RR-2", PolicyStatus.ACTIVE));
+        AutoPolicyDTO third = autoPolicyService.createPolicy(stale("RR-3", PolicyStatus.ACTIVE));
+        AutoPolicyDTO cancelled = autoPolicyService.createPolicy(stale("RR-4", PolicyStatus.CANCELLED));
+        // Cached with the old premium; the run has to evict it
+        assertEquals(0, STALE_PREMIUM.compareTo(autoPolicyService.getPolicyById(first.getId()).getPremiumAmount()));
+
+        ReRateRunDTO started = premiumRatingService.startReRate("2026.1");
+        assertEquals("2026.1", started.getTableVersion());
+        ReRateRunDTO run = awaitCompletion(started.getId());
+
+        assertEquals("COMPLETED", run.getState());
+        assertTrue(run.getUpdated() >= 3);
+        assertNotNull(run.getCompletedAt());
+        for (AutoPolicyDTO policy : new AutoPolicyDTO[]{first, second, third}) {
+            assertNotEquals(0, STALE_PREMIUM.compareTo(autoPolicyService.getPolicyById(policy.getId()).getPremiumAmount()));
+            assertEquals(1, updatedEventsOf(policy.getId()));
+        }
+        assertEquals(0, STALE_PREMIUM.compareTo(autoPolicyService.getPolicyById(cancelled.getId()).getPremiumAmount()));
+        assertEquals(0, updatedEventsOf(cancelled.getId()));
+    }
+
+    @Test
+    void shouldRefuseAnUnknownTableVersion() {
+        assertThrows(IllegalArgumentException.class, () -> premiumRatingService.startReRate("1999.1"));
+        assertTrue(premiumRatingService.getReRate(Long.MAX_VALUE).isEmpty());
+    }
+
+    private ReRateRunDTO awaitCompletion(long id) throws InterruptedException {
+        ReRateRunDTO run = premiumRatingService.getReRate(id).orElseThrow();
+        for (int i = 0; i < 200 && "RUNNING".equals(run.getState()); i++) {
+            Thread.sleep(50);
+            run = premiumRatingService.getReRate(id).orElseThrow();
+        }
+        return run;
+    }
+
+    private int updatedEventsOf(Long policyId) {
+        return jdbcTemplate.queryForObject(
+                "select count(*) from policy_outbox where event_type = 'UPDATED' and policy_id = ?", Integer.class, policyId);
+    }
+
+    private static AutoPolicyDTO stale(String policyNumber, PolicyStatus status) {
+        return policy(policyNumber).status(status).holder("Rita", "Rater").premium(STALE_PREMIUM).build();
+    }
+}
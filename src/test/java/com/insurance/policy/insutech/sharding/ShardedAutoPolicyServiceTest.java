@@ -0,0 +1,212 @@
+package com.insurance.policy.insutech.sharding;
+
+import com.insurance.policy.insutech.PolicyIntegrationTest;
+import com.insurance.policy.insutech.dto.AutoPolicyDTO;
+import com.insurance.policy.insutech.exception.CrossShardRenumberException;
+import com.insurance.policy.insutech.exception.DuplicatePolicyNumberException;
+import com.insurance.policy.insutech.model.AutoPolicyType;
+import com.insurance.policy.insutech.model.PolicyStatus;
+import com.insurance.policy.insutech.service.AutoPolicyService;
+import com.insurance.policy.insutech.service.PolicyArchivalService;
+import com.insurance.policy.insutech.service.impl.ShardedAutoPolicyServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.insurance.policy.insutech.PolicyFixture.policy;
+import static org.junit.jupiter.api.Assertions.*;
+
+@PolicyIntegrationTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:shard0;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "insutech.sharding.enabled=true",
+        "insutech.sharding.shards[0].url=jdbc:h2:mem:shard1;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "insutech.sharding.shards[0].username=sa",
+        "insutech.sharding.shards[1].url=jdbc:h2:mem:shard2;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "insutech.sharding.shards[1].username=sa",
+        "insutech.outbox.relay-enabled=false"
+})
+class ShardedAutoPolicyServiceTest {
+
+    @Autowired
+    private AutoPolicyService autoPolicyService;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private PolicyArchivalService policyArchivalService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ShardSchemaInitializer shardSchemaInitializer;
+
+    @Test
+    void shouldPlaceEachPolicyOnItsRingShardAndRouteLookupsThere() {
+        assertInstanceOf(ShardedAutoPolicyServiceImpl.class, autoPolicyService);
+        List<AutoPolicyDTO> created = autoPolicyService.createPolicies(batch("SHP-", 30, "Placement"));
+        AutoPolicyDTO generated = autoPolicyService.createPolicy(saab(null, "Placement"));
+
+        assertEquals("SHP-0", created.get(0).getPolicyNumber());
+        for (AutoPolicyDTO policy : append(created, generated)) {
+            assertEquals(shardRouter.shardFor(policy.getPolicyNumber()), ShardRouter.shardOf(policy.getId()));
+            assertEquals(policy.getPolicyNumber(), autoPolicyService.getPolicyById(policy.getId()).getPolicyNumber());
+            assertEquals(policy.getId(), autoPolicyService.getPolicyByPolicyNumber(policy.getPolicyNumber()).getId());
+        }
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            long onShard = shardRouter.onShard(shard, () -> jdbcTemplate.queryForObject(
+                    "select count(*) from auto_policies where last_name = 'Placement'", Long.class));
+            assertTrue(onShard > 0, "shard " + shard + " holds none of the policies");
+        }
+    }
+
+    @Test
+    void shouldScatterListsAndFiltersAcrossShardsAndMerge() {
+        autoPolicyService.createPolicies(batch("SHF-", 24, "Scatter"));
+
+        List<AutoPolicyDTO> filtered = autoPolicyService.getAllPolicies(null, null, PolicyStatus.ACTIVE, null,
+                null, null, "scatter", null, null);
+        List<AutoPolicyDTO> all = autoPolicyService.getAllPolicies();
+
+        assertEquals(24, filtered.size());
+        assertEquals(shardRouter.shardCount(), filtered.stream().map(policy -> ShardRouter.shardOf(policy.getId()))
+                .distinct().count());
+        assertEquals(24, all.stream().filter(policy -> "Scatter".equals(policy.getLastName())).count());
+    }
+
+    @Test
+    void shouldStreamFilteredPoliciesShardByShardInIdOrder() {
+        autoPolicyService.createPolicies(batch("SHS-", 24, "Streamed"));
+
+        List<Long> streamed;
+        try (Stream<AutoPolicyDTO> policies = autoPolicyService.streamPolicies(null, null, null, null, null, null,
+                "streamed", null, null, 5)) {
+            streamed = policies.map(AutoPolicyDTO::getId).toList();
+        }
+
+        assertEquals(24, streamed.size());
+        assertEquals(streamed.stream().sorted().toList(), streamed);
+        assertEquals(shardRouter.shardCount(), streamed.stream().map(ShardRouter::shardOf).distinct().count());
+    }
+
+    @Test
+    void shouldNeverMoveAShardIdentityBackOverUsedIds() {
+        AutoPolicyDTO deleted = autoPolicyService.createPolicy(saab("SHI-0", "Identity"));
+        int shard = ShardRouter.shardOf(deleted.getId());
+        autoPolicyService.deletePolicy(deleted.getId());
+        long archivedId = deleted.getId() + 50;
+        shardRouter.onShard(shard, () -> jdbcTemplate.update("insert into auto_policies_archive "
+                        + "(id, policy_number, status, policy_type, archived_at) values (?, ?, ?, ?, current_timestamp)",
+                archivedId, "SHI-ARCHIVED", PolicyStatus.EXPIRED.name(), AutoPolicyType.COMPREHENSIVE.getCode()));
+
+        moveIdentityIntoRange(shard);
+        AutoPolicyDTO afterArchive = autoPolicyService.createPolicy(saab(numberOnShard("SHI-A-", shard), "Identity"));
+        autoPolicyService.deletePolicy(afterArchive.getId());
+        moveIdentityIntoRange(shard);
+        AutoPolicyDTO afterDelete = autoPolicyService.createPolicy(saab(numberOnShard("SHI-B-", shard), "Identity"));
+
+        assertEquals(archivedId + 1, afterArchive.getId());
+        assertEquals(archivedId + 2, afterDelete.getId());
+    }
+
+    @Test
+    void shouldRejectABatchTakingANumberOnAnyShardBeforeWritingAnything() {
+        AutoPolicyDTO existing = autoPolicyService.createPolicy(saab("SHD-TAKEN", "Duplicate"));
+        List<AutoPolicyDTO> batch = batch("SHD-NEW-", 12, "Duplicate");
+        batch.add(saab("SHD-TAKEN", "Duplicate"));
+
+        DuplicatePolicyNumberException rejected = assertThrows(DuplicatePolicyNumberException.class,
+                () -> autoPolicyService.createPolicies(batch));
+
+        assertEquals(List.of("SHD-TAKEN"), rejected.getPolicyNumbers());
+        long written = shardRouter.scatter(shard -> jdbcTemplate.queryForObject(
+                "select count(*) from auto_policies where policy_number like 'SHD-NEW-%'", Long.class))
+                .stream().mapToLong(Long::longValue).sum();
+        assertEquals(0, written);
+
+        String elsewhere = "SHD-MOVE-0";
+        for (int i = 1; shardRouter.shardFor(elsewhere) == ShardRouter.shardOf(existing.getId()); i++) {
+            elsewhere = "SHD-MOVE-" + i;
+        }
+        AutoPolicyDTO renumbered = saab(elsewhere, "Duplicate");
+        assertThrows(CrossShardRenumberException.class,
+                () -> autoPolicyService.updatePolicy(existing.getId(), renumbered));
+    }
+
+    @Test
+    void shouldArchiveDeadPoliciesOnEveryShard() {
+        List<AutoPolicyDTO> dead = batch("SHA-", 12, "Archive");
+        dead.forEach(policy -> {
+            policy.setStatus(PolicyStatus.EXPIRED);
+            policy.setStartDate(LocalDate.now().minusYears(3));
+            policy.setEndDate(LocalDate.now().minusYears(2));
+        });
+        autoPolicyService.createPolicies(dead);
+
+        assertEquals(12, policyArchivalService.archiveExpiredPolicies());
+
+        List<Long> archived = shardRouter.scatter(shard -> jdbcTemplate.queryForObject(
+                "select count(*) from auto_policies_archive where last_name = 'Archive'", Long.class));
+        assertTrue(archived.stream().allMatch(count -> count > 0), "archived per shard: " + archived);
+        assertEquals(0, shardRouter.scatter(shard -> jdbcTemplate.queryForObject(
+                "select count(*) from auto_policies where last_name = 'Archive'", Long.class))
+                .stream().mapToLong(Long::longValue).sum());
+    }
+
+    @Test
+    void shouldMoveOnlyAboutOneInNNumbersWhenAShardIsAdded() {
+        ShardRing three = new ShardRing(3, 128);
+        ShardRing four = new ShardRing(4, 128);
+        int moved = 0;
+        for (int i = 0; i < 20_000; i++) {
+            String policyNumber = "AP-2026-" + i;
+            if (three.shardFor(policyNumber) != four.shardFor(policyNumber)) {
+                moved++;
+                assertEquals(3, four.shardFor(policyNumber));
+            }
+        }
+        assertTrue(moved > 20_000 * 0.15 && moved < 20_000 * 0.35, "moved " + moved);
+    }
+
+    private void moveIdentityIntoRange(int shard) {
+        shardRouter.onShard(shard, () -> {
+            shardSchemaInitializer.moveIdentityIntoRange("auto_policies", "auto_policies_archive", shard);
+            return null;
+        });
+    }
+
+    private String numberOnShard(String prefix, int shard) {
+        String policyNumber = prefix + 0;
+        for (int i = 1; shardRouter.shardFor(policyNumber) != shard; i++) {
+            policyNumber = prefix + i;
+        }
+        return policyNumber;
+    }
+
+    private static List<AutoPolicyDTO> batch(String prefix, int count, String lastName) {
+        List<AutoPolicyDTO> policies = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            policies.add(saab(prefix + i, lastName));
+        }
+        return policies;
+    }
+
+    private static List<AutoPolicyDTO> append(List<AutoPolicyDTO> policies, AutoPolicyDTO policy) {
+        List<AutoPolicyDTO> all = new ArrayList<>(policies);
+        all.add(policy);
+        return all;
+    }
+
+    private static AutoPolicyDTO saab(String policyNumber, String lastName) {
+        return policy(policyNumber).type(AutoPolicyType.COMPREHENSIVE).vehicle("Saab", "9-3", "2011").lastName(lastName)
+                .term(LocalDate.of(2026, 1, 1), LocalDate.of(2027, 1, 1)).build();
+    }
+}
@@ -0,0 +1,44 @@
+package com.insurance.policy.insutech.sql;
+
+import com.insurance.policy.insutech.sharding.ShardRing;
+import com.insurance.policy.insutech.sharding.ShardRouter;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlAccountingTest {
+
+    @Test
+    void shouldChargeEveryScatterLegToTheCallersScopes() {
+        ExecutorService workers = Executors.newFixedThreadPool(3);
+        ShardRouter router = new ShardRouter(new ShardRing(3, 16), 3, workers);
+        SqlScope request = SqlAccounting.open("GET /api/v1/policies");
+        SqlScope call = SqlAccounting.open(null);
+        try {
+            List<String> names = router.scatter(shard -> {
+                for (int i = 0; i <= shard; i++) {
+                    SqlAccounting.recordStatement("select * from auto_policies where id = " + i, 1_000);
+                }
+                SqlAccounting.recordRows(10);
+                return SqlAccounting.currentScopeName();
+            });
+
+            assertEquals(List.of("GET /api/v1/policies", "GET /api/v1/policies", "GET /api/v1/policies"), names);
+        } finally {
+            SqlAccounting.close(call);
+            SqlAccounting.close(request);
+            workers.shutdown();
+        }
+
+        for (SqlScope scope : List.of(request, call)) {
+            assertEquals(6, scope.getStatements());
+            assertEquals(30, scope.getRows());
+            assertEquals(6_000, scope.getDbNanos());
+            assertEquals(List.of(6), scope.getStatementCounts().values().stream().toList());
+        }
+    }
+}
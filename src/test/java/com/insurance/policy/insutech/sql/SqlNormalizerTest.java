@@ -0,0 +1,37 @@
+package com.insurance.policy.insutech.sql;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlNormalizerTest {
+
+    @Test
+    void shouldIgnoreCommentsLiteralsAndInListLength() {
+        String first = SqlNormalizer.normalize(
+                "/* AutoPolicyService.getPolicyById */ select a1_0.id from auto_policies a1_0 where a1_0.id in (?, ?, ?) and status='ACTIVE' limit 10");
+        String second = SqlNormalizer.normalize(
+                "select a1_0.id\n  from auto_policies a1_0 where a1_0.id in (?,?) and status = 'EXPIRED' limit 20");
+
+        assertEquals("select a1_0.id from auto_policies a1_0 where a1_0.id in (?) and status=? limit ?", first);
+        assertEquals(first.replace("status=?", "status = ?"), second);
+    }
+
+    @Test
+    void shouldFlagStatementsRepeatedWithinAScope() {
+        SqlScope scope = SqlAccounting.open("AutoPolicyService.getAllPolicies");
+        try {
+            for (long id = 1; id <= 3; id++) {
+                SqlAccounting.recordStatement("select * from auto_policies where id = " + id, 1000);
+            }
+            SqlAccounting.recordStatement("select count(*) from auto_policies", 1000);
+        } finally {
+            SqlAccounting.close(scope);
+        }
+
+        assertEquals(4, scope.getStatements());
+        assertEquals(1, scope.getRepeatedStatements(3).size());
+        assertEquals(3, scope.getRepeatedStatements(3).get(0).getValue());
+        assertNull(SqlAccounting.currentScopeName());
+    }
+}
@@ -0,0 +1,59 @@
+package com.insurance.policy.insutech.suggest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompletionTrieTest {
+
+    @Test
+    void shouldRankCompletionsByFrequency() {
+        CompletionTrie trie = new CompletionTrie();
+        trie.add("Smith", 5);
+        trie.add("Smithers", 2);
+        trie.add("Smyth", 3);
+        trie.add("Jones", 9);
+
+        assertEquals(List.of(new CompletionTrie.Completion("Smith", 5), new CompletionTrie.Completion("Smyth", 3),
+                new CompletionTrie.Completion("Smithers", 2)), trie.complete("Sm", 10));
+        assertEquals(List.of("Jones", "Smith"), values(trie.complete("", 2)));
+        assertEquals(List.of(), trie.complete("Smx", 10));
+    }
+
+    @Test
+    void shouldMatchPrefixesIgnoringCaseAndEndingInsideALabel() {
+        CompletionTrie trie = new CompletionTrie();
+        trie.add("Volkswagen", 4);
+        trie.add("volvo", 1);
+
+        assertEquals(List.of("Volkswagen", "volvo"), values(trie.complete("VOL", 10)));
+        assertEquals(List.of("Volkswagen"), values(trie.complete("volks", 10)));
+        assertEquals(List.of("Volkswagen"), values(trie.complete("vOlKsWaGeN", 10)));
+        assertEquals(List.of(), trie.complete("volkswagens", 10));
+    }
+
+    @Test
+    void shouldForgetValuesWhoseCountDropsToZero() {
+        CompletionTrie trie = new CompletionTrie();
+        trie.add("Tesla", 1);
+        trie.add("Toyota", 2);
+        trie.add("Tata", 1);
+        assertEquals(3, trie.size());
+
+        trie.add("Toyota", -2);
+        trie.add("Tesla", -5);
+        trie.add("Trabant", -1);
+
+        assertEquals(1, trie.size());
+        assertEquals(List.of(new CompletionTrie.Completion("Tata", 1)), trie.complete("t", 10));
+
+        trie.add("Toyota", 1);
+        assertEquals(List.of("Tata", "Toyota"), values(trie.complete("T", 10)));
+    }
+
+    private static List<String> values(List<CompletionTrie.Completion> completions) {
+        return completions.stream().map(CompletionTrie.Completion::value).toList();
+    }
+}